@@ -0,0 +1,580 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+/**
+ * Clase que da acceso a las clases del proyecto desde los benchmarks.
+ *
+ * Las clases del proyecto están en el paquete por defecto, que no se puede
+ * importar desde otro paquete, y JMH no acepta benchmarks en el paquete por
+ * defecto. Por eso se obtienen MethodHandles por nombre una sola vez, con los
+ * tipos de referencia borrados a Object, y se invocan con invokeExact: al ser
+ * constantes (static final) el JIT los trata como llamadas directas y no se
+ * crean objetos extra que alteren las mediciones de asignación de memoria.
+ *
+ * Los métodos privados de Main (carga de catálogos y lectura de archivos de
+ * ventas) se usan tal cual, para medir exactamente el código que ejecuta el
+ * programa.
+ */
+final class AccesoProyecto {
+
+    /** Clase Main del proyecto */
+    private static final Class<?> MAIN = clase("Main");
+
+    /** Clase CatalogoProductos del proyecto */
+    private static final Class<?> CATALOGO = clase("CatalogoProductos");
+
+    /** Clase IndiceVendedores del proyecto */
+    private static final Class<?> INDICE = clase("IndiceVendedores");
+
+    /** Interfaz AlmacenVendedores del proyecto */
+    private static final Class<?> ALMACEN = clase("AlmacenVendedores");
+
+    /** Clase ResultadoArchivoVenta del proyecto */
+    private static final Class<?> RESULTADO = clase("ResultadoArchivoVenta");
+
+    /** Clase ArchivoVentasBinario del proyecto */
+    private static final Class<?> BINARIO = clase("ArchivoVentasBinario");
+
+    /** Clase RankingVentas del proyecto */
+    private static final Class<?> RANKING = clase("RankingVentas");
+
+    /** Clase ReportGenerator del proyecto */
+    private static final Class<?> REPORTES = clase("ReportGenerator");
+
+    /** Acceso a los miembros privados de Main */
+    private static final MethodHandles.Lookup LOOKUP_MAIN = accesoPrivado(MAIN);
+
+    /** Main.catalogoProductos = valor */
+    private static final MethodHandle FIJAR_CATALOGO = campoEstatico("catalogoProductos", CATALOGO);
+
+    /** Main.indiceVendedores = valor */
+    private static final MethodHandle FIJAR_INDICE = campoEstatico("indiceVendedores", ALMACEN);
+
+    /** Main.cargarProductos(String) */
+    private static final MethodHandle CARGAR_PRODUCTOS = metodoMain("cargarProductos",
+            MethodType.methodType(long.class, String.class));
+
+    /** Main.cargarVendedores(String) */
+    private static final MethodHandle CARGAR_VENDEDORES = metodoMain("cargarVendedores",
+            MethodType.methodType(long.class, String.class));
+
+    /** Main.leerArchivoVenta(String, boolean) */
+    private static final MethodHandle LEER_ARCHIVO_VENTA = metodoMain("leerArchivoVenta",
+            MethodType.methodType(RESULTADO, String.class, boolean.class));
+
+    /** new ArchivoVentasBinario() */
+    private static final MethodHandle NUEVO_BINARIO = constructor(BINARIO);
+
+    /** ArchivoVentasBinario.iniciar(String, long) */
+    private static final MethodHandle INICIAR_BINARIO = metodo(BINARIO, "iniciar",
+            MethodType.methodType(void.class, String.class, long.class));
+
+    /** ArchivoVentasBinario.agregarVenta(int, int) */
+    private static final MethodHandle AGREGAR_VENTA_BINARIO = metodo(BINARIO, "agregarVenta",
+            MethodType.methodType(void.class, int.class, int.class));
+
+    /** ArchivoVentasBinario.escribir(String) */
+    private static final MethodHandle ESCRIBIR_BINARIO = metodo(BINARIO, "escribir",
+            MethodType.methodType(void.class, String.class));
+
+    /** new CatalogoProductos() */
+    private static final MethodHandle NUEVO_CATALOGO = constructor(CATALOGO);
+
+    /** new IndiceVendedores() */
+    private static final MethodHandle NUEVO_INDICE = constructor(INDICE);
+
+    /** CatalogoProductos.agregar(int, String, long) */
+    private static final MethodHandle AGREGAR_PRODUCTO = metodo(CATALOGO, "agregar",
+            MethodType.methodType(int.class, int.class, String.class, long.class));
+
+    /** CatalogoProductos.sumarVenta(int, int) */
+    private static final MethodHandle SUMAR_VENTA = metodo(CATALOGO, "sumarVenta",
+            MethodType.methodType(void.class, int.class, int.class));
+
+    /** CatalogoProductos.aProductos() */
+    private static final MethodHandle A_PRODUCTOS = metodo(CATALOGO, "aProductos",
+            MethodType.methodType(List.class));
+
+    /** IndiceVendedores.agregar(String, long, String, String) */
+    private static final MethodHandle AGREGAR_VENDEDOR = metodo(INDICE, "agregar",
+            MethodType.methodType(int.class, String.class, long.class, String.class, String.class));
+
+    /** IndiceVendedores.sumarRecaudacion(int, long) */
+    private static final MethodHandle SUMAR_RECAUDACION = metodo(INDICE, "sumarRecaudacion",
+            MethodType.methodType(void.class, int.class, long.class));
+
+    /** IndiceVendedores.aVendedores() */
+    private static final MethodHandle A_VENDEDORES = metodo(INDICE, "aVendedores",
+            MethodType.methodType(List.class));
+
+    /** ResultadoArchivoVenta.aplicar(CatalogoProductos, AlmacenVendedores) */
+    private static final MethodHandle APLICAR = metodo(RESULTADO, "aplicar",
+            MethodType.methodType(void.class, CATALOGO, ALMACEN));
+
+    /** RankingVentas.calcular(AlmacenVendedores, CatalogoProductos, int, int) */
+    private static final MethodHandle CALCULAR_RANKING = estatico(RANKING, "calcular",
+            MethodType.methodType(RANKING, ALMACEN, CATALOGO, int.class, int.class));
+
+    /** ReportGenerator.generarReporteVendedores(List, String) */
+    private static final MethodHandle REPORTE_VENDEDORES = estatico(REPORTES, "generarReporteVendedores",
+            MethodType.methodType(void.class, List.class, String.class));
+
+    /** ReportGenerator.generarReporteProductos(List, String) */
+    private static final MethodHandle REPORTE_PRODUCTOS = estatico(REPORTES, "generarReporteProductos",
+            MethodType.methodType(void.class, List.class, String.class));
+
+    /** ReportGenerator.mostrarEstadisticas(RankingVentas) */
+    private static final MethodHandle MOSTRAR_ESTADISTICAS = estatico(REPORTES, "mostrarEstadisticas",
+            MethodType.methodType(void.class, RANKING));
+
+    /**
+     * Constructor privado: la clase solo tiene métodos estáticos.
+     */
+    private AccesoProyecto() {
+    }
+
+    /**
+     * Crea un catálogo de productos vacío.
+     *
+     * @return Nuevo CatalogoProductos
+     */
+    static Object nuevoCatalogo() {
+        try {
+            return (Object) NUEVO_CATALOGO.invokeExact();
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Crea un índice de vendedores vacío.
+     *
+     * @return Nuevo IndiceVendedores
+     */
+    static Object nuevoIndice() {
+        try {
+            return (Object) NUEVO_INDICE.invokeExact();
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Establece el catálogo y el índice que usa Main.
+     *
+     * @param catalogo CatalogoProductos a usar
+     * @param indice   IndiceVendedores a usar
+     */
+    static void fijarEstado(Object catalogo, Object indice) {
+        try {
+            FIJAR_CATALOGO.invokeExact(catalogo);
+            FIJAR_INDICE.invokeExact(indice);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Ejecuta Main.cargarProductos sobre el catálogo actual de Main.
+     *
+     * @param archivo Ruta del archivo de productos
+     * @return Huella del archivo
+     */
+    static long cargarProductos(String archivo) {
+        try {
+            return (long) CARGAR_PRODUCTOS.invokeExact((Object) archivo);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Ejecuta Main.cargarVendedores sobre el índice actual de Main.
+     *
+     * @param archivo Ruta del archivo de vendedores
+     * @return Huella del archivo
+     */
+    static long cargarVendedores(String archivo) {
+        try {
+            return (long) CARGAR_VENDEDORES.invokeExact((Object) archivo);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Ejecuta Main.leerArchivoVenta.
+     *
+     * @param archivo        Ruta del archivo de ventas
+     * @param calcularHuella true para calcular la huella del archivo
+     * @return ResultadoArchivoVenta del archivo
+     */
+    static Object leerArchivoVenta(String archivo, boolean calcularHuella) {
+        try {
+            return (Object) LEER_ARCHIVO_VENTA.invokeExact((Object) archivo, calcularHuella);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Aplica un resultado de archivo de ventas a los totales.
+     *
+     * @param resultado ResultadoArchivoVenta a aplicar
+     * @param catalogo  CatalogoProductos donde se suman las cantidades
+     * @param indice    IndiceVendedores donde se suma la recaudación
+     */
+    static void aplicar(Object resultado, Object catalogo, Object indice) {
+        try {
+            APLICAR.invokeExact(resultado, catalogo, indice);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Crea un archivo de ventas binario vacío.
+     *
+     * @return Nuevo ArchivoVentasBinario
+     */
+    static Object nuevoBinario() {
+        try {
+            return (Object) NUEVO_BINARIO.invokeExact();
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Prepara un archivo de ventas binario para un vendedor.
+     *
+     * @param binario         ArchivoVentasBinario destino
+     * @param tipoDocumento   Tipo de documento
+     * @param numeroDocumento Número de documento
+     */
+    static void iniciarBinario(Object binario, String tipoDocumento, long numeroDocumento) {
+        try {
+            INICIAR_BINARIO.invokeExact(binario, (Object) tipoDocumento, numeroDocumento);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Agrega una venta a un archivo de ventas binario.
+     *
+     * @param binario    ArchivoVentasBinario destino
+     * @param idProducto ID del producto
+     * @param cantidad   Cantidad vendida
+     */
+    static void agregarVentaBinaria(Object binario, int idProducto, int cantidad) {
+        try {
+            AGREGAR_VENTA_BINARIO.invokeExact(binario, idProducto, cantidad);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Escribe un archivo de ventas binario.
+     *
+     * @param binario ArchivoVentasBinario preparado
+     * @param archivo Ruta del archivo
+     */
+    static void escribirBinario(Object binario, String archivo) {
+        try {
+            ESCRIBIR_BINARIO.invokeExact(binario, (Object) archivo);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Agrega un producto al catálogo.
+     *
+     * @param catalogo       CatalogoProductos destino
+     * @param id             ID del producto
+     * @param nombre         Nombre del producto
+     * @param precioCentavos Precio en centavos
+     * @return Slot del producto
+     */
+    static int agregarProducto(Object catalogo, int id, String nombre, long precioCentavos) {
+        try {
+            return (int) AGREGAR_PRODUCTO.invokeExact(catalogo, id, (Object) nombre, precioCentavos);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Suma unidades vendidas a un producto.
+     *
+     * @param catalogo CatalogoProductos destino
+     * @param slot     Slot del producto
+     * @param cantidad Unidades a sumar
+     */
+    static void sumarVenta(Object catalogo, int slot, int cantidad) {
+        try {
+            SUMAR_VENTA.invokeExact(catalogo, slot, cantidad);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Agrega un vendedor al índice.
+     *
+     * @param indice          IndiceVendedores destino
+     * @param tipoDocumento   Tipo de documento
+     * @param numeroDocumento Número de documento
+     * @param nombres         Nombres del vendedor
+     * @param apellidos       Apellidos del vendedor
+     * @return Slot del vendedor
+     */
+    static int agregarVendedor(Object indice, String tipoDocumento, long numeroDocumento, String nombres,
+            String apellidos) {
+        try {
+            return (int) AGREGAR_VENDEDOR.invokeExact(indice, (Object) tipoDocumento, numeroDocumento,
+                    (Object) nombres, (Object) apellidos);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Suma dinero recaudado a un vendedor.
+     *
+     * @param indice   IndiceVendedores destino
+     * @param slot     Slot del vendedor
+     * @param centavos Dinero a sumar, en centavos
+     */
+    static void sumarRecaudacion(Object indice, int slot, long centavos) {
+        try {
+            SUMAR_RECAUDACION.invokeExact(indice, slot, centavos);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Convierte el catálogo a la lista de productos de los reportes.
+     *
+     * @param catalogo CatalogoProductos origen
+     * @return Lista de Producto
+     */
+    static List<?> aProductos(Object catalogo) {
+        try {
+            return (List<?>) (Object) A_PRODUCTOS.invokeExact(catalogo);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Convierte el índice a la lista de vendedores de los reportes.
+     *
+     * @param indice IndiceVendedores origen
+     * @return Lista de Vendedor
+     */
+    static List<?> aVendedores(Object indice) {
+        try {
+            return (List<?>) (Object) A_VENDEDORES.invokeExact(indice);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Ejecuta RankingVentas.calcular.
+     *
+     * @param indice        IndiceVendedores con la recaudación
+     * @param catalogo      CatalogoProductos con las cantidades
+     * @param topVendedores Vendedores a conservar (0 = todos)
+     * @param topProductos  Productos a conservar (0 = todos)
+     * @return RankingVentas calculado
+     */
+    static Object calcularRanking(Object indice, Object catalogo, int topVendedores, int topProductos) {
+        try {
+            return (Object) CALCULAR_RANKING.invokeExact(indice, catalogo, topVendedores, topProductos);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Ejecuta ReportGenerator.generarReporteVendedores.
+     *
+     * @param vendedores Lista de Vendedor
+     * @param archivo    Ruta del reporte
+     */
+    static void generarReporteVendedores(List<?> vendedores, String archivo) {
+        try {
+            REPORTE_VENDEDORES.invokeExact((Object) vendedores, (Object) archivo);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Ejecuta ReportGenerator.generarReporteProductos.
+     *
+     * @param productos Lista de Producto
+     * @param archivo   Ruta del reporte
+     */
+    static void generarReporteProductos(List<?> productos, String archivo) {
+        try {
+            REPORTE_PRODUCTOS.invokeExact((Object) productos, (Object) archivo);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Ejecuta ReportGenerator.mostrarEstadisticas.
+     *
+     * @param ranking RankingVentas a mostrar
+     */
+    static void mostrarEstadisticas(Object ranking) {
+        try {
+            MOSTRAR_ESTADISTICAS.invokeExact(ranking);
+        } catch (Throwable e) {
+            throw fallo(e);
+        }
+    }
+
+    /**
+     * Convierte una excepción lanzada por un MethodHandle en no comprobada.
+     *
+     * @param e Excepción lanzada
+     * @return Excepción a relanzar
+     */
+    private static RuntimeException fallo(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new IllegalStateException(e);
+    }
+
+    /**
+     * Cambia los tipos de referencia de un MethodHandle a Object, conservando
+     * los primitivos, para invocarlo con invokeExact sin conocer las clases del
+     * proyecto en tiempo de compilación y sin convertir primitivos a objetos.
+     *
+     * @param metodo MethodHandle original
+     * @return MethodHandle con los tipos de referencia borrados
+     */
+    private static MethodHandle borrarTipos(MethodHandle metodo) {
+        return metodo.asType(metodo.type().erase());
+    }
+
+    /**
+     * Busca una clase del proyecto por nombre.
+     *
+     * @param nombre Nombre de la clase (paquete por defecto)
+     * @return Clase encontrada
+     */
+    private static Class<?> clase(String nombre) {
+        try {
+            return Class.forName(nombre);
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Obtiene un Lookup con acceso a los miembros privados de una clase.
+     *
+     * @param clase Clase del proyecto
+     * @return Lookup con acceso privado
+     */
+    private static MethodHandles.Lookup accesoPrivado(Class<?> clase) {
+        try {
+            return MethodHandles.privateLookupIn(clase, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Obtiene el setter de un campo estático privado de Main.
+     *
+     * @param nombre Nombre del campo
+     * @param tipo   Tipo del campo
+     * @return MethodHandle que asigna el campo
+     */
+    private static MethodHandle campoEstatico(String nombre, Class<?> tipo) {
+        try {
+            return borrarTipos(LOOKUP_MAIN.findStaticSetter(MAIN, nombre, tipo));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Obtiene un método estático privado de Main.
+     *
+     * @param nombre Nombre del método
+     * @param tipo   Tipo del método
+     * @return MethodHandle del método
+     */
+    private static MethodHandle metodoMain(String nombre, MethodType tipo) {
+        try {
+            return borrarTipos(LOOKUP_MAIN.findStatic(MAIN, nombre, tipo));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Obtiene un método estático público de una clase del proyecto.
+     *
+     * @param clase  Clase del método
+     * @param nombre Nombre del método
+     * @param tipo   Tipo del método
+     * @return MethodHandle del método
+     */
+    private static MethodHandle estatico(Class<?> clase, String nombre, MethodType tipo) {
+        try {
+            return borrarTipos(MethodHandles.publicLookup().findStatic(clase, nombre, tipo));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Obtiene un método de instancia público de una clase del proyecto.
+     *
+     * @param clase  Clase del método
+     * @param nombre Nombre del método
+     * @param tipo   Tipo del método
+     * @return MethodHandle del método (el primer argumento es la instancia)
+     */
+    private static MethodHandle metodo(Class<?> clase, String nombre, MethodType tipo) {
+        try {
+            return borrarTipos(MethodHandles.publicLookup().findVirtual(clase, nombre, tipo));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Obtiene el constructor sin argumentos de una clase del proyecto.
+     *
+     * @param clase Clase a construir
+     * @return MethodHandle del constructor
+     */
+    private static MethodHandle constructor(Class<?> clase) {
+        try {
+            return borrarTipos(MethodHandles.publicLookup().findConstructor(clase, MethodType.methodType(void.class)));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de la carga de productos.txt y vendedores.txt (Main.cargarProductos
+ * y Main.cargarVendedores), parametrizados por número de líneas.
+ *
+ * Cada invocación carga el archivo en un catálogo o índice nuevo, igual que al
+ * iniciar el programa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CargaCatalogosBenchmark {
+
+    /** Líneas de cada archivo */
+    @Param({ "1000", "100000" })
+    public int lineas;
+
+    /** Datos generados para el benchmark */
+    private DatosBenchmark datos;
+
+    /** Ruta de productos.txt */
+    private String archivoProductos;
+
+    /** Ruta de vendedores.txt */
+    private String archivoVendedores;
+
+    /**
+     * Genera los archivos de productos y vendedores.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        datos = new DatosBenchmark();
+        archivoProductos = datos.escribirProductos(lineas);
+        archivoVendedores = datos.escribirVendedores(lineas);
+    }
+
+    /**
+     * Borra los archivos generados.
+     */
+    @TearDown(Level.Trial)
+    public void limpiar() {
+        datos.borrar();
+    }
+
+    /**
+     * Mide Main.cargarProductos.
+     *
+     * @return Huella del archivo (evita que el JIT descarte el trabajo)
+     */
+    @Benchmark
+    public long cargarProductos() {
+        AccesoProyecto.fijarEstado(AccesoProyecto.nuevoCatalogo(), AccesoProyecto.nuevoIndice());
+        return AccesoProyecto.cargarProductos(archivoProductos);
+    }
+
+    /**
+     * Mide Main.cargarVendedores.
+     *
+     * @return Huella del archivo (evita que el JIT descarte el trabajo)
+     */
+    @Benchmark
+    public long cargarVendedores() {
+        AccesoProyecto.fijarEstado(AccesoProyecto.nuevoCatalogo(), AccesoProyecto.nuevoIndice());
+        return AccesoProyecto.cargarVendedores(archivoVendedores);
+    }
+}
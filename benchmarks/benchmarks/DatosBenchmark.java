@@ -0,0 +1,184 @@
+package benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Clase que genera en un directorio temporal los archivos de entrada de los
+ * benchmarks, con el mismo formato que GenerateInfoFiles.
+ *
+ * Los datos dependen solo de la semilla y de los tamaños pedidos, de modo que
+ * dos ejecuciones con los mismos parámetros miden exactamente la misma entrada.
+ */
+final class DatosBenchmark {
+
+    /** Semilla fija de los datos generados */
+    private static final long SEMILLA = 20240917L;
+
+    /** Primer número de documento de los vendedores generados */
+    static final long PRIMER_DOCUMENTO = 1_000_000_000L;
+
+    /** Directorio donde se escriben los archivos */
+    private final Path directorio;
+
+    /**
+     * Constructor que crea un directorio temporal vacío.
+     */
+    DatosBenchmark() {
+        try {
+            this.directorio = Files.createTempDirectory("benchmark-ventas");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Obtiene la ruta de un archivo dentro del directorio de datos.
+     *
+     * @param nombre Nombre del archivo
+     * @return Ruta absoluta como texto
+     */
+    String ruta(String nombre) {
+        return directorio.resolve(nombre).toString();
+    }
+
+    /**
+     * Escribe productos.txt con precios de dos decimales.
+     *
+     * @param productos Número de productos
+     * @return Ruta del archivo escrito
+     */
+    String escribirProductos(int productos) {
+        SplittableRandom random = new SplittableRandom(SEMILLA);
+        String ruta = ruta("productos.txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(Path.of(ruta), StandardCharsets.UTF_8)) {
+            for (int id = 1; id <= productos; id++) {
+                long centavos = 100 + random.nextLong(1_000_000);
+                writer.write(id + ";Producto " + id + ";" + centavos / 100 + "." + String.format("%02d", centavos % 100));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ruta;
+    }
+
+    /**
+     * Escribe vendedores.txt con documentos consecutivos desde PRIMER_DOCUMENTO.
+     *
+     * @param vendedores Número de vendedores
+     * @return Ruta del archivo escrito
+     */
+    String escribirVendedores(int vendedores) {
+        String ruta = ruta("vendedores.txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(Path.of(ruta), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < vendedores; i++) {
+                writer.write("CC;" + (PRIMER_DOCUMENTO + i) + ";Nombre" + i + ";Apellido " + i);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ruta;
+    }
+
+    /**
+     * Escribe archivos de ventas repartidos entre los vendedores.
+     *
+     * @param archivos   Número de archivos de ventas
+     * @param lineas     Líneas de venta por archivo
+     * @param vendedores Número de vendedores de vendedores.txt
+     * @param productos  Número de productos de productos.txt
+     * @return Rutas de los archivos escritos
+     */
+    List<String> escribirVentas(int archivos, int lineas, int vendedores, int productos) {
+        SplittableRandom random = new SplittableRandom(SEMILLA + 1);
+        List<String> rutas = new ArrayList<>(archivos);
+        for (int i = 0; i < archivos; i++) {
+            long documento = PRIMER_DOCUMENTO + i % vendedores;
+            String ruta = ruta("ventas_" + i + "_" + documento + ".txt");
+            try (BufferedWriter writer = Files.newBufferedWriter(Path.of(ruta), StandardCharsets.UTF_8)) {
+                writer.write("CC;" + documento);
+                writer.newLine();
+                for (int linea = 0; linea < lineas; linea++) {
+                    writer.write((1 + random.nextInt(productos)) + ";" + (1 + random.nextInt(20)) + ";");
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rutas.add(ruta);
+        }
+        return rutas;
+    }
+
+    /**
+     * Escribe archivos de ventas en formato binario con las mismas ventas que
+     * {@link #escribirVentas} para los mismos parámetros.
+     *
+     * @param archivos   Número de archivos de ventas
+     * @param lineas     Ventas por archivo
+     * @param vendedores Número de vendedores de vendedores.txt
+     * @param productos  Número de productos de productos.txt
+     * @return Rutas de los archivos escritos
+     */
+    List<String> escribirVentasBinarias(int archivos, int lineas, int vendedores, int productos) {
+        SplittableRandom random = new SplittableRandom(SEMILLA + 1);
+        Object binario = AccesoProyecto.nuevoBinario();
+        List<String> rutas = new ArrayList<>(archivos);
+        for (int i = 0; i < archivos; i++) {
+            long documento = PRIMER_DOCUMENTO + i % vendedores;
+            String ruta = ruta("ventas_" + i + "_" + documento + ".bin");
+            AccesoProyecto.iniciarBinario(binario, "CC", documento);
+            for (int linea = 0; linea < lineas; linea++) {
+                AccesoProyecto.agregarVentaBinaria(binario, 1 + random.nextInt(productos), 1 + random.nextInt(20));
+            }
+            AccesoProyecto.escribirBinario(binario, ruta);
+            rutas.add(ruta);
+        }
+        return rutas;
+    }
+
+    /**
+     * Crea un catálogo y un índice en memoria con ventas aleatorias, sin
+     * pasar por archivos, para medir la generación de reportes.
+     *
+     * @param vendedores Número de vendedores
+     * @param productos  Número de productos
+     * @return Arreglo {CatalogoProductos, IndiceVendedores}
+     */
+    static Object[] crearTotales(int vendedores, int productos) {
+        SplittableRandom random = new SplittableRandom(SEMILLA + 2);
+        Object catalogo = AccesoProyecto.nuevoCatalogo();
+        for (int id = 1; id <= productos; id++) {
+            int slot = AccesoProyecto.agregarProducto(catalogo, id, "Producto " + id, 100 + random.nextLong(1_000_000));
+            AccesoProyecto.sumarVenta(catalogo, slot, random.nextInt(100_000));
+        }
+        Object indice = AccesoProyecto.nuevoIndice();
+        for (int i = 0; i < vendedores; i++) {
+            int slot = AccesoProyecto.agregarVendedor(indice, "CC", PRIMER_DOCUMENTO + i, "Nombre" + i, "Apellido " + i);
+            AccesoProyecto.sumarRecaudacion(indice, slot, random.nextLong(10_000_000_000L));
+        }
+        return new Object[] { catalogo, indice };
+    }
+
+    /**
+     * Borra el directorio de datos y su contenido.
+     */
+    void borrar() {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            archivos.sorted(Comparator.reverseOrder()).forEach(archivo -> archivo.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
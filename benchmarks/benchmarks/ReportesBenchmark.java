@@ -0,0 +1,124 @@
+package benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de la generación de reportes (ReportGenerator) y de las
+ * estadísticas de consola, parametrizados por número de líneas de cada
+ * reporte (vendedores y productos).
+ *
+ * Los totales se crean directamente en memoria; cada invocación incluye la
+ * conversión del índice o del catálogo a listas, como en Main.generarReportes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportesBenchmark {
+
+    /** Vendedores y productos de cada reporte */
+    @Param({ "1000", "100000" })
+    public int lineas;
+
+    /** Datos generados para el benchmark */
+    private DatosBenchmark datos;
+
+    /** CatalogoProductos con cantidades vendidas */
+    private Object catalogo;
+
+    /** IndiceVendedores con dinero recaudado */
+    private Object indice;
+
+    /** Salida estándar original, restaurada al terminar */
+    private PrintStream salidaOriginal;
+
+    /**
+     * Crea los totales en memoria y descarta la salida de consola para que
+     * mostrarEstadisticas no mida la escritura en la terminal.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        datos = new DatosBenchmark();
+        Object[] totales = DatosBenchmark.crearTotales(lineas, lineas);
+        catalogo = totales[0];
+        indice = totales[1];
+
+        salidaOriginal = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * Restaura la salida estándar y borra los reportes generados.
+     */
+    @TearDown(Level.Trial)
+    public void limpiar() {
+        System.setOut(salidaOriginal);
+        datos.borrar();
+    }
+
+    /**
+     * Mide ReportGenerator.generarReporteVendedores (ordenamiento y escritura).
+     *
+     * @return Número de vendedores escritos
+     */
+    @Benchmark
+    public int reporteVendedores() {
+        List<?> vendedores = AccesoProyecto.aVendedores(indice);
+        AccesoProyecto.generarReporteVendedores(vendedores, datos.ruta("reporte_vendedores.csv"));
+        return vendedores.size();
+    }
+
+    /**
+     * Mide ReportGenerator.generarReporteProductos (ordenamiento y escritura).
+     *
+     * @return Número de productos escritos
+     */
+    @Benchmark
+    public int reporteProductos() {
+        List<?> productos = AccesoProyecto.aProductos(catalogo);
+        AccesoProyecto.generarReporteProductos(productos, datos.ruta("reporte_productos.csv"));
+        return productos.size();
+    }
+
+    /**
+     * Mide el cálculo de totales y mejores (RankingVentas) y
+     * ReportGenerator.mostrarEstadisticas.
+     *
+     * @return Ranking calculado
+     */
+    @Benchmark
+    public Object mostrarEstadisticas() {
+        Object ranking = AccesoProyecto.calcularRanking(indice, catalogo, 1, 1);
+        AccesoProyecto.mostrarEstadisticas(ranking);
+        return ranking;
+    }
+
+    /**
+     * Mide la selección del top 100 de vendedores y top 50 de productos.
+     *
+     * @return Ranking calculado
+     */
+    @Benchmark
+    public Object rankingTopK() {
+        return AccesoProyecto.calcularRanking(indice, catalogo, 100, 50);
+    }
+}
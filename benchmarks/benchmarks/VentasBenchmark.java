@@ -0,0 +1,139 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks del procesamiento de archivos de ventas: lectura de cada archivo
+ * (Main.leerArchivoVenta) y aplicación de sus ventas a los totales
+ * (ResultadoArchivoVenta.aplicar), parametrizados por número de archivos y
+ * líneas por archivo.
+ *
+ * Cada invocación procesa todos los archivos de forma secuencial, por lo que
+ * ops/s equivale a pasadas completas por el directorio de ventas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VentasBenchmark {
+
+    /** Vendedores de vendedores.txt */
+    private static final int VENDEDORES = 1000;
+
+    /** Productos de productos.txt */
+    private static final int PRODUCTOS = 1000;
+
+    /** Número de archivos de ventas */
+    @Param({ "10", "100" })
+    public int archivos;
+
+    /** Líneas de venta por archivo */
+    @Param({ "100", "10000" })
+    public int lineas;
+
+    /** Datos generados para el benchmark */
+    private DatosBenchmark datos;
+
+    /** Rutas de los archivos de ventas */
+    private List<String> archivosVentas;
+
+    /** Rutas de los mismos archivos de ventas en formato binario */
+    private List<String> archivosBinarios;
+
+    /** CatalogoProductos cargado */
+    private Object catalogo;
+
+    /** IndiceVendedores cargado */
+    private Object indice;
+
+    /**
+     * Genera los archivos y carga productos y vendedores.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        datos = new DatosBenchmark();
+        String archivoProductos = datos.escribirProductos(PRODUCTOS);
+        String archivoVendedores = datos.escribirVendedores(VENDEDORES);
+        archivosVentas = datos.escribirVentas(archivos, lineas, VENDEDORES, PRODUCTOS);
+        archivosBinarios = datos.escribirVentasBinarias(archivos, lineas, VENDEDORES, PRODUCTOS);
+
+        catalogo = AccesoProyecto.nuevoCatalogo();
+        indice = AccesoProyecto.nuevoIndice();
+        AccesoProyecto.fijarEstado(catalogo, indice);
+        AccesoProyecto.cargarProductos(archivoProductos);
+        AccesoProyecto.cargarVendedores(archivoVendedores);
+    }
+
+    /**
+     * Borra los archivos generados.
+     */
+    @TearDown(Level.Trial)
+    public void limpiar() {
+        datos.borrar();
+    }
+
+    /**
+     * Mide la lectura de los archivos de ventas sin modificar los totales.
+     *
+     * @param blackhole Consumidor de resultados de JMH
+     */
+    @Benchmark
+    public void leerArchivosVenta(Blackhole blackhole) {
+        for (String archivo : archivosVentas) {
+            blackhole.consume(AccesoProyecto.leerArchivoVenta(archivo, false));
+        }
+    }
+
+    /**
+     * Mide la lectura de los archivos de ventas y su aplicación a los totales,
+     * como en el procesamiento secuencial de Main.
+     */
+    @Benchmark
+    public void procesarArchivosVenta() {
+        for (String archivo : archivosVentas) {
+            AccesoProyecto.aplicar(AccesoProyecto.leerArchivoVenta(archivo, false), catalogo, indice);
+        }
+    }
+
+    /**
+     * Mide la lectura de los mismos archivos en formato binario (ventas_*.bin).
+     *
+     * @param blackhole Consumidor de resultados de JMH
+     */
+    @Benchmark
+    public void leerArchivosVentaBinarios(Blackhole blackhole) {
+        for (String archivo : archivosBinarios) {
+            blackhole.consume(AccesoProyecto.leerArchivoVenta(archivo, false));
+        }
+    }
+
+    /**
+     * Mide la lectura con cálculo de huella, como en el modo incremental.
+     *
+     * @param blackhole Consumidor de resultados de JMH
+     */
+    @Benchmark
+    public void leerArchivosVentaConHuella(Blackhole blackhole) {
+        for (String archivo : archivosVentas) {
+            blackhole.consume(AccesoProyecto.leerArchivoVenta(archivo, true));
+        }
+    }
+}
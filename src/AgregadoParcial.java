@@ -0,0 +1,329 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Clase que guarda y combina los totales parciales de una partición de los
+ * archivos de ventas, para repartir el procesamiento entre varios procesos o
+ * máquinas que comparten una carpeta.
+ *
+ * Cada ejecución en modo mapa (--modo=mapa, --particion=I/N) procesa solo los
+ * archivos de ventas de su partición y escribe un archivo parcial_I_de_N.agr
+ * con la cantidad vendida de cada producto y el dinero recaudado por cada
+ * vendedor, en enteros exactos (unidades y centavos). El modo reducción
+ * (--modo=reduccion) suma todos los parciales de la carpeta y genera los
+ * reportes como si hubiera leído todos los archivos. Como la suma es exacta y
+ * conmutativa, el resultado no depende del orden ni del reparto.
+ *
+ * Formato del archivo:
+ * - Magia "VTAP" y versión (int)
+ * - Huellas de productos.txt y vendedores.txt (long), para no combinar
+ * parciales calculados con catálogos distintos
+ * - Partición, total de particiones y criterio de reparto (int)
+ * - Archivos de ventas leídos (int)
+ * - Productos con ventas: número (int) y pares ID (int) y cantidad (long)
+ * - Vendedores con ventas: número (int) y pares documento (long) y centavos
+ * (long)
+ *
+ * Los productos y vendedores sin ventas no se guardan, así que el tamaño del
+ * parcial depende de lo que se vendió en la partición y no del catálogo.
+ */
+public class AgregadoParcial {
+
+    /** Extensión de los archivos parciales */
+    public static final String EXTENSION = ".agr";
+
+    /** Reparto de los archivos por su nombre */
+    public static final int POR_ARCHIVO = 0;
+
+    /** Reparto de los archivos por el documento de su vendedor */
+    public static final int POR_VENDEDOR = 1;
+
+    /** Identificador del formato del archivo parcial ("VTAP") */
+    private static final int MAGIA = 0x56544150;
+
+    /** Versión del formato del archivo parcial */
+    private static final int VERSION = 1;
+
+    /** Constante de Fibonacci para mezclar los bits de la clave de reparto */
+    private static final long MEZCLA = 0x9E3779B97F4A7C15L;
+
+    /** Huella de productos.txt con la que se calcularon los totales */
+    private final long huellaProductos;
+
+    /** Huella de vendedores.txt con la que se calcularon los totales */
+    private final long huellaVendedores;
+
+    /** Partición de este parcial (1 a totalParticiones) */
+    private final int particion;
+
+    /** Número de particiones en que se repartieron los archivos */
+    private final int totalParticiones;
+
+    /** Criterio de reparto (POR_ARCHIVO o POR_VENDEDOR) */
+    private final int criterio;
+
+    /** Archivos de ventas leídos sin errores en la partición */
+    private int archivosLeidos;
+
+    /** IDs de los productos con ventas */
+    private int[] idsProducto;
+
+    /** Cantidad vendida de cada producto */
+    private long[] cantidades;
+
+    /** Documentos de los vendedores con ventas */
+    private long[] documentos;
+
+    /** Dinero recaudado por cada vendedor, en centavos */
+    private long[] recaudaciones;
+
+    /**
+     * Constructor con los datos del encabezado del parcial.
+     *
+     * @param huellaProductos  Huella de productos.txt
+     * @param huellaVendedores Huella de vendedores.txt
+     * @param particion        Partición (1 a totalParticiones)
+     * @param totalParticiones Número de particiones
+     * @param criterio         Criterio de reparto (POR_ARCHIVO o POR_VENDEDOR)
+     */
+    private AgregadoParcial(long huellaProductos, long huellaVendedores, int particion, int totalParticiones,
+            int criterio) {
+        this.huellaProductos = huellaProductos;
+        this.huellaVendedores = huellaVendedores;
+        this.particion = particion;
+        this.totalParticiones = totalParticiones;
+        this.criterio = criterio;
+    }
+
+    /**
+     * Calcula la partición a la que pertenece una clave de reparto. La misma
+     * clave da siempre la misma partición, en cualquier máquina y versión de
+     * Java.
+     *
+     * @param clave            Documento del vendedor o hash del nombre del archivo
+     * @param totalParticiones Número de particiones
+     * @return Partición, de 1 a totalParticiones
+     */
+    public static int particionDe(long clave, int totalParticiones) {
+        // Los bits altos del producto dependen de todos los bits de la clave,
+        // así que documentos consecutivos se reparten de forma pareja
+        long mezcla = (clave * MEZCLA) >>> 32;
+        return (int) (mezcla % totalParticiones) + 1;
+    }
+
+    /**
+     * Obtiene el nombre del archivo parcial de una partición.
+     *
+     * @param particion        Partición (1 a totalParticiones)
+     * @param totalParticiones Número de particiones
+     * @return Nombre del archivo, por ejemplo parcial_2_de_8.agr
+     */
+    public static String nombreArchivo(int particion, int totalParticiones) {
+        return "parcial_" + particion + "_de_" + totalParticiones + EXTENSION;
+    }
+
+    /**
+     * Escribe los totales actuales de productos y vendedores como el parcial de
+     * una partición. Se escribe en un archivo temporal que luego se renombra,
+     * para que el modo reducción nunca vea un parcial a medio escribir.
+     *
+     * @param nombreArchivo    Archivo parcial a escribir
+     * @param huellaProductos  Huella de productos.txt
+     * @param huellaVendedores Huella de vendedores.txt
+     * @param particion        Partición (1 a totalParticiones)
+     * @param totalParticiones Número de particiones
+     * @param criterio         Criterio de reparto (POR_ARCHIVO o POR_VENDEDOR)
+     * @param archivosLeidos   Archivos de ventas leídos sin errores
+     * @param catalogo         Catálogo con las cantidades vendidas de la partición
+     * @param vendedores       Índice con el dinero recaudado en la partición
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public static void escribir(String nombreArchivo, long huellaProductos, long huellaVendedores, int particion,
+            int totalParticiones, int criterio, int archivosLeidos, CatalogoProductos catalogo,
+            AlmacenVendedores vendedores) throws IOException {
+        Path destino = Paths.get(nombreArchivo);
+        Path temporal = Paths.get(nombreArchivo + ".tmp");
+
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temporal.toFile()), 1 << 16))) {
+            salida.writeInt(MAGIA);
+            salida.writeInt(VERSION);
+            salida.writeLong(huellaProductos);
+            salida.writeLong(huellaVendedores);
+            salida.writeInt(particion);
+            salida.writeInt(totalParticiones);
+            salida.writeInt(criterio);
+            salida.writeInt(archivosLeidos);
+
+            int conVentas = 0;
+            for (int slot = 0; slot < catalogo.getTotal(); slot++) {
+                if (catalogo.getCantidadVendida(slot) != 0) {
+                    conVentas++;
+                }
+            }
+            salida.writeInt(conVentas);
+            for (int slot = 0; slot < catalogo.getTotal(); slot++) {
+                if (catalogo.getCantidadVendida(slot) != 0) {
+                    salida.writeInt(catalogo.getId(slot));
+                    salida.writeLong(catalogo.getCantidadVendida(slot));
+                }
+            }
+
+            conVentas = 0;
+            for (int slot = 0; slot < vendedores.getTotal(); slot++) {
+                if (vendedores.getDineroRecaudadoCentavos(slot) != 0) {
+                    conVentas++;
+                }
+            }
+            salida.writeInt(conVentas);
+            for (int slot = 0; slot < vendedores.getTotal(); slot++) {
+                if (vendedores.getDineroRecaudadoCentavos(slot) != 0) {
+                    salida.writeLong(vendedores.getNumeroDocumento(slot));
+                    salida.writeLong(vendedores.getDineroRecaudadoCentavos(slot));
+                }
+            }
+        }
+
+        Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lee un archivo parcial.
+     *
+     * @param nombreArchivo Archivo parcial
+     * @return Parcial leído
+     * @throws IOException Si el archivo no puede leerse, está incompleto o no
+     *                     es un parcial
+     */
+    public static AgregadoParcial leer(String nombreArchivo) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(nombreArchivo), 1 << 16))) {
+            if (entrada.readInt() != MAGIA || entrada.readInt() != VERSION) {
+                throw new IOException("Formato desconocido en " + nombreArchivo);
+            }
+
+            AgregadoParcial parcial = new AgregadoParcial(entrada.readLong(), entrada.readLong(),
+                    entrada.readInt(), entrada.readInt(), entrada.readInt());
+            if (parcial.totalParticiones < 1 || parcial.particion < 1
+                    || parcial.particion > parcial.totalParticiones) {
+                throw new IOException("Partición inválida en " + nombreArchivo);
+            }
+            parcial.archivosLeidos = entrada.readInt();
+
+            int totalProductos = entrada.readInt();
+            parcial.idsProducto = new int[totalProductos];
+            parcial.cantidades = new long[totalProductos];
+            for (int i = 0; i < totalProductos; i++) {
+                parcial.idsProducto[i] = entrada.readInt();
+                parcial.cantidades[i] = entrada.readLong();
+            }
+
+            int totalVendedores = entrada.readInt();
+            parcial.documentos = new long[totalVendedores];
+            parcial.recaudaciones = new long[totalVendedores];
+            for (int i = 0; i < totalVendedores; i++) {
+                parcial.documentos[i] = entrada.readLong();
+                parcial.recaudaciones[i] = entrada.readLong();
+            }
+
+            if (entrada.read() != -1) {
+                throw new IOException("Datos sobrantes al final de " + nombreArchivo);
+            }
+            return parcial;
+        } catch (EOFException e) {
+            throw new IOException("Archivo parcial incompleto: " + nombreArchivo, e);
+        }
+    }
+
+    /**
+     * Suma los totales del parcial a los productos y vendedores cargados. Las
+     * sumas se verifican: si un total se desborda se lanza una excepción en
+     * lugar de dar un resultado incorrecto.
+     *
+     * @param catalogo   Catálogo de productos
+     * @param vendedores Índice de vendedores
+     * @throws IOException Si el parcial tiene productos o vendedores que no
+     *                     están en el catálogo, o un total se desborda
+     */
+    public void sumarA(CatalogoProductos catalogo, AlmacenVendedores vendedores) throws IOException {
+        try {
+            for (int i = 0; i < idsProducto.length; i++) {
+                int slot = catalogo.buscar(idsProducto[i]);
+                if (slot == CatalogoProductos.NO_ENCONTRADO) {
+                    throw new IOException("Producto ID " + idsProducto[i] + " del parcial " + particion
+                            + " no está en el catálogo");
+                }
+                long total = Math.addExact(catalogo.getCantidadVendida(slot), cantidades[i]);
+                catalogo.setCantidadVendida(slot, Math.toIntExact(total));
+            }
+            for (int i = 0; i < documentos.length; i++) {
+                int slot = vendedores.buscar(documentos[i]);
+                if (slot == IndiceVendedores.NO_ENCONTRADO) {
+                    throw new IOException("Vendedor con documento " + documentos[i] + " del parcial " + particion
+                            + " no está en el índice");
+                }
+                vendedores.setDineroRecaudadoCentavos(slot,
+                        Math.addExact(vendedores.getDineroRecaudadoCentavos(slot), recaudaciones[i]));
+            }
+        } catch (ArithmeticException e) {
+            throw new IOException("Desbordamiento al sumar el parcial " + particion + " de " + totalParticiones, e);
+        }
+    }
+
+    /**
+     * Indica si el parcial se calculó con los mismos catálogos cargados.
+     *
+     * @param huellaProductos  Huella actual de productos.txt
+     * @param huellaVendedores Huella actual de vendedores.txt
+     * @return true si ambas huellas coinciden
+     */
+    public boolean coincideCatalogo(long huellaProductos, long huellaVendedores) {
+        return this.huellaProductos == huellaProductos && this.huellaVendedores == huellaVendedores;
+    }
+
+    /**
+     * Obtiene la partición del parcial.
+     *
+     * @return Partición (1 a getTotalParticiones())
+     */
+    public int getParticion() {
+        return particion;
+    }
+
+    /**
+     * Obtiene el número de particiones en que se repartieron los archivos.
+     *
+     * @return Número de particiones
+     */
+    public int getTotalParticiones() {
+        return totalParticiones;
+    }
+
+    /**
+     * Obtiene el criterio con que se repartieron los archivos.
+     *
+     * @return POR_ARCHIVO o POR_VENDEDOR
+     */
+    public int getCriterio() {
+        return criterio;
+    }
+
+    /**
+     * Obtiene los archivos de ventas leídos sin errores en la partición.
+     *
+     * @return Número de archivos
+     */
+    public int getArchivosLeidos() {
+        return archivosLeidos;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Operaciones por slot sobre los vendedores y su dinero recaudado, comunes al
+ * índice en memoria ({@link IndiceVendedores}) y al del modo de memoria
+ * limitada ({@link IndiceVendedoresEnDisco}).
+ *
+ * La carga, la lectura de ventas, los parciales, el estado incremental y el
+ * ranking top K solo usan estas operaciones, así que funcionan con cualquiera
+ * de los dos. Lo que requiere tener todos los vendedores en el heap (la lista
+ * completa, el ranking incremental) solo está en {@link IndiceVendedores}.
+ *
+ * Las búsquedas pueden hacerse desde varios hilos una vez cargado el almacén;
+ * el dinero recaudado solo debe modificarse desde un hilo.
+ */
+public interface AlmacenVendedores {
+
+    /** Valor que indica que un documento no tiene vendedor */
+    int NO_ENCONTRADO = -1;
+
+    /**
+     * Agrega un vendedor. Si el documento ya existe, se reemplazan sus datos
+     * conservando su posición.
+     *
+     * @param tipoDocumento     Tipo de documento de identificación
+     * @param numeroDocumento   Número de documento
+     * @param nombresVendedor   Nombres del vendedor
+     * @param apellidosVendedor Apellidos del vendedor
+     * @return Slot asignado al vendedor
+     */
+    int agregar(String tipoDocumento, long numeroDocumento, String nombresVendedor, String apellidosVendedor);
+
+    /**
+     * Busca el slot de un vendedor por su número de documento.
+     *
+     * @param numeroDocumento Número de documento
+     * @return Slot del vendedor, o NO_ENCONTRADO si no existe
+     */
+    int buscar(long numeroDocumento);
+
+    /**
+     * Obtiene el número de vendedores.
+     *
+     * @return Cantidad de vendedores
+     */
+    int getTotal();
+
+    /**
+     * Obtiene el número de documento del vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Número de documento
+     */
+    long getNumeroDocumento(int slot);
+
+    /**
+     * Obtiene el tipo de documento del vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Tipo de documento
+     */
+    String getTipoDocumento(int slot);
+
+    /**
+     * Obtiene los nombres del vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Nombres
+     */
+    String getNombres(int slot);
+
+    /**
+     * Obtiene los apellidos del vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Apellidos
+     */
+    String getApellidos(int slot);
+
+    /**
+     * Obtiene el dinero recaudado por el vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Dinero recaudado, en centavos
+     */
+    long getDineroRecaudadoCentavos(int slot);
+
+    /**
+     * Establece el dinero recaudado por el vendedor de un slot.
+     *
+     * @param slot                    Posición del vendedor
+     * @param dineroRecaudadoCentavos Dinero recaudado, en centavos
+     */
+    void setDineroRecaudadoCentavos(int slot, long dineroRecaudadoCentavos);
+
+    /**
+     * Suma una cantidad al dinero recaudado por el vendedor de un slot.
+     *
+     * @param slot     Posición del vendedor
+     * @param centavos Cantidad a sumar, en centavos
+     */
+    void sumarRecaudacion(int slot, long centavos);
+
+    /**
+     * Obtiene el ranking por recaudación mantenido al día, si el almacén lo
+     * lleva.
+     *
+     * @return Ranking de los slots, o null si no está activado
+     */
+    IndiceRanking getRanking();
+
+    /**
+     * Crea el vendedor de un slot con su dinero recaudado.
+     *
+     * @param slot Posición del vendedor
+     * @return Vendedor con los datos del slot
+     */
+    Vendedor aVendedor(int slot);
+}
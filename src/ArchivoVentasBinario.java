@@ -0,0 +1,425 @@
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Clase que lee y escribe archivos de ventas en formato binario por columnas
+ * (ventas_*.bin), equivalentes a los archivos de texto ventas_*.txt.
+ *
+ * Formato del archivo:
+ * - Magia "VTAB" (4 bytes) y versión (1 byte)
+ * - Tipo de documento: longitud (varint) y bytes UTF-8
+ * - Número de documento (varint zigzag)
+ * - Número de ventas n (varint)
+ * - Columna de IDs de producto: n varints zigzag
+ * - Columna de cantidades: n varints zigzag
+ * - CRC32C de todos los bytes anteriores (4 bytes, big-endian)
+ *
+ * Los varint usan 7 bits por byte, por lo que un ID de producto pequeño y una
+ * cantidad ocupan 2 bytes en lugar de los ~8 de la línea "ID;Cantidad;\n", y
+ * leerlos no requiere buscar separadores ni convertir texto. Cada columna
+ * agrupa valores parecidos, lo que además favorece a los compresores.
+ *
+ * El archivo se lee completo y se valida el CRC antes de entregar ventas, de
+ * modo que un archivo truncado o dañado no aplica datos parciales.
+ *
+ * Una instancia guarda los buffers de un archivo a la vez y puede reutilizarse
+ * para leer o escribir varios archivos, pero no debe compartirse entre hilos.
+ */
+public class ArchivoVentasBinario {
+
+    /** Extensión de los archivos de ventas binarios */
+    public static final String EXTENSION = ".bin";
+
+    /** Bytes iniciales que identifican el formato ("VTAB") */
+    private static final int MAGIA = 0x56544142;
+
+    /** Versión del formato */
+    private static final byte VERSION = 1;
+
+    /** Bytes fijos: magia, versión y CRC final */
+    private static final int BYTES_FIJOS = 4 + 1 + 4;
+
+    /** Bytes del archivo leído o por escribir */
+    private byte[] datos;
+
+    /** Cantidad de bytes válidos en datos */
+    private int limite;
+
+    /** Posición de lectura o escritura en datos */
+    private int posicion;
+
+    /** Tipo de documento del vendedor */
+    private String tipoDocumento;
+
+    /** Número de documento del vendedor */
+    private long numeroDocumento;
+
+    /** ID de producto de cada venta */
+    private int[] idsProducto;
+
+    /** Cantidad de cada venta */
+    private int[] cantidades;
+
+    /** Número de ventas */
+    private int totalVentas;
+
+    /** Huella CRC32C del contenido completo del último archivo leído */
+    private long huella;
+
+    /** Nanosegundos bloqueados abriendo y leyendo el último archivo leído */
+    private long nanosLectura;
+
+    /** Bytes leídos del último archivo */
+    private long bytesLeidos;
+
+    /**
+     * Constructor que reserva los buffers reutilizables.
+     */
+    public ArchivoVentasBinario() {
+        this.datos = new byte[64 * 1024];
+        this.idsProducto = new int[1024];
+        this.cantidades = new int[1024];
+    }
+
+    /**
+     * Indica si un nombre de archivo corresponde a un archivo de ventas binario.
+     *
+     * @param nombreArchivo Nombre del archivo
+     * @return true si termina en la extensión binaria
+     */
+    public static boolean esBinario(String nombreArchivo) {
+        return nombreArchivo.endsWith(EXTENSION);
+    }
+
+    /**
+     * Prepara la escritura de un archivo nuevo, descartando las ventas anteriores.
+     *
+     * @param tipoDocumento   Tipo de documento del vendedor
+     * @param numeroDocumento Número de documento del vendedor
+     */
+    public void iniciar(String tipoDocumento, long numeroDocumento) {
+        this.tipoDocumento = tipoDocumento;
+        this.numeroDocumento = numeroDocumento;
+        this.totalVentas = 0;
+    }
+
+    /**
+     * Agrega una venta al archivo en preparación.
+     *
+     * @param idProducto ID del producto
+     * @param cantidad   Cantidad vendida
+     */
+    public void agregarVenta(int idProducto, int cantidad) {
+        if (totalVentas == idsProducto.length) {
+            idsProducto = Arrays.copyOf(idsProducto, totalVentas * 2);
+            cantidades = Arrays.copyOf(cantidades, totalVentas * 2);
+        }
+        idsProducto[totalVentas] = idProducto;
+        cantidades[totalVentas] = cantidad;
+        totalVentas++;
+    }
+
+    /**
+     * Escribe el archivo con el vendedor y las ventas preparados.
+     *
+     * @param nombreArchivo Nombre del archivo a escribir
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public void escribir(String nombreArchivo) throws IOException {
+        byte[] tipo = tipoDocumento.getBytes(StandardCharsets.UTF_8);
+        // Cota superior: 5 bytes por varint de int y 10 por el de long
+        long maximo = BYTES_FIJOS + 5L + tipo.length + 10 + 5 + 10L * totalVentas;
+        if (maximo > Integer.MAX_VALUE - 8) {
+            throw new IOException("Demasiadas ventas para un archivo binario: " + totalVentas);
+        }
+        asegurarCapacidad((int) maximo);
+
+        posicion = 0;
+        escribirEntero32(MAGIA);
+        datos[posicion++] = VERSION;
+        escribirVarint(tipo.length);
+        System.arraycopy(tipo, 0, datos, posicion, tipo.length);
+        posicion += tipo.length;
+        escribirVarint(zigzag(numeroDocumento));
+        escribirVarint(totalVentas);
+        for (int i = 0; i < totalVentas; i++) {
+            escribirVarint(zigzag(idsProducto[i]));
+        }
+        for (int i = 0; i < totalVentas; i++) {
+            escribirVarint(zigzag(cantidades[i]));
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(datos, 0, posicion);
+        escribirEntero32((int) crc.getValue());
+
+        try (FileChannel canal = new FileOutputStream(nombreArchivo).getChannel()) {
+            ByteBuffer buffer = ByteBuffer.wrap(datos, 0, posicion);
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Lee y valida un archivo completo. Después de leerlo, el vendedor y las
+     * ventas están disponibles con los métodos get.
+     *
+     * @param nombreArchivo Nombre del archivo a leer
+     * @throws IOException Si el archivo no puede leerse o no tiene un formato
+     *                     válido
+     */
+    public void leer(String nombreArchivo) throws IOException {
+        long inicio = System.nanoTime();
+        bytesLeidos = 0;
+        try (FileChannel canal = new FileInputStream(nombreArchivo).getChannel()) {
+            long tamano = canal.size();
+            if (tamano > Integer.MAX_VALUE - 8) {
+                throw new IOException("Archivo binario demasiado grande: " + nombreArchivo);
+            }
+            asegurarCapacidad((int) tamano);
+            ByteBuffer buffer = ByteBuffer.wrap(datos, 0, (int) tamano);
+            while (buffer.hasRemaining() && canal.read(buffer) >= 0) {
+                // Leer hasta llenar el tamaño esperado o llegar al final
+            }
+            limite = buffer.position();
+            bytesLeidos = limite;
+        } finally {
+            nanosLectura = System.nanoTime() - inicio;
+        }
+
+        CRC32C crc = new CRC32C();
+        if (limite < BYTES_FIJOS) {
+            throw new IOException("Archivo binario dañado (incompleto): " + nombreArchivo);
+        }
+        crc.update(datos, 0, limite - 4);
+        posicion = limite - 4;
+        if ((int) crc.getValue() != leerEntero32()) {
+            throw new IOException("Archivo binario dañado (CRC inválido): " + nombreArchivo);
+        }
+        crc.update(datos, limite - 4, 4);
+        huella = crc.getValue();
+
+        // El CRC ya no forma parte de los datos a decodificar
+        limite -= 4;
+        posicion = 0;
+        if (leerEntero32() != MAGIA || datos[posicion++] != VERSION) {
+            throw new IOException("Formato de archivo binario no reconocido: " + nombreArchivo);
+        }
+
+        int longitudTipo = leerVarintInt(nombreArchivo);
+        if (longitudTipo < 0 || longitudTipo > limite - posicion) {
+            throw new IOException("Archivo binario dañado (tipo de documento): " + nombreArchivo);
+        }
+        tipoDocumento = new String(datos, posicion, longitudTipo, StandardCharsets.UTF_8);
+        posicion += longitudTipo;
+        numeroDocumento = deshacerZigzag(leerVarint(nombreArchivo));
+
+        int ventas = leerVarintInt(nombreArchivo);
+        // Cada venta ocupa al menos dos bytes
+        if (ventas < 0 || ventas > (limite - posicion) / 2) {
+            throw new IOException("Archivo binario dañado (número de ventas): " + nombreArchivo);
+        }
+        if (ventas > idsProducto.length) {
+            idsProducto = new int[ventas];
+            cantidades = new int[ventas];
+        }
+        for (int i = 0; i < ventas; i++) {
+            idsProducto[i] = (int) deshacerZigzag(leerVarint(nombreArchivo));
+        }
+        for (int i = 0; i < ventas; i++) {
+            cantidades[i] = (int) deshacerZigzag(leerVarint(nombreArchivo));
+        }
+        if (posicion != limite) {
+            throw new IOException("Archivo binario dañado (bytes sobrantes): " + nombreArchivo);
+        }
+        totalVentas = ventas;
+    }
+
+    /**
+     * Obtiene el tipo de documento del vendedor.
+     *
+     * @return Tipo de documento
+     */
+    public String getTipoDocumento() {
+        return tipoDocumento;
+    }
+
+    /**
+     * Obtiene el número de documento del vendedor.
+     *
+     * @return Número de documento
+     */
+    public long getNumeroDocumento() {
+        return numeroDocumento;
+    }
+
+    /**
+     * Obtiene el número de ventas.
+     *
+     * @return Total de ventas
+     */
+    public int getTotalVentas() {
+        return totalVentas;
+    }
+
+    /**
+     * Obtiene el ID de producto de una venta.
+     *
+     * @param indice Posición de la venta
+     * @return ID del producto
+     */
+    public int getIdProducto(int indice) {
+        return idsProducto[indice];
+    }
+
+    /**
+     * Obtiene la cantidad de una venta.
+     *
+     * @param indice Posición de la venta
+     * @return Cantidad vendida
+     */
+    public int getCantidad(int indice) {
+        return cantidades[indice];
+    }
+
+    /**
+     * Obtiene la huella CRC32C del contenido completo del último archivo leído.
+     *
+     * @return Huella del archivo
+     */
+    public long getHuella() {
+        return huella;
+    }
+
+    /**
+     * Obtiene el tiempo bloqueado en el sistema de archivos (apertura, lectura
+     * y cierre) al leer el último archivo.
+     *
+     * @return Tiempo de E/S, en nanosegundos
+     */
+    public long getNanosLectura() {
+        return nanosLectura;
+    }
+
+    /**
+     * Obtiene los bytes leídos del último archivo.
+     *
+     * @return Bytes leídos (0 si no pudo abrirse)
+     */
+    public long getBytesLeidos() {
+        return bytesLeidos;
+    }
+
+    /**
+     * Garantiza que el buffer de bytes tenga al menos la capacidad indicada.
+     *
+     * @param capacidad Bytes necesarios
+     */
+    private void asegurarCapacidad(int capacidad) {
+        if (capacidad > datos.length) {
+            datos = new byte[Math.max(capacidad, (int) Math.min(Integer.MAX_VALUE - 8, datos.length * 2L))];
+        }
+    }
+
+    /**
+     * Escribe un entero de 32 bits en big-endian.
+     *
+     * @param valor Valor a escribir
+     */
+    private void escribirEntero32(int valor) {
+        datos[posicion++] = (byte) (valor >>> 24);
+        datos[posicion++] = (byte) (valor >>> 16);
+        datos[posicion++] = (byte) (valor >>> 8);
+        datos[posicion++] = (byte) valor;
+    }
+
+    /**
+     * Lee un entero de 32 bits en big-endian.
+     *
+     * @return Valor leído
+     */
+    private int leerEntero32() {
+        int valor = ((datos[posicion] & 0xFF) << 24) | ((datos[posicion + 1] & 0xFF) << 16)
+                | ((datos[posicion + 2] & 0xFF) << 8) | (datos[posicion + 3] & 0xFF);
+        posicion += 4;
+        return valor;
+    }
+
+    /**
+     * Escribe un varint sin signo (7 bits por byte, el bit alto indica que
+     * sigue otro byte).
+     *
+     * @param valor Valor a escribir (tratado como sin signo)
+     */
+    private void escribirVarint(long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            datos[posicion++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        datos[posicion++] = (byte) valor;
+    }
+
+    /**
+     * Lee un varint sin signo.
+     *
+     * @param nombreArchivo Nombre del archivo (para el mensaje de error)
+     * @return Valor leído
+     * @throws IOException Si el varint está incompleto o es demasiado largo
+     */
+    private long leerVarint(String nombreArchivo) throws IOException {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            if (posicion >= limite) {
+                break;
+            }
+            byte b = datos[posicion++];
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Archivo binario dañado (número inválido): " + nombreArchivo);
+    }
+
+    /**
+     * Lee un varint sin signo que debe caber en un int.
+     *
+     * @param nombreArchivo Nombre del archivo (para el mensaje de error)
+     * @return Valor leído
+     * @throws IOException Si el varint es inválido o no cabe en un int
+     */
+    private int leerVarintInt(String nombreArchivo) throws IOException {
+        long valor = leerVarint(nombreArchivo);
+        if (valor < 0 || valor > Integer.MAX_VALUE) {
+            throw new IOException("Archivo binario dañado (longitud inválida): " + nombreArchivo);
+        }
+        return (int) valor;
+    }
+
+    /**
+     * Codifica un número con signo para que los valores pequeños (positivos o
+     * negativos) ocupen pocos bytes como varint.
+     *
+     * @param valor Número con signo
+     * @return Número codificado
+     */
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    /**
+     * Decodifica un número codificado con {@link #zigzag(long)}.
+     *
+     * @param valor Número codificado
+     * @return Número con signo
+     */
+    private static long deshacerZigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+}
@@ -0,0 +1,389 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Clase que guarda una copia binaria de productos.txt y vendedores.txt ya
+ * interpretados, para que las ejecuciones siguientes no vuelvan a leerlos
+ * línea por línea.
+ *
+ * Formato del archivo (enteros big-endian):
+ * - Magia "VTAC" y versión
+ * - Tamaño, fecha de modificación y huella CRC32C de productos.txt y de
+ * vendedores.txt
+ * - Número de productos y, por cada slot: ID, precio en centavos y nombre
+ * - Número de vendedores y, por cada slot: documento, tipo de documento,
+ * nombres y apellidos
+ * - CRC32C de todos los bytes anteriores
+ *
+ * Los textos se guardan como longitud y bytes UTF-8. Los productos y
+ * vendedores se guardan en el orden de sus slots, así que el catálogo cargado
+ * es idéntico al leído de los archivos de texto (mismos slots y mismos
+ * desempates en los reportes).
+ *
+ * La copia es válida si el tamaño y la fecha de los dos archivos de texto
+ * coinciden con los guardados. Si solo cambió la fecha (el archivo se copió o
+ * se tocó), se calcula la huella del archivo y se compara con la guardada;
+ * si coincide, se usa la copia y se actualiza su fecha. En cualquier otro caso
+ * hay que leer los archivos de texto y volver a escribir la copia. La copia se
+ * lee completa con una sola proyección en memoria (FileChannel.map).
+ */
+public class CatalogoBinario {
+
+    /** Identificador del formato ("VTAC") */
+    private static final int MAGIA = 0x56544143;
+
+    /** Versión del formato */
+    private static final int VERSION = 1;
+
+    /** Archivo de productos del que se obtiene el catálogo */
+    private final String archivoProductos;
+
+    /** Archivo de vendedores del que se obtiene el índice */
+    private final String archivoVendedores;
+
+    /** Tamaño de productos.txt al crear esta instancia */
+    private final long tamanoProductos;
+
+    /** Fecha de modificación de productos.txt al crear esta instancia */
+    private final long fechaProductos;
+
+    /** Tamaño de vendedores.txt al crear esta instancia */
+    private final long tamanoVendedores;
+
+    /** Fecha de modificación de vendedores.txt al crear esta instancia */
+    private final long fechaVendedores;
+
+    /** Huella de productos.txt (válida después de cargar la copia) */
+    private long huellaProductos;
+
+    /** Huella de vendedores.txt (válida después de cargar la copia) */
+    private long huellaVendedores;
+
+    /** Catálogo cargado de la copia (null si no se cargó) */
+    private CatalogoProductos catalogo;
+
+    /** Índice cargado de la copia (null si no se cargó) */
+    private IndiceVendedores vendedores;
+
+    /**
+     * Constructor que registra el tamaño y la fecha actuales de los archivos
+     * de texto. Debe crearse antes de leerlos, para que una modificación
+     * durante la lectura invalide la copia siguiente.
+     *
+     * @param archivoProductos  Archivo de productos
+     * @param archivoVendedores Archivo de vendedores
+     */
+    public CatalogoBinario(String archivoProductos, String archivoVendedores) {
+        File productos = new File(archivoProductos);
+        File vendedoresTexto = new File(archivoVendedores);
+        this.archivoProductos = archivoProductos;
+        this.archivoVendedores = archivoVendedores;
+        this.tamanoProductos = productos.length();
+        this.fechaProductos = productos.lastModified();
+        this.tamanoVendedores = vendedoresTexto.length();
+        this.fechaVendedores = vendedoresTexto.lastModified();
+    }
+
+    /**
+     * Carga la copia binaria si corresponde a los archivos de texto actuales.
+     * Si no existe, está dañada o los archivos cambiaron, no carga nada y hay
+     * que leer los archivos de texto.
+     *
+     * @param nombreArchivo Archivo de la copia binaria
+     * @return true si el catálogo y el índice se cargaron de la copia
+     */
+    public boolean cargar(String nombreArchivo) {
+        if (!new File(nombreArchivo).isFile()) {
+            return false;
+        }
+
+        boolean actualizarFechas;
+        try (FileChannel canal = new FileInputStream(nombreArchivo).getChannel()) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                System.out.println("Advertencia: Catálogo binario " + nombreArchivo + " demasiado grande, se ignora");
+                return false;
+            }
+            MappedByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (datos.limit() < 4 + 4 + 6 * 8 + 4 + 4 + 4 || datos.getInt() != MAGIA
+                    || datos.getInt() != VERSION) {
+                System.out.println("Advertencia: Catálogo binario con formato desconocido, se vuelve a generar");
+                return false;
+            }
+
+            long tamanoGuardadoProductos = datos.getLong();
+            long fechaGuardadaProductos = datos.getLong();
+            long huellaGuardadaProductos = datos.getLong();
+            long tamanoGuardadoVendedores = datos.getLong();
+            long fechaGuardadaVendedores = datos.getLong();
+            long huellaGuardadaVendedores = datos.getLong();
+            if (!coincide(archivoProductos, tamanoProductos, fechaProductos, tamanoGuardadoProductos,
+                    fechaGuardadaProductos, huellaGuardadaProductos)
+                    || !coincide(archivoVendedores, tamanoVendedores, fechaVendedores, tamanoGuardadoVendedores,
+                            fechaGuardadaVendedores, huellaGuardadaVendedores)) {
+                System.out.println("Catálogo de productos o vendedores modificado, se vuelve a generar "
+                        + nombreArchivo);
+                return false;
+            }
+            actualizarFechas = fechaGuardadaProductos != fechaProductos
+                    || fechaGuardadaVendedores != fechaVendedores;
+
+            // Validar todo el contenido antes de crear el catálogo
+            int finDatos = datos.limit() - 4;
+            CRC32C crc = new CRC32C();
+            crc.update(datos.duplicate().position(0).limit(finDatos));
+            if ((int) crc.getValue() != datos.getInt(finDatos)) {
+                System.out.println("Advertencia: Catálogo binario dañado (CRC inválido), se vuelve a generar");
+                return false;
+            }
+
+            datos.limit(finDatos);
+            CatalogoProductos productos = leerProductos(datos);
+            IndiceVendedores indice = leerVendedores(datos);
+            if (datos.hasRemaining()) {
+                System.out.println("Advertencia: Catálogo binario dañado (bytes sobrantes), se vuelve a generar");
+                return false;
+            }
+
+            this.catalogo = productos;
+            this.vendedores = indice;
+            this.huellaProductos = huellaGuardadaProductos;
+            this.huellaVendedores = huellaGuardadaVendedores;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            System.out.println("Advertencia: No se pudo leer el catálogo binario " + nombreArchivo + " ("
+                    + e + "), se vuelve a generar");
+            return false;
+        }
+
+        if (actualizarFechas) {
+            // Mismo contenido con otra fecha: la próxima vez basta comparar tamaño y fecha
+            try {
+                escribir(nombreArchivo, catalogo, vendedores, huellaProductos, huellaVendedores);
+            } catch (IOException e) {
+                System.out.println("Advertencia: No se pudo actualizar " + nombreArchivo + ": " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Escribe la copia binaria de un catálogo leído de los archivos de texto.
+     * El archivo se escribe primero en un temporal y luego se reemplaza, para
+     * no dejar una copia incompleta si el programa se interrumpe.
+     *
+     * @param nombreArchivo    Archivo de la copia binaria
+     * @param catalogo         Catálogo de productos cargado
+     * @param vendedores       Índice de vendedores cargado
+     * @param huellaProductos  Huella de productos.txt
+     * @param huellaVendedores Huella de vendedores.txt
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public void escribir(String nombreArchivo, CatalogoProductos catalogo, AlmacenVendedores vendedores,
+            long huellaProductos, long huellaVendedores) throws IOException {
+        Path destino = Paths.get(nombreArchivo);
+        Path temporal = Paths.get(nombreArchivo + ".tmp");
+        CRC32C crc = new CRC32C();
+
+        try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(
+                new CheckedOutputStream(new FileOutputStream(temporal.toFile()), crc), 1 << 16))) {
+            salida.writeInt(MAGIA);
+            salida.writeInt(VERSION);
+            salida.writeLong(tamanoProductos);
+            salida.writeLong(fechaProductos);
+            salida.writeLong(huellaProductos);
+            salida.writeLong(tamanoVendedores);
+            salida.writeLong(fechaVendedores);
+            salida.writeLong(huellaVendedores);
+
+            salida.writeInt(catalogo.getTotal());
+            for (int slot = 0; slot < catalogo.getTotal(); slot++) {
+                salida.writeInt(catalogo.getId(slot));
+                salida.writeLong(catalogo.getPrecioCentavos(slot));
+                escribirTexto(salida, catalogo.getNombre(slot));
+            }
+
+            salida.writeInt(vendedores.getTotal());
+            for (int slot = 0; slot < vendedores.getTotal(); slot++) {
+                salida.writeLong(vendedores.getNumeroDocumento(slot));
+                escribirTexto(salida, vendedores.getTipoDocumento(slot));
+                escribirTexto(salida, vendedores.getNombres(slot));
+                escribirTexto(salida, vendedores.getApellidos(slot));
+            }
+
+            // El CRC cubre todo lo escrito hasta aquí
+            salida.flush();
+            salida.writeInt((int) crc.getValue());
+        }
+
+        Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Obtiene el catálogo cargado de la copia.
+     *
+     * @return Catálogo de productos (null si no se cargó)
+     */
+    public CatalogoProductos getCatalogo() {
+        return catalogo;
+    }
+
+    /**
+     * Obtiene el índice cargado de la copia.
+     *
+     * @return Índice de vendedores (null si no se cargó)
+     */
+    public IndiceVendedores getVendedores() {
+        return vendedores;
+    }
+
+    /**
+     * Obtiene la huella de productos.txt guardada en la copia.
+     *
+     * @return Huella CRC32C del archivo de productos
+     */
+    public long getHuellaProductos() {
+        return huellaProductos;
+    }
+
+    /**
+     * Obtiene la huella de vendedores.txt guardada en la copia.
+     *
+     * @return Huella CRC32C del archivo de vendedores
+     */
+    public long getHuellaVendedores() {
+        return huellaVendedores;
+    }
+
+    /**
+     * Indica si un archivo de texto sigue siendo el que se guardó en la copia.
+     * Con el mismo tamaño y fecha no se lee el archivo; con el mismo tamaño y
+     * otra fecha se compara la huella de su contenido.
+     *
+     * @param nombreArchivo  Archivo de texto
+     * @param tamano         Tamaño actual del archivo
+     * @param fecha          Fecha de modificación actual del archivo
+     * @param tamanoGuardado Tamaño guardado en la copia
+     * @param fechaGuardada  Fecha guardada en la copia
+     * @param huellaGuardada Huella guardada en la copia
+     * @return true si el contenido del archivo no cambió
+     * @throws IOException Si ocurre un error al leer el archivo
+     */
+    private static boolean coincide(String nombreArchivo, long tamano, long fecha, long tamanoGuardado,
+            long fechaGuardada, long huellaGuardada) throws IOException {
+        if (tamano != tamanoGuardado || fecha == 0) {
+            return false;
+        }
+        return fecha == fechaGuardada || huellaArchivo(nombreArchivo) == huellaGuardada;
+    }
+
+    /**
+     * Calcula la huella CRC32C del contenido completo de un archivo con
+     * {@link LectorBytes}, igual que al cargarlo (la de un archivo .gz
+     * corresponde a su contenido descomprimido).
+     *
+     * @param nombreArchivo Archivo a leer
+     * @return Huella CRC32C
+     * @throws IOException Si ocurre un error al leer el archivo
+     */
+    private static long huellaArchivo(String nombreArchivo) throws IOException {
+        try (LectorBytes lector = new LectorBytes().abrir(nombreArchivo, true)) {
+            return lector.completarHuella();
+        }
+    }
+
+    /**
+     * Lee los productos de la copia en el orden de sus slots.
+     *
+     * @param datos Contenido de la copia, posicionado en los productos
+     * @return Catálogo de productos
+     */
+    private static CatalogoProductos leerProductos(MappedByteBuffer datos) {
+        CatalogoProductos productos = new CatalogoProductos();
+        int total = leerTotal(datos, 4 + 8 + 4);
+        for (int i = 0; i < total; i++) {
+            int id = datos.getInt();
+            long precioCentavos = datos.getLong();
+            productos.agregar(id, leerTexto(datos), precioCentavos);
+        }
+        return productos;
+    }
+
+    /**
+     * Lee los vendedores de la copia en el orden de sus slots.
+     *
+     * @param datos Contenido de la copia, posicionado en los vendedores
+     * @return Índice de vendedores
+     */
+    private static IndiceVendedores leerVendedores(MappedByteBuffer datos) {
+        IndiceVendedores indice = new IndiceVendedores();
+        int total = leerTotal(datos, 8 + 3 * 4);
+        for (int i = 0; i < total; i++) {
+            long numeroDocumento = datos.getLong();
+            String tipoDocumento = leerTexto(datos);
+            String nombres = leerTexto(datos);
+            String apellidos = leerTexto(datos);
+            indice.agregar(tipoDocumento, numeroDocumento, nombres, apellidos);
+        }
+        return indice;
+    }
+
+    /**
+     * Lee un número de registros y comprueba que quepan en lo que queda de la
+     * copia.
+     *
+     * @param datos        Contenido de la copia
+     * @param bytesMinimos Bytes que ocupa como mínimo cada registro
+     * @return Número de registros
+     * @throws IllegalArgumentException Si el número es inválido
+     */
+    private static int leerTotal(MappedByteBuffer datos, int bytesMinimos) {
+        int total = datos.getInt();
+        if (total < 0 || total > datos.remaining() / bytesMinimos) {
+            throw new IllegalArgumentException("número de registros inválido: " + total);
+        }
+        return total;
+    }
+
+    /**
+     * Lee un texto guardado como longitud y bytes UTF-8.
+     *
+     * @param datos Contenido de la copia
+     * @return Texto leído
+     * @throws IllegalArgumentException Si la longitud es inválida
+     */
+    private static String leerTexto(MappedByteBuffer datos) {
+        int longitud = datos.getInt();
+        if (longitud < 0 || longitud > datos.remaining()) {
+            throw new IllegalArgumentException("longitud de texto inválida: " + longitud);
+        }
+        byte[] bytes = new byte[longitud];
+        datos.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Escribe un texto como longitud y bytes UTF-8.
+     *
+     * @param salida Flujo de la copia
+     * @param texto  Texto a escribir
+     * @throws IOException Si ocurre un error al escribir
+     */
+    private static void escribirTexto(DataOutputStream salida, String texto) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        salida.writeInt(bytes.length);
+        salida.write(bytes);
+    }
+}
@@ -0,0 +1,286 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase que almacena el catálogo de productos y sus cantidades vendidas en
+ * arreglos primitivos paralelos.
+ *
+ * Cada producto ocupa una posición ("slot") en los arreglos. Como los IDs de
+ * productos.txt son pequeños y consecutivos, la búsqueda por ID se hace con un
+ * arreglo indexado directamente por el ID, sin convertir el int a Integer ni
+ * recorrer nodos de un HashMap. Los IDs negativos o muy grandes se guardan en
+ * un mapa aparte para no reservar arreglos enormes.
+ *
+ * Las búsquedas pueden hacerse desde varios hilos una vez cargado el catálogo;
+ * las cantidades vendidas solo deben modificarse desde un hilo.
+ *
+ * Con {@link #activarRanking()} el catálogo mantiene además un
+ * {@link IndiceRanking} que se actualiza con cada venta, para obtener los
+ * productos más vendidos o la posición de uno sin ordenar.
+ */
+public class CatalogoProductos {
+
+    /** Mayor ID (exclusivo) que se indexa en el arreglo directo */
+    private static final int LIMITE_DENSO = 1 << 22;
+
+    /** Valor que indica que un ID no tiene producto */
+    public static final int NO_ENCONTRADO = -1;
+
+    /** Slot de cada ID en el rango denso (NO_ENCONTRADO si no existe) */
+    private int[] slotPorId;
+
+    /** Slot de los IDs fuera del rango denso */
+    private Map<Integer, Integer> slotsDispersos;
+
+    /** ID del producto de cada slot */
+    private int[] ids;
+
+    /** Nombre del producto de cada slot */
+    private String[] nombres;
+
+    /** Nombre en UTF-8 del producto de cada slot (se codifica al primer reporte) */
+    private byte[][] nombresUtf8;
+
+    /** Precio por unidad del producto de cada slot, en centavos */
+    private long[] preciosCentavos;
+
+    /** Cantidad vendida del producto de cada slot */
+    private int[] cantidadesVendidas;
+
+    /** Número de productos en el catálogo */
+    private int total;
+
+    /** Ranking por cantidad vendida mantenido al día (null si no está activado) */
+    private IndiceRanking ranking;
+
+    /**
+     * Constructor para crear un catálogo vacío.
+     */
+    public CatalogoProductos() {
+        this.slotPorId = new int[64];
+        Arrays.fill(slotPorId, NO_ENCONTRADO);
+        this.slotsDispersos = new HashMap<>();
+        this.ids = new int[16];
+        this.nombres = new String[16];
+        this.nombresUtf8 = new byte[16][];
+        this.preciosCentavos = new long[16];
+        this.cantidadesVendidas = new int[16];
+        this.total = 0;
+    }
+
+    /**
+     * Agrega un producto al catálogo. Si el ID ya existe, se reemplazan su
+     * nombre y precio conservando su posición.
+     *
+     * @param id             Identificador único del producto
+     * @param nombre         Nombre del producto
+     * @param precioCentavos Precio por unidad, en centavos
+     * @return Slot asignado al producto
+     */
+    public int agregar(int id, String nombre, long precioCentavos) {
+        int slot = buscar(id);
+        if (slot == NO_ENCONTRADO) {
+            slot = total++;
+            if (slot == ids.length) {
+                int capacidad = slot * 2;
+                ids = Arrays.copyOf(ids, capacidad);
+                nombres = Arrays.copyOf(nombres, capacidad);
+                nombresUtf8 = Arrays.copyOf(nombresUtf8, capacidad);
+                preciosCentavos = Arrays.copyOf(preciosCentavos, capacidad);
+                cantidadesVendidas = Arrays.copyOf(cantidadesVendidas, capacidad);
+            }
+            registrarId(id, slot);
+        }
+
+        ids[slot] = id;
+        nombres[slot] = nombre;
+        nombresUtf8[slot] = null;
+        preciosCentavos[slot] = precioCentavos;
+        cantidadesVendidas[slot] = 0;
+        if (ranking != null) {
+            if (slot == ranking.getTotal()) {
+                ranking.agregar(slot, 0, id);
+            } else {
+                ranking.actualizar(slot, 0, id);
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Busca el slot de un producto por su ID.
+     *
+     * @param id Identificador del producto
+     * @return Slot del producto, o NO_ENCONTRADO si no existe
+     */
+    public int buscar(int id) {
+        if (id >= 0 && id < LIMITE_DENSO) {
+            return id < slotPorId.length ? slotPorId[id] : NO_ENCONTRADO;
+        }
+        Integer slot = slotsDispersos.get(id);
+        return slot != null ? slot : NO_ENCONTRADO;
+    }
+
+    /**
+     * Obtiene el número de productos del catálogo.
+     *
+     * @return Total de productos
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Obtiene el ID del producto de un slot.
+     *
+     * @param slot Posición del producto
+     * @return ID del producto
+     */
+    public int getId(int slot) {
+        return ids[slot];
+    }
+
+    /**
+     * Obtiene el nombre del producto de un slot.
+     *
+     * @param slot Posición del producto
+     * @return Nombre del producto
+     */
+    public String getNombre(int slot) {
+        return nombres[slot];
+    }
+
+    /**
+     * Obtiene el precio por unidad del producto de un slot.
+     *
+     * @param slot Posición del producto
+     * @return Precio por unidad, en centavos
+     */
+    public long getPrecioCentavos(int slot) {
+        return preciosCentavos[slot];
+    }
+
+    /**
+     * Obtiene la cantidad vendida del producto de un slot.
+     *
+     * @param slot Posición del producto
+     * @return Cantidad vendida
+     */
+    public int getCantidadVendida(int slot) {
+        return cantidadesVendidas[slot];
+    }
+
+    /**
+     * Establece la cantidad vendida del producto de un slot.
+     *
+     * @param slot            Posición del producto
+     * @param cantidadVendida Nueva cantidad vendida
+     */
+    public void setCantidadVendida(int slot, int cantidadVendida) {
+        cantidadesVendidas[slot] = cantidadVendida;
+        if (ranking != null) {
+            ranking.actualizar(slot, cantidadVendida);
+        }
+    }
+
+    /**
+     * Suma una cantidad a las ventas del producto de un slot.
+     *
+     * @param slot     Posición del producto
+     * @param cantidad Cantidad a sumar
+     */
+    public void sumarVenta(int slot, int cantidad) {
+        cantidadesVendidas[slot] += cantidad;
+        if (ranking != null) {
+            ranking.actualizar(slot, cantidadesVendidas[slot]);
+        }
+    }
+
+    /**
+     * Activa el ranking por cantidad vendida con los productos actuales. Desde
+     * entonces cada venta lo actualiza (O(log n)). Los empates se ordenan por
+     * ID, como en el reporte completo.
+     */
+    public void activarRanking() {
+        if (ranking != null) {
+            return;
+        }
+        IndiceRanking nuevo = new IndiceRanking(ids.length);
+        for (int slot = 0; slot < total; slot++) {
+            nuevo.agregar(slot, cantidadesVendidas[slot], ids[slot]);
+        }
+        ranking = nuevo;
+    }
+
+    /**
+     * Obtiene el ranking por cantidad vendida mantenido al día.
+     *
+     * @return Ranking de los slots, o null si no está activado
+     */
+    public IndiceRanking getRanking() {
+        return ranking;
+    }
+
+    /**
+     * Crea la lista de productos con sus cantidades vendidas, ordenada por ID,
+     * para generar reportes.
+     *
+     * @return Lista de productos
+     */
+    public List<Producto> aProductos() {
+        // Ordenar los slots por ID (los IDs son únicos)
+        long[] claves = new long[total];
+        for (int slot = 0; slot < total; slot++) {
+            claves[slot] = ((long) ids[slot] << 32) | slot;
+        }
+        Arrays.sort(claves);
+
+        List<Producto> productos = new ArrayList<>(total);
+        for (long clave : claves) {
+            productos.add(aProducto((int) clave));
+        }
+        return productos;
+    }
+
+    /**
+     * Crea el producto de un slot con su cantidad vendida. El nombre en UTF-8
+     * se guarda en el catálogo, así que los reportes que se reescriben en modo
+     * continuo no vuelven a codificarlo.
+     *
+     * @param slot Posición del producto
+     * @return Producto con los datos del slot
+     */
+    public Producto aProducto(int slot) {
+        Producto producto = new Producto(ids[slot], nombres[slot], preciosCentavos[slot]);
+        producto.setCantidadVendida(cantidadesVendidas[slot]);
+        if (nombresUtf8[slot] == null) {
+            nombresUtf8[slot] = producto.getNombreUtf8();
+        } else {
+            producto.setNombreUtf8(nombresUtf8[slot]);
+        }
+        return producto;
+    }
+
+    /**
+     * Registra el slot de un ID nuevo en el índice correspondiente.
+     *
+     * @param id   Identificador del producto
+     * @param slot Posición asignada al producto
+     */
+    private void registrarId(int id, int slot) {
+        if (id >= 0 && id < LIMITE_DENSO) {
+            if (id >= slotPorId.length) {
+                int anterior = slotPorId.length;
+                int capacidad = Math.min(LIMITE_DENSO, Math.max(anterior * 2, Integer.highestOneBit(id) * 2));
+                slotPorId = Arrays.copyOf(slotPorId, capacidad);
+                Arrays.fill(slotPorId, anterior, capacidad, NO_ENCONTRADO);
+            }
+            slotPorId[id] = slot;
+        } else {
+            slotsDispersos.put(id, slot);
+        }
+    }
+}
@@ -0,0 +1,1030 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase que representa las opciones de ejecución del programa principal.
+ * Las opciones se reciben por línea de comandos con el formato --clave=valor.
+ *
+ * Opciones soportadas:
+ * - --hilos=N : número de hilos para procesar los archivos de ventas
+ * (1 = secuencial, 0 = un hilo por núcleo disponible)
+ * - --incremental=ARCHIVO : procesa solo los archivos de ventas nuevos o
+ * modificados, guardando el estado entre ejecuciones en ARCHIVO
+ * - --continuo=true : después del procesamiento inicial sigue vigilando el
+ * directorio y procesa los archivos de ventas a medida que llegan
+ * - --lote=N : en modo continuo, reescribe los reportes cada N archivos
+ * nuevos o modificados
+ * - --espera-ms=N : en modo continuo, tiempo sin cambios para considerar un
+ * archivo completo y para reescribir los reportes pendientes
+ * - --top-vendedores=N : el reporte de vendedores incluye solo los N de mayor
+ * recaudación (0 = todos)
+ * - --top-productos=N : el reporte de productos incluye solo los N más
+ * vendidos (0 = todos)
+ * - --hilos-virtuales=true : lee cada archivo de ventas en su propio hilo
+ * virtual (Java 21 o posterior), pensado para almacenamiento en red donde
+ * cada lectura bloquea; ignora --hilos
+ * - --archivos-abiertos=N : con hilos virtuales, máximo de archivos de ventas
+ * abiertos a la vez (por defecto 64)
+ * - --metricas=BASE : ruta sin extensión de los archivos de métricas que se
+ * escriben al final de cada ejecución, BASE.json y BASE.prom (por defecto
+ * metricas, ver {@link MetricasEjecucion})
+ * - --muestras=N : ejemplos de cada tipo de advertencia que se muestran en el
+ * resumen (por defecto 3, ver {@link DiagnosticoVentas})
+ * - --rechazos=ARCHIVO : escribe cada línea rechazada de los archivos de
+ * ventas en ARCHIVO, con su categoría y contenido
+ * - --modo=mapa : procesa solo una partición de los archivos de ventas y
+ * escribe sus totales en un archivo parcial en lugar de los reportes
+ * - --modo=reduccion : suma los archivos parciales en lugar de leer los
+ * archivos de ventas y genera los reportes (ver {@link AgregadoParcial})
+ * - --particion=I/N : en modo mapa, procesa la partición I de N (de 1 a N)
+ * - --particionar-por=archivo|vendedor : en modo mapa, reparte los archivos
+ * por el hash de su nombre (por defecto) o del documento de su vendedor
+ * - --parciales=DIR : carpeta compartida de los archivos parciales (por
+ * defecto la actual)
+ * - --matriz=true : guarda en memoria las unidades vendidas por cada vendedor
+ * de cada producto, para consultas (ver {@link MatrizVentas})
+ * - --servidor=PUERTO : entrega los rankings y las estadísticas por HTTP en
+ * ese puerto (0 = sin servidor, ver {@link ServidorVentas})
+ * - --catalogo-binario=ARCHIVO : guarda productos.txt y vendedores.txt ya
+ * interpretados en ARCHIVO y los carga de ahí mientras no cambien (ver
+ * {@link CatalogoBinario})
+ * - --log-consolidado=ARCHIVO : lee las ventas de un solo archivo con líneas
+ * TipoDocumento;NúmeroDocumento;IDProducto;Cantidad en lugar de los archivos
+ * ventas_*, dividido en bloques que se leen con --hilos=N (ver
+ * {@link LogVentasConsolidado})
+ * - --memoria-maxima=MB : modo de memoria limitada: los vendedores y su
+ * dinero recaudado se guardan en archivos proyectados en memoria, fuera del
+ * heap, y el reporte de vendedores se ordena por mezcla externa usando como
+ * máximo MB megabytes del heap (0 = desactivado, ver
+ * {@link IndiceVendedoresEnDisco} y {@link ReporteVendedoresExterno})
+ * - --temporales=DIR : carpeta de los archivos temporales del modo de memoria
+ * limitada (por defecto la carpeta temporal del sistema)
+ * - --ranking-incremental=true : mantiene los vendedores y productos
+ * ordenados mientras se suman las ventas, así que los reportes, las
+ * estadísticas y las instantáneas del servidor no vuelven a ordenar (ver
+ * {@link IndiceRanking})
+ * - --entradas=DIR[,DIR...] : busca los archivos de ventas en esas carpetas y
+ * en todas sus subcarpetas, en lugar de solo en la carpeta actual (ver
+ * {@link ExploradorVentas})
+ * - --patron-ventas=GLOB : reconoce los archivos de ventas por su ruta
+ * relativa a la carpeta de entrada con un patrón glob (por ejemplo
+ * 2026-*&#47;**&#47;ventas_*.txt) en lugar de por el nombre ventas_*
+ * - --formatos=csv[,jsonl][,bin] : formatos en que se escriben los reportes,
+ * todos a la vez desde el mismo ranking (por defecto csv, ver
+ * {@link DestinoReporte})
+ * - --distribucion=true : estima los percentiles del monto y la cantidad de
+ * cada línea de venta, en total, por vendedor y por producto (ver
+ * {@link DistribucionVentas})
+ */
+public class Configuracion {
+
+    /** Modo normal: lee todos los archivos de ventas y genera los reportes */
+    public static final int MODO_NORMAL = 0;
+
+    /** Modo mapa: lee una partición y escribe un archivo parcial */
+    public static final int MODO_MAPA = 1;
+
+    /** Modo reducción: suma los archivos parciales y genera los reportes */
+    public static final int MODO_REDUCCION = 2;
+
+    /** Número de hilos usados para procesar los archivos de ventas */
+    private int hilos;
+
+    /** Archivo de estado del modo incremental (null si no está activo) */
+    private String archivoEstado;
+
+    /** Indica si el programa debe seguir vigilando el directorio */
+    private boolean continuo;
+
+    /** Archivos aplicados tras los cuales se reescriben los reportes */
+    private int lote;
+
+    /** Milisegundos sin cambios para considerar estable un archivo o lote */
+    private long esperaMs;
+
+    /** Vendedores a incluir en el reporte (0 = todos) */
+    private int topVendedores;
+
+    /** Productos a incluir en el reporte (0 = todos) */
+    private int topProductos;
+
+    /** Indica si los archivos de ventas se leen con hilos virtuales */
+    private boolean hilosVirtuales;
+
+    /** Máximo de archivos de ventas abiertos a la vez con hilos virtuales */
+    private int archivosAbiertos;
+
+    /** Ruta sin extensión de los archivos de métricas */
+    private String archivoMetricas;
+
+    /** Ejemplos de cada tipo de advertencia a mostrar en el resumen */
+    private int muestras;
+
+    /** Archivo con el detalle de los rechazos (null si no se escribe) */
+    private String archivoRechazos;
+
+    /** Modo de ejecución (MODO_NORMAL, MODO_MAPA o MODO_REDUCCION) */
+    private int modo;
+
+    /** Partición procesada en modo mapa (1 a totalParticiones) */
+    private int particion;
+
+    /** Número de particiones en modo mapa */
+    private int totalParticiones;
+
+    /** Criterio de reparto (AgregadoParcial.POR_ARCHIVO o POR_VENDEDOR) */
+    private int criterioParticion;
+
+    /** Carpeta compartida de los archivos parciales */
+    private String directorioParciales;
+
+    /** Indica si se guarda la matriz de ventas por vendedor y producto */
+    private boolean matriz;
+
+    /** Puerto del servidor HTTP (0 = sin servidor) */
+    private int puertoServidor;
+
+    /** Copia binaria del catálogo (null si no se usa) */
+    private String archivoCatalogoBinario;
+
+    /** Archivo de ventas consolidado (null si se leen los archivos ventas_*) */
+    private String archivoLogConsolidado;
+
+    /** Memoria del heap para los vendedores en MB (0 = sin límite) */
+    private int memoriaMaximaMb;
+
+    /** Carpeta de los archivos temporales (null = carpeta del sistema) */
+    private String directorioTemporal;
+
+    /** Indica si los rankings se mantienen ordenados durante la lectura */
+    private boolean rankingIncremental;
+
+    /** Carpetas raíz de los archivos de ventas (null = solo la carpeta actual) */
+    private List<String> entradas;
+
+    /** Patrón glob de los archivos de ventas (null = nombre ventas_*) */
+    private String patronVentas;
+
+    /** Formatos de los reportes (csv, jsonl, bin) */
+    private List<String> formatos;
+
+    /** Indica si se estiman los percentiles de las líneas de venta */
+    private boolean distribucion;
+
+    /**
+     * Constructor que crea una configuración con los valores por defecto
+     * (procesamiento secuencial).
+     */
+    public Configuracion() {
+        this.hilos = 1;
+        this.continuo = false;
+        this.lote = 100;
+        this.esperaMs = 2000;
+        this.topVendedores = 0;
+        this.topProductos = 0;
+        this.hilosVirtuales = false;
+        this.archivosAbiertos = 64;
+        this.archivoMetricas = "metricas";
+        this.muestras = 3;
+        this.modo = MODO_NORMAL;
+        this.particion = 1;
+        this.totalParticiones = 1;
+        this.criterioParticion = AgregadoParcial.POR_ARCHIVO;
+        this.directorioParciales = ".";
+        this.matriz = false;
+        this.puertoServidor = 0;
+        this.memoriaMaximaMb = 0;
+        this.rankingIncremental = false;
+        this.formatos = List.of("csv");
+        this.distribucion = false;
+    }
+
+    /**
+     * Construye la configuración a partir de los argumentos de línea de comandos.
+     *
+     * @param args Argumentos recibidos por el programa principal
+     * @return Configuración con las opciones indicadas
+     * @throws IllegalArgumentException Si alguna opción es desconocida o inválida
+     */
+    public static Configuracion desdeArgumentos(String[] args) {
+        Configuracion configuracion = new Configuracion();
+
+        for (String argumento : args) {
+            int separador = argumento.indexOf('=');
+            if (!argumento.startsWith("--") || separador < 0) {
+                throw new IllegalArgumentException("Argumento inválido: " + argumento);
+            }
+
+            String clave = argumento.substring(2, separador);
+            String valor = argumento.substring(separador + 1);
+
+            switch (clave) {
+                case "hilos":
+                    configuracion.setHilos(leerEntero(clave, valor));
+                    break;
+                case "incremental":
+                    configuracion.setArchivoEstado(leerTexto(clave, valor));
+                    break;
+                case "continuo":
+                    configuracion.setContinuo(leerBooleano(clave, valor));
+                    break;
+                case "lote":
+                    configuracion.setLote(Math.max(1, leerEntero(clave, valor)));
+                    break;
+                case "espera-ms":
+                    configuracion.setEsperaMs(leerEntero(clave, valor));
+                    break;
+                case "top-vendedores":
+                    configuracion.setTopVendedores(leerEntero(clave, valor));
+                    break;
+                case "top-productos":
+                    configuracion.setTopProductos(leerEntero(clave, valor));
+                    break;
+                case "hilos-virtuales":
+                    configuracion.setHilosVirtuales(leerBooleano(clave, valor));
+                    break;
+                case "archivos-abiertos":
+                    configuracion.setArchivosAbiertos(Math.max(1, leerEntero(clave, valor)));
+                    break;
+                case "metricas":
+                    configuracion.setArchivoMetricas(leerTexto(clave, valor));
+                    break;
+                case "muestras":
+                    configuracion.setMuestras(Math.max(0, leerEntero(clave, valor)));
+                    break;
+                case "rechazos":
+                    configuracion.setArchivoRechazos(leerTexto(clave, valor));
+                    break;
+                case "modo":
+                    configuracion.setModo(leerModo(clave, valor));
+                    break;
+                case "particion":
+                    configuracion.leerParticion(clave, valor);
+                    break;
+                case "particionar-por":
+                    configuracion.setCriterioParticion(leerCriterioParticion(clave, valor));
+                    break;
+                case "parciales":
+                    configuracion.setDirectorioParciales(leerTexto(clave, valor));
+                    break;
+                case "matriz":
+                    configuracion.setMatriz(leerBooleano(clave, valor));
+                    break;
+                case "servidor":
+                    configuracion.setPuertoServidor(leerEntero(clave, valor));
+                    break;
+                case "catalogo-binario":
+                    configuracion.setArchivoCatalogoBinario(leerTexto(clave, valor));
+                    break;
+                case "log-consolidado":
+                    configuracion.setArchivoLogConsolidado(leerTexto(clave, valor));
+                    break;
+                case "memoria-maxima":
+                    configuracion.setMemoriaMaximaMb(leerEntero(clave, valor));
+                    break;
+                case "temporales":
+                    configuracion.setDirectorioTemporal(leerTexto(clave, valor));
+                    break;
+                case "ranking-incremental":
+                    configuracion.setRankingIncremental(leerBooleano(clave, valor));
+                    break;
+                case "entradas":
+                    configuracion.setEntradas(leerLista(clave, valor));
+                    break;
+                case "patron-ventas":
+                    configuracion.setPatronVentas(leerTexto(clave, valor));
+                    break;
+                case "formatos":
+                    configuracion.setFormatos(leerFormatos(clave, valor));
+                    break;
+                case "distribucion":
+                    configuracion.setDistribucion(leerBooleano(clave, valor));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opción desconocida: --" + clave);
+            }
+        }
+
+        if (configuracion.modo != MODO_NORMAL
+                && (configuracion.archivoEstado != null || configuracion.continuo)) {
+            throw new IllegalArgumentException(
+                    "--modo=mapa y --modo=reduccion no se combinan con --incremental ni --continuo");
+        }
+        if (configuracion.modo != MODO_NORMAL && configuracion.matriz) {
+            // Los parciales solo guardan los totales de productos y vendedores
+            throw new IllegalArgumentException("--matriz=true no se combina con --modo=mapa ni --modo=reduccion");
+        }
+        if (configuracion.archivoLogConsolidado != null && (configuracion.modo != MODO_NORMAL
+                || configuracion.archivoEstado != null || configuracion.continuo || configuracion.matriz)) {
+            // Los totales del archivo consolidado se suman por bloque, sin ventas por archivo
+            throw new IllegalArgumentException("--log-consolidado no se combina con --modo, --incremental,"
+                    + " --continuo ni --matriz");
+        }
+        if (configuracion.memoriaMaximaMb > 0 && (configuracion.modo != MODO_NORMAL
+                || configuracion.archivoEstado != null || configuracion.continuo || configuracion.matriz
+                || configuracion.puertoServidor > 0 || configuracion.archivoCatalogoBinario != null
+                || configuracion.archivoLogConsolidado != null)) {
+            // Todas estas opciones guardan en el heap datos de cada vendedor
+            throw new IllegalArgumentException("--memoria-maxima no se combina con --modo, --incremental,"
+                    + " --continuo, --matriz, --servidor, --catalogo-binario ni --log-consolidado");
+        }
+        if (configuracion.rankingIncremental && (configuracion.memoriaMaximaMb > 0
+                || configuracion.modo == MODO_MAPA)) {
+            // El ranking guarda en el heap varios arreglos por vendedor
+            throw new IllegalArgumentException(
+                    "--ranking-incremental no se combina con --memoria-maxima ni --modo=mapa");
+        }
+        if (configuracion.memoriaMaximaMb > 0 && !configuracion.formatos.equals(List.of("csv"))) {
+            // El reporte de vendedores se escribe por mezcla externa, sin lista en memoria
+            throw new IllegalArgumentException("--memoria-maxima solo escribe reportes en formato csv");
+        }
+        if (configuracion.continuo && (configuracion.entradas != null || configuracion.patronVentas != null)) {
+            // El monitor solo vigila la carpeta actual
+            throw new IllegalArgumentException("--entradas y --patron-ventas no se combinan con --continuo");
+        }
+        if (configuracion.distribucion && (configuracion.modo != MODO_NORMAL
+                || configuracion.archivoEstado != null || configuracion.continuo
+                || configuracion.memoriaMaximaMb > 0)) {
+            // Los parciales y el estado incremental solo guardan totales, no las líneas
+            throw new IllegalArgumentException("--distribucion=true no se combina con --modo, --incremental,"
+                    + " --continuo ni --memoria-maxima");
+        }
+        if (configuracion.modo == MODO_MAPA && configuracion.puertoServidor > 0) {
+            throw new IllegalArgumentException("--servidor no se combina con --modo=mapa (no genera rankings)");
+        }
+
+        return configuracion;
+    }
+
+    /**
+     * Convierte el valor de --modo a una de las constantes MODO_*.
+     *
+     * @param clave Nombre de la opción (para el mensaje de error)
+     * @param valor Texto a convertir
+     * @return Modo de ejecución
+     * @throws IllegalArgumentException Si el modo no existe
+     */
+    private static int leerModo(String clave, String valor) {
+        switch (valor.trim().toLowerCase()) {
+            case "normal":
+                return MODO_NORMAL;
+            case "mapa":
+                return MODO_MAPA;
+            case "reduccion":
+                return MODO_REDUCCION;
+            default:
+                throw new IllegalArgumentException(
+                        "La opción --" + clave + " solo admite normal, mapa o reduccion: " + valor);
+        }
+    }
+
+    /**
+     * Convierte el valor de --particionar-por a un criterio de reparto.
+     *
+     * @param clave Nombre de la opción (para el mensaje de error)
+     * @param valor Texto a convertir
+     * @return AgregadoParcial.POR_ARCHIVO o AgregadoParcial.POR_VENDEDOR
+     * @throws IllegalArgumentException Si el criterio no existe
+     */
+    private static int leerCriterioParticion(String clave, String valor) {
+        switch (valor.trim().toLowerCase()) {
+            case "archivo":
+                return AgregadoParcial.POR_ARCHIVO;
+            case "vendedor":
+                return AgregadoParcial.POR_VENDEDOR;
+            default:
+                throw new IllegalArgumentException(
+                        "La opción --" + clave + " solo admite archivo o vendedor: " + valor);
+        }
+    }
+
+    /**
+     * Lee el valor de --particion con el formato I/N.
+     *
+     * @param clave Nombre de la opción (para el mensaje de error)
+     * @param valor Texto a convertir
+     * @throws IllegalArgumentException Si el formato es inválido o I no está
+     *                                  entre 1 y N
+     */
+    private void leerParticion(String clave, String valor) {
+        int barra = valor.indexOf('/');
+        if (barra < 0) {
+            throw new IllegalArgumentException("La opción --" + clave + " requiere el formato I/N: " + valor);
+        }
+        int indice = leerEntero(clave, valor.substring(0, barra));
+        int total = leerEntero(clave, valor.substring(barra + 1));
+        if (total < 1 || indice < 1 || indice > total) {
+            throw new IllegalArgumentException(
+                    "La opción --" + clave + " requiere 1 <= I <= N: " + valor);
+        }
+        setParticion(indice);
+        setTotalParticiones(total);
+    }
+
+    /**
+     * Convierte el valor de una opción a entero no negativo.
+     *
+     * @param clave Nombre de la opción (para el mensaje de error)
+     * @param valor Texto a convertir
+     * @return Valor numérico de la opción
+     * @throws IllegalArgumentException Si el valor no es un entero no negativo
+     */
+    static int leerEntero(String clave, String valor) {
+        try {
+            int numero = Integer.parseInt(valor.trim());
+            if (numero < 0) {
+                throw new IllegalArgumentException("La opción --" + clave + " no admite valores negativos");
+            }
+            return numero;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor numérico inválido para --" + clave + ": " + valor);
+        }
+    }
+
+    /**
+     * Valida que el valor de una opción no esté vacío.
+     *
+     * @param clave Nombre de la opción (para el mensaje de error)
+     * @param valor Texto de la opción
+     * @return Valor sin espacios alrededor
+     * @throws IllegalArgumentException Si el valor está vacío
+     */
+    static String leerTexto(String clave, String valor) {
+        if (valor.trim().isEmpty()) {
+            throw new IllegalArgumentException("La opción --" + clave + " requiere un valor");
+        }
+        return valor.trim();
+    }
+
+    /**
+     * Divide el valor de una opción en una lista separada por comas.
+     *
+     * @param clave Nombre de la opción (para el mensaje de error)
+     * @param valor Texto de la opción
+     * @return Elementos sin espacios alrededor, sin vacíos
+     * @throws IllegalArgumentException Si no hay ningún elemento
+     */
+    static List<String> leerLista(String clave, String valor) {
+        List<String> elementos = new ArrayList<>();
+        for (String elemento : valor.split(",")) {
+            if (!elemento.trim().isEmpty()) {
+                elementos.add(elemento.trim());
+            }
+        }
+        if (elementos.isEmpty()) {
+            throw new IllegalArgumentException("La opción --" + clave + " requiere un valor");
+        }
+        return elementos;
+    }
+
+    /**
+     * Lee la lista de formatos de --formatos, sin repetidos.
+     *
+     * @param clave Nombre de la opción (para el mensaje de error)
+     * @param valor Texto de la opción
+     * @return Formatos en minúsculas
+     * @throws IllegalArgumentException Si algún formato no existe
+     */
+    private static List<String> leerFormatos(String clave, String valor) {
+        List<String> formatos = new ArrayList<>();
+        for (String formato : leerLista(clave, valor)) {
+            formato = formato.toLowerCase();
+            if (!formato.equals("csv") && !formato.equals("jsonl") && !formato.equals("bin")) {
+                throw new IllegalArgumentException(
+                        "La opción --" + clave + " solo admite csv, jsonl o bin: " + formato);
+            }
+            if (!formatos.contains(formato)) {
+                formatos.add(formato);
+            }
+        }
+        return formatos;
+    }
+
+    /**
+     * Convierte el valor de una opción a booleano (true/false).
+     *
+     * @param clave Nombre de la opción (para el mensaje de error)
+     * @param valor Texto a convertir
+     * @return Valor booleano de la opción
+     * @throws IllegalArgumentException Si el valor no es true ni false
+     */
+    static boolean leerBooleano(String clave, String valor) {
+        String texto = valor.trim().toLowerCase();
+        if (texto.equals("true")) {
+            return true;
+        }
+        if (texto.equals("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("La opción --" + clave + " solo admite true o false: " + valor);
+    }
+
+    /**
+     * Obtiene el número de hilos para procesar los archivos de ventas.
+     *
+     * @return Número de hilos (1 indica procesamiento secuencial)
+     */
+    public int getHilos() {
+        return hilos;
+    }
+
+    /**
+     * Establece el número de hilos. El valor 0 usa un hilo por núcleo disponible.
+     *
+     * @param hilos Número de hilos deseado
+     */
+    public void setHilos(int hilos) {
+        this.hilos = hilos == 0 ? Runtime.getRuntime().availableProcessors() : hilos;
+    }
+
+    /**
+     * Obtiene el archivo de estado del modo incremental.
+     *
+     * @return Ruta del archivo de estado, o null si el modo no está activo
+     */
+    public String getArchivoEstado() {
+        return archivoEstado;
+    }
+
+    /**
+     * Establece el archivo de estado y activa el modo incremental.
+     *
+     * @param archivoEstado Ruta del archivo de estado
+     */
+    public void setArchivoEstado(String archivoEstado) {
+        this.archivoEstado = archivoEstado;
+    }
+
+    /**
+     * Indica si el programa debe seguir vigilando el directorio de ventas.
+     *
+     * @return true si el modo continuo está activo
+     */
+    public boolean isContinuo() {
+        return continuo;
+    }
+
+    /**
+     * Activa o desactiva el modo continuo.
+     *
+     * @param continuo true para vigilar el directorio después del procesamiento
+     */
+    public void setContinuo(boolean continuo) {
+        this.continuo = continuo;
+    }
+
+    /**
+     * Obtiene el número de archivos tras el cual se reescriben los reportes.
+     *
+     * @return Tamaño del lote de archivos
+     */
+    public int getLote() {
+        return lote;
+    }
+
+    /**
+     * Establece el número de archivos tras el cual se reescriben los reportes.
+     *
+     * @param lote Tamaño del lote de archivos (mínimo 1)
+     */
+    public void setLote(int lote) {
+        this.lote = lote;
+    }
+
+    /**
+     * Obtiene el tiempo de espera sin cambios del modo continuo.
+     *
+     * @return Tiempo de espera en milisegundos
+     */
+    public long getEsperaMs() {
+        return esperaMs;
+    }
+
+    /**
+     * Establece el tiempo de espera sin cambios del modo continuo.
+     *
+     * @param esperaMs Tiempo de espera en milisegundos
+     */
+    public void setEsperaMs(long esperaMs) {
+        this.esperaMs = esperaMs;
+    }
+
+    /**
+     * Obtiene el número de vendedores a incluir en el reporte.
+     *
+     * @return Número de vendedores (0 = todos)
+     */
+    public int getTopVendedores() {
+        return topVendedores;
+    }
+
+    /**
+     * Establece el número de vendedores a incluir en el reporte.
+     *
+     * @param topVendedores Número de vendedores (0 = todos)
+     */
+    public void setTopVendedores(int topVendedores) {
+        this.topVendedores = topVendedores;
+    }
+
+    /**
+     * Obtiene el número de productos a incluir en el reporte.
+     *
+     * @return Número de productos (0 = todos)
+     */
+    public int getTopProductos() {
+        return topProductos;
+    }
+
+    /**
+     * Establece el número de productos a incluir en el reporte.
+     *
+     * @param topProductos Número de productos (0 = todos)
+     */
+    public void setTopProductos(int topProductos) {
+        this.topProductos = topProductos;
+    }
+
+    /**
+     * Indica si los archivos de ventas se leen con hilos virtuales.
+     *
+     * @return true si se usa un hilo virtual por archivo
+     */
+    public boolean isHilosVirtuales() {
+        return hilosVirtuales;
+    }
+
+    /**
+     * Activa o desactiva la lectura con hilos virtuales.
+     *
+     * @param hilosVirtuales true para usar un hilo virtual por archivo
+     */
+    public void setHilosVirtuales(boolean hilosVirtuales) {
+        this.hilosVirtuales = hilosVirtuales;
+    }
+
+    /**
+     * Obtiene el máximo de archivos de ventas abiertos a la vez con hilos
+     * virtuales.
+     *
+     * @return Máximo de archivos abiertos
+     */
+    public int getArchivosAbiertos() {
+        return archivosAbiertos;
+    }
+
+    /**
+     * Establece el máximo de archivos de ventas abiertos a la vez con hilos
+     * virtuales.
+     *
+     * @param archivosAbiertos Máximo de archivos abiertos (mínimo 1)
+     */
+    public void setArchivosAbiertos(int archivosAbiertos) {
+        this.archivosAbiertos = archivosAbiertos;
+    }
+
+    /**
+     * Obtiene la ruta sin extensión de los archivos de métricas.
+     *
+     * @return Ruta base (se le agregan .json y .prom)
+     */
+    public String getArchivoMetricas() {
+        return archivoMetricas;
+    }
+
+    /**
+     * Establece la ruta sin extensión de los archivos de métricas.
+     *
+     * @param archivoMetricas Ruta base (se le agregan .json y .prom)
+     */
+    public void setArchivoMetricas(String archivoMetricas) {
+        this.archivoMetricas = archivoMetricas;
+    }
+
+    /**
+     * Obtiene cuántos ejemplos de cada tipo de advertencia se muestran.
+     *
+     * @return Ejemplos por categoría (0 = solo los totales)
+     */
+    public int getMuestras() {
+        return muestras;
+    }
+
+    /**
+     * Establece cuántos ejemplos de cada tipo de advertencia se muestran.
+     *
+     * @param muestras Ejemplos por categoría (0 = solo los totales)
+     */
+    public void setMuestras(int muestras) {
+        this.muestras = muestras;
+    }
+
+    /**
+     * Obtiene el archivo donde se escribe el detalle de los rechazos.
+     *
+     * @return Ruta del archivo, o null si no se escribe
+     */
+    public String getArchivoRechazos() {
+        return archivoRechazos;
+    }
+
+    /**
+     * Establece el archivo donde se escribe el detalle de los rechazos.
+     *
+     * @param archivoRechazos Ruta del archivo, o null para no escribirlo
+     */
+    public void setArchivoRechazos(String archivoRechazos) {
+        this.archivoRechazos = archivoRechazos;
+    }
+
+    /**
+     * Obtiene el modo de ejecución.
+     *
+     * @return MODO_NORMAL, MODO_MAPA o MODO_REDUCCION
+     */
+    public int getModo() {
+        return modo;
+    }
+
+    /**
+     * Establece el modo de ejecución.
+     *
+     * @param modo MODO_NORMAL, MODO_MAPA o MODO_REDUCCION
+     */
+    public void setModo(int modo) {
+        this.modo = modo;
+    }
+
+    /**
+     * Obtiene la partición procesada en modo mapa.
+     *
+     * @return Partición (1 a getTotalParticiones())
+     */
+    public int getParticion() {
+        return particion;
+    }
+
+    /**
+     * Establece la partición procesada en modo mapa.
+     *
+     * @param particion Partición (1 a getTotalParticiones())
+     */
+    public void setParticion(int particion) {
+        this.particion = particion;
+    }
+
+    /**
+     * Obtiene el número de particiones en modo mapa.
+     *
+     * @return Número de particiones
+     */
+    public int getTotalParticiones() {
+        return totalParticiones;
+    }
+
+    /**
+     * Establece el número de particiones en modo mapa.
+     *
+     * @param totalParticiones Número de particiones (mínimo 1)
+     */
+    public void setTotalParticiones(int totalParticiones) {
+        this.totalParticiones = totalParticiones;
+    }
+
+    /**
+     * Obtiene el criterio de reparto de los archivos en modo mapa.
+     *
+     * @return AgregadoParcial.POR_ARCHIVO o AgregadoParcial.POR_VENDEDOR
+     */
+    public int getCriterioParticion() {
+        return criterioParticion;
+    }
+
+    /**
+     * Establece el criterio de reparto de los archivos en modo mapa.
+     *
+     * @param criterioParticion AgregadoParcial.POR_ARCHIVO o POR_VENDEDOR
+     */
+    public void setCriterioParticion(int criterioParticion) {
+        this.criterioParticion = criterioParticion;
+    }
+
+    /**
+     * Obtiene la carpeta compartida de los archivos parciales.
+     *
+     * @return Ruta de la carpeta
+     */
+    public String getDirectorioParciales() {
+        return directorioParciales;
+    }
+
+    /**
+     * Establece la carpeta compartida de los archivos parciales.
+     *
+     * @param directorioParciales Ruta de la carpeta
+     */
+    public void setDirectorioParciales(String directorioParciales) {
+        this.directorioParciales = directorioParciales;
+    }
+
+    /**
+     * Indica si se guarda la matriz de ventas por vendedor y producto.
+     *
+     * @return true si está activa
+     */
+    public boolean isMatriz() {
+        return matriz;
+    }
+
+    /**
+     * Activa o desactiva la matriz de ventas por vendedor y producto.
+     *
+     * @param matriz true para guardarla
+     */
+    public void setMatriz(boolean matriz) {
+        this.matriz = matriz;
+    }
+
+    /**
+     * Obtiene el puerto del servidor HTTP.
+     *
+     * @return Puerto TCP (0 = sin servidor)
+     */
+    public int getPuertoServidor() {
+        return puertoServidor;
+    }
+
+    /**
+     * Establece el puerto del servidor HTTP.
+     *
+     * @param puertoServidor Puerto TCP (0 = sin servidor)
+     */
+    public void setPuertoServidor(int puertoServidor) {
+        this.puertoServidor = puertoServidor;
+    }
+
+    /**
+     * Obtiene la ruta de la copia binaria del catálogo.
+     *
+     * @return Ruta del archivo, o null si no se usa
+     */
+    public String getArchivoCatalogoBinario() {
+        return archivoCatalogoBinario;
+    }
+
+    /**
+     * Establece la ruta de la copia binaria del catálogo.
+     *
+     * @param archivoCatalogoBinario Ruta del archivo (null para no usarla)
+     */
+    public void setArchivoCatalogoBinario(String archivoCatalogoBinario) {
+        this.archivoCatalogoBinario = archivoCatalogoBinario;
+    }
+
+    /**
+     * Obtiene el archivo de ventas consolidado.
+     *
+     * @return Ruta del archivo, o null si se leen los archivos ventas_*
+     */
+    public String getArchivoLogConsolidado() {
+        return archivoLogConsolidado;
+    }
+
+    /**
+     * Establece el archivo de ventas consolidado.
+     *
+     * @param archivoLogConsolidado Ruta del archivo (null para leer los
+     *                              archivos ventas_*)
+     */
+    public void setArchivoLogConsolidado(String archivoLogConsolidado) {
+        this.archivoLogConsolidado = archivoLogConsolidado;
+    }
+
+    /**
+     * Obtiene la memoria del heap del modo de memoria limitada.
+     *
+     * @return Megabytes (0 = modo desactivado)
+     */
+    public int getMemoriaMaximaMb() {
+        return memoriaMaximaMb;
+    }
+
+    /**
+     * Establece la memoria del heap del modo de memoria limitada.
+     *
+     * @param memoriaMaximaMb Megabytes (0 = modo desactivado)
+     */
+    public void setMemoriaMaximaMb(int memoriaMaximaMb) {
+        this.memoriaMaximaMb = memoriaMaximaMb;
+    }
+
+    /**
+     * Obtiene la carpeta de los archivos temporales.
+     *
+     * @return Ruta de la carpeta, o null para usar la del sistema
+     */
+    public String getDirectorioTemporal() {
+        return directorioTemporal;
+    }
+
+    /**
+     * Establece la carpeta de los archivos temporales.
+     *
+     * @param directorioTemporal Ruta de la carpeta (null para usar la del
+     *                           sistema)
+     */
+    public void setDirectorioTemporal(String directorioTemporal) {
+        this.directorioTemporal = directorioTemporal;
+    }
+
+    /**
+     * Indica si los rankings se mantienen ordenados durante la lectura.
+     *
+     * @return true si se mantienen ordenados
+     */
+    public boolean isRankingIncremental() {
+        return rankingIncremental;
+    }
+
+    /**
+     * Establece si los rankings se mantienen ordenados durante la lectura.
+     *
+     * @param rankingIncremental true para mantenerlos ordenados
+     */
+    public void setRankingIncremental(boolean rankingIncremental) {
+        this.rankingIncremental = rankingIncremental;
+    }
+
+    /**
+     * Obtiene las carpetas raíz de los archivos de ventas.
+     *
+     * @return Carpetas, o null para buscar solo en la carpeta actual
+     */
+    public List<String> getEntradas() {
+        return entradas;
+    }
+
+    /**
+     * Establece las carpetas raíz de los archivos de ventas.
+     *
+     * @param entradas Carpetas (null para buscar solo en la carpeta actual)
+     */
+    public void setEntradas(List<String> entradas) {
+        this.entradas = entradas;
+    }
+
+    /**
+     * Obtiene el patrón glob de los archivos de ventas.
+     *
+     * @return Patrón, o null para reconocerlos por el nombre ventas_*
+     */
+    public String getPatronVentas() {
+        return patronVentas;
+    }
+
+    /**
+     * Establece el patrón glob de los archivos de ventas.
+     *
+     * @param patronVentas Patrón (null para reconocerlos por el nombre
+     *                     ventas_*)
+     */
+    public void setPatronVentas(String patronVentas) {
+        this.patronVentas = patronVentas;
+    }
+
+    /**
+     * Obtiene los formatos en que se escriben los reportes.
+     *
+     * @return Formatos (csv, jsonl, bin)
+     */
+    public List<String> getFormatos() {
+        return formatos;
+    }
+
+    /**
+     * Establece los formatos en que se escriben los reportes.
+     *
+     * @param formatos Formatos (csv, jsonl, bin)
+     */
+    public void setFormatos(List<String> formatos) {
+        this.formatos = formatos;
+    }
+
+    /**
+     * Indica si se estiman los percentiles de las líneas de venta.
+     *
+     * @return true si está activo
+     */
+    public boolean isDistribucion() {
+        return distribucion;
+    }
+
+    /**
+     * Activa o desactiva la estimación de percentiles de las líneas de venta.
+     *
+     * @param distribucion true para estimarlos
+     */
+    public void setDistribucion(boolean distribucion) {
+        this.distribucion = distribucion;
+    }
+}
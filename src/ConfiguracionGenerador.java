@@ -0,0 +1,409 @@
+/**
+ * Clase que representa las opciones del generador de archivos de prueba
+ * ({@link GenerateInfoFiles}). Las opciones se reciben por línea de comandos
+ * con el formato --clave=valor, igual que en {@link Configuracion}.
+ *
+ * Opciones soportadas:
+ * - --semilla=N : semilla de los datos; la misma semilla y las mismas
+ * opciones producen exactamente los mismos archivos, sin importar el número
+ * de hilos (por defecto se elige una al azar y se muestra en consola)
+ * - --productos=N : número de productos (por defecto 20)
+ * - --vendedores=N : número de vendedores y de archivos de ventas (por
+ * defecto 10)
+ * - --ventas-min=N y --ventas-max=N : líneas de venta por archivo (por defecto
+ * entre 5 y 20)
+ * - --tamano=uniforme|pareto : distribución de las líneas por archivo entre el
+ * mínimo y el máximo; pareto produce muchos archivos pequeños y pocos grandes
+ * - --alfa=X : forma de la distribución pareto (por defecto 1.2; menor = más
+ * archivos grandes)
+ * - --zipf=S : exponente de popularidad de los productos (0 = uniforme; con 1
+ * el producto 1 se vende el doble que el 2 y el triple que el 3)
+ * - --cantidad-max=N : unidades máximas por línea de venta (por defecto 10)
+ * - --hilos=N : hilos que escriben archivos de ventas (0 = uno por núcleo,
+ * valor por defecto)
+ * - --directorio=DIR : carpeta donde se escriben los archivos (por defecto la
+ * actual)
+ */
+public class ConfiguracionGenerador {
+
+    /** Máximo de vendedores con documentos distintos (ver GenerateInfoFiles) */
+    public static final int MAXIMO_VENDEDORES = 100_000_000;
+
+    /** Semilla de los datos generados */
+    private long semilla;
+
+    /** Número de productos */
+    private int productos;
+
+    /** Número de vendedores */
+    private int vendedores;
+
+    /** Mínimo de líneas de venta por archivo */
+    private int ventasMinimas;
+
+    /** Máximo de líneas de venta por archivo */
+    private int ventasMaximas;
+
+    /** Indica si las líneas por archivo siguen una distribución pareto */
+    private boolean tamanoPareto;
+
+    /** Forma de la distribución pareto */
+    private double alfa;
+
+    /** Exponente de Zipf de la popularidad de los productos */
+    private double exponenteZipf;
+
+    /** Unidades máximas por línea de venta */
+    private int cantidadMaxima;
+
+    /** Hilos que escriben archivos de ventas */
+    private int hilos;
+
+    /** Carpeta donde se escriben los archivos */
+    private String directorio;
+
+    /**
+     * Constructor que crea una configuración con los valores por defecto (los
+     * mismos tamaños que generaba la versión original).
+     */
+    public ConfiguracionGenerador() {
+        this.semilla = System.nanoTime() ^ Double.doubleToLongBits(Math.random());
+        this.productos = 20;
+        this.vendedores = 10;
+        this.ventasMinimas = 5;
+        this.ventasMaximas = 20;
+        this.tamanoPareto = false;
+        this.alfa = 1.2;
+        this.exponenteZipf = 0;
+        this.cantidadMaxima = 10;
+        this.hilos = Runtime.getRuntime().availableProcessors();
+        this.directorio = ".";
+    }
+
+    /**
+     * Construye la configuración a partir de los argumentos de línea de comandos.
+     *
+     * @param args Argumentos recibidos por el generador
+     * @return Configuración con las opciones indicadas
+     * @throws IllegalArgumentException Si alguna opción es desconocida o inválida
+     */
+    public static ConfiguracionGenerador desdeArgumentos(String[] args) {
+        ConfiguracionGenerador configuracion = new ConfiguracionGenerador();
+
+        for (String argumento : args) {
+            int separador = argumento.indexOf('=');
+            if (!argumento.startsWith("--") || separador < 0) {
+                throw new IllegalArgumentException("Argumento inválido: " + argumento);
+            }
+
+            String clave = argumento.substring(2, separador);
+            String valor = argumento.substring(separador + 1);
+
+            switch (clave) {
+                case "semilla":
+                    configuracion.setSemilla(leerLargo(clave, valor));
+                    break;
+                case "productos":
+                    configuracion.setProductos(Math.max(1, Configuracion.leerEntero(clave, valor)));
+                    break;
+                case "vendedores":
+                    configuracion.setVendedores(Configuracion.leerEntero(clave, valor));
+                    break;
+                case "ventas-min":
+                    configuracion.setVentasMinimas(Configuracion.leerEntero(clave, valor));
+                    break;
+                case "ventas-max":
+                    configuracion.setVentasMaximas(Configuracion.leerEntero(clave, valor));
+                    break;
+                case "tamano":
+                    configuracion.setTamanoPareto(leerTamano(clave, valor));
+                    break;
+                case "alfa":
+                    configuracion.setAlfa(leerDecimal(clave, valor));
+                    break;
+                case "zipf":
+                    configuracion.setExponenteZipf(leerDecimal(clave, valor));
+                    break;
+                case "cantidad-max":
+                    configuracion.setCantidadMaxima(Math.max(1, Configuracion.leerEntero(clave, valor)));
+                    break;
+                case "hilos":
+                    configuracion.setHilos(Configuracion.leerEntero(clave, valor));
+                    break;
+                case "directorio":
+                    configuracion.setDirectorio(Configuracion.leerTexto(clave, valor));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opción desconocida: --" + clave);
+            }
+        }
+
+        if (configuracion.getVendedores() > MAXIMO_VENDEDORES) {
+            throw new IllegalArgumentException("La opción --vendedores admite como máximo " + MAXIMO_VENDEDORES);
+        }
+        if (configuracion.getVentasMinimas() > configuracion.getVentasMaximas()) {
+            throw new IllegalArgumentException("--ventas-min no puede ser mayor que --ventas-max");
+        }
+        if (configuracion.isTamanoPareto() && configuracion.getVentasMinimas() == 0) {
+            throw new IllegalArgumentException("La distribución pareto requiere --ventas-min mayor que 0");
+        }
+        if (configuracion.isTamanoPareto() && configuracion.getAlfa() == 0) {
+            throw new IllegalArgumentException("La distribución pareto requiere --alfa mayor que 0");
+        }
+
+        return configuracion;
+    }
+
+    /**
+     * Convierte el valor de una opción a long (admite negativos).
+     *
+     * @param clave Nombre de la opción (para el mensaje de error)
+     * @param valor Texto a convertir
+     * @return Valor numérico de la opción
+     * @throws IllegalArgumentException Si el valor no es un número entero
+     */
+    private static long leerLargo(String clave, String valor) {
+        try {
+            return Long.parseLong(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor numérico inválido para --" + clave + ": " + valor);
+        }
+    }
+
+    /**
+     * Convierte el valor de una opción a decimal no negativo.
+     *
+     * @param clave Nombre de la opción (para el mensaje de error)
+     * @param valor Texto a convertir
+     * @return Valor numérico de la opción
+     * @throws IllegalArgumentException Si el valor no es un número no negativo
+     */
+    private static double leerDecimal(String clave, String valor) {
+        try {
+            double numero = Double.parseDouble(valor.trim());
+            if (!(numero >= 0) || Double.isInfinite(numero)) {
+                throw new IllegalArgumentException("La opción --" + clave + " requiere un número no negativo");
+            }
+            return numero;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor numérico inválido para --" + clave + ": " + valor);
+        }
+    }
+
+    /**
+     * Convierte el valor de la opción de distribución de tamaños.
+     *
+     * @param clave Nombre de la opción (para el mensaje de error)
+     * @param valor Texto a convertir (uniforme o pareto)
+     * @return true si la distribución es pareto
+     * @throws IllegalArgumentException Si el valor no es uniforme ni pareto
+     */
+    private static boolean leerTamano(String clave, String valor) {
+        String texto = valor.trim().toLowerCase();
+        if (texto.equals("uniforme")) {
+            return false;
+        }
+        if (texto.equals("pareto")) {
+            return true;
+        }
+        throw new IllegalArgumentException("La opción --" + clave + " solo admite uniforme o pareto: " + valor);
+    }
+
+    /**
+     * Obtiene la semilla de los datos generados.
+     *
+     * @return Semilla
+     */
+    public long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Establece la semilla de los datos generados.
+     *
+     * @param semilla Semilla
+     */
+    public void setSemilla(long semilla) {
+        this.semilla = semilla;
+    }
+
+    /**
+     * Obtiene el número de productos.
+     *
+     * @return Número de productos
+     */
+    public int getProductos() {
+        return productos;
+    }
+
+    /**
+     * Establece el número de productos.
+     *
+     * @param productos Número de productos (mínimo 1)
+     */
+    public void setProductos(int productos) {
+        this.productos = productos;
+    }
+
+    /**
+     * Obtiene el número de vendedores.
+     *
+     * @return Número de vendedores
+     */
+    public int getVendedores() {
+        return vendedores;
+    }
+
+    /**
+     * Establece el número de vendedores.
+     *
+     * @param vendedores Número de vendedores
+     */
+    public void setVendedores(int vendedores) {
+        this.vendedores = vendedores;
+    }
+
+    /**
+     * Obtiene el mínimo de líneas de venta por archivo.
+     *
+     * @return Mínimo de líneas
+     */
+    public int getVentasMinimas() {
+        return ventasMinimas;
+    }
+
+    /**
+     * Establece el mínimo de líneas de venta por archivo.
+     *
+     * @param ventasMinimas Mínimo de líneas
+     */
+    public void setVentasMinimas(int ventasMinimas) {
+        this.ventasMinimas = ventasMinimas;
+    }
+
+    /**
+     * Obtiene el máximo de líneas de venta por archivo.
+     *
+     * @return Máximo de líneas
+     */
+    public int getVentasMaximas() {
+        return ventasMaximas;
+    }
+
+    /**
+     * Establece el máximo de líneas de venta por archivo.
+     *
+     * @param ventasMaximas Máximo de líneas
+     */
+    public void setVentasMaximas(int ventasMaximas) {
+        this.ventasMaximas = ventasMaximas;
+    }
+
+    /**
+     * Indica si las líneas por archivo siguen una distribución pareto.
+     *
+     * @return true para pareto, false para uniforme
+     */
+    public boolean isTamanoPareto() {
+        return tamanoPareto;
+    }
+
+    /**
+     * Establece la distribución de las líneas por archivo.
+     *
+     * @param tamanoPareto true para pareto, false para uniforme
+     */
+    public void setTamanoPareto(boolean tamanoPareto) {
+        this.tamanoPareto = tamanoPareto;
+    }
+
+    /**
+     * Obtiene la forma de la distribución pareto.
+     *
+     * @return Parámetro alfa
+     */
+    public double getAlfa() {
+        return alfa;
+    }
+
+    /**
+     * Establece la forma de la distribución pareto.
+     *
+     * @param alfa Parámetro alfa (mayor que 0)
+     */
+    public void setAlfa(double alfa) {
+        this.alfa = alfa;
+    }
+
+    /**
+     * Obtiene el exponente de Zipf de la popularidad de los productos.
+     *
+     * @return Exponente (0 = uniforme)
+     */
+    public double getExponenteZipf() {
+        return exponenteZipf;
+    }
+
+    /**
+     * Establece el exponente de Zipf de la popularidad de los productos.
+     *
+     * @param exponenteZipf Exponente (0 = uniforme)
+     */
+    public void setExponenteZipf(double exponenteZipf) {
+        this.exponenteZipf = exponenteZipf;
+    }
+
+    /**
+     * Obtiene las unidades máximas por línea de venta.
+     *
+     * @return Unidades máximas
+     */
+    public int getCantidadMaxima() {
+        return cantidadMaxima;
+    }
+
+    /**
+     * Establece las unidades máximas por línea de venta.
+     *
+     * @param cantidadMaxima Unidades máximas (mínimo 1)
+     */
+    public void setCantidadMaxima(int cantidadMaxima) {
+        this.cantidadMaxima = cantidadMaxima;
+    }
+
+    /**
+     * Obtiene el número de hilos que escriben archivos de ventas.
+     *
+     * @return Número de hilos
+     */
+    public int getHilos() {
+        return hilos;
+    }
+
+    /**
+     * Establece el número de hilos. El valor 0 usa un hilo por núcleo disponible.
+     *
+     * @param hilos Número de hilos deseado
+     */
+    public void setHilos(int hilos) {
+        this.hilos = hilos == 0 ? Runtime.getRuntime().availableProcessors() : hilos;
+    }
+
+    /**
+     * Obtiene la carpeta donde se escriben los archivos.
+     *
+     * @return Ruta de la carpeta
+     */
+    public String getDirectorio() {
+        return directorio;
+    }
+
+    /**
+     * Establece la carpeta donde se escriben los archivos.
+     *
+     * @param directorio Ruta de la carpeta
+     */
+    public void setDirectorio(String directorio) {
+        this.directorio = directorio;
+    }
+}
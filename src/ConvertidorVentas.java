@@ -0,0 +1,197 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Programa que convierte archivos de ventas de texto (ventas_*.txt, o
+ * ventas_*.txt.gz comprimidos) al formato binario por columnas (ventas_*.bin,
+ * ver {@link ArchivoVentasBinario}).
+ *
+ * Opciones (formato --clave=valor):
+ * - --origen=DIR : carpeta con los archivos de texto (por defecto la actual)
+ * - --destino=DIR : carpeta donde se escriben los binarios
+ * - --reemplazar=true : convierte dentro de la carpeta de origen y elimina cada
+ * archivo de texto después de escribir su binario
+ *
+ * Main procesa tanto los archivos .txt como los .bin de su carpeta, así que un
+ * archivo no debe quedar en los dos formatos en la misma carpeta: por eso se
+ * exige una carpeta de destino distinta o --reemplazar=true.
+ *
+ * Las líneas se interpretan igual que en Main: se ignoran las líneas vacías y
+ * las que tienen menos de dos campos, y las líneas con números inválidos se
+ * descartan con una advertencia. Los IDs de producto no se validan contra el
+ * catálogo; Main sigue advirtiendo de los desconocidos al leer el binario.
+ * Un archivo vacío o cuya primera línea no tenga un documento válido no se
+ * convierte.
+ */
+public class ConvertidorVentas {
+
+    /**
+     * Método principal del convertidor.
+     *
+     * @param args Argumentos de línea de comandos (ver la descripción de la clase)
+     */
+    public static void main(String[] args) {
+        try {
+            String origen = ".";
+            String destino = null;
+            boolean reemplazar = false;
+
+            for (String argumento : args) {
+                int separador = argumento.indexOf('=');
+                if (!argumento.startsWith("--") || separador < 0) {
+                    throw new IllegalArgumentException("Argumento inválido: " + argumento);
+                }
+
+                String clave = argumento.substring(2, separador);
+                String valor = argumento.substring(separador + 1);
+
+                switch (clave) {
+                    case "origen":
+                        origen = Configuracion.leerTexto(clave, valor);
+                        break;
+                    case "destino":
+                        destino = Configuracion.leerTexto(clave, valor);
+                        break;
+                    case "reemplazar":
+                        reemplazar = Configuracion.leerBooleano(clave, valor);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Opción desconocida: --" + clave);
+                }
+            }
+
+            if (destino == null) {
+                destino = origen;
+            }
+            boolean mismaCarpeta = Files.isSameFile(Paths.get(origen), Files.createDirectories(Paths.get(destino)));
+            if (mismaCarpeta && !reemplazar) {
+                throw new IllegalArgumentException("Indique --destino=DIR distinto del origen, o --reemplazar=true"
+                        + " para convertir en la misma carpeta eliminando los archivos de texto");
+            }
+
+            convertirCarpeta(Paths.get(origen), Paths.get(destino), reemplazar);
+
+        } catch (Exception e) {
+            System.err.println("Error durante la conversión: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Convierte todos los archivos de ventas de texto de una carpeta.
+     *
+     * @param origen     Carpeta con los archivos de texto
+     * @param destino    Carpeta donde se escriben los binarios
+     * @param reemplazar true para eliminar cada archivo de texto convertido
+     * @throws IOException Si la carpeta de origen no puede leerse
+     */
+    private static void convertirCarpeta(Path origen, Path destino, boolean reemplazar) throws IOException {
+        File[] archivos = origen.toFile().listFiles();
+        if (archivos == null) {
+            throw new IOException("No se pudo acceder a la carpeta " + origen);
+        }
+
+        LectorBytes lector = new LectorBytes();
+        ArchivoVentasBinario binario = new ArchivoVentasBinario();
+        int convertidos = 0;
+        int omitidos = 0;
+        long bytesTexto = 0;
+        long bytesBinarios = 0;
+
+        for (File archivo : archivos) {
+            String nombre = archivo.getName();
+            String extension = LectorBytes.esComprimido(nombre) ? ".txt" + LectorBytes.EXTENSION_GZIP : ".txt";
+            if (!nombre.startsWith("ventas_") || !nombre.endsWith(extension)) {
+                continue;
+            }
+
+            String nombreBinario = nombre.substring(0, nombre.length() - extension.length())
+                    + ArchivoVentasBinario.EXTENSION;
+            Path rutaBinario = destino.resolve(nombreBinario);
+            // Se escribe con otro nombre y se renombra al final, para que Main
+            // (o el modo continuo) nunca vea un binario a medio escribir
+            Path temporal = destino.resolve(nombreBinario + ".tmp");
+
+            try {
+                if (!leerArchivoTexto(lector, archivo.getPath(), binario)) {
+                    omitidos++;
+                    continue;
+                }
+                binario.escribir(temporal.toString());
+                Files.move(temporal, rutaBinario, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                bytesTexto += archivo.length();
+                bytesBinarios += Files.size(rutaBinario);
+                if (reemplazar) {
+                    Files.delete(archivo.toPath());
+                }
+                convertidos++;
+            } catch (IOException e) {
+                Files.deleteIfExists(temporal);
+                System.out.println("Advertencia: No se pudo convertir " + nombre + ": " + e.getMessage());
+                omitidos++;
+            }
+        }
+
+        System.out.println("Archivos convertidos: " + convertidos);
+        System.out.println("Archivos omitidos: " + omitidos);
+        if (bytesTexto > 0) {
+            System.out.println("Tamaño: " + bytesTexto + " bytes en texto, " + bytesBinarios + " bytes en binario ("
+                    + (100 * bytesBinarios / bytesTexto) + "%)");
+        }
+    }
+
+    /**
+     * Lee un archivo de ventas de texto y prepara su contenido en el binario.
+     *
+     * @param lector        Lector de bytes reutilizable
+     * @param nombreArchivo Ruta del archivo de texto
+     * @param binario       Archivo binario donde se preparan las ventas
+     * @return true si el archivo puede convertirse
+     * @throws IOException Si ocurre un error al leer el archivo
+     */
+    private static boolean leerArchivoTexto(LectorBytes lector, String nombreArchivo, ArchivoVentasBinario binario)
+            throws IOException {
+        try (LectorBytes archivo = lector.abrir(nombreArchivo)) {
+            if (!archivo.siguienteLinea()) {
+                System.out.println("Advertencia: Archivo " + nombreArchivo + " está vacío; no se convierte");
+                return false;
+            }
+            if (archivo.dividirCampos() < 2) {
+                System.out.println("Advertencia: Formato incorrecto en primera línea de " + nombreArchivo
+                        + "; no se convierte");
+                return false;
+            }
+            try {
+                binario.iniciar(archivo.campoTexto(0), archivo.campoLong(1));
+            } catch (NumberFormatException e) {
+                System.out.println("Advertencia: Número de documento inválido en " + nombreArchivo
+                        + "; no se convierte");
+                return false;
+            }
+
+            int lineaNumero = 1;
+            while (archivo.siguienteLinea()) {
+                lineaNumero++;
+
+                if (archivo.lineaVacia()) {
+                    continue;
+                }
+
+                try {
+                    if (archivo.dividirCampos() >= 2) {
+                        binario.agregarVenta(archivo.campoInt(0), archivo.campoInt(1));
+                    }
+                } catch (NumberFormatException e) {
+                    System.out.println("Advertencia: Línea " + lineaNumero + " de " + nombreArchivo
+                            + " descartada por error de formato");
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Destino de los reportes en un formato binario compacto, para consumidores
+ * que no quieren volver a interpretar texto.
+ *
+ * Formato del archivo (enteros big-endian):
+ * - Magia "VTAR", versión, tipo de reporte (0 = vendedores, 1 = productos) y
+ * número de filas
+ * - Vendedores, en orden: documento, dinero recaudado en centavos, tipo de
+ * documento y nombre completo
+ * - Productos, en orden: ID, precio en centavos, cantidad vendida y nombre
+ * - CRC32C de todos los bytes anteriores
+ *
+ * Los textos se guardan como longitud y bytes UTF-8, igual que en
+ * {@link CatalogoBinario}. La posición de cada fila es su orden en el archivo.
+ */
+public class DestinoBinario implements DestinoReporte {
+
+    /** Identificador del formato ("VTAR") */
+    static final int MAGIA = 0x56544152;
+
+    /** Versión del formato */
+    static final int VERSION = 1;
+
+    /** Tipo de reporte de vendedores */
+    static final int TIPO_VENDEDORES = 0;
+
+    /** Tipo de reporte de productos */
+    static final int TIPO_PRODUCTOS = 1;
+
+    /** Tamaño del buffer de escritura */
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    @Override
+    public String getExtension() {
+        return ".bin";
+    }
+
+    @Override
+    public void escribirVendedores(List<Vendedor> vendedores, String nombreArchivo) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (DataOutputStream salida = abrir(nombreArchivo, crc, TIPO_VENDEDORES, vendedores.size())) {
+            for (Vendedor vendedor : vendedores) {
+                salida.writeLong(vendedor.getNumeroDocumento());
+                salida.writeLong(vendedor.getDineroRecaudadoCentavos());
+                escribirTexto(salida, vendedor.getTipoDocumento().getBytes(StandardCharsets.UTF_8));
+                escribirTexto(salida, vendedor.getNombreCompletoUtf8());
+            }
+            cerrar(salida, crc);
+        }
+    }
+
+    @Override
+    public void escribirProductos(List<Producto> productos, String nombreArchivo) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (DataOutputStream salida = abrir(nombreArchivo, crc, TIPO_PRODUCTOS, productos.size())) {
+            for (Producto producto : productos) {
+                salida.writeInt(producto.getId());
+                salida.writeLong(producto.getPrecioCentavos());
+                salida.writeInt(producto.getCantidadVendida());
+                escribirTexto(salida, producto.getNombreUtf8());
+            }
+            cerrar(salida, crc);
+        }
+    }
+
+    /**
+     * Crea el archivo y escribe el encabezado.
+     *
+     * @param nombreArchivo Nombre del archivo a generar
+     * @param crc           CRC que acumula los bytes escritos
+     * @param tipo          TIPO_VENDEDORES o TIPO_PRODUCTOS
+     * @param filas         Número de filas del reporte
+     * @return Flujo abierto
+     * @throws IOException Si ocurre un error al crear el archivo
+     */
+    private static DataOutputStream abrir(String nombreArchivo, CRC32C crc, int tipo, int filas)
+            throws IOException {
+        DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(
+                new CheckedOutputStream(new FileOutputStream(nombreArchivo), crc), TAMANO_BUFFER));
+        salida.writeInt(MAGIA);
+        salida.writeInt(VERSION);
+        salida.writeInt(tipo);
+        salida.writeInt(filas);
+        return salida;
+    }
+
+    /**
+     * Escribe el CRC de todo lo anterior al final del archivo.
+     *
+     * @param salida Flujo abierto
+     * @param crc    CRC que acumuló los bytes escritos
+     * @throws IOException Si ocurre un error al escribir
+     */
+    private static void cerrar(DataOutputStream salida, CRC32C crc) throws IOException {
+        // El CRC cubre todo lo escrito hasta aquí
+        salida.flush();
+        salida.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Escribe un texto ya codificado como longitud y bytes UTF-8.
+     *
+     * @param salida Flujo del reporte
+     * @param bytes  Texto en UTF-8
+     * @throws IOException Si ocurre un error al escribir
+     */
+    private static void escribirTexto(DataOutputStream salida, byte[] bytes) throws IOException {
+        salida.writeInt(bytes.length);
+        salida.write(bytes);
+    }
+}
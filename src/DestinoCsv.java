@@ -0,0 +1,26 @@
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destino de los reportes CSV separados por punto y coma, el formato
+ * original del proyecto:
+ * - Vendedores: NombreCompletoVendedor;DineroRecaudado
+ * - Productos: NombreProducto;PrecioUnitario;CantidadVendida
+ */
+public class DestinoCsv implements DestinoReporte {
+
+    @Override
+    public String getExtension() {
+        return ".csv";
+    }
+
+    @Override
+    public void escribirVendedores(List<Vendedor> vendedores, String nombreArchivo) throws IOException {
+        ReportGenerator.escribirReporteVendedores(vendedores, nombreArchivo);
+    }
+
+    @Override
+    public void escribirProductos(List<Producto> productos, String nombreArchivo) throws IOException {
+        ReportGenerator.escribirReporteProductos(productos, nombreArchivo);
+    }
+}
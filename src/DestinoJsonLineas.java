@@ -0,0 +1,39 @@
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destino de los reportes en JSON Lines: un objeto JSON por línea, con los
+ * mismos campos que las filas de {@link ServidorVentas}:
+ * - Vendedores: posicion, tipoDocumento, documento, nombre, recaudado
+ * - Productos: posicion, id, nombre, precio, cantidadVendida
+ *
+ * Cada línea puede leerse por separado, así que el archivo puede procesarse
+ * en streaming sin cargarlo completo.
+ */
+public class DestinoJsonLineas implements DestinoReporte {
+
+    @Override
+    public String getExtension() {
+        return ".jsonl";
+    }
+
+    @Override
+    public void escribirVendedores(List<Vendedor> vendedores, String nombreArchivo) throws IOException {
+        try (EscritorBytes escritor = ReportGenerator.escritorDelHilo().abrir(nombreArchivo)) {
+            for (int i = 0; i < vendedores.size(); i++) {
+                InstantaneaVentas.escribirVendedorJson(escritor, vendedores.get(i), i + 1);
+                escritor.nuevaLinea();
+            }
+        }
+    }
+
+    @Override
+    public void escribirProductos(List<Producto> productos, String nombreArchivo) throws IOException {
+        try (EscritorBytes escritor = ReportGenerator.escritorDelHilo().abrir(nombreArchivo)) {
+            for (int i = 0; i < productos.size(); i++) {
+                InstantaneaVentas.escribirProductoJson(escritor, productos.get(i), i + 1);
+                escritor.nuevaLinea();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Formato de salida de los reportes de vendedores y productos.
+ *
+ * Cada destino recibe las listas ya ordenadas (ver {@link RankingVentas}) y
+ * solo decide cómo escribirlas, así que varios destinos pueden escribir los
+ * mismos rankings a la vez desde hilos distintos sin volver a ordenar (ver
+ * {@link ReportGenerator#escribirReportes}). Las implementaciones no deben
+ * modificar las listas ni guardar estado entre llamadas.
+ */
+public interface DestinoReporte {
+
+    /**
+     * Obtiene la extensión de los archivos del formato.
+     *
+     * @return Extensión con el punto, por ejemplo ".csv"
+     */
+    String getExtension();
+
+    /**
+     * Escribe el reporte de vendedores en el orden de la lista.
+     *
+     * @param vendedores    Vendedores ya ordenados
+     * @param nombreArchivo Nombre del archivo a generar
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    void escribirVendedores(List<Vendedor> vendedores, String nombreArchivo) throws IOException;
+
+    /**
+     * Escribe el reporte de productos en el orden de la lista.
+     *
+     * @param productos     Productos ya ordenados
+     * @param nombreArchivo Nombre del archivo a generar
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    void escribirProductos(List<Producto> productos, String nombreArchivo) throws IOException;
+
+    /**
+     * Crea el destino de un formato de --formatos.
+     *
+     * @param formato csv, jsonl o bin
+     * @return Destino del formato
+     * @throws IllegalArgumentException Si el formato no existe
+     */
+    static DestinoReporte crear(String formato) {
+        switch (formato) {
+            case "csv":
+                return new DestinoCsv();
+            case "jsonl":
+                return new DestinoJsonLineas();
+            case "bin":
+                return new DestinoBinario();
+            default:
+                throw new IllegalArgumentException("Formato de reporte desconocido: " + formato
+                        + " (se admiten csv, jsonl y bin)");
+        }
+    }
+}
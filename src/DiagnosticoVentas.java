@@ -0,0 +1,363 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Clase que reúne las advertencias de los archivos de ventas (líneas
+ * rechazadas, productos o vendedores desconocidos, errores de lectura) en
+ * lugar de imprimir cada una en consola.
+ *
+ * Los hilos que leen archivos solo guardan en cada {@link ResultadoArchivoVenta}
+ * la categoría, la línea y el valor de cada rechazo, sin construir textos.
+ * Este diagnóstico los recibe en el hilo que aplica los resultados y:
+ * - cuenta los rechazos por categoría y por archivo
+ * - guarda unos pocos ejemplos de cada categoría (--muestras=N)
+ * - muestra un resumen con los totales, los ejemplos y los archivos con más
+ * rechazos al terminar la lectura (ver {@link #mostrarResumen()})
+ * - opcionalmente escribe el detalle de cada rechazo en un archivo
+ * (--rechazos=ARCHIVO) desde un hilo propio, para que un lote con muchos
+ * errores no frene la lectura
+ *
+ * El archivo de rechazos está en UTF-8, separado por ';' y con encabezado:
+ * archivo;linea;categoria;valor;contenido. El contenido es la línea original
+ * (puede contener ';', por eso va al final) y queda vacío en los archivos
+ * binarios. La línea 0 indica que el rechazo no corresponde a una línea.
+ *
+ * Los errores de lectura y los desbordamientos de un archivo se siguen
+ * mostrando siempre en consola, porque son pocos y el archivo queda sin
+ * procesar por completo.
+ */
+public class DiagnosticoVentas {
+
+    /** Archivo de ventas vacío */
+    public static final int ARCHIVO_VACIO = 0;
+
+    /** Primera línea con menos de dos campos */
+    public static final int PRIMERA_LINEA_INVALIDA = 1;
+
+    /** Número de documento del vendedor inválido */
+    public static final int DOCUMENTO_INVALIDO = 2;
+
+    /** Documento de vendedor que no está en vendedores.txt */
+    public static final int VENDEDOR_DESCONOCIDO = 3;
+
+    /** Línea de venta con un número inválido */
+    public static final int LINEA_INVALIDA = 4;
+
+    /** Línea de venta con menos campos de los requeridos */
+    public static final int LINEA_INCOMPLETA = 5;
+
+    /** Venta de un producto que no está en productos.txt */
+    public static final int PRODUCTO_DESCONOCIDO = 6;
+
+    /** Error de entrada/salida al leer el archivo */
+    public static final int ERROR_LECTURA = 7;
+
+    /** Archivo descartado porque sus ventas desbordarían un total */
+    public static final int DESBORDAMIENTO = 8;
+
+    /** Número de categorías */
+    static final int CATEGORIAS = 9;
+
+    /** Nombre de cada categoría en el archivo de rechazos */
+    private static final String[] CLAVES = { "archivo_vacio", "primera_linea_invalida", "documento_invalido",
+            "vendedor_desconocido", "linea_invalida", "linea_incompleta", "producto_desconocido",
+            "error_lectura", "desbordamiento" };
+
+    /** Descripción de cada categoría en el resumen */
+    private static final String[] DESCRIPCIONES = { "Archivos vacíos", "Primeras líneas con formato incorrecto",
+            "Números de documento inválidos", "Vendedores no encontrados", "Líneas con error de formato",
+            "Líneas con campos faltantes", "Productos no encontrados", "Errores de lectura",
+            "Archivos descartados por desbordamiento" };
+
+    /** Archivos que se muestran en el resumen, los de más rechazos */
+    private static final int ARCHIVOS_EN_RESUMEN = 5;
+
+    /** Resultados pendientes de escribir en el archivo de rechazos */
+    private static final int CAPACIDAD_COLA = 1024;
+
+    /** Marca de fin para el hilo que escribe el archivo de rechazos */
+    private static final ResultadoArchivoVenta FIN = new ResultadoArchivoVenta("");
+
+    /** Ejemplos que se guardan de cada categoría */
+    private final int maximoMuestras;
+
+    /** Rechazos de cada categoría desde el último resumen */
+    private final long[] totales;
+
+    /** Ejemplos de cada categoría desde el último resumen */
+    private final List<List<String>> muestras;
+
+    /** Rechazos por categoría de cada archivo con rechazos, desde el último resumen */
+    private final Map<String, int[]> porArchivo;
+
+    /** Ruta del archivo de rechazos (null si no se escribe) */
+    private final String archivoRechazos;
+
+    /** Resultados con rechazos pendientes de escribir */
+    private final BlockingQueue<ResultadoArchivoVenta> pendientes;
+
+    /** Hilo que escribe el archivo de rechazos */
+    private final Thread escritor;
+
+    /** Error al escribir el archivo de rechazos (null si no hubo) */
+    private volatile IOException errorEscritura;
+
+    /**
+     * Constructor que prepara el diagnóstico y, si se indica un archivo de
+     * rechazos, inicia el hilo que lo escribe.
+     *
+     * @param maximoMuestras  Ejemplos que se guardan de cada categoría
+     * @param archivoRechazos Ruta del archivo de rechazos, o null para no
+     *                        escribirlo
+     */
+    public DiagnosticoVentas(int maximoMuestras, String archivoRechazos) {
+        this.maximoMuestras = maximoMuestras;
+        this.totales = new long[CATEGORIAS];
+        this.muestras = new ArrayList<>();
+        for (int i = 0; i < CATEGORIAS; i++) {
+            muestras.add(new ArrayList<>());
+        }
+        this.porArchivo = new LinkedHashMap<>();
+        this.archivoRechazos = archivoRechazos;
+
+        if (archivoRechazos != null) {
+            this.pendientes = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+            this.escritor = new Thread(this::escribirRechazos, "escritor-rechazos");
+            // Si el programa termina por un error, el hilo no lo mantiene vivo
+            this.escritor.setDaemon(true);
+            this.escritor.start();
+        } else {
+            this.pendientes = null;
+            this.escritor = null;
+        }
+    }
+
+    /**
+     * Indica si se escribe el archivo de rechazos, y por lo tanto conviene
+     * guardar el contenido de las líneas rechazadas.
+     *
+     * @return true si hay archivo de rechazos
+     */
+    public boolean isGuardarLineas() {
+        return archivoRechazos != null;
+    }
+
+    /**
+     * Registra los rechazos de un archivo leído. Debe llamarse siempre desde
+     * el mismo hilo.
+     *
+     * @param resultado Resultado del archivo
+     */
+    public void registrar(ResultadoArchivoVenta resultado) {
+        if (!resultado.isLeido()) {
+            System.out.println("Error procesando " + resultado.getNombreArchivo() + ": " + resultado.getError());
+        }
+        int total = resultado.getTotalRechazos();
+        if (total == 0) {
+            return;
+        }
+
+        int[] conteos = porArchivo.computeIfAbsent(resultado.getNombreArchivo(), nombre -> new int[CATEGORIAS]);
+        for (int i = 0; i < total; i++) {
+            int categoria = resultado.getCategoriaRechazo(i);
+            totales[categoria]++;
+            conteos[categoria]++;
+            if (muestras.get(categoria).size() < maximoMuestras) {
+                muestras.get(categoria).add(describir(resultado, i));
+            }
+        }
+
+        if (pendientes != null) {
+            try {
+                // Si el disco no da abasto se espera: el archivo de rechazos debe quedar completo
+                pendientes.put(resultado);
+            } catch (InterruptedException e) {
+                // La lectura en curso también se detiene al ver la interrupción
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Muestra en consola el resumen de los rechazos registrados desde el
+     * resumen anterior y reinicia los contadores. No muestra nada si no hubo
+     * rechazos.
+     */
+    public void mostrarResumen() {
+        long totalRechazos = 0;
+        for (long total : totales) {
+            totalRechazos += total;
+        }
+        if (totalRechazos == 0) {
+            return;
+        }
+
+        System.out.println("Advertencias: " + totalRechazos + " en " + porArchivo.size() + " archivos");
+        for (int categoria = 0; categoria < CATEGORIAS; categoria++) {
+            if (totales[categoria] == 0) {
+                continue;
+            }
+            System.out.println("- " + DESCRIPCIONES[categoria] + ": " + totales[categoria]);
+            for (String muestra : muestras.get(categoria)) {
+                System.out.println("    Advertencia: " + muestra);
+            }
+        }
+
+        // Los archivos con más rechazos, con el mismo montículo de los reportes top K
+        List<String> nombres = new ArrayList<>(porArchivo.keySet());
+        long[] sumas = new long[nombres.size()];
+        SeleccionTopK seleccion = new SeleccionTopK(Math.min(ARCHIVOS_EN_RESUMEN, nombres.size()));
+        for (int i = 0; i < nombres.size(); i++) {
+            for (int conteo : porArchivo.get(nombres.get(i))) {
+                sumas[i] += conteo;
+            }
+            seleccion.ofrecer(sumas[i], i, i);
+        }
+        System.out.println("Archivos con más advertencias:");
+        for (int slot : seleccion.extraerOrdenados()) {
+            System.out.println("- " + nombres.get(slot) + ": " + sumas[slot]);
+        }
+        if (archivoRechazos != null) {
+            System.out.println("Detalle de cada rechazo en " + archivoRechazos);
+        }
+
+        Arrays.fill(totales, 0);
+        for (List<String> lista : muestras) {
+            lista.clear();
+        }
+        porArchivo.clear();
+    }
+
+    /**
+     * Espera a que se escriba todo el archivo de rechazos y lo cierra.
+     *
+     * @throws InterruptedException Si el hilo es interrumpido mientras espera
+     */
+    public void cerrar() throws InterruptedException {
+        if (escritor == null || !escritor.isAlive()) {
+            return;
+        }
+        pendientes.put(FIN);
+        escritor.join();
+        if (errorEscritura != null) {
+            System.out.println("Advertencia: No se pudo escribir " + archivoRechazos + ": "
+                    + errorEscritura.getMessage());
+        }
+    }
+
+    /**
+     * Describe un rechazo con el mismo texto que mostraba la versión anterior
+     * al imprimir cada advertencia.
+     *
+     * @param resultado Resultado del archivo
+     * @param indice    Índice del rechazo
+     * @return Descripción del rechazo
+     */
+    private static String describir(ResultadoArchivoVenta resultado, int indice) {
+        String archivo = resultado.getNombreArchivo();
+        int linea = resultado.getLineaRechazo(indice);
+        long valor = resultado.getValorRechazo(indice);
+
+        switch (resultado.getCategoriaRechazo(indice)) {
+            case ARCHIVO_VACIO:
+                return "Archivo " + archivo + " está vacío";
+            case PRIMERA_LINEA_INVALIDA:
+                return "Formato incorrecto en primera línea de " + archivo;
+            case DOCUMENTO_INVALIDO:
+                return "Número de documento inválido en " + archivo;
+            case VENDEDOR_DESCONOCIDO:
+                return "Vendedor con documento " + valor + " no encontrado en " + archivo;
+            case LINEA_INVALIDA:
+                return "Error de formato en línea " + linea + " de " + archivo;
+            case LINEA_INCOMPLETA:
+                return "Línea " + linea + " de " + archivo + " con campos faltantes";
+            case PRODUCTO_DESCONOCIDO:
+                return "Producto ID " + valor + " no encontrado en " + archivo
+                        + (linea > 0 ? " (línea " + linea + ")" : "");
+            default:
+                return "Error procesando " + archivo + ": " + resultado.getError();
+        }
+    }
+
+    /**
+     * Cuerpo del hilo que escribe el archivo de rechazos. Si la escritura
+     * falla, sigue vaciando la cola para no bloquear la lectura.
+     */
+    private void escribirRechazos() {
+        EscritorBytes salida = new EscritorBytes();
+        try {
+            salida.abrir(archivoRechazos);
+            salida.escribirTexto("archivo;linea;categoria;valor;contenido");
+            salida.nuevaLinea();
+        } catch (IOException e) {
+            errorEscritura = e;
+        }
+
+        try {
+            while (true) {
+                ResultadoArchivoVenta resultado = pendientes.take();
+                if (resultado == FIN) {
+                    break;
+                }
+                if (errorEscritura != null) {
+                    continue;
+                }
+                try {
+                    escribirRechazos(salida, resultado);
+                    // Sin más trabajo pendiente, el archivo queda al día (útil en modo continuo)
+                    if (pendientes.isEmpty()) {
+                        salida.vaciar();
+                    }
+                } catch (IOException e) {
+                    errorEscritura = e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                salida.close();
+            } catch (IOException e) {
+                if (errorEscritura == null) {
+                    errorEscritura = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Escribe los rechazos de un archivo de ventas.
+     *
+     * @param salida    Escritor del archivo de rechazos
+     * @param resultado Resultado del archivo con sus rechazos
+     * @throws IOException Si ocurre un error al escribir
+     */
+    private static void escribirRechazos(EscritorBytes salida, ResultadoArchivoVenta resultado)
+            throws IOException {
+        for (int i = 0; i < resultado.getTotalRechazos(); i++) {
+            int categoria = resultado.getCategoriaRechazo(i);
+            salida.escribirTexto(resultado.getNombreArchivo());
+            salida.escribirByte(';');
+            salida.escribirEntero(resultado.getLineaRechazo(i));
+            salida.escribirByte(';');
+            salida.escribirTexto(CLAVES[categoria]);
+            salida.escribirByte(';');
+            if (categoria == VENDEDOR_DESCONOCIDO || categoria == PRODUCTO_DESCONOCIDO) {
+                salida.escribirEntero(resultado.getValorRechazo(i));
+            }
+            salida.escribirByte(';');
+            String contenido = categoria == ERROR_LECTURA || categoria == DESBORDAMIENTO ? resultado.getError()
+                    : resultado.getTextoRechazo(i);
+            if (contenido != null) {
+                salida.escribirTexto(contenido);
+            }
+            salida.nuevaLinea();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/**
+ * Clase que estima la distribución del monto y la cantidad de cada línea de
+ * venta (--distribucion=true): en total, por vendedor y por producto. Los
+ * reportes solo muestran sumas; aquí se ve, por ejemplo, si un vendedor
+ * recauda con muchas ventas pequeñas o con pocas grandes.
+ *
+ * Cada distribución es un {@link HistogramaLogaritmico}, de memoria acotada
+ * sin importar cuántas líneas se registren, así que los percentiles p50, p95 y
+ * p99 se estiman sin guardar las líneas. Los histogramas de cada vendedor y
+ * producto se crean con su primera venta.
+ *
+ * Los vendedores y productos se identifican por su slot en
+ * {@link IndiceVendedores} y {@link CatalogoProductos}. Una distribución solo
+ * debe modificarse desde un hilo; los hilos que leen en paralelo llevan la
+ * suya y se combinan con {@link #sumar}.
+ */
+public class DistribucionVentas {
+
+    /** Montos de todas las líneas, en centavos */
+    private final HistogramaLogaritmico montos;
+
+    /** Cantidades de todas las líneas */
+    private final HistogramaLogaritmico cantidades;
+
+    /** Montos de las líneas de cada slot de vendedor (null sin ventas) */
+    private final HistogramaLogaritmico[] montosVendedor;
+
+    /** Cantidades de las líneas de cada slot de vendedor (null sin ventas) */
+    private final HistogramaLogaritmico[] cantidadesVendedor;
+
+    /** Montos de las líneas de cada slot de producto (null sin ventas) */
+    private final HistogramaLogaritmico[] montosProducto;
+
+    /** Cantidades de las líneas de cada slot de producto (null sin ventas) */
+    private final HistogramaLogaritmico[] cantidadesProducto;
+
+    /**
+     * Constructor que crea una distribución sin líneas.
+     *
+     * @param totalVendedores Número de vendedores del índice
+     * @param totalProductos  Número de productos del catálogo
+     */
+    public DistribucionVentas(int totalVendedores, int totalProductos) {
+        this.montos = new HistogramaLogaritmico();
+        this.cantidades = new HistogramaLogaritmico();
+        this.montosVendedor = new HistogramaLogaritmico[totalVendedores];
+        this.cantidadesVendedor = new HistogramaLogaritmico[totalVendedores];
+        this.montosProducto = new HistogramaLogaritmico[totalProductos];
+        this.cantidadesProducto = new HistogramaLogaritmico[totalProductos];
+    }
+
+    /**
+     * Registra las líneas de un archivo (llamar después de
+     * {@link ResultadoArchivoVenta#aplicar}, que ya descarta los archivos con
+     * montos que no caben en un long).
+     *
+     * @param resultado Resultado de la lectura del archivo
+     * @param catalogo  Catálogo con el precio de cada producto
+     * @throws ArithmeticException Si el monto de una línea no cabe en un long
+     */
+    public void registrar(ResultadoArchivoVenta resultado, CatalogoProductos catalogo) {
+        int slotVendedor = resultado.getSlotVendedor();
+        if (slotVendedor == IndiceVendedores.NO_ENCONTRADO || resultado.getTotalVentas() == 0) {
+            return;
+        }
+        // Los histogramas del vendedor se buscan una vez por archivo
+        HistogramaLogaritmico montosDelVendedor = histograma(montosVendedor, slotVendedor);
+        HistogramaLogaritmico cantidadesDelVendedor = histograma(cantidadesVendedor, slotVendedor);
+        for (int i = 0; i < resultado.getTotalVentas(); i++) {
+            int slotProducto = resultado.getSlotProducto(i);
+            int cantidad = resultado.getCantidad(i);
+            long monto = Math.multiplyExact(catalogo.getPrecioCentavos(slotProducto), cantidad);
+            montos.registrar(monto);
+            cantidades.registrar(cantidad);
+            montosDelVendedor.registrar(monto);
+            cantidadesDelVendedor.registrar(cantidad);
+            histograma(montosProducto, slotProducto).registrar(monto);
+            histograma(cantidadesProducto, slotProducto).registrar(cantidad);
+        }
+    }
+
+    /**
+     * Registra una línea de venta.
+     *
+     * @param slotVendedor Slot del vendedor
+     * @param slotProducto Slot del producto
+     * @param cantidad     Cantidad vendida
+     * @param monto        Monto de la línea en centavos (precio × cantidad)
+     */
+    public void registrar(int slotVendedor, int slotProducto, int cantidad, long monto) {
+        montos.registrar(monto);
+        cantidades.registrar(cantidad);
+        histograma(montosVendedor, slotVendedor).registrar(monto);
+        histograma(cantidadesVendedor, slotVendedor).registrar(cantidad);
+        histograma(montosProducto, slotProducto).registrar(monto);
+        histograma(cantidadesProducto, slotProducto).registrar(cantidad);
+    }
+
+    /**
+     * Suma a esta distribución las líneas de otra, por ejemplo la de un bloque
+     * leído en otro hilo. Ambas deben tener los mismos vendedores y productos.
+     *
+     * @param otra Distribución a sumar (no se modifica)
+     */
+    public void sumar(DistribucionVentas otra) {
+        montos.sumar(otra.montos);
+        cantidades.sumar(otra.cantidades);
+        sumar(montosVendedor, otra.montosVendedor);
+        sumar(cantidadesVendedor, otra.cantidadesVendedor);
+        sumar(montosProducto, otra.montosProducto);
+        sumar(cantidadesProducto, otra.cantidadesProducto);
+    }
+
+    /**
+     * Obtiene la distribución de los montos de todas las líneas.
+     *
+     * @return Montos en centavos
+     */
+    public HistogramaLogaritmico getMontos() {
+        return montos;
+    }
+
+    /**
+     * Obtiene la distribución de las cantidades de todas las líneas.
+     *
+     * @return Cantidades
+     */
+    public HistogramaLogaritmico getCantidades() {
+        return cantidades;
+    }
+
+    /**
+     * Obtiene la distribución de los montos de las líneas de un vendedor.
+     *
+     * @param slotVendedor Slot del vendedor
+     * @return Montos en centavos (vacía si el vendedor no tiene ventas)
+     */
+    public HistogramaLogaritmico getMontosVendedor(int slotVendedor) {
+        return consultar(montosVendedor, slotVendedor);
+    }
+
+    /**
+     * Obtiene la distribución de las cantidades de las líneas de un vendedor.
+     *
+     * @param slotVendedor Slot del vendedor
+     * @return Cantidades (vacía si el vendedor no tiene ventas)
+     */
+    public HistogramaLogaritmico getCantidadesVendedor(int slotVendedor) {
+        return consultar(cantidadesVendedor, slotVendedor);
+    }
+
+    /**
+     * Obtiene la distribución de los montos de las líneas de un producto.
+     *
+     * @param slotProducto Slot del producto
+     * @return Montos en centavos (vacía si el producto no tiene ventas)
+     */
+    public HistogramaLogaritmico getMontosProducto(int slotProducto) {
+        return consultar(montosProducto, slotProducto);
+    }
+
+    /**
+     * Obtiene la distribución de las cantidades de las líneas de un producto.
+     *
+     * @param slotProducto Slot del producto
+     * @return Cantidades (vacía si el producto no tiene ventas)
+     */
+    public HistogramaLogaritmico getCantidadesProducto(int slotProducto) {
+        return consultar(cantidadesProducto, slotProducto);
+    }
+
+    /**
+     * Obtiene el histograma de un slot, creándolo si todavía no existe.
+     *
+     * @param histogramas Histogramas por slot
+     * @param slot        Slot del vendedor o producto
+     * @return Histograma del slot
+     */
+    private static HistogramaLogaritmico histograma(HistogramaLogaritmico[] histogramas, int slot) {
+        HistogramaLogaritmico histograma = histogramas[slot];
+        if (histograma == null) {
+            histograma = new HistogramaLogaritmico();
+            histogramas[slot] = histograma;
+        }
+        return histograma;
+    }
+
+    /**
+     * Obtiene el histograma de un slot sin crearlo.
+     *
+     * @param histogramas Histogramas por slot
+     * @param slot        Slot del vendedor o producto
+     * @return Histograma del slot, o uno vacío si no tiene ventas
+     */
+    private static HistogramaLogaritmico consultar(HistogramaLogaritmico[] histogramas, int slot) {
+        HistogramaLogaritmico histograma = histogramas[slot];
+        return histograma != null ? histograma : new HistogramaLogaritmico();
+    }
+
+    /**
+     * Suma slot por slot los histogramas de otra distribución.
+     *
+     * @param destino Histogramas a los que se suma
+     * @param origen  Histogramas que se suman
+     */
+    private static void sumar(HistogramaLogaritmico[] destino, HistogramaLogaritmico[] origen) {
+        for (int slot = 0; slot < origen.length; slot++) {
+            if (origen[slot] != null) {
+                histograma(destino, slot).sumar(origen[slot]);
+            }
+        }
+    }
+}
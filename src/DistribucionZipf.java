@@ -0,0 +1,96 @@
+import java.util.SplittableRandom;
+
+/**
+ * Clase que elige IDs de producto con popularidad de tipo Zipf: el producto de
+ * rango k se elige con probabilidad proporcional a 1 / k^s. Con s = 0 todos
+ * los productos son igual de probables.
+ *
+ * Usa el método de alias de Vose: la tabla se construye una vez en O(n) y cada
+ * elección cuesta un entero y un double aleatorios, sin búsquedas, lo que
+ * importa cuando se generan miles de millones de líneas de ventas.
+ *
+ * La tabla no cambia después de construirse, por lo que una instancia puede
+ * compartirse entre hilos; cada hilo usa su propio generador aleatorio.
+ */
+public class DistribucionZipf {
+
+    /** Probabilidad de quedarse con la posición elegida (en vez de su alias) */
+    private final double[] probabilidades;
+
+    /** Posición alternativa de cada posición de la tabla */
+    private final int[] alias;
+
+    /**
+     * Construye la tabla de alias para n productos.
+     *
+     * @param productos Número de productos (IDs de 1 a productos)
+     * @param exponente Exponente s de Zipf (0 = uniforme)
+     * @throws IllegalArgumentException Si no hay productos o el exponente es negativo
+     */
+    public DistribucionZipf(int productos, double exponente) {
+        if (productos <= 0) {
+            throw new IllegalArgumentException("Se requiere al menos un producto");
+        }
+        if (exponente < 0 || Double.isNaN(exponente)) {
+            throw new IllegalArgumentException("El exponente de Zipf no puede ser negativo: " + exponente);
+        }
+
+        this.probabilidades = new double[productos];
+        this.alias = new int[productos];
+
+        // Pesos normalizados para que su promedio sea 1
+        double suma = 0;
+        for (int k = 0; k < productos; k++) {
+            probabilidades[k] = Math.pow(k + 1, -exponente);
+            suma += probabilidades[k];
+        }
+        for (int k = 0; k < productos; k++) {
+            probabilidades[k] = probabilidades[k] * productos / suma;
+        }
+
+        // Pilas de posiciones por debajo y por encima del promedio
+        int[] pequenos = new int[productos];
+        int[] grandes = new int[productos];
+        int totalPequenos = 0;
+        int totalGrandes = 0;
+        for (int k = 0; k < productos; k++) {
+            if (probabilidades[k] < 1.0) {
+                pequenos[totalPequenos++] = k;
+            } else {
+                grandes[totalGrandes++] = k;
+            }
+        }
+
+        while (totalPequenos > 0 && totalGrandes > 0) {
+            int pequeno = pequenos[--totalPequenos];
+            int grande = grandes[totalGrandes - 1];
+            alias[pequeno] = grande;
+            probabilidades[grande] -= 1.0 - probabilidades[pequeno];
+            if (probabilidades[grande] < 1.0) {
+                totalGrandes--;
+                pequenos[totalPequenos++] = grande;
+            }
+        }
+        // Lo que quede (por redondeo) se elige siempre a sí mismo
+        while (totalGrandes > 0) {
+            probabilidades[grandes[--totalGrandes]] = 1.0;
+        }
+        while (totalPequenos > 0) {
+            probabilidades[pequenos[--totalPequenos]] = 1.0;
+        }
+    }
+
+    /**
+     * Elige un ID de producto.
+     *
+     * @param random Generador aleatorio del hilo que llama
+     * @return ID de producto entre 1 y el número de productos
+     */
+    public int siguiente(SplittableRandom random) {
+        int posicion = random.nextInt(probabilidades.length);
+        if (random.nextDouble() >= probabilidades[posicion]) {
+            posicion = alias[posicion];
+        }
+        return posicion + 1;
+    }
+}
@@ -0,0 +1,268 @@
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Clase que escribe archivos planos directamente como bytes.
+ *
+ * Es la contraparte de {@link LectorBytes}: en lugar de concatenar cadenas y
+ * pasarlas por un BufferedWriter sobre un FileWriter (que codifica carácter por
+ * carácter con el charset de la plataforma), los números se convierten a
+ * dígitos ASCII y el texto se codifica siempre en UTF-8, sin objetos
+ * intermedios, en un ByteBuffer directo reutilizable. Los textos que se
+ * repiten pueden codificarse una sola vez y escribirse con
+ * {@link #escribirBytes(byte[])}.
+ *
+ * El buffer se vacía al FileChannel del archivo en bloques cada vez que se
+ * llena; al ser directo, el canal lo escribe sin copiarlo a otro buffer. También
+ * puede escribirse a cualquier otro canal, por ejemplo uno sobre un
+ * ByteArrayOutputStream para codificar en memoria.
+ *
+ * Una instancia puede reutilizarse para escribir varios archivos, uno a la
+ * vez, pero no debe compartirse entre hilos.
+ */
+public class EscritorBytes implements Closeable {
+
+    /** Tamaño por defecto del buffer de escritura */
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    /** Separador de línea del sistema codificado en bytes */
+    private static final byte[] SALTO_LINEA = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    /** Bytes pendientes de escribir */
+    private final ByteBuffer buffer;
+
+    /** Arreglo auxiliar donde se forman los dígitos de un número */
+    private final byte[] numero;
+
+    /** Canal del archivo abierto actualmente */
+    private WritableByteChannel canal;
+
+    /** Bytes ya entregados al canal desde que se abrió */
+    private long escritos;
+
+    /**
+     * Constructor que reserva un buffer del tamaño por defecto (64 KB).
+     */
+    public EscritorBytes() {
+        this(TAMANO_BUFFER);
+    }
+
+    /**
+     * Constructor que reserva un buffer del tamaño indicado.
+     *
+     * @param tamanoBuffer Bytes del buffer (tamaño de cada bloque escrito)
+     */
+    public EscritorBytes(int tamanoBuffer) {
+        this.buffer = ByteBuffer.allocateDirect(Math.max(tamanoBuffer, 64));
+        this.numero = new byte[FormatoMoneda.LONGITUD_MAXIMA];
+    }
+
+    /**
+     * Crea (o reemplaza) un archivo para escribirlo.
+     *
+     * @param nombreArchivo Nombre del archivo a escribir
+     * @return Este mismo escritor, para usarlo en un try-with-resources
+     * @throws IOException Si el archivo no puede crearse
+     */
+    public EscritorBytes abrir(String nombreArchivo) throws IOException {
+        close();
+        return abrir(new FileOutputStream(nombreArchivo).getChannel());
+    }
+
+    /**
+     * Empieza a escribir en un canal ya abierto, que se cierra con
+     * {@link #close()}.
+     *
+     * @param canal Canal donde se escriben los bytes
+     * @return Este mismo escritor, para usarlo en un try-with-resources
+     * @throws IOException Si ocurre un error al cerrar el canal anterior
+     */
+    public EscritorBytes abrir(WritableByteChannel canal) throws IOException {
+        close();
+        this.canal = canal;
+        this.escritos = 0;
+        this.buffer.clear();
+        return this;
+    }
+
+    /**
+     * Obtiene la cantidad de bytes escritos desde que se abrió el canal,
+     * incluidos los que siguen en el buffer.
+     *
+     * @return Posición actual en el canal
+     */
+    public long getPosicion() {
+        return escritos + buffer.position();
+    }
+
+    /**
+     * Escribe un byte.
+     *
+     * @param valor Byte a escribir (por ejemplo un carácter ASCII)
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public void escribirByte(int valor) throws IOException {
+        if (!buffer.hasRemaining()) {
+            vaciar();
+        }
+        buffer.put((byte) valor);
+    }
+
+    /**
+     * Escribe bytes ya codificados, por ejemplo textos que se repiten.
+     *
+     * @param bytes Bytes a escribir
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public void escribirBytes(byte[] bytes) throws IOException {
+        escribirBytes(bytes, bytes.length);
+    }
+
+    /**
+     * Escribe los primeros bytes de un arreglo.
+     *
+     * @param bytes    Arreglo con los bytes a escribir
+     * @param longitud Cantidad de bytes a escribir desde el inicio
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    private void escribirBytes(byte[] bytes, int longitud) throws IOException {
+        if (longitud > buffer.remaining()) {
+            vaciar();
+            if (longitud > buffer.capacity()) {
+                ByteBuffer grande = ByteBuffer.wrap(bytes, 0, longitud);
+                while (grande.hasRemaining()) {
+                    canal.write(grande);
+                }
+                escritos += longitud;
+                return;
+            }
+        }
+        buffer.put(bytes, 0, longitud);
+    }
+
+    /**
+     * Escribe un texto codificado en UTF-8.
+     *
+     * @param texto Texto a escribir
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public void escribirTexto(String texto) throws IOException {
+        int longitud = texto.length();
+        // Cada char ocupa como máximo 3 bytes en UTF-8
+        if (longitud * 3 > buffer.remaining()) {
+            vaciar();
+            if (longitud * 3 > buffer.capacity()) {
+                escribirBytes(texto.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+        }
+
+        for (int i = 0; i < longitud; i++) {
+            char caracter = texto.charAt(i);
+            if (caracter < 0x80) {
+                buffer.put((byte) caracter);
+            } else if (caracter < 0x800) {
+                buffer.put((byte) (0xC0 | (caracter >> 6)));
+                buffer.put((byte) (0x80 | (caracter & 0x3F)));
+            } else if (!Character.isSurrogate(caracter)) {
+                buffer.put((byte) (0xE0 | (caracter >> 12)));
+                buffer.put((byte) (0x80 | ((caracter >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (caracter & 0x3F)));
+            } else if (Character.isHighSurrogate(caracter) && i + 1 < longitud
+                    && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                // Par sustituto: 4 bytes para los 2 chars
+                int codigo = Character.toCodePoint(caracter, texto.charAt(++i));
+                buffer.put((byte) (0xF0 | (codigo >> 18)));
+                buffer.put((byte) (0x80 | ((codigo >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codigo >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codigo & 0x3F)));
+            } else {
+                // Sustituto sin pareja: igual que String.getBytes
+                buffer.put((byte) '?');
+            }
+        }
+    }
+
+    /**
+     * Escribe un número entero en decimal.
+     *
+     * @param valor Número a escribir
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public void escribirEntero(long valor) throws IOException {
+        // Los dígitos se forman de derecha a izquierda al final del arreglo auxiliar.
+        // Se trabaja con el valor negativo para poder representar Long.MIN_VALUE
+        long negativo = valor < 0 ? valor : -valor;
+        int i = numero.length;
+        do {
+            numero[--i] = (byte) ('0' - (negativo % 10));
+            negativo /= 10;
+        } while (negativo != 0);
+        if (valor < 0) {
+            numero[--i] = '-';
+        }
+
+        int longitud = numero.length - i;
+        if (longitud > buffer.remaining()) {
+            vaciar();
+        }
+        buffer.put(numero, i, longitud);
+    }
+
+    /**
+     * Escribe un valor en centavos con dos decimales (ver {@link FormatoMoneda}).
+     *
+     * @param centavos Valor a escribir, en centavos
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public void escribirCentavos(long centavos) throws IOException {
+        escribirBytes(numero, FormatoMoneda.escribir(centavos, numero, 0));
+    }
+
+    /**
+     * Escribe el separador de línea del sistema (igual que BufferedWriter.newLine).
+     *
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public void nuevaLinea() throws IOException {
+        escribirBytes(SALTO_LINEA);
+    }
+
+    /**
+     * Escribe en el archivo los bytes pendientes y cierra el archivo. El
+     * escritor puede volver a usarse con {@link #abrir(String)}.
+     *
+     * @throws IOException Si ocurre un error al escribir o cerrar el archivo
+     */
+    @Override
+    public void close() throws IOException {
+        if (canal != null) {
+            WritableByteChannel anterior = canal;
+            try {
+                vaciar();
+            } finally {
+                canal = null;
+                anterior.close();
+            }
+        }
+    }
+
+    /**
+     * Escribe en el archivo los bytes pendientes del buffer sin cerrarlo, por
+     * ejemplo cuando no se esperan más datos por un tiempo.
+     *
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public void vaciar() throws IOException {
+        escritos += buffer.position();
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,373 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase que guarda el estado del procesamiento incremental entre ejecuciones.
+ *
+ * El estado contiene:
+ * - Un manifiesto con cada archivo de ventas procesado (nombre, tamaño, fecha
+ * de modificación, huella del contenido) y su aporte a los totales
+ * - Una copia de los totales acumulados de productos y vendedores
+ * - Las huellas de productos.txt y vendedores.txt con las que se calculó
+ *
+ * Con esto una nueva ejecución solo lee los archivos nuevos o modificados y
+ * retira el aporte de los archivos modificados o eliminados. Si el catálogo de
+ * productos o vendedores cambia, el estado se descarta y se procesa todo.
+ */
+public class EstadoIncremental {
+
+    /** Identificador del formato del archivo de estado */
+    private static final int MAGIA = 0x56544153;
+
+    /** Versión del formato del archivo de estado */
+    private static final int VERSION = 2;
+
+    /**
+     * Registro de un archivo de ventas procesado y de su aporte a los totales.
+     */
+    static class Entrada {
+
+        /** Tamaño del archivo en bytes (-1 si no se pudo leer completo) */
+        long tamano;
+
+        /** Fecha de modificación del archivo en milisegundos */
+        long fechaModificacion;
+
+        /** Huella CRC32C del contenido */
+        long huella;
+
+        /** Documento del vendedor del archivo (0 si no tiene vendedor válido) */
+        long documento;
+
+        /** Dinero que el archivo aportó al vendedor, en centavos */
+        long recaudacionCentavos;
+
+        /** IDs de los productos vendidos en el archivo */
+        int[] idsProducto;
+
+        /** Cantidad total vendida de cada producto en el archivo */
+        int[] cantidades;
+
+        /**
+         * Indica si el archivo no cambió desde que se registró.
+         *
+         * @param tamano            Tamaño actual del archivo
+         * @param fechaModificacion Fecha de modificación actual del archivo
+         * @return true si tamaño y fecha coinciden con los registrados
+         */
+        boolean coincide(long tamano, long fechaModificacion) {
+            return this.tamano == tamano && this.fechaModificacion == fechaModificacion;
+        }
+
+        /**
+         * Indica si el aporte registrado es el del archivo completo.
+         *
+         * @return false si la lectura se interrumpió por un error
+         */
+        boolean isCompleto() {
+            return tamano >= 0;
+        }
+    }
+
+    /** Huella de productos.txt con la que se calcularon los totales */
+    private long huellaProductos;
+
+    /** Huella de vendedores.txt con la que se calcularon los totales */
+    private long huellaVendedores;
+
+    /** Archivos procesados indexados por nombre */
+    private Map<String, Entrada> entradas;
+
+    /** IDs de productos del último estado guardado */
+    private int[] idsProducto;
+
+    /** Cantidades vendidas de productos del último estado guardado */
+    private int[] cantidadesProducto;
+
+    /** Documentos de vendedores del último estado guardado */
+    private long[] documentosVendedor;
+
+    /** Dinero recaudado por vendedores del último estado guardado, en centavos */
+    private long[] recaudacionVendedor;
+
+    /**
+     * Constructor que crea un estado vacío para un catálogo.
+     *
+     * @param huellaProductos  Huella de productos.txt
+     * @param huellaVendedores Huella de vendedores.txt
+     */
+    public EstadoIncremental(long huellaProductos, long huellaVendedores) {
+        this.huellaProductos = huellaProductos;
+        this.huellaVendedores = huellaVendedores;
+        this.entradas = new HashMap<>();
+        this.idsProducto = new int[0];
+        this.cantidadesProducto = new int[0];
+        this.documentosVendedor = new long[0];
+        this.recaudacionVendedor = new long[0];
+    }
+
+    /**
+     * Carga el estado guardado por una ejecución anterior. Si el archivo no
+     * existe, está dañado o corresponde a otro catálogo, devuelve un estado
+     * vacío para procesar todos los archivos.
+     *
+     * @param nombreArchivo    Archivo de estado
+     * @param huellaProductos  Huella actual de productos.txt
+     * @param huellaVendedores Huella actual de vendedores.txt
+     * @return Estado cargado o estado vacío
+     */
+    public static EstadoIncremental cargar(String nombreArchivo, long huellaProductos, long huellaVendedores) {
+        EstadoIncremental vacio = new EstadoIncremental(huellaProductos, huellaVendedores);
+        if (!new File(nombreArchivo).isFile()) {
+            return vacio;
+        }
+
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(nombreArchivo), 1 << 16))) {
+            if (entrada.readInt() != MAGIA || entrada.readInt() != VERSION) {
+                System.out.println("Advertencia: Estado incremental con formato desconocido, se procesa todo");
+                return vacio;
+            }
+            if (entrada.readLong() != huellaProductos || entrada.readLong() != huellaVendedores) {
+                System.out.println("Catálogo de productos o vendedores modificado, se procesa todo");
+                return vacio;
+            }
+
+            EstadoIncremental estado = new EstadoIncremental(huellaProductos, huellaVendedores);
+
+            int totalEntradas = entrada.readInt();
+            for (int i = 0; i < totalEntradas; i++) {
+                String nombre = entrada.readUTF();
+                Entrada registro = new Entrada();
+                registro.tamano = entrada.readLong();
+                registro.fechaModificacion = entrada.readLong();
+                registro.huella = entrada.readLong();
+                registro.documento = entrada.readLong();
+                registro.recaudacionCentavos = entrada.readLong();
+                int totalProductos = entrada.readInt();
+                registro.idsProducto = new int[totalProductos];
+                registro.cantidades = new int[totalProductos];
+                for (int j = 0; j < totalProductos; j++) {
+                    registro.idsProducto[j] = entrada.readInt();
+                    registro.cantidades[j] = entrada.readInt();
+                }
+                estado.entradas.put(nombre, registro);
+            }
+
+            int totalProductos = entrada.readInt();
+            estado.idsProducto = new int[totalProductos];
+            estado.cantidadesProducto = new int[totalProductos];
+            for (int i = 0; i < totalProductos; i++) {
+                estado.idsProducto[i] = entrada.readInt();
+                estado.cantidadesProducto[i] = entrada.readInt();
+            }
+
+            int totalVendedores = entrada.readInt();
+            estado.documentosVendedor = new long[totalVendedores];
+            estado.recaudacionVendedor = new long[totalVendedores];
+            for (int i = 0; i < totalVendedores; i++) {
+                estado.documentosVendedor[i] = entrada.readLong();
+                estado.recaudacionVendedor[i] = entrada.readLong();
+            }
+
+            return estado;
+        } catch (IOException e) {
+            System.out.println("Advertencia: No se pudo leer el estado incremental (" + e.getMessage()
+                    + "), se procesa todo");
+            return vacio;
+        }
+    }
+
+    /**
+     * Copia los totales guardados a los productos y vendedores cargados.
+     *
+     * @param catalogo   Catálogo de productos
+     * @param vendedores Índice de vendedores
+     */
+    public void restaurarTotales(CatalogoProductos catalogo, AlmacenVendedores vendedores) {
+        for (int i = 0; i < idsProducto.length; i++) {
+            int slot = catalogo.buscar(idsProducto[i]);
+            if (slot != CatalogoProductos.NO_ENCONTRADO) {
+                catalogo.setCantidadVendida(slot, cantidadesProducto[i]);
+            }
+        }
+        for (int i = 0; i < documentosVendedor.length; i++) {
+            int slot = vendedores.buscar(documentosVendedor[i]);
+            if (slot != IndiceVendedores.NO_ENCONTRADO) {
+                vendedores.setDineroRecaudadoCentavos(slot, recaudacionVendedor[i]);
+            }
+        }
+    }
+
+    /**
+     * Busca el registro de un archivo de ventas.
+     *
+     * @param nombreArchivo Nombre del archivo
+     * @return Registro del archivo, o null si no se ha procesado
+     */
+    public Entrada buscar(String nombreArchivo) {
+        return entradas.get(nombreArchivo);
+    }
+
+    /**
+     * Obtiene los nombres de todos los archivos registrados.
+     *
+     * @return Lista con los nombres de archivo
+     */
+    public List<String> getArchivosRegistrados() {
+        return new ArrayList<>(entradas.keySet());
+    }
+
+    /**
+     * Retira de los totales el aporte de un archivo y lo elimina del
+     * manifiesto.
+     *
+     * @param nombreArchivo Nombre del archivo a retirar
+     * @param catalogo      Catálogo de productos
+     * @param vendedores    Índice de vendedores
+     */
+    public void retirar(String nombreArchivo, CatalogoProductos catalogo, AlmacenVendedores vendedores) {
+        Entrada registro = entradas.remove(nombreArchivo);
+        if (registro == null) {
+            return;
+        }
+
+        int slotVendedor = vendedores.buscar(registro.documento);
+        if (slotVendedor != IndiceVendedores.NO_ENCONTRADO) {
+            vendedores.sumarRecaudacion(slotVendedor, -registro.recaudacionCentavos);
+        }
+        for (int i = 0; i < registro.idsProducto.length; i++) {
+            int slotProducto = catalogo.buscar(registro.idsProducto[i]);
+            if (slotProducto != CatalogoProductos.NO_ENCONTRADO) {
+                catalogo.sumarVenta(slotProducto, -registro.cantidades[i]);
+            }
+        }
+    }
+
+    /**
+     * Registra en el manifiesto el aporte de un archivo recién procesado. Si
+     * hubo un error de lectura se registran las ventas leídas antes del error,
+     * que son las que se sumaron a los totales, para poder retirarlas; el
+     * archivo queda marcado como incompleto y la siguiente ejecución lo vuelve
+     * a leer en lugar de sumarlo otra vez como nuevo.
+     *
+     * @param nombreArchivo Nombre del archivo
+     * @param resultado     Resultado de la lectura del archivo
+     * @param catalogo      Catálogo de productos
+     * @param vendedores    Índice de vendedores
+     */
+    public void registrar(String nombreArchivo, ResultadoArchivoVenta resultado, CatalogoProductos catalogo,
+            AlmacenVendedores vendedores) {
+        Entrada registro = new Entrada();
+        registro.tamano = resultado.isLeido() ? resultado.getTamano() : -1;
+        registro.fechaModificacion = resultado.getFechaModificacion();
+        registro.huella = resultado.getHuella();
+
+        // Agrupar las cantidades por producto
+        Map<Integer, Integer> cantidadesPorProducto = new HashMap<>();
+        long recaudacionCentavos = 0;
+        for (int i = 0; i < resultado.getTotalVentas(); i++) {
+            int slotProducto = resultado.getSlotProducto(i);
+            cantidadesPorProducto.merge(catalogo.getId(slotProducto), resultado.getCantidad(i), Integer::sum);
+            recaudacionCentavos += catalogo.getPrecioCentavos(slotProducto) * resultado.getCantidad(i);
+        }
+
+        int slotVendedor = resultado.getSlotVendedor();
+        registro.documento = slotVendedor != IndiceVendedores.NO_ENCONTRADO
+                ? vendedores.getNumeroDocumento(slotVendedor)
+                : 0;
+        registro.recaudacionCentavos = recaudacionCentavos;
+        registro.idsProducto = new int[cantidadesPorProducto.size()];
+        registro.cantidades = new int[cantidadesPorProducto.size()];
+        int indice = 0;
+        for (Map.Entry<Integer, Integer> cantidad : cantidadesPorProducto.entrySet()) {
+            registro.idsProducto[indice] = cantidad.getKey();
+            registro.cantidades[indice] = cantidad.getValue();
+            indice++;
+        }
+
+        entradas.put(nombreArchivo, registro);
+    }
+
+    /**
+     * Actualiza la fecha de modificación de un archivo cuyo contenido no
+     * cambió, para no volver a leerlo en la siguiente ejecución.
+     *
+     * @param nombreArchivo     Nombre del archivo
+     * @param fechaModificacion Nueva fecha de modificación
+     */
+    public void actualizarFecha(String nombreArchivo, long fechaModificacion) {
+        Entrada registro = entradas.get(nombreArchivo);
+        if (registro != null) {
+            registro.fechaModificacion = fechaModificacion;
+        }
+    }
+
+    /**
+     * Guarda el estado junto con los totales actuales. El archivo se escribe
+     * primero en un temporal y luego se reemplaza, para no dejar un estado
+     * incompleto si el programa se interrumpe.
+     *
+     * @param nombreArchivo Archivo de estado
+     * @param catalogo      Catálogo de productos con sus totales actuales
+     * @param vendedores    Índice de vendedores con sus totales actuales
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public void guardar(String nombreArchivo, CatalogoProductos catalogo, AlmacenVendedores vendedores)
+            throws IOException {
+        Path destino = Paths.get(nombreArchivo);
+        Path temporal = Paths.get(nombreArchivo + ".tmp");
+
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temporal.toFile()), 1 << 16))) {
+            salida.writeInt(MAGIA);
+            salida.writeInt(VERSION);
+            salida.writeLong(huellaProductos);
+            salida.writeLong(huellaVendedores);
+
+            salida.writeInt(entradas.size());
+            for (Map.Entry<String, Entrada> par : entradas.entrySet()) {
+                Entrada registro = par.getValue();
+                salida.writeUTF(par.getKey());
+                salida.writeLong(registro.tamano);
+                salida.writeLong(registro.fechaModificacion);
+                salida.writeLong(registro.huella);
+                salida.writeLong(registro.documento);
+                salida.writeLong(registro.recaudacionCentavos);
+                salida.writeInt(registro.idsProducto.length);
+                for (int i = 0; i < registro.idsProducto.length; i++) {
+                    salida.writeInt(registro.idsProducto[i]);
+                    salida.writeInt(registro.cantidades[i]);
+                }
+            }
+
+            salida.writeInt(catalogo.getTotal());
+            for (int slot = 0; slot < catalogo.getTotal(); slot++) {
+                salida.writeInt(catalogo.getId(slot));
+                salida.writeInt(catalogo.getCantidadVendida(slot));
+            }
+
+            salida.writeInt(vendedores.getTotal());
+            for (int slot = 0; slot < vendedores.getTotal(); slot++) {
+                salida.writeLong(vendedores.getNumeroDocumento(slot));
+                salida.writeLong(vendedores.getDineroRecaudadoCentavos(slot));
+            }
+        }
+
+        Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
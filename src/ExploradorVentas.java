@@ -0,0 +1,254 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clase que busca los archivos de ventas en una o varias carpetas raíz y los
+ * entrega a medida que los encuentra, sin esperar a que termine el recorrido.
+ *
+ * Cada carpeta se lee con Files.newDirectoryStream, que devuelve las entradas
+ * de a poco en lugar de armar un arreglo con todas. Las subcarpetas (en modo
+ * recursivo) se leen en paralelo: cada una es una tarea de un grupo fijo de
+ * hilos, y los archivos encontrados pasan por una cola acotada, así que si la
+ * lectura de ventas va más lenta que el recorrido, el recorrido espera en vez
+ * de acumular millones de nombres en memoria.
+ *
+ * Un archivo es de ventas si su nombre cumple
+ * {@link MonitorVentas#esArchivoVentas(String)} o, si se indicó un patrón
+ * glob, si su ruta relativa a la raíz cumple el patrón (el formato de
+ * FileSystem.getPathMatcher, con ** para cualquier número de carpetas). Sin
+ * patrón, solo se consulta al sistema de archivos si una entrada es carpeta
+ * cuando su nombre no es de ventas.
+ *
+ * Los nombres se entregan como rutas desde la carpeta actual; los archivos
+ * de la carpeta actual conservan su nombre sin prefijo. El orden depende de
+ * cuándo termina cada carpeta, así que puede variar entre ejecuciones.
+ *
+ * El iterador debe usarse desde un solo hilo.
+ */
+public class ExploradorVentas implements Iterator<String>, Closeable {
+
+    /** Archivos encontrados que pueden esperar en la cola */
+    private static final int CAPACIDAD_COLA = 4096;
+
+    /** Marca de fin del recorrido en la cola (se compara por identidad) */
+    private static final String FIN = new String("fin");
+
+    /** Hilos que leen las carpetas */
+    private final ExecutorService executor;
+
+    /** Archivos encontrados que todavía no se entregaron */
+    private final BlockingQueue<String> cola;
+
+    /** Patrón de las rutas relativas a la raíz (null = nombre de ventas) */
+    private final PathMatcher patron;
+
+    /** Indica si se recorren las subcarpetas */
+    private final boolean recursivo;
+
+    /** Carpetas pendientes o en lectura; al llegar a 0 termina el recorrido */
+    private final AtomicInteger carpetasPendientes;
+
+    /** Carpetas leídas */
+    private final AtomicLong carpetasLeidas;
+
+    /** Archivos de ventas encontrados */
+    private final AtomicLong archivosEncontrados;
+
+    /** Carpetas que no pudieron leerse */
+    private final AtomicLong carpetasConError;
+
+    /** Siguiente nombre a entregar (null si todavía no se tomó de la cola) */
+    private String siguiente;
+
+    /** Indica si ya se recibió la marca de fin */
+    private boolean terminado;
+
+    /**
+     * Constructor que inicia el recorrido de las carpetas raíz.
+     *
+     * @param raices    Carpetas raíz ("" o "." para la carpeta actual)
+     * @param patron    Patrón glob de las rutas relativas a la raíz, o null
+     *                  para reconocer los archivos por su nombre
+     * @param recursivo true para recorrer también las subcarpetas
+     * @param hilos     Número de hilos que leen carpetas
+     */
+    public ExploradorVentas(List<String> raices, String patron, boolean recursivo, int hilos) {
+        this.executor = Executors.newFixedThreadPool(Math.max(1, hilos), tarea -> {
+            Thread hilo = new Thread(tarea, "exploracion-ventas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.cola = new LinkedBlockingQueue<>(CAPACIDAD_COLA);
+        this.patron = patron != null ? FileSystems.getDefault().getPathMatcher("glob:" + patron) : null;
+        this.recursivo = recursivo;
+        this.carpetasPendientes = new AtomicInteger(raices.size());
+        this.carpetasLeidas = new AtomicLong();
+        this.archivosEncontrados = new AtomicLong();
+        this.carpetasConError = new AtomicLong();
+
+        if (raices.isEmpty()) {
+            this.terminado = true;
+        }
+        for (String raiz : raices) {
+            // La carpeta actual se recorre como "" para que los nombres no empiecen con "./"
+            Path carpeta = raiz.equals(".") ? Paths.get("") : Paths.get(raiz);
+            executor.execute(() -> leerCarpeta(carpeta, carpeta));
+        }
+    }
+
+    /**
+     * Lee una carpeta: pone en la cola sus archivos de ventas y agenda la
+     * lectura de sus subcarpetas.
+     *
+     * @param raiz    Carpeta raíz de la que cuelga
+     * @param carpeta Carpeta a leer
+     */
+    private void leerCarpeta(Path raiz, Path carpeta) {
+        try (DirectoryStream<Path> entradas = Files.newDirectoryStream(carpeta.toString().isEmpty()
+                ? Paths.get(".") : carpeta)) {
+            for (Path entrada : entradas) {
+                Path ruta = carpeta.resolve(entrada.getFileName());
+                if (esArchivoVentas(raiz, ruta)) {
+                    archivosEncontrados.incrementAndGet();
+                    cola.put(ruta.toString());
+                } else if (recursivo && Files.isDirectory(ruta, LinkOption.NOFOLLOW_LINKS)) {
+                    // Se cuenta antes de terminar esta carpeta para que el total no llegue a 0 antes de tiempo
+                    carpetasPendientes.incrementAndGet();
+                    executor.execute(() -> leerCarpeta(raiz, ruta));
+                }
+            }
+            carpetasLeidas.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            carpetasConError.incrementAndGet();
+            System.out.println("Advertencia: No se pudo leer la carpeta " + mostrar(carpeta) + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            // Se cerró el explorador: el recorrido se abandona
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (carpetasPendientes.decrementAndGet() == 0) {
+            try {
+                cola.put(FIN);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Indica si una entrada de una carpeta es un archivo de ventas.
+     *
+     * @param raiz Carpeta raíz de la que cuelga
+     * @param ruta Ruta de la entrada
+     * @return true si su nombre o su ruta relativa cumplen el criterio
+     */
+    private boolean esArchivoVentas(Path raiz, Path ruta) {
+        if (patron != null) {
+            return patron.matches(raiz.relativize(ruta)) && Files.isRegularFile(ruta);
+        }
+        return MonitorVentas.esArchivoVentas(ruta.getFileName().toString());
+    }
+
+    /**
+     * Espera el siguiente archivo encontrado o el fin del recorrido.
+     *
+     * @return true si hay otro archivo de ventas
+     * @throws IllegalStateException Si el hilo es interrumpido mientras espera
+     */
+    @Override
+    public boolean hasNext() {
+        if (siguiente == null && !terminado) {
+            try {
+                String nombre = cola.take();
+                if (nombre == FIN) {
+                    terminado = true;
+                } else {
+                    siguiente = nombre;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Búsqueda de archivos de ventas interrumpida", e);
+            }
+        }
+        return siguiente != null;
+    }
+
+    /**
+     * Entrega el siguiente archivo encontrado.
+     *
+     * @return Ruta del archivo de ventas
+     * @throws NoSuchElementException Si el recorrido terminó
+     */
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String nombre = siguiente;
+        siguiente = null;
+        return nombre;
+    }
+
+    /**
+     * Obtiene el número de carpetas leídas hasta ahora.
+     *
+     * @return Carpetas leídas
+     */
+    public long getCarpetasLeidas() {
+        return carpetasLeidas.get();
+    }
+
+    /**
+     * Obtiene el número de archivos de ventas encontrados hasta ahora.
+     *
+     * @return Archivos encontrados
+     */
+    public long getArchivosEncontrados() {
+        return archivosEncontrados.get();
+    }
+
+    /**
+     * Obtiene el número de carpetas que no pudieron leerse.
+     *
+     * @return Carpetas con error
+     */
+    public long getCarpetasConError() {
+        return carpetasConError.get();
+    }
+
+    /**
+     * Detiene el recorrido si todavía no terminó.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Obtiene el nombre de una carpeta para los mensajes.
+     *
+     * @param carpeta Carpeta
+     * @return Ruta de la carpeta, o "." para la carpeta actual
+     */
+    private static String mostrar(Path carpeta) {
+        String nombre = carpeta.toString();
+        return nombre.isEmpty() ? "." : nombre;
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Clase con utilidades para manejar dinero como un número entero de centavos.
+ *
+ * Los precios y recaudaciones se guardan como long en centavos para que las
+ * sumas sean exactas sin importar el orden ni la magnitud de los totales.
+ * El formateador escribe los dígitos directamente en un arreglo que aporta
+ * quien llama, por lo que no crea objetos y puede usarse desde varios hilos.
+ *
+ * Formato de salida: parte entera, punto decimal y dos decimales (por ejemplo
+ * 123456 centavos se escribe como "1234.56"), igual que DecimalFormat("#0.00").
+ */
+public class FormatoMoneda {
+
+    /** Máximo de caracteres que ocupa un valor (signo, 19 dígitos y punto) */
+    public static final int LONGITUD_MAXIMA = 21;
+
+    /**
+     * Constructor privado: la clase solo tiene métodos estáticos.
+     */
+    private FormatoMoneda() {
+    }
+
+    /**
+     * Escribe un valor en centavos como texto en un arreglo de caracteres.
+     *
+     * @param centavos Valor a escribir, en centavos
+     * @param destino  Arreglo donde se escriben los caracteres
+     * @param posicion Posición donde empieza la escritura
+     * @return Posición siguiente al último carácter escrito
+     */
+    public static int escribir(long centavos, char[] destino, int posicion) {
+        // Se trabaja con el valor negativo para poder representar Long.MIN_VALUE
+        long negativo = centavos < 0 ? centavos : -centavos;
+        int longitud = contarDigitos(negativo);
+        if (centavos < 0) {
+            destino[posicion++] = '-';
+        }
+
+        int fin = posicion + longitud + 1;
+        int i = fin;
+        // Dos decimales
+        for (int d = 0; d < 2; d++) {
+            destino[--i] = (char) ('0' - (negativo % 10));
+            negativo /= 10;
+        }
+        destino[--i] = '.';
+        // Parte entera (al menos un dígito)
+        do {
+            destino[--i] = (char) ('0' - (negativo % 10));
+            negativo /= 10;
+        } while (negativo != 0);
+
+        return fin;
+    }
+
+    /**
+     * Escribe un valor en centavos como texto ASCII en un arreglo de bytes.
+     *
+     * @param centavos Valor a escribir, en centavos
+     * @param destino  Arreglo donde se escriben los bytes
+     * @param posicion Posición donde empieza la escritura
+     * @return Posición siguiente al último byte escrito
+     */
+    public static int escribir(long centavos, byte[] destino, int posicion) {
+        long negativo = centavos < 0 ? centavos : -centavos;
+        int longitud = contarDigitos(negativo);
+        if (centavos < 0) {
+            destino[posicion++] = '-';
+        }
+
+        int fin = posicion + longitud + 1;
+        int i = fin;
+        for (int d = 0; d < 2; d++) {
+            destino[--i] = (byte) ('0' - (negativo % 10));
+            negativo /= 10;
+        }
+        destino[--i] = '.';
+        do {
+            destino[--i] = (byte) ('0' - (negativo % 10));
+            negativo /= 10;
+        } while (negativo != 0);
+
+        return fin;
+    }
+
+    /**
+     * Convierte un valor en centavos a texto. Crea un String, por lo que está
+     * pensado para mensajes de consola y no para escribir reportes grandes.
+     *
+     * @param centavos Valor a convertir, en centavos
+     * @return Texto con dos decimales
+     */
+    public static String formatear(long centavos) {
+        char[] texto = new char[LONGITUD_MAXIMA];
+        int longitud = escribir(centavos, texto, 0);
+        return new String(texto, 0, longitud);
+    }
+
+    /**
+     * Cuenta los dígitos que se escriben para un valor (mínimo 3: un entero y
+     * dos decimales).
+     *
+     * @param negativo Valor en centavos, negativo o cero
+     * @return Número de dígitos a escribir
+     */
+    private static int contarDigitos(long negativo) {
+        int digitos = 1;
+        long limite = -10;
+        while (digitos < 19 && negativo <= limite) {
+            digitos++;
+            limite *= 10;
+        }
+        return Math.max(digitos, 3);
+    }
+}
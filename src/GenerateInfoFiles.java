@@ -1,7 +1,14 @@
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Random;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Clase encargada de generar archivos planos pseudoaleatorios
@@ -13,12 +20,14 @@ import java.util.Random;
  * - Archivo de información de productos
  * - Archivo de información de vendedores
  *
+ * Los tamaños, la semilla y las distribuciones se configuran por línea de
+ * comandos (ver {@link ConfiguracionGenerador}). Cada vendedor usa su propio
+ * generador SplittableRandom derivado de la semilla y de su posición, por lo
+ * que los archivos de ventas se escriben en paralelo y aun así el resultado es
+ * el mismo con cualquier número de hilos.
  */
 public class GenerateInfoFiles {
 
-    /** Generador de números aleatorios para crear datos pseudoaleatorios */
-    private static final Random random = new Random();
-
     /** Lista de nombres reales para generar información coherente */
     private static final String[] NOMBRES = {
             "Juan", "María", "Carlos", "Ana", "Luis", "Carmen", "José", "Laura",
@@ -47,47 +56,66 @@ public class GenerateInfoFiles {
     /** Tipos de documento disponibles */
     private static final String[] TIPOS_DOCUMENTO = { "Cedula de Ciudadania", "Cedula de Extranjeria", "Pasaporte" };
 
+    /** Primer número de documento de los vendedores */
+    private static final long DOCUMENTO_BASE = 1_000_000_000L;
+
+    /** Incremento usado para separar las semillas de cada flujo aleatorio */
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** Flujo aleatorio de los precios de productos */
+    private static final long FLUJO_PRODUCTOS = -1;
+
+    /** Flujo aleatorio de la asignación de documentos */
+    private static final long FLUJO_DOCUMENTOS = -2;
+
+    /** Vendedores que toma un hilo cada vez que pide trabajo */
+    private static final int VENDEDORES_POR_TAREA = 64;
+
+    /** Productos usados por createSalesMenFile (compatibilidad) */
+    private static final int PRODUCTOS_POR_DEFECTO = 20;
+
+    /** Unidades máximas usadas por createSalesMenFile (compatibilidad) */
+    private static final int CANTIDAD_MAXIMA_POR_DEFECTO = 10;
+
+    /** Precio mínimo de un producto, en centavos */
+    private static final long PRECIO_MINIMO_CENTAVOS = 5_000_000L;
+
+    /** Rango de precios de un producto, en centavos */
+    private static final long RANGO_PRECIO_CENTAVOS = 195_000_000L;
+
     /**
      * Método principal que ejecuta la generación de todos los archivos de prueba.
-     * Genera archivos con cantidades predeterminadas para facilitar las pruebas.
-     * 
-     * @param args Argumentos de línea de comandos (no utilizados)
+     * Sin argumentos genera las mismas cantidades que la versión original
+     * (20 productos y 10 vendedores con entre 5 y 20 ventas cada uno).
+     *
+     * @param args Argumentos de línea de comandos (ver
+     *             {@link ConfiguracionGenerador})
      */
     public static void main(String[] args) {
         try {
+            ConfiguracionGenerador configuracion = ConfiguracionGenerador.desdeArgumentos(args);
+
             System.out.println("Iniciando generación de archivos de prueba...");
+            System.out.println("Semilla: " + configuracion.getSemilla()
+                    + " (use --semilla=" + configuracion.getSemilla() + " para repetir estos datos)");
+            long inicio = System.nanoTime();
+            Files.createDirectories(Paths.get(configuracion.getDirectorio()));
 
-            // Generar archivo de productos (20 productos)
-            createProductsFile(20);
+            // Generar archivo de productos
+            createProductsFile(configuracion);
             System.out.println("✓ Archivo de productos generado exitosamente");
 
-            // Generar información de vendedores (nombres, apellidos y documentos)
-            String[] nombresVendedores = new String[10];
-            String[] apellidosVendedores = new String[10];
-            long[] documentosVendedores = new long[10];
-
-            for (int i = 0; i < 10; i++) {
-                nombresVendedores[i] = NOMBRES[random.nextInt(NOMBRES.length)];
-                apellidosVendedores[i] = APELLIDOS[random.nextInt(APELLIDOS.length)] + " " +
-                        APELLIDOS[random.nextInt(APELLIDOS.length)];
-                documentosVendedores[i] = 1000000000L + random.nextInt(100000000);
-            }
-
-            // Generar archivo de información de vendedores (10 vendedores)
-            createSalesManInfoFile(10, nombresVendedores, apellidosVendedores, documentosVendedores);
+            // Generar archivo de información de vendedores
+            createSalesManInfoFile(configuracion);
             System.out.println("✓ Archivo de información de vendedores generado exitosamente");
 
-            // Generar archivos de ventas para cada vendedor usando la misma información
-            for (int i = 0; i < 10; i++) {
-                String nombreVendedor = nombresVendedores[i];
-                long documentoVendedor = documentosVendedores[i];
-                int ventasAleatorias = 5 + random.nextInt(16); // Entre 5 y 20 ventas
-
-                createSalesMenFile(ventasAleatorias, nombreVendedor, documentoVendedor);
-            }
-            System.out.println("✓ Archivos de ventas de vendedores generados exitosamente");
+            // Generar archivos de ventas en paralelo
+            long lineas = createSalesMenFiles(configuracion);
+            System.out.println("✓ Archivos de ventas de vendedores generados exitosamente ("
+                    + configuracion.getVendedores() + " archivos, " + lineas + " líneas de venta)");
 
             System.out.println("\n¡Generación de archivos completada exitosamente!");
+            System.out.println("Tiempo total: " + (System.nanoTime() - inicio) / 1_000_000 + " ms");
             System.out.println("Archivos generados:");
             System.out.println("- productos.txt (información de productos)");
             System.out.println("- vendedores.txt (información de vendedores)");
@@ -102,61 +130,70 @@ public class GenerateInfoFiles {
     /**
      * Crea un archivo de ventas pseudoaleatorio para un vendedor específico.
      * El archivo contiene información del vendedor y sus ventas de productos.
-     * 
+     * Los datos dependen solo del documento, por lo que se repiten entre
+     * ejecuciones.
+     *
      * Formato del archivo:
      * - Primera línea: TipoDocumento;NúmeroDocumento
      * - Líneas siguientes: IDProducto;CantidadVendida;
-     * 
+     *
      * @param randomSalesCount Cantidad de ventas a generar para el vendedor
      * @param name             Nombre del vendedor (usado para el nombre del
      *                         archivo)
      * @param id               Número de documento del vendedor
      */
     public static void createSalesMenFile(int randomSalesCount, String name, long id) {
-        String nombreArchivo = "ventas_" + name.toLowerCase().replace(" ", "_") + "_" + id + ".txt";
-
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(nombreArchivo))) {
-            // Escribir información del vendedor (primera línea)
-            String tipoDocumento = TIPOS_DOCUMENTO[random.nextInt(TIPOS_DOCUMENTO.length)];
-            writer.write(tipoDocumento + ";" + id);
-            writer.newLine();
-
-            // Generar ventas aleatorias
-            for (int i = 0; i < randomSalesCount; i++) {
-                int idProducto = 1 + random.nextInt(20); // IDs de productos del 1 al 20
-                int cantidadVendida = 1 + random.nextInt(10); // Cantidad entre 1 y 10
-
-                writer.write(idProducto + ";" + cantidadVendida + ";");
-                writer.newLine();
-            }
+        SplittableRandom random = crearAleatorio(id, 0);
+        String tipoDocumento = TIPOS_DOCUMENTO[random.nextInt(TIPOS_DOCUMENTO.length)];
+        DistribucionZipf productos = new DistribucionZipf(PRODUCTOS_POR_DEFECTO, 0);
 
+        try (EscritorBytes escritor = new EscritorBytes()) {
+            escribirArchivoVentas(escritor, ".", name, tipoDocumento, id, randomSalesCount,
+                    productos, CANTIDAD_MAXIMA_POR_DEFECTO, random);
         } catch (IOException e) {
             throw new RuntimeException("Error al crear archivo de ventas para " + name + ": " + e.getMessage());
         }
     }
 
     /**
-     * Crea un archivo con información pseudoaleatoria de productos.
-     * 
+     * Crea un archivo con información pseudoaleatoria de productos. Los precios
+     * dependen solo del número de productos.
+     *
      * Formato del archivo:
      * IDProducto;NombreProducto;PrecioPorUnidad
-     * 
+     *
      * @param productsCount Número de productos a generar
      */
     public static void createProductsFile(int productsCount) {
-        String nombreArchivo = "productos.txt";
+        ConfiguracionGenerador configuracion = new ConfiguracionGenerador();
+        configuracion.setSemilla(productsCount);
+        configuracion.setProductos(productsCount);
+        createProductsFile(configuracion);
+    }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(nombreArchivo))) {
+    /**
+     * Crea el archivo productos.txt según la configuración.
+     *
+     * Formato del archivo:
+     * IDProducto;NombreProducto;PrecioPorUnidad
+     *
+     * @param configuracion Opciones del generador (semilla, productos y carpeta)
+     */
+    private static void createProductsFile(ConfiguracionGenerador configuracion) {
+        SplittableRandom random = crearAleatorio(configuracion.getSemilla(), FLUJO_PRODUCTOS);
+        String nombreArchivo = Paths.get(configuracion.getDirectorio(), "productos.txt").toString();
 
-            for (int i = 1; i <= productsCount; i++) {
-                String nombreProducto = PRODUCTOS[i % PRODUCTOS.length];
-                // Generar precio entre 50,000 y 2,000,000 pesos colombianos
-                double precio = 50000 + (random.nextDouble() * 1950000);
-                // Redondear a dos decimales
-                precio = Math.round(precio * 100.0) / 100.0;
+        try (EscritorBytes escritor = new EscritorBytes().abrir(nombreArchivo)) {
+            for (int i = 1; i <= configuracion.getProductos(); i++) {
+                // Generar precio entre 50,000 y 2,000,000 pesos colombianos, en centavos
+                long precioCentavos = PRECIO_MINIMO_CENTAVOS + random.nextLong(RANGO_PRECIO_CENTAVOS + 1);
 
-                writer.write(i + ";" + nombreProducto + ";" + precio);
-                writer.newLine();
+                escritor.escribirEntero(i);
+                escritor.escribirByte(';');
+                escritor.escribirTexto(PRODUCTOS[i % PRODUCTOS.length]);
+                escritor.escribirByte(';');
+                escritor.escribirCentavos(precioCentavos);
+                escritor.nuevaLinea();
             }
 
         } catch (IOException e) {
@@ -167,10 +204,11 @@ public class GenerateInfoFiles {
     /**
      * Crea un archivo con información pseudoaleatoria de vendedores.
      * La información incluye tipo de documento, número, nombres y apellidos.
-     * 
+     * El tipo de documento depende solo del número de documento.
+     *
      * Formato del archivo:
      * TipoDocumento;NúmeroDocumento;Nombres;Apellidos
-     * 
+     *
      * @param salesmanCount        Número de vendedores a generar
      * @param nombresVendedores    Array con los nombres de los vendedores
      * @param apellidosVendedores  Array con los apellidos de los vendedores
@@ -178,22 +216,256 @@ public class GenerateInfoFiles {
      */
     public static void createSalesManInfoFile(int salesmanCount, String[] nombresVendedores,
             String[] apellidosVendedores, long[] documentosVendedores) {
-        String nombreArchivo = "vendedores.txt";
-
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(nombreArchivo))) {
+        try (EscritorBytes escritor = new EscritorBytes().abrir("vendedores.txt")) {
 
             for (int i = 0; i < salesmanCount; i++) {
+                SplittableRandom random = crearAleatorio(documentosVendedores[i], 0);
+                String tipoDocumento = TIPOS_DOCUMENTO[random.nextInt(TIPOS_DOCUMENTO.length)];
+                escribirLineaVendedor(escritor, tipoDocumento, documentosVendedores[i],
+                        nombresVendedores[i], apellidosVendedores[i]);
+            }
+
+        } catch (IOException e) {
+            throw new RuntimeException("Error al crear archivo de vendedores: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Crea el archivo vendedores.txt según la configuración. Los datos de cada
+     * vendedor salen de su propio flujo aleatorio (ver {@link #crearAleatorio}),
+     * el mismo que usa después para su archivo de ventas.
+     *
+     * @param configuracion Opciones del generador
+     */
+    private static void createSalesManInfoFile(ConfiguracionGenerador configuracion) {
+        String nombreArchivo = Paths.get(configuracion.getDirectorio(), "vendedores.txt").toString();
+        long[] permutacion = crearPermutacionDocumentos(configuracion.getSemilla());
+
+        try (EscritorBytes escritor = new EscritorBytes().abrir(nombreArchivo)) {
+            for (int i = 0; i < configuracion.getVendedores(); i++) {
+                SplittableRandom random = crearAleatorio(configuracion.getSemilla(), i);
                 String tipoDocumento = TIPOS_DOCUMENTO[random.nextInt(TIPOS_DOCUMENTO.length)];
-                long numeroDocumento = documentosVendedores[i];
-                String nombres = nombresVendedores[i];
-                String apellidos = apellidosVendedores[i];
+                String nombres = NOMBRES[random.nextInt(NOMBRES.length)];
+                String apellidos = APELLIDOS[random.nextInt(APELLIDOS.length)] + " "
+                        + APELLIDOS[random.nextInt(APELLIDOS.length)];
 
-                writer.write(tipoDocumento + ";" + numeroDocumento + ";" + nombres + ";" + apellidos);
-                writer.newLine();
+                escribirLineaVendedor(escritor, tipoDocumento, documento(permutacion, i), nombres, apellidos);
             }
 
         } catch (IOException e) {
             throw new RuntimeException("Error al crear archivo de vendedores: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Crea los archivos de ventas de todos los vendedores en paralelo. Cada
+     * hilo toma bloques de vendedores y reutiliza su propio escritor.
+     *
+     * @param configuracion Opciones del generador
+     * @return Total de líneas de venta escritas
+     * @throws InterruptedException Si el hilo principal es interrumpido mientras
+     *                              espera a los hilos de escritura
+     */
+    private static long createSalesMenFiles(ConfiguracionGenerador configuracion) throws InterruptedException {
+        DistribucionZipf productos = new DistribucionZipf(configuracion.getProductos(),
+                configuracion.getExponenteZipf());
+        long[] permutacion = crearPermutacionDocumentos(configuracion.getSemilla());
+        AtomicInteger siguiente = new AtomicInteger();
+        int hilos = Math.max(1, configuracion.getHilos());
+
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<Long>> tareas = new ArrayList<>(hilos);
+            for (int h = 0; h < hilos; h++) {
+                tareas.add(executor.submit(() -> {
+                    long lineas = 0;
+                    try (EscritorBytes escritor = new EscritorBytes()) {
+                        int inicio;
+                        while ((inicio = siguiente.getAndAdd(VENDEDORES_POR_TAREA)) < configuracion.getVendedores()) {
+                            int fin = Math.min(inicio + VENDEDORES_POR_TAREA, configuracion.getVendedores());
+                            for (int i = inicio; i < fin; i++) {
+                                lineas += escribirVentasVendedor(escritor, configuracion, productos, permutacion, i);
+                            }
+                        }
+                    }
+                    return lineas;
+                }));
+            }
+
+            long total = 0;
+            for (Future<Long> tarea : tareas) {
+                try {
+                    total += tarea.get();
+                } catch (ExecutionException e) {
+                    Throwable causa = e.getCause();
+                    if (causa instanceof RuntimeException) {
+                        throw (RuntimeException) causa;
+                    }
+                    throw new RuntimeException("Error al crear archivos de ventas: " + causa.getMessage(), causa);
+                }
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Escribe el archivo de ventas de un vendedor a partir de su flujo
+     * aleatorio. Repite las mismas elecciones que
+     * {@link #createSalesManInfoFile(ConfiguracionGenerador)} para obtener sus
+     * datos y continúa el flujo con las ventas.
+     *
+     * @param escritor      Escritor reutilizable del hilo
+     * @param configuracion Opciones del generador
+     * @param productos     Distribución de popularidad de productos
+     * @param permutacion   Parámetros de asignación de documentos
+     * @param indice        Posición del vendedor en vendedores.txt
+     * @return Líneas de venta escritas
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    private static int escribirVentasVendedor(EscritorBytes escritor, ConfiguracionGenerador configuracion,
+            DistribucionZipf productos, long[] permutacion, int indice) throws IOException {
+        SplittableRandom random = crearAleatorio(configuracion.getSemilla(), indice);
+        String tipoDocumento = TIPOS_DOCUMENTO[random.nextInt(TIPOS_DOCUMENTO.length)];
+        String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+        // Apellidos: se consumen igual que en vendedores.txt para seguir el mismo flujo
+        random.nextInt(APELLIDOS.length);
+        random.nextInt(APELLIDOS.length);
+
+        int ventas = elegirCantidadVentas(configuracion, random);
+        escribirArchivoVentas(escritor, configuracion.getDirectorio(), nombre, tipoDocumento,
+                documento(permutacion, indice), ventas, productos, configuracion.getCantidadMaxima(), random);
+        return ventas;
+    }
+
+    /**
+     * Escribe un archivo de ventas.
+     *
+     * @param escritor       Escritor reutilizable del hilo
+     * @param directorio     Carpeta donde se escribe el archivo
+     * @param nombre         Nombre del vendedor (usado para el nombre del archivo)
+     * @param tipoDocumento  Tipo de documento del vendedor
+     * @param documento      Número de documento del vendedor
+     * @param ventas         Líneas de venta a escribir
+     * @param productos      Distribución de popularidad de productos
+     * @param cantidadMaxima Unidades máximas por línea
+     * @param random         Flujo aleatorio del vendedor
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    private static void escribirArchivoVentas(EscritorBytes escritor, String directorio, String nombre,
+            String tipoDocumento, long documento, int ventas, DistribucionZipf productos, int cantidadMaxima,
+            SplittableRandom random) throws IOException {
+        String nombreArchivo = "ventas_" + nombre.toLowerCase().replace(" ", "_") + "_" + documento + ".txt";
+
+        try (EscritorBytes archivo = escritor.abrir(Paths.get(directorio, nombreArchivo).toString())) {
+            // Escribir información del vendedor (primera línea)
+            archivo.escribirTexto(tipoDocumento);
+            archivo.escribirByte(';');
+            archivo.escribirEntero(documento);
+            archivo.nuevaLinea();
+
+            // Generar ventas aleatorias
+            for (int i = 0; i < ventas; i++) {
+                archivo.escribirEntero(productos.siguiente(random));
+                archivo.escribirByte(';');
+                archivo.escribirEntero(1 + random.nextInt(cantidadMaxima));
+                archivo.escribirByte(';');
+                archivo.nuevaLinea();
+            }
+        }
+    }
+
+    /**
+     * Escribe una línea de vendedores.txt.
+     *
+     * @param escritor      Escritor del archivo
+     * @param tipoDocumento Tipo de documento
+     * @param documento     Número de documento
+     * @param nombres       Nombres del vendedor
+     * @param apellidos     Apellidos del vendedor
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    private static void escribirLineaVendedor(EscritorBytes escritor, String tipoDocumento, long documento,
+            String nombres, String apellidos) throws IOException {
+        escritor.escribirTexto(tipoDocumento);
+        escritor.escribirByte(';');
+        escritor.escribirEntero(documento);
+        escritor.escribirByte(';');
+        escritor.escribirTexto(nombres);
+        escritor.escribirByte(';');
+        escritor.escribirTexto(apellidos);
+        escritor.nuevaLinea();
+    }
+
+    /**
+     * Elige el número de líneas de venta de un archivo según la distribución
+     * configurada.
+     *
+     * @param configuracion Opciones del generador
+     * @param random        Flujo aleatorio del vendedor
+     * @return Líneas de venta entre el mínimo y el máximo configurados
+     */
+    private static int elegirCantidadVentas(ConfiguracionGenerador configuracion, SplittableRandom random) {
+        int minimo = configuracion.getVentasMinimas();
+        int maximo = configuracion.getVentasMaximas();
+        if (minimo == maximo) {
+            return minimo;
+        }
+        if (!configuracion.isTamanoPareto()) {
+            return minimo + random.nextInt(maximo - minimo + 1);
+        }
+
+        // Pareto acotada entre mínimo y máximo (inversa de la función de distribución)
+        double alfa = configuracion.getAlfa();
+        double cola = 1 - Math.pow((double) minimo / maximo, alfa);
+        double valor = minimo / Math.pow(1 - random.nextDouble() * cola, 1 / alfa);
+        return (int) Math.min(maximo, Math.max(minimo, (long) valor));
+    }
+
+    /**
+     * Crea el flujo aleatorio de un vendedor (o de otro elemento de los datos).
+     * La semilla de cada flujo se dispersa con la función de mezcla de
+     * SplittableRandom, de modo que flujos de posiciones vecinas no se solapan.
+     *
+     * @param semilla Semilla general de los datos
+     * @param indice  Posición del vendedor, o un flujo especial (negativo)
+     * @return Generador aleatorio del flujo
+     */
+    private static SplittableRandom crearAleatorio(long semilla, long indice) {
+        long z = semilla + GAMMA * (indice + 3);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    /**
+     * Calcula los parámetros de una permutación de los documentos: el vendedor
+     * i recibe DOCUMENTO_BASE + (a * i + b) mod M, con a coprimo con M, lo que
+     * garantiza documentos distintos para hasta M vendedores.
+     *
+     * @param semilla Semilla general de los datos
+     * @return Arreglo {a, b}
+     */
+    private static long[] crearPermutacionDocumentos(long semilla) {
+        SplittableRandom random = crearAleatorio(semilla, FLUJO_DOCUMENTOS);
+        long modulo = ConfiguracionGenerador.MAXIMO_VENDEDORES;
+        // M = 10^8 = 2^8 * 5^8: a debe ser impar y no múltiplo de 5
+        long a = random.nextLong(modulo) | 1;
+        if (a % 5 == 0) {
+            a += 2;
+        }
+        return new long[] { a, random.nextLong(modulo) };
+    }
+
+    /**
+     * Obtiene el número de documento de un vendedor.
+     *
+     * @param permutacion Parámetros {a, b} de la permutación
+     * @param indice      Posición del vendedor
+     * @return Número de documento
+     */
+    private static long documento(long[] permutacion, int indice) {
+        return DOCUMENTO_BASE + (permutacion[0] * indice + permutacion[1]) % ConfiguracionGenerador.MAXIMO_VENDEDORES;
+    }
+}
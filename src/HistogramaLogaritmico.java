@@ -0,0 +1,214 @@
+/**
+ * Clase que resume una distribución de valores enteros no negativos (montos
+ * en centavos o cantidades) en un histograma de memoria acotada, para
+ * estimar percentiles sin guardar los valores.
+ *
+ * Las cubetas son log-lineales, como en un HdrHistogram: cada potencia de dos
+ * se divide en 16 cubetas del mismo ancho, así que el error relativo de un
+ * percentil es a lo sumo 1/32 (se devuelve el centro de la cubeta) y los
+ * valores menores a 32 son exactos. Un valor de hasta 2^63 cae en una de
+ * menos de 1000 cubetas, y solo se guardan los conteos entre la menor y la
+ * mayor cubeta usada, en un arreglo de int.
+ *
+ * Dos histogramas se combinan sumando sus conteos ({@link #sumar}), con el
+ * mismo resultado que si todos los valores se hubieran registrado en uno
+ * solo; así cada hilo puede llevar el suyo y combinarlos al final.
+ *
+ * No es seguro para varios hilos: cada histograma debe modificarse desde uno.
+ */
+public class HistogramaLogaritmico {
+
+    /** Bits de las cubetas dentro de cada potencia de dos */
+    private static final int BITS_SUBCUBETA = 4;
+
+    /** Cubetas dentro de cada potencia de dos */
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+
+    /** Cubetas extra que se reservan al crecer, para no copiar en cada valor nuevo */
+    private static final int HOLGURA = 4;
+
+    /** Conteo de cada cubeta desde la cubeta base */
+    private int[] conteos;
+
+    /** Cubeta de conteos[0] */
+    private int base;
+
+    /** Valores registrados */
+    private long total;
+
+    /** Menor valor registrado */
+    private long minimo;
+
+    /** Mayor valor registrado */
+    private long maximo;
+
+    /**
+     * Constructor para crear un histograma vacío.
+     */
+    public HistogramaLogaritmico() {
+        this.conteos = new int[0];
+        this.minimo = Long.MAX_VALUE;
+        this.maximo = Long.MIN_VALUE;
+    }
+
+    /**
+     * Registra un valor. Los valores negativos se cuentan como 0.
+     *
+     * @param valor Valor a registrar
+     */
+    public void registrar(long valor) {
+        long ajustado = Math.max(0, valor);
+        int cubeta = cubeta(ajustado);
+        int posicion = cubeta - base;
+        if (posicion < 0 || posicion >= conteos.length) {
+            asegurar(cubeta, cubeta);
+            posicion = cubeta - base;
+        }
+        conteos[posicion]++;
+        total++;
+        if (ajustado < minimo) {
+            minimo = ajustado;
+        }
+        if (ajustado > maximo) {
+            maximo = ajustado;
+        }
+    }
+
+    /**
+     * Suma los conteos de otro histograma a este.
+     *
+     * @param otro Histograma a sumar (no se modifica)
+     */
+    public void sumar(HistogramaLogaritmico otro) {
+        if (otro.total == 0) {
+            return;
+        }
+        asegurar(otro.base, otro.base + otro.conteos.length - 1);
+        int desplazamiento = otro.base - base;
+        for (int i = 0; i < otro.conteos.length; i++) {
+            conteos[desplazamiento + i] += otro.conteos[i];
+        }
+        total += otro.total;
+        minimo = Math.min(minimo, otro.minimo);
+        maximo = Math.max(maximo, otro.maximo);
+    }
+
+    /**
+     * Obtiene el número de valores registrados.
+     *
+     * @return Valores registrados
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Obtiene el menor valor registrado.
+     *
+     * @return Menor valor, o 0 si no hay valores
+     */
+    public long getMinimo() {
+        return total == 0 ? 0 : minimo;
+    }
+
+    /**
+     * Obtiene el mayor valor registrado.
+     *
+     * @return Mayor valor, o 0 si no hay valores
+     */
+    public long getMaximo() {
+        return total == 0 ? 0 : maximo;
+    }
+
+    /**
+     * Estima un percentil: el valor por debajo del cual (o igual) queda ese
+     * porcentaje de los valores registrados.
+     *
+     * @param porcentaje Percentil de 0 a 100 (por ejemplo 50, 95 o 99)
+     * @return Valor estimado (centro de su cubeta, dentro del mínimo y el
+     *         máximo registrados), o 0 si no hay valores
+     */
+    public long percentil(double porcentaje) {
+        if (total == 0) {
+            return 0;
+        }
+        long posicion = Math.max(1, (long) Math.ceil(porcentaje / 100.0 * total));
+        long acumulado = 0;
+        for (int i = 0; i < conteos.length; i++) {
+            acumulado += conteos[i];
+            if (acumulado >= posicion) {
+                int cubeta = base + i;
+                long centro = limiteInferior(cubeta) + (ancho(cubeta) - 1) / 2;
+                return Math.max(getMinimo(), Math.min(getMaximo(), centro));
+            }
+        }
+        return getMaximo();
+    }
+
+    /**
+     * Calcula la cubeta de un valor no negativo.
+     *
+     * @param valor Valor a ubicar
+     * @return Índice de la cubeta
+     */
+    static int cubeta(long valor) {
+        if (valor < SUBCUBETAS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int fraccion = (int) (valor >>> (exponente - BITS_SUBCUBETA)) & (SUBCUBETAS - 1);
+        return ((exponente - BITS_SUBCUBETA + 1) << BITS_SUBCUBETA) | fraccion;
+    }
+
+    /**
+     * Calcula el menor valor de una cubeta.
+     *
+     * @param cubeta Índice de la cubeta
+     * @return Menor valor que cae en la cubeta
+     */
+    static long limiteInferior(int cubeta) {
+        if (cubeta < SUBCUBETAS) {
+            return cubeta;
+        }
+        int exponente = (cubeta >>> BITS_SUBCUBETA) + BITS_SUBCUBETA - 1;
+        long fraccion = cubeta & (SUBCUBETAS - 1);
+        return (SUBCUBETAS | fraccion) << (exponente - BITS_SUBCUBETA);
+    }
+
+    /**
+     * Calcula cuántos valores distintos caen en una cubeta.
+     *
+     * @param cubeta Índice de la cubeta
+     * @return Ancho de la cubeta
+     */
+    static long ancho(int cubeta) {
+        if (cubeta < SUBCUBETAS) {
+            return 1;
+        }
+        return 1L << ((cubeta >>> BITS_SUBCUBETA) - 1);
+    }
+
+    /**
+     * Amplía el arreglo de conteos para que incluya un rango de cubetas.
+     *
+     * @param desde Primera cubeta que debe caber
+     * @param hasta Última cubeta que debe caber
+     */
+    private void asegurar(int desde, int hasta) {
+        if (conteos.length == 0) {
+            base = Math.max(0, desde - HOLGURA);
+            conteos = new int[hasta - base + 1 + HOLGURA];
+            return;
+        }
+        int fin = base + conteos.length - 1;
+        if (desde >= base && hasta <= fin) {
+            return;
+        }
+        int nuevaBase = desde < base ? Math.max(0, desde - HOLGURA) : base;
+        int nuevoFin = hasta > fin ? hasta + HOLGURA : fin;
+        int[] nuevos = new int[nuevoFin - nuevaBase + 1];
+        System.arraycopy(conteos, 0, nuevos, base - nuevaBase, conteos.length);
+        conteos = nuevos;
+        base = nuevaBase;
+    }
+}
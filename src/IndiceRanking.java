@@ -0,0 +1,404 @@
+import java.util.Arrays;
+
+/**
+ * Clase que mantiene ordenados los slots de vendedores o productos por su
+ * total mientras los totales cambian, para responder sin ordenar de nuevo:
+ * - la posición de un slot en el ranking ({@link #posicion(int)})
+ * - el slot de una posición ({@link #seleccionar(int)})
+ * - una página o los N primeros ({@link #pagina(int, int)})
+ *
+ * Es un árbol de estadísticas de orden: un treap (árbol binario de búsqueda
+ * con prioridades aleatorias, balanceado en promedio) donde cada nodo guarda
+ * el tamaño de su subárbol. Cada slot es un nodo, y los hijos, prioridades y
+ * tamaños se guardan en arreglos primitivos indexados por slot, sin objetos
+ * por nodo. Las operaciones toman O(log n) en promedio y una página de k
+ * elementos O(log n + k).
+ *
+ * El orden es el de los reportes: mayor clave primero y, en empates, menor
+ * desempate primero (el slot para vendedores, el ID para productos), así que
+ * el recorrido del árbol coincide con el reporte completo.
+ *
+ * Lo actualizan {@link IndiceVendedores} y {@link CatalogoProductos} cada vez
+ * que cambia un total, desde el mismo hilo que los modifica.
+ */
+public class IndiceRanking {
+
+    /** Valor que indica un hijo vacío */
+    private static final int NINGUNO = -1;
+
+    /** Clave de cada slot (mayor es mejor) */
+    private long[] claves;
+
+    /** Desempate de cada slot (menor es mejor) */
+    private long[] desempates;
+
+    /** Hijo izquierdo (mejores) de cada slot */
+    private int[] izquierdos;
+
+    /** Hijo derecho (peores) de cada slot */
+    private int[] derechos;
+
+    /** Prioridad aleatoria de cada slot (la raíz tiene la mayor) */
+    private int[] prioridades;
+
+    /** Tamaño del subárbol de cada slot */
+    private int[] tamanos;
+
+    /** Raíz del árbol */
+    private int raiz;
+
+    /** Número de slots en el ranking */
+    private int total;
+
+    /** Suma de las claves de todos los slots */
+    private long suma;
+
+    /** Estado del generador de prioridades (xorshift, reproducible) */
+    private int semilla;
+
+    /**
+     * Constructor para crear un ranking vacío.
+     *
+     * @param capacidad Número de slots esperado
+     */
+    public IndiceRanking(int capacidad) {
+        int inicial = Math.max(16, capacidad);
+        this.claves = new long[inicial];
+        this.desempates = new long[inicial];
+        this.izquierdos = new int[inicial];
+        this.derechos = new int[inicial];
+        this.prioridades = new int[inicial];
+        this.tamanos = new int[inicial];
+        this.raiz = NINGUNO;
+        this.semilla = 0x2545F491;
+    }
+
+    /**
+     * Agrega el siguiente slot (los slots se agregan en orden: 0, 1, 2...).
+     *
+     * @param slot      Slot a agregar (igual a getTotal())
+     * @param clave     Total del slot
+     * @param desempate Valor para ordenar empates (menor es mejor)
+     */
+    public void agregar(int slot, long clave, long desempate) {
+        if (slot != total) {
+            throw new IllegalArgumentException("Los slots se agregan en orden: se esperaba " + total);
+        }
+        if (slot == claves.length) {
+            int capacidad = slot * 2;
+            claves = Arrays.copyOf(claves, capacidad);
+            desempates = Arrays.copyOf(desempates, capacidad);
+            izquierdos = Arrays.copyOf(izquierdos, capacidad);
+            derechos = Arrays.copyOf(derechos, capacidad);
+            prioridades = Arrays.copyOf(prioridades, capacidad);
+            tamanos = Arrays.copyOf(tamanos, capacidad);
+        }
+        claves[slot] = clave;
+        desempates[slot] = desempate;
+        prioridades[slot] = siguientePrioridad();
+        total++;
+        suma += clave;
+        raiz = insertar(raiz, slot);
+    }
+
+    /**
+     * Cambia la clave de un slot y lo reubica en el ranking.
+     *
+     * @param slot  Slot ya agregado
+     * @param clave Nuevo total del slot
+     */
+    public void actualizar(int slot, long clave) {
+        if (claves[slot] == clave) {
+            return;
+        }
+        raiz = eliminar(raiz, slot);
+        suma += clave - claves[slot];
+        claves[slot] = clave;
+        raiz = insertar(raiz, slot);
+    }
+
+    /**
+     * Cambia la clave y el desempate de un slot (por ejemplo, si un producto
+     * cambia de ID al reemplazarlo).
+     *
+     * @param slot      Slot ya agregado
+     * @param clave     Nuevo total del slot
+     * @param desempate Nuevo desempate del slot
+     */
+    public void actualizar(int slot, long clave, long desempate) {
+        raiz = eliminar(raiz, slot);
+        suma += clave - claves[slot];
+        claves[slot] = clave;
+        desempates[slot] = desempate;
+        raiz = insertar(raiz, slot);
+    }
+
+    /**
+     * Obtiene el número de slots del ranking.
+     *
+     * @return Total de slots
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Obtiene la suma de las claves de todos los slots.
+     *
+     * @return Suma de los totales
+     */
+    public long getSuma() {
+        return suma;
+    }
+
+    /**
+     * Calcula la posición de un slot en el ranking.
+     *
+     * @param slot Slot ya agregado
+     * @return Posición, desde 0 (el mejor)
+     */
+    public int posicion(int slot) {
+        int posicion = 0;
+        int nodo = raiz;
+        while (nodo != slot) {
+            if (esMejor(slot, nodo)) {
+                nodo = izquierdos[nodo];
+            } else {
+                posicion += tamano(izquierdos[nodo]) + 1;
+                nodo = derechos[nodo];
+            }
+        }
+        return posicion + tamano(izquierdos[slot]);
+    }
+
+    /**
+     * Obtiene el slot que ocupa una posición del ranking.
+     *
+     * @param posicion Posición, de 0 a getTotal() - 1
+     * @return Slot en esa posición
+     */
+    public int seleccionar(int posicion) {
+        if (posicion < 0 || posicion >= total) {
+            throw new IndexOutOfBoundsException("Posición " + posicion + " fuera del ranking de " + total);
+        }
+        int nodo = raiz;
+        while (true) {
+            int izquierda = tamano(izquierdos[nodo]);
+            if (posicion < izquierda) {
+                nodo = izquierdos[nodo];
+            } else if (posicion == izquierda) {
+                return nodo;
+            } else {
+                posicion -= izquierda + 1;
+                nodo = derechos[nodo];
+            }
+        }
+    }
+
+    /**
+     * Obtiene los slots de un rango de posiciones, del mejor al peor. Con
+     * desde = 0 son los N primeros.
+     *
+     * @param desde    Primera posición, desde 0
+     * @param cantidad Número máximo de slots
+     * @return Slots del rango (menos si el ranking termina antes)
+     */
+    public int[] pagina(int desde, int cantidad) {
+        int inicio = Math.max(0, desde);
+        int fin = (int) Math.min(total, (long) inicio + Math.max(0, cantidad));
+        int[] resultado = new int[Math.max(0, fin - inicio)];
+        recorrer(raiz, 0, inicio, fin, resultado);
+        return resultado;
+    }
+
+    /**
+     * Copia al resultado los slots de un subárbol con posición en [inicio, fin),
+     * sin entrar en los subárboles que quedan fuera del rango.
+     *
+     * @param nodo       Raíz del subárbol
+     * @param base       Posición del primer slot del subárbol
+     * @param inicio     Primera posición pedida
+     * @param fin        Posición siguiente a la última pedida
+     * @param resultado  Arreglo donde se copian los slots
+     */
+    private void recorrer(int nodo, int base, int inicio, int fin, int[] resultado) {
+        if (nodo == NINGUNO || base >= fin || base + tamanos[nodo] <= inicio) {
+            return;
+        }
+        int propia = base + tamano(izquierdos[nodo]);
+        recorrer(izquierdos[nodo], base, inicio, fin, resultado);
+        if (propia >= inicio && propia < fin) {
+            resultado[propia - inicio] = nodo;
+        }
+        recorrer(derechos[nodo], propia + 1, inicio, fin, resultado);
+    }
+
+    /**
+     * Inserta un slot en un subárbol.
+     *
+     * @param nodo Raíz del subárbol
+     * @param slot Slot a insertar (sin hijos todavía)
+     * @return Nueva raíz del subárbol
+     */
+    private int insertar(int nodo, int slot) {
+        if (nodo == NINGUNO) {
+            izquierdos[slot] = NINGUNO;
+            derechos[slot] = NINGUNO;
+            tamanos[slot] = 1;
+            return slot;
+        }
+        if (prioridades[slot] > prioridades[nodo]) {
+            // El slot nuevo sube a raíz del subárbol: se divide el subárbol a su alrededor
+            dividir(nodo, slot);
+            tamanos[slot] = tamano(izquierdos[slot]) + tamano(derechos[slot]) + 1;
+            return slot;
+        }
+        if (esMejor(slot, nodo)) {
+            izquierdos[nodo] = insertar(izquierdos[nodo], slot);
+        } else {
+            derechos[nodo] = insertar(derechos[nodo], slot);
+        }
+        tamanos[nodo]++;
+        return nodo;
+    }
+
+    /**
+     * Divide un subárbol en los slots mejores y peores que un pivote, y los
+     * deja como hijos izquierdo y derecho del pivote.
+     *
+     * @param nodo   Raíz del subárbol a dividir
+     * @param pivote Slot que separa las dos partes
+     */
+    private void dividir(int nodo, int pivote) {
+        // Se arman las dos partes colgando los nodos de su último nodo
+        int ultimoMejor = NINGUNO;
+        int ultimoPeor = NINGUNO;
+        izquierdos[pivote] = NINGUNO;
+        derechos[pivote] = NINGUNO;
+        while (nodo != NINGUNO) {
+            if (esMejor(nodo, pivote)) {
+                if (ultimoMejor == NINGUNO) {
+                    izquierdos[pivote] = nodo;
+                } else {
+                    derechos[ultimoMejor] = nodo;
+                }
+                ultimoMejor = nodo;
+                nodo = derechos[nodo];
+            } else {
+                if (ultimoPeor == NINGUNO) {
+                    derechos[pivote] = nodo;
+                } else {
+                    izquierdos[ultimoPeor] = nodo;
+                }
+                ultimoPeor = nodo;
+                nodo = izquierdos[nodo];
+            }
+        }
+        if (ultimoMejor != NINGUNO) {
+            derechos[ultimoMejor] = NINGUNO;
+        }
+        if (ultimoPeor != NINGUNO) {
+            izquierdos[ultimoPeor] = NINGUNO;
+        }
+        recalcularTamanos(izquierdos[pivote], true);
+        recalcularTamanos(derechos[pivote], false);
+    }
+
+    /**
+     * Recalcula los tamaños a lo largo del borde que {@link #dividir} cambió:
+     * el borde derecho de la parte mejor o el izquierdo de la peor.
+     *
+     * @param nodo    Raíz de la parte
+     * @param derecho true para seguir el borde derecho, false para el izquierdo
+     * @return Tamaño del subárbol de nodo
+     */
+    private int recalcularTamanos(int nodo, boolean derecho) {
+        if (nodo == NINGUNO) {
+            return 0;
+        }
+        if (derecho) {
+            tamanos[nodo] = tamano(izquierdos[nodo]) + recalcularTamanos(derechos[nodo], true) + 1;
+        } else {
+            tamanos[nodo] = recalcularTamanos(izquierdos[nodo], false) + tamano(derechos[nodo]) + 1;
+        }
+        return tamanos[nodo];
+    }
+
+    /**
+     * Elimina un slot de un subárbol.
+     *
+     * @param nodo Raíz del subárbol (que contiene al slot)
+     * @param slot Slot a eliminar
+     * @return Nueva raíz del subárbol
+     */
+    private int eliminar(int nodo, int slot) {
+        if (nodo == slot) {
+            return unir(izquierdos[nodo], derechos[nodo]);
+        }
+        if (esMejor(slot, nodo)) {
+            izquierdos[nodo] = eliminar(izquierdos[nodo], slot);
+        } else {
+            derechos[nodo] = eliminar(derechos[nodo], slot);
+        }
+        tamanos[nodo]--;
+        return nodo;
+    }
+
+    /**
+     * Une dos subárboles donde todos los slots del primero son mejores que los
+     * del segundo.
+     *
+     * @param mejores Raíz del subárbol de los mejores
+     * @param peores  Raíz del subárbol de los peores
+     * @return Raíz del subárbol unido
+     */
+    private int unir(int mejores, int peores) {
+        if (mejores == NINGUNO) {
+            return peores;
+        }
+        if (peores == NINGUNO) {
+            return mejores;
+        }
+        if (prioridades[mejores] > prioridades[peores]) {
+            derechos[mejores] = unir(derechos[mejores], peores);
+            tamanos[mejores] = tamano(izquierdos[mejores]) + tamano(derechos[mejores]) + 1;
+            return mejores;
+        }
+        izquierdos[peores] = unir(mejores, izquierdos[peores]);
+        tamanos[peores] = tamano(izquierdos[peores]) + tamano(derechos[peores]) + 1;
+        return peores;
+    }
+
+    /**
+     * Indica si un slot va antes que otro en el ranking.
+     *
+     * @param a Primer slot
+     * @param b Segundo slot
+     * @return true si a es mejor que b
+     */
+    private boolean esMejor(int a, int b) {
+        return claves[a] > claves[b] || (claves[a] == claves[b] && desempates[a] < desempates[b]);
+    }
+
+    /**
+     * Obtiene el tamaño de un subárbol, posiblemente vacío.
+     *
+     * @param nodo Raíz del subárbol
+     * @return Número de slots del subárbol
+     */
+    private int tamano(int nodo) {
+        return nodo == NINGUNO ? 0 : tamanos[nodo];
+    }
+
+    /**
+     * Genera la prioridad del siguiente nodo (xorshift de 32 bits).
+     *
+     * @return Prioridad pseudoaleatoria
+     */
+    private int siguientePrioridad() {
+        semilla ^= semilla << 13;
+        semilla ^= semilla >>> 17;
+        semilla ^= semilla << 5;
+        return semilla;
+    }
+}
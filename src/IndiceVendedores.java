@@ -0,0 +1,335 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Clase que almacena los vendedores y su dinero recaudado en arreglos
+ * primitivos paralelos, indexados por número de documento.
+ *
+ * Cada vendedor ocupa una posición ("slot") en los arreglos. La búsqueda por
+ * documento usa una tabla hash de direccionamiento abierto (sondeo lineal) con
+ * claves long, sin convertir el documento a Long ni crear un nodo por entrada.
+ *
+ * Las búsquedas pueden hacerse desde varios hilos una vez cargado el índice;
+ * el dinero recaudado solo debe modificarse desde un hilo.
+ *
+ * Con {@link #activarRanking()} el índice mantiene además un
+ * {@link IndiceRanking} que se actualiza con cada cambio de recaudación, para
+ * obtener los mejores vendedores o la posición de uno sin ordenar.
+ */
+public class IndiceVendedores implements AlmacenVendedores {
+
+    /** Multiplicador para dispersar los documentos en la tabla (razón áurea) */
+    private static final long DISPERSION = 0x9E3779B97F4A7C15L;
+
+    /** Documentos almacenados en cada posición de la tabla hash */
+    private long[] tablaDocumentos;
+
+    /** Slot + 1 de cada posición de la tabla hash (0 = posición vacía) */
+    private int[] tablaSlots;
+
+    /** Bits de la capacidad de la tabla hash */
+    private int bitsTabla;
+
+    /** Tipo de documento del vendedor de cada slot */
+    private String[] tiposDocumento;
+
+    /** Número de documento del vendedor de cada slot */
+    private long[] documentos;
+
+    /** Nombres del vendedor de cada slot */
+    private String[] nombres;
+
+    /** Apellidos del vendedor de cada slot */
+    private String[] apellidos;
+
+    /** Nombre completo en UTF-8 de cada slot (se codifica al primer reporte) */
+    private byte[][] nombresCompletosUtf8;
+
+    /** Dinero recaudado por el vendedor de cada slot, en centavos */
+    private long[] recaudacionCentavos;
+
+    /** Número de vendedores en el índice */
+    private int total;
+
+    /** Ranking por recaudación mantenido al día (null si no está activado) */
+    private IndiceRanking ranking;
+
+    /**
+     * Constructor para crear un índice vacío.
+     */
+    public IndiceVendedores() {
+        this.bitsTabla = 5;
+        this.tablaDocumentos = new long[1 << bitsTabla];
+        this.tablaSlots = new int[1 << bitsTabla];
+        this.tiposDocumento = new String[16];
+        this.documentos = new long[16];
+        this.nombres = new String[16];
+        this.apellidos = new String[16];
+        this.nombresCompletosUtf8 = new byte[16][];
+        this.recaudacionCentavos = new long[16];
+        this.total = 0;
+    }
+
+    /**
+     * Agrega un vendedor al índice. Si el documento ya existe, se reemplazan sus
+     * datos conservando su posición.
+     *
+     * @param tipoDocumento     Tipo de documento de identificación
+     * @param numeroDocumento   Número de documento
+     * @param nombresVendedor   Nombres del vendedor
+     * @param apellidosVendedor Apellidos del vendedor
+     * @return Slot asignado al vendedor
+     */
+    @Override
+    public int agregar(String tipoDocumento, long numeroDocumento, String nombresVendedor,
+            String apellidosVendedor) {
+        int slot = buscar(numeroDocumento);
+        if (slot == NO_ENCONTRADO) {
+            slot = total++;
+            if (slot == documentos.length) {
+                int capacidad = slot * 2;
+                tiposDocumento = Arrays.copyOf(tiposDocumento, capacidad);
+                documentos = Arrays.copyOf(documentos, capacidad);
+                nombres = Arrays.copyOf(nombres, capacidad);
+                apellidos = Arrays.copyOf(apellidos, capacidad);
+                nombresCompletosUtf8 = Arrays.copyOf(nombresCompletosUtf8, capacidad);
+                recaudacionCentavos = Arrays.copyOf(recaudacionCentavos, capacidad);
+            }
+            // Mantener la tabla hash a lo sumo a la mitad de su capacidad
+            if (total * 2 > tablaSlots.length) {
+                redimensionar();
+            }
+            insertarEnTabla(numeroDocumento, slot);
+        }
+
+        tiposDocumento[slot] = tipoDocumento;
+        documentos[slot] = numeroDocumento;
+        nombres[slot] = nombresVendedor;
+        apellidos[slot] = apellidosVendedor;
+        nombresCompletosUtf8[slot] = null;
+        recaudacionCentavos[slot] = 0;
+        if (ranking != null) {
+            if (slot == ranking.getTotal()) {
+                ranking.agregar(slot, 0, slot);
+            } else {
+                ranking.actualizar(slot, 0);
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Busca el slot de un vendedor por su número de documento.
+     *
+     * @param numeroDocumento Número de documento
+     * @return Slot del vendedor, o NO_ENCONTRADO si no existe
+     */
+    @Override
+    public int buscar(long numeroDocumento) {
+        int mascara = tablaSlots.length - 1;
+        int posicion = posicionInicial(numeroDocumento);
+        while (true) {
+            int slot = tablaSlots[posicion];
+            if (slot == 0) {
+                return NO_ENCONTRADO;
+            }
+            if (tablaDocumentos[posicion] == numeroDocumento) {
+                return slot - 1;
+            }
+            posicion = (posicion + 1) & mascara;
+        }
+    }
+
+    /**
+     * Obtiene el número de vendedores del índice.
+     *
+     * @return Total de vendedores
+     */
+    @Override
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Obtiene el número de documento del vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Número de documento
+     */
+    @Override
+    public long getNumeroDocumento(int slot) {
+        return documentos[slot];
+    }
+
+    /**
+     * Obtiene el tipo de documento del vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Tipo de documento
+     */
+    @Override
+    public String getTipoDocumento(int slot) {
+        return tiposDocumento[slot];
+    }
+
+    /**
+     * Obtiene los nombres del vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Nombres del vendedor
+     */
+    @Override
+    public String getNombres(int slot) {
+        return nombres[slot];
+    }
+
+    /**
+     * Obtiene los apellidos del vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Apellidos del vendedor
+     */
+    @Override
+    public String getApellidos(int slot) {
+        return apellidos[slot];
+    }
+
+    /**
+     * Obtiene el dinero recaudado por el vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Dinero recaudado, en centavos
+     */
+    @Override
+    public long getDineroRecaudadoCentavos(int slot) {
+        return recaudacionCentavos[slot];
+    }
+
+    /**
+     * Establece el dinero recaudado por el vendedor de un slot.
+     *
+     * @param slot                    Posición del vendedor
+     * @param dineroRecaudadoCentavos Dinero recaudado, en centavos
+     */
+    @Override
+    public void setDineroRecaudadoCentavos(int slot, long dineroRecaudadoCentavos) {
+        recaudacionCentavos[slot] = dineroRecaudadoCentavos;
+        if (ranking != null) {
+            ranking.actualizar(slot, dineroRecaudadoCentavos);
+        }
+    }
+
+    /**
+     * Suma una cantidad al dinero recaudado por el vendedor de un slot.
+     *
+     * @param slot     Posición del vendedor
+     * @param centavos Cantidad a sumar, en centavos
+     */
+    @Override
+    public void sumarRecaudacion(int slot, long centavos) {
+        recaudacionCentavos[slot] += centavos;
+        if (ranking != null) {
+            ranking.actualizar(slot, recaudacionCentavos[slot]);
+        }
+    }
+
+    /**
+     * Activa el ranking por recaudación con los vendedores actuales. Desde
+     * entonces cada cambio de recaudación lo actualiza (O(log n)). Los empates
+     * se ordenan por slot, como en el reporte completo.
+     */
+    public void activarRanking() {
+        if (ranking != null) {
+            return;
+        }
+        IndiceRanking nuevo = new IndiceRanking(documentos.length);
+        for (int slot = 0; slot < total; slot++) {
+            nuevo.agregar(slot, getDineroRecaudadoCentavos(slot), slot);
+        }
+        ranking = nuevo;
+    }
+
+    /**
+     * Obtiene el ranking por recaudación mantenido al día.
+     *
+     * @return Ranking de los slots, o null si no está activado
+     */
+    @Override
+    public IndiceRanking getRanking() {
+        return ranking;
+    }
+
+    /**
+     * Crea la lista de vendedores con su dinero recaudado, en el orden en que
+     * fueron cargados, para generar reportes.
+     *
+     * @return Lista de vendedores
+     */
+    public List<Vendedor> aVendedores() {
+        List<Vendedor> vendedores = new ArrayList<>(total);
+        for (int slot = 0; slot < total; slot++) {
+            vendedores.add(aVendedor(slot));
+        }
+        return vendedores;
+    }
+
+    /**
+     * Crea el vendedor de un slot con su dinero recaudado. El nombre completo
+     * en UTF-8 se guarda en el índice, así que los reportes que se reescriben
+     * en modo continuo no vuelven a codificarlo.
+     *
+     * @param slot Posición del vendedor
+     * @return Vendedor con los datos del slot
+     */
+    @Override
+    public Vendedor aVendedor(int slot) {
+        Vendedor vendedor = new Vendedor(tiposDocumento[slot], documentos[slot], nombres[slot], apellidos[slot]);
+        vendedor.setDineroRecaudadoCentavos(recaudacionCentavos[slot]);
+        if (nombresCompletosUtf8[slot] == null) {
+            nombresCompletosUtf8[slot] = vendedor.getNombreCompletoUtf8();
+        } else {
+            vendedor.setNombreCompletoUtf8(nombresCompletosUtf8[slot]);
+        }
+        return vendedor;
+    }
+
+    /**
+     * Calcula la posición inicial de un documento en la tabla hash.
+     *
+     * @param numeroDocumento Número de documento
+     * @return Posición inicial de sondeo
+     */
+    private int posicionInicial(long numeroDocumento) {
+        return (int) ((numeroDocumento * DISPERSION) >>> (64 - bitsTabla));
+    }
+
+    /**
+     * Inserta un documento nuevo en la tabla hash.
+     *
+     * @param numeroDocumento Número de documento
+     * @param slot            Slot del vendedor
+     */
+    private void insertarEnTabla(long numeroDocumento, int slot) {
+        int mascara = tablaSlots.length - 1;
+        int posicion = posicionInicial(numeroDocumento);
+        while (tablaSlots[posicion] != 0) {
+            posicion = (posicion + 1) & mascara;
+        }
+        tablaDocumentos[posicion] = numeroDocumento;
+        tablaSlots[posicion] = slot + 1;
+    }
+
+    /**
+     * Duplica la capacidad de la tabla hash y reinserta los documentos.
+     */
+    private void redimensionar() {
+        bitsTabla++;
+        tablaDocumentos = new long[1 << bitsTabla];
+        tablaSlots = new int[1 << bitsTabla];
+        // El último slot todavía no está en la tabla: lo inserta agregar()
+        for (int slot = 0; slot < total - 1; slot++) {
+            insertarEnTabla(documentos[slot], slot);
+        }
+    }
+}
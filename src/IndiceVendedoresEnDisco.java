@@ -0,0 +1,386 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Índice de vendedores para el modo de memoria limitada (--memoria-maxima),
+ * que guarda los vendedores y su dinero recaudado fuera del heap, en archivos
+ * de segmento proyectados en memoria (ver {@link SegmentosMapeados}).
+ *
+ * Ofrece las mismas operaciones por slot que {@link IndiceVendedores} (ver
+ * {@link AlmacenVendedores}), así que la carga, la lectura de ventas y el
+ * ranking top K funcionan sin cambios; no tiene la lista completa de
+ * vendedores, que es justamente lo que no cabe en el heap. El reporte
+ * completo se escribe con {@link ReporteVendedoresExterno}.
+ *
+ * Se usan tres arreglos fuera del heap:
+ * - fichas: documento, centavos recaudados y posición de los textos de cada
+ * slot (24 bytes por vendedor)
+ * - textos: longitudes y bytes UTF-8 del tipo de documento, nombres y
+ * apellidos de cada vendedor
+ * - tabla: tabla hash de direccionamiento abierto (sondeo lineal) con el slot
+ * + 1 de cada posición, igual que la del índice en memoria
+ *
+ * Las búsquedas pueden hacerse desde varios hilos una vez cargado el índice;
+ * el dinero recaudado solo debe modificarse desde un hilo.
+ */
+public class IndiceVendedoresEnDisco implements AlmacenVendedores, Closeable {
+
+    /** Bytes de la ficha de cada slot */
+    private static final int BYTES_FICHA = 24;
+
+    /** Posición del documento dentro de la ficha */
+    private static final int DOCUMENTO = 0;
+
+    /** Posición de los centavos recaudados dentro de la ficha */
+    private static final int RECAUDACION = 8;
+
+    /** Posición de la dirección de los textos dentro de la ficha */
+    private static final int TEXTOS = 16;
+
+    /** Multiplicador para dispersar los documentos en la tabla (razón áurea) */
+    private static final long DISPERSION = 0x9E3779B97F4A7C15L;
+
+    /** Carpeta de los archivos de segmento */
+    private final Path directorio;
+
+    /** Ficha de cada slot */
+    private final SegmentosMapeados fichas;
+
+    /** Textos de los vendedores */
+    private final SegmentosMapeados textos;
+
+    /** Tabla hash de documentos (slot + 1 por posición, 0 = vacía) */
+    private SegmentosMapeados tabla;
+
+    /** Bits de la capacidad de la tabla hash */
+    private int bitsTabla;
+
+    /** Tablas creadas, para nombrar los archivos de la siguiente */
+    private int generacionTabla;
+
+    /** Bytes usados en el arreglo de textos */
+    private long finTextos;
+
+    /** Número de vendedores en el índice */
+    private int total;
+
+    /**
+     * Constructor para crear un índice vacío.
+     *
+     * @param directorio Carpeta donde se crean los archivos de segmento
+     * @throws IOException Si no pueden crearse los primeros segmentos
+     */
+    public IndiceVendedoresEnDisco(Path directorio) throws IOException {
+        this.directorio = directorio;
+        this.fichas = new SegmentosMapeados(directorio, "fichas");
+        this.textos = new SegmentosMapeados(directorio, "textos");
+        this.bitsTabla = 16;
+        this.tabla = crearTabla(bitsTabla);
+    }
+
+    /**
+     * Agrega un vendedor al índice. Si el documento ya existe, se reemplazan sus
+     * datos conservando su posición.
+     *
+     * @param tipoDocumento     Tipo de documento de identificación
+     * @param numeroDocumento   Número de documento
+     * @param nombresVendedor   Nombres del vendedor
+     * @param apellidosVendedor Apellidos del vendedor
+     * @return Slot asignado al vendedor
+     * @throws UncheckedIOException Si no puede crearse un segmento nuevo
+     */
+    @Override
+    public int agregar(String tipoDocumento, long numeroDocumento, String nombresVendedor,
+            String apellidosVendedor) {
+        try {
+            int slot = buscar(numeroDocumento);
+            if (slot == NO_ENCONTRADO) {
+                slot = total++;
+                fichas.asegurar((long) total * BYTES_FICHA);
+                fichas.putLong(ficha(slot) + DOCUMENTO, numeroDocumento);
+                // Mantener la tabla hash a lo sumo a la mitad de su capacidad
+                if ((long) total * 2 > 1L << bitsTabla) {
+                    redimensionar();
+                }
+                insertarEnTabla(tabla, bitsTabla, numeroDocumento, slot);
+            }
+            fichas.putLong(ficha(slot) + RECAUDACION, 0);
+            fichas.putLong(ficha(slot) + TEXTOS, guardarTextos(tipoDocumento, nombresVendedor, apellidosVendedor));
+            return slot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo agregar el vendedor " + numeroDocumento, e);
+        }
+    }
+
+    /**
+     * Busca el slot de un vendedor por su número de documento.
+     *
+     * @param numeroDocumento Número de documento
+     * @return Slot del vendedor, o NO_ENCONTRADO si no existe
+     */
+    @Override
+    public int buscar(long numeroDocumento) {
+        long mascara = (1L << bitsTabla) - 1;
+        long posicion = posicionInicial(numeroDocumento, bitsTabla);
+        while (true) {
+            int slot = tabla.getInt(posicion * 4);
+            if (slot == 0) {
+                return NO_ENCONTRADO;
+            }
+            if (fichas.getLong(ficha(slot - 1) + DOCUMENTO) == numeroDocumento) {
+                return slot - 1;
+            }
+            posicion = (posicion + 1) & mascara;
+        }
+    }
+
+    /**
+     * Obtiene el número de vendedores del índice.
+     *
+     * @return Total de vendedores
+     */
+    @Override
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Obtiene el número de documento del vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Número de documento
+     */
+    @Override
+    public long getNumeroDocumento(int slot) {
+        return fichas.getLong(ficha(slot) + DOCUMENTO);
+    }
+
+    /**
+     * Obtiene el tipo de documento del vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Tipo de documento
+     */
+    @Override
+    public String getTipoDocumento(int slot) {
+        return leerTexto(slot, 0);
+    }
+
+    /**
+     * Obtiene los nombres del vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Nombres del vendedor
+     */
+    @Override
+    public String getNombres(int slot) {
+        return leerTexto(slot, 1);
+    }
+
+    /**
+     * Obtiene los apellidos del vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Apellidos del vendedor
+     */
+    @Override
+    public String getApellidos(int slot) {
+        return leerTexto(slot, 2);
+    }
+
+    /**
+     * Obtiene el dinero recaudado por el vendedor de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Dinero recaudado, en centavos
+     */
+    @Override
+    public long getDineroRecaudadoCentavos(int slot) {
+        return fichas.getLong(ficha(slot) + RECAUDACION);
+    }
+
+    /**
+     * Establece el dinero recaudado por el vendedor de un slot.
+     *
+     * @param slot                    Posición del vendedor
+     * @param dineroRecaudadoCentavos Dinero recaudado, en centavos
+     */
+    @Override
+    public void setDineroRecaudadoCentavos(int slot, long dineroRecaudadoCentavos) {
+        fichas.putLong(ficha(slot) + RECAUDACION, dineroRecaudadoCentavos);
+    }
+
+    /**
+     * Suma una cantidad al dinero recaudado por el vendedor de un slot.
+     *
+     * @param slot     Posición del vendedor
+     * @param centavos Cantidad a sumar, en centavos
+     */
+    @Override
+    public void sumarRecaudacion(int slot, long centavos) {
+        long posicion = ficha(slot) + RECAUDACION;
+        fichas.putLong(posicion, fichas.getLong(posicion) + centavos);
+    }
+
+    /**
+     * Este índice no lleva ranking incremental: sus arreglos estarían en el
+     * heap (Configuracion no admite --ranking-incremental con
+     * --memoria-maxima).
+     *
+     * @return Siempre null
+     */
+    @Override
+    public IndiceRanking getRanking() {
+        return null;
+    }
+
+    /**
+     * Crea el vendedor de un slot con su dinero recaudado, leyendo sus textos
+     * de los segmentos. El nombre en UTF-8 no se guarda en el heap.
+     *
+     * @param slot Posición del vendedor
+     * @return Vendedor con los datos del slot
+     */
+    @Override
+    public Vendedor aVendedor(int slot) {
+        Vendedor vendedor = new Vendedor(getTipoDocumento(slot), getNumeroDocumento(slot), getNombres(slot),
+                getApellidos(slot));
+        vendedor.setDineroRecaudadoCentavos(getDineroRecaudadoCentavos(slot));
+        return vendedor;
+    }
+
+    /**
+     * Obtiene los bytes que ocupan los segmentos del índice.
+     *
+     * @return Bytes proyectados fuera del heap
+     */
+    public long getBytesSegmentos() {
+        return fichas.getCapacidad() + textos.getCapacidad() + tabla.getCapacidad();
+    }
+
+    /**
+     * Borra los archivos de segmento. El índice no debe usarse después.
+     */
+    @Override
+    public void close() {
+        fichas.close();
+        textos.close();
+        tabla.close();
+    }
+
+    /**
+     * Calcula la posición de la ficha de un slot.
+     *
+     * @param slot Posición del vendedor
+     * @return Posición de la ficha en el arreglo de fichas
+     */
+    private static long ficha(int slot) {
+        return (long) slot * BYTES_FICHA;
+    }
+
+    /**
+     * Guarda los textos de un vendedor al final del arreglo de textos: tres
+     * longitudes (int) seguidas de los bytes UTF-8.
+     *
+     * @param tipoDocumento Tipo de documento
+     * @param nombres       Nombres
+     * @param apellidos     Apellidos
+     * @return Posición donde quedaron los textos
+     * @throws IOException Si no puede crearse un segmento nuevo
+     */
+    private long guardarTextos(String tipoDocumento, String nombres, String apellidos) throws IOException {
+        byte[][] partes = { tipoDocumento.getBytes(StandardCharsets.UTF_8), nombres.getBytes(StandardCharsets.UTF_8),
+                apellidos.getBytes(StandardCharsets.UTF_8) };
+        long inicio = finTextos;
+        long posicion = inicio + 12;
+        textos.asegurar(posicion + partes[0].length + partes[1].length + partes[2].length);
+        for (int i = 0; i < partes.length; i++) {
+            textos.putInt(inicio + 4 * i, partes[i].length);
+            textos.putBytes(posicion, partes[i]);
+            posicion += partes[i].length;
+        }
+        // Las longitudes del siguiente vendedor deben quedar alineadas a 4 bytes
+        finTextos = (posicion + 3) & ~3L;
+        return inicio;
+    }
+
+    /**
+     * Lee uno de los textos de un vendedor.
+     *
+     * @param slot  Posición del vendedor
+     * @param campo 0 = tipo de documento, 1 = nombres, 2 = apellidos
+     * @return Texto decodificado
+     */
+    private String leerTexto(int slot, int campo) {
+        long inicio = fichas.getLong(ficha(slot) + TEXTOS);
+        long posicion = inicio + 12;
+        for (int i = 0; i < campo; i++) {
+            posicion += textos.getInt(inicio + 4 * i);
+        }
+        byte[] bytes = new byte[textos.getInt(inicio + 4 * campo)];
+        textos.getBytes(posicion, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Crea una tabla hash vacía en segmentos nuevos.
+     *
+     * @param bits Bits de la capacidad de la tabla
+     * @return Tabla con todas las posiciones vacías
+     * @throws IOException Si no pueden crearse los segmentos
+     */
+    private SegmentosMapeados crearTabla(int bits) throws IOException {
+        SegmentosMapeados nueva = new SegmentosMapeados(directorio, "tabla" + generacionTabla++);
+        nueva.asegurar((1L << bits) * 4);
+        return nueva;
+    }
+
+    /**
+     * Calcula la posición inicial de un documento en una tabla hash.
+     *
+     * @param numeroDocumento Número de documento
+     * @param bits            Bits de la capacidad de la tabla
+     * @return Posición inicial de sondeo
+     */
+    private static long posicionInicial(long numeroDocumento, int bits) {
+        return (numeroDocumento * DISPERSION) >>> (64 - bits);
+    }
+
+    /**
+     * Inserta un documento nuevo en una tabla hash.
+     *
+     * @param destino         Tabla donde se inserta
+     * @param bits            Bits de la capacidad de la tabla
+     * @param numeroDocumento Número de documento
+     * @param slot            Slot del vendedor
+     */
+    private static void insertarEnTabla(SegmentosMapeados destino, int bits, long numeroDocumento, int slot) {
+        long mascara = (1L << bits) - 1;
+        long posicion = posicionInicial(numeroDocumento, bits);
+        while (destino.getInt(posicion * 4) != 0) {
+            posicion = (posicion + 1) & mascara;
+        }
+        destino.putInt(posicion * 4, slot + 1);
+    }
+
+    /**
+     * Duplica la capacidad de la tabla hash en segmentos nuevos, reinserta los
+     * documentos y borra la tabla anterior.
+     *
+     * @throws IOException Si no pueden crearse los segmentos
+     */
+    private void redimensionar() throws IOException {
+        int bits = bitsTabla + 1;
+        SegmentosMapeados nueva = crearTabla(bits);
+        // El último slot todavía no está en la tabla: lo inserta agregar()
+        for (int slot = 0; slot < total - 1; slot++) {
+            insertarEnTabla(nueva, bits, getNumeroDocumento(slot), slot);
+        }
+        tabla.close();
+        tabla = nueva;
+        bitsTabla = bits;
+    }
+}
@@ -0,0 +1,465 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Clase inmutable con una foto de los rankings y las estadísticas en un
+ * momento dado, ya codificada en CSV y JSON para que {@link ServidorVentas}
+ * la entregue sin ordenar ni formatear nada por cada petición.
+ *
+ * Cada ranking se guarda como un solo arreglo de bytes por formato, con las
+ * filas una tras otra en el orden de los reportes, y un arreglo con el inicio
+ * de cada fila. Una página (filas desde..hasta) es entonces un rango contiguo
+ * del arreglo y se escribe con una sola copia.
+ *
+ * Las filas CSV son idénticas a las líneas de reporte_vendedores.csv y
+ * reporte_productos.csv. Cada fila JSON termina en coma; al escribir un rango
+ * se omite la coma final.
+ *
+ * Una instantánea no cambia después de creada, así que puede leerse desde
+ * cualquier número de hilos mientras se prepara la siguiente.
+ */
+public class InstantaneaVentas {
+
+    /** Ranking de vendedores, de mayor a menor recaudación */
+    public static final int VENDEDORES = 0;
+
+    /** Ranking de productos, de mayor a menor cantidad vendida */
+    public static final int PRODUCTOS = 1;
+
+    /**
+     * Filas de un ranking codificadas en CSV y JSON.
+     */
+    static class Tabla {
+
+        /** Filas CSV concatenadas */
+        byte[] csv;
+
+        /** Inicio de cada fila CSV en csv (una posición más al final) */
+        int[] iniciosCsv;
+
+        /** Filas JSON concatenadas, cada una terminada en coma */
+        byte[] json;
+
+        /** Inicio de cada fila JSON en json (una posición más al final) */
+        int[] iniciosJson;
+
+        /**
+         * Obtiene el número de filas.
+         *
+         * @return Filas de la tabla
+         */
+        int getFilas() {
+            return iniciosCsv.length - 1;
+        }
+    }
+
+    /** Escritor reutilizable de cada hilo que crea instantáneas */
+    private static final ThreadLocal<EscritorBytes> escritores = ThreadLocal.withInitial(EscritorBytes::new);
+
+    /** Número de instantánea, creciente en cada publicación */
+    private final long generacion;
+
+    /** Instante en que se creó la instantánea, en milisegundos */
+    private final long creadaMs;
+
+    /** Ranking de vendedores */
+    private final Tabla vendedores;
+
+    /** Ranking de productos */
+    private final Tabla productos;
+
+    /** Estadísticas generales en JSON */
+    private final byte[] estadisticasJson;
+
+    /** Estadísticas generales en CSV (clave;valor) */
+    private final byte[] estadisticasCsv;
+
+    /**
+     * Constructor privado: las instancias se crean con {@link #crear}.
+     *
+     * @param generacion       Número de instantánea
+     * @param creadaMs         Instante de creación en milisegundos
+     * @param vendedores       Ranking de vendedores codificado
+     * @param productos        Ranking de productos codificado
+     * @param estadisticasJson Estadísticas en JSON
+     * @param estadisticasCsv  Estadísticas en CSV
+     */
+    private InstantaneaVentas(long generacion, long creadaMs, Tabla vendedores, Tabla productos,
+            byte[] estadisticasJson, byte[] estadisticasCsv) {
+        this.generacion = generacion;
+        this.creadaMs = creadaMs;
+        this.vendedores = vendedores;
+        this.productos = productos;
+        this.estadisticasJson = estadisticasJson;
+        this.estadisticasCsv = estadisticasCsv;
+    }
+
+    /**
+     * Crea una instantánea con los totales actuales. Ordena los rankings
+     * completos una sola vez, con los mismos desempates que los reportes.
+     *
+     * @param generacion Número de instantánea
+     * @param indice     Índice de vendedores con su dinero recaudado
+     * @param catalogo   Catálogo de productos con sus cantidades vendidas
+     * @return Instantánea codificada
+     * @throws IOException No debería ocurrir: se escribe en memoria
+     */
+    public static InstantaneaVentas crear(long generacion, AlmacenVendedores indice, CatalogoProductos catalogo)
+            throws IOException {
+        return crear(generacion, RankingVentas.calcular(indice, catalogo, 0, 0));
+    }
+
+    /**
+     * Crea una instantánea a partir de un ranking completo ya calculado, por
+     * ejemplo el mismo con que se escribieron los reportes.
+     *
+     * @param generacion Número de instantánea
+     * @param ranking    Ranking con todos los vendedores y productos
+     * @return Instantánea codificada
+     * @throws IOException No debería ocurrir: se escribe en memoria
+     */
+    public static InstantaneaVentas crear(long generacion, RankingVentas ranking) throws IOException {
+        EscritorBytes escritor = escritores.get();
+        long creadaMs = System.currentTimeMillis();
+
+        Tabla vendedores = codificarVendedores(escritor, ranking.getMejoresVendedores());
+        Tabla productos = codificarProductos(escritor, ranking.getProductosMasVendidos());
+
+        ByteArrayOutputStream memoria = new ByteArrayOutputStream();
+        try (EscritorBytes salida = escritor.abrir(Channels.newChannel(memoria))) {
+            escribirEstadisticasJson(salida, ranking, generacion, creadaMs);
+        }
+        byte[] estadisticasJson = memoria.toByteArray();
+
+        memoria.reset();
+        try (EscritorBytes salida = escritor.abrir(Channels.newChannel(memoria))) {
+            escribirEstadisticasCsv(salida, ranking, generacion, creadaMs);
+        }
+
+        return new InstantaneaVentas(generacion, creadaMs, vendedores, productos, estadisticasJson,
+                memoria.toByteArray());
+    }
+
+    /**
+     * Obtiene el número de instantánea.
+     *
+     * @return Número creciente en cada publicación
+     */
+    public long getGeneracion() {
+        return generacion;
+    }
+
+    /**
+     * Obtiene el instante en que se creó la instantánea.
+     *
+     * @return Milisegundos desde la época
+     */
+    public long getCreadaMs() {
+        return creadaMs;
+    }
+
+    /**
+     * Obtiene el número de filas de un ranking.
+     *
+     * @param ranking VENDEDORES o PRODUCTOS
+     * @return Filas del ranking
+     */
+    public int getFilas(int ranking) {
+        return tabla(ranking).getFilas();
+    }
+
+    /**
+     * Calcula los bytes de un rango de filas de un ranking en CSV.
+     *
+     * @param ranking VENDEDORES o PRODUCTOS
+     * @param desde   Primera fila (incluida)
+     * @param hasta   Última fila (excluida)
+     * @return Bytes que escribe {@link #escribirCsv}
+     */
+    public int longitudCsv(int ranking, int desde, int hasta) {
+        Tabla filas = tabla(ranking);
+        return filas.iniciosCsv[hasta] - filas.iniciosCsv[desde];
+    }
+
+    /**
+     * Calcula los bytes de un rango de filas de un ranking como arreglo JSON.
+     *
+     * @param ranking VENDEDORES o PRODUCTOS
+     * @param desde   Primera fila (incluida)
+     * @param hasta   Última fila (excluida)
+     * @return Bytes que escribe {@link #escribirJson}
+     */
+    public int longitudJson(int ranking, int desde, int hasta) {
+        Tabla filas = tabla(ranking);
+        // Corchetes, menos la coma de la última fila
+        return hasta > desde ? filas.iniciosJson[hasta] - filas.iniciosJson[desde] + 1 : 2;
+    }
+
+    /**
+     * Escribe un rango de filas de un ranking en CSV, igual que en el reporte.
+     *
+     * @param ranking VENDEDORES o PRODUCTOS
+     * @param desde   Primera fila (incluida)
+     * @param hasta   Última fila (excluida)
+     * @param salida  Flujo donde se escriben las filas
+     * @throws IOException Si ocurre un error al escribir
+     */
+    public void escribirCsv(int ranking, int desde, int hasta, OutputStream salida) throws IOException {
+        Tabla filas = tabla(ranking);
+        salida.write(filas.csv, filas.iniciosCsv[desde], filas.iniciosCsv[hasta] - filas.iniciosCsv[desde]);
+    }
+
+    /**
+     * Escribe un rango de filas de un ranking como arreglo JSON.
+     *
+     * @param ranking VENDEDORES o PRODUCTOS
+     * @param desde   Primera fila (incluida)
+     * @param hasta   Última fila (excluida)
+     * @param salida  Flujo donde se escribe el arreglo
+     * @throws IOException Si ocurre un error al escribir
+     */
+    public void escribirJson(int ranking, int desde, int hasta, OutputStream salida) throws IOException {
+        Tabla filas = tabla(ranking);
+        salida.write('[');
+        if (hasta > desde) {
+            // Sin la coma de la última fila
+            int longitud = filas.iniciosJson[hasta] - filas.iniciosJson[desde] - 1;
+            salida.write(filas.json, filas.iniciosJson[desde], longitud);
+        }
+        salida.write(']');
+    }
+
+    /**
+     * Obtiene las estadísticas generales en JSON.
+     *
+     * @return Bytes UTF-8 del objeto JSON (no deben modificarse)
+     */
+    public byte[] getEstadisticasJson() {
+        return estadisticasJson;
+    }
+
+    /**
+     * Obtiene las estadísticas generales en CSV.
+     *
+     * @return Bytes UTF-8 de las líneas clave;valor (no deben modificarse)
+     */
+    public byte[] getEstadisticasCsv() {
+        return estadisticasCsv;
+    }
+
+    /**
+     * Obtiene la tabla de un ranking.
+     *
+     * @param ranking VENDEDORES o PRODUCTOS
+     * @return Tabla del ranking
+     */
+    private Tabla tabla(int ranking) {
+        return ranking == VENDEDORES ? vendedores : productos;
+    }
+
+    /**
+     * Codifica el ranking de vendedores.
+     *
+     * @param escritor   Escritor reutilizable
+     * @param vendedores Vendedores ordenados
+     * @return Tabla con las filas CSV y JSON
+     * @throws IOException No debería ocurrir: se escribe en memoria
+     */
+    private static Tabla codificarVendedores(EscritorBytes escritor, List<Vendedor> vendedores) throws IOException {
+        Tabla tabla = new Tabla();
+        tabla.iniciosCsv = new int[vendedores.size() + 1];
+        tabla.iniciosJson = new int[vendedores.size() + 1];
+
+        ByteArrayOutputStream memoria = new ByteArrayOutputStream();
+        try (EscritorBytes salida = escritor.abrir(Channels.newChannel(memoria))) {
+            for (int i = 0; i < vendedores.size(); i++) {
+                Vendedor vendedor = vendedores.get(i);
+                tabla.iniciosCsv[i] = (int) salida.getPosicion();
+                salida.escribirBytes(vendedor.getNombreCompletoUtf8());
+                salida.escribirByte(';');
+                salida.escribirCentavos(vendedor.getDineroRecaudadoCentavos());
+                salida.nuevaLinea();
+            }
+            tabla.iniciosCsv[vendedores.size()] = (int) salida.getPosicion();
+        }
+        tabla.csv = memoria.toByteArray();
+
+        memoria.reset();
+        try (EscritorBytes salida = escritor.abrir(Channels.newChannel(memoria))) {
+            for (int i = 0; i < vendedores.size(); i++) {
+                tabla.iniciosJson[i] = (int) salida.getPosicion();
+                escribirVendedorJson(salida, vendedores.get(i), i + 1);
+                salida.escribirByte(',');
+            }
+            tabla.iniciosJson[vendedores.size()] = (int) salida.getPosicion();
+        }
+        tabla.json = memoria.toByteArray();
+        return tabla;
+    }
+
+    /**
+     * Codifica el ranking de productos.
+     *
+     * @param escritor  Escritor reutilizable
+     * @param productos Productos ordenados
+     * @return Tabla con las filas CSV y JSON
+     * @throws IOException No debería ocurrir: se escribe en memoria
+     */
+    private static Tabla codificarProductos(EscritorBytes escritor, List<Producto> productos) throws IOException {
+        Tabla tabla = new Tabla();
+        tabla.iniciosCsv = new int[productos.size() + 1];
+        tabla.iniciosJson = new int[productos.size() + 1];
+
+        ByteArrayOutputStream memoria = new ByteArrayOutputStream();
+        try (EscritorBytes salida = escritor.abrir(Channels.newChannel(memoria))) {
+            for (int i = 0; i < productos.size(); i++) {
+                Producto producto = productos.get(i);
+                tabla.iniciosCsv[i] = (int) salida.getPosicion();
+                salida.escribirBytes(producto.getNombreUtf8());
+                salida.escribirByte(';');
+                salida.escribirCentavos(producto.getPrecioCentavos());
+                salida.escribirByte(';');
+                salida.escribirEntero(producto.getCantidadVendida());
+                salida.nuevaLinea();
+            }
+            tabla.iniciosCsv[productos.size()] = (int) salida.getPosicion();
+        }
+        tabla.csv = memoria.toByteArray();
+
+        memoria.reset();
+        try (EscritorBytes salida = escritor.abrir(Channels.newChannel(memoria))) {
+            for (int i = 0; i < productos.size(); i++) {
+                tabla.iniciosJson[i] = (int) salida.getPosicion();
+                escribirProductoJson(salida, productos.get(i), i + 1);
+                salida.escribirByte(',');
+            }
+            tabla.iniciosJson[productos.size()] = (int) salida.getPosicion();
+        }
+        tabla.json = memoria.toByteArray();
+        return tabla;
+    }
+
+    /**
+     * Escribe un vendedor como objeto JSON.
+     *
+     * @param salida   Escritor abierto
+     * @param vendedor Vendedor a escribir
+     * @param posicion Posición en el ranking (desde 1)
+     * @throws IOException Si ocurre un error al escribir
+     */
+    static void escribirVendedorJson(EscritorBytes salida, Vendedor vendedor, int posicion)
+            throws IOException {
+        salida.escribirTexto("{\"posicion\":");
+        salida.escribirEntero(posicion);
+        salida.escribirTexto(",\"tipoDocumento\":");
+        MetricasEjecucion.escribirCadenaJson(salida, vendedor.getTipoDocumento());
+        salida.escribirTexto(",\"documento\":");
+        salida.escribirEntero(vendedor.getNumeroDocumento());
+        salida.escribirTexto(",\"nombre\":");
+        MetricasEjecucion.escribirCadenaJson(salida, vendedor.getNombreCompleto());
+        salida.escribirTexto(",\"recaudado\":");
+        salida.escribirCentavos(vendedor.getDineroRecaudadoCentavos());
+        salida.escribirByte('}');
+    }
+
+    /**
+     * Escribe un producto como objeto JSON.
+     *
+     * @param salida   Escritor abierto
+     * @param producto Producto a escribir
+     * @param posicion Posición en el ranking (desde 1)
+     * @throws IOException Si ocurre un error al escribir
+     */
+    static void escribirProductoJson(EscritorBytes salida, Producto producto, int posicion)
+            throws IOException {
+        salida.escribirTexto("{\"posicion\":");
+        salida.escribirEntero(posicion);
+        salida.escribirTexto(",\"id\":");
+        salida.escribirEntero(producto.getId());
+        salida.escribirTexto(",\"nombre\":");
+        MetricasEjecucion.escribirCadenaJson(salida, producto.getNombre());
+        salida.escribirTexto(",\"precio\":");
+        salida.escribirCentavos(producto.getPrecioCentavos());
+        salida.escribirTexto(",\"cantidadVendida\":");
+        salida.escribirEntero(producto.getCantidadVendida());
+        salida.escribirByte('}');
+    }
+
+    /**
+     * Escribe las estadísticas generales (las mismas de
+     * {@link ReportGenerator#mostrarEstadisticas}) como objeto JSON.
+     *
+     * @param salida     Escritor abierto
+     * @param ranking    Ranking con los totales y los mejores
+     * @param generacion Número de instantánea
+     * @param creadaMs   Instante de creación en milisegundos
+     * @throws IOException Si ocurre un error al escribir
+     */
+    private static void escribirEstadisticasJson(EscritorBytes salida, RankingVentas ranking, long generacion,
+            long creadaMs) throws IOException {
+        salida.escribirTexto("{\"generacion\":");
+        salida.escribirEntero(generacion);
+        salida.escribirTexto(",\"actualizado\":\"" + Instant.ofEpochMilli(creadaMs) + "\"");
+        salida.escribirTexto(",\"totalVendedores\":");
+        salida.escribirEntero(ranking.getTotalVendedores());
+        salida.escribirTexto(",\"totalProductos\":");
+        salida.escribirEntero(ranking.getTotalProductos());
+        salida.escribirTexto(",\"totalRecaudado\":");
+        salida.escribirCentavos(ranking.getTotalRecaudadoCentavos());
+        salida.escribirTexto(",\"totalProductosVendidos\":");
+        salida.escribirEntero(ranking.getTotalProductosVendidos());
+        salida.escribirTexto(",\"mejorVendedor\":");
+        if (ranking.getMejorVendedor() != null) {
+            escribirVendedorJson(salida, ranking.getMejorVendedor(), 1);
+        } else {
+            salida.escribirTexto("null");
+        }
+        salida.escribirTexto(",\"productoMasVendido\":");
+        if (ranking.getProductoMasVendido() != null) {
+            escribirProductoJson(salida, ranking.getProductoMasVendido(), 1);
+        } else {
+            salida.escribirTexto("null");
+        }
+        salida.escribirByte('}');
+    }
+
+    /**
+     * Escribe las estadísticas generales como líneas clave;valor.
+     *
+     * @param salida     Escritor abierto
+     * @param ranking    Ranking con los totales y los mejores
+     * @param generacion Número de instantánea
+     * @param creadaMs   Instante de creación en milisegundos
+     * @throws IOException Si ocurre un error al escribir
+     */
+    private static void escribirEstadisticasCsv(EscritorBytes salida, RankingVentas ranking, long generacion,
+            long creadaMs) throws IOException {
+        salida.escribirTexto("generacion;" + generacion);
+        salida.nuevaLinea();
+        salida.escribirTexto("actualizado;" + Instant.ofEpochMilli(creadaMs));
+        salida.nuevaLinea();
+        salida.escribirTexto("total_vendedores;" + ranking.getTotalVendedores());
+        salida.nuevaLinea();
+        salida.escribirTexto("total_productos;" + ranking.getTotalProductos());
+        salida.nuevaLinea();
+        salida.escribirTexto("total_recaudado;");
+        salida.escribirCentavos(ranking.getTotalRecaudadoCentavos());
+        salida.nuevaLinea();
+        salida.escribirTexto("total_productos_vendidos;" + ranking.getTotalProductosVendidos());
+        salida.nuevaLinea();
+        if (ranking.getMejorVendedor() != null) {
+            salida.escribirTexto("mejor_vendedor;");
+            salida.escribirBytes(ranking.getMejorVendedor().getNombreCompletoUtf8());
+            salida.nuevaLinea();
+        }
+        if (ranking.getProductoMasVendido() != null) {
+            salida.escribirTexto("producto_mas_vendido;");
+            salida.escribirBytes(ranking.getProductoMasVendido().getNombreUtf8());
+            salida.nuevaLinea();
+        }
+    }
+}
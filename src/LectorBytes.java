@@ -0,0 +1,660 @@
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Clase que lee archivos planos separados por ";" directamente como bytes.
+ *
+ * Reemplaza la combinación BufferedReader.readLine() + trim() + split(";") +
+ * Integer.parseInt/Double.parseDouble: las líneas y los campos se ubican con
+ * índices sobre un arreglo de bytes reutilizable y los números se convierten
+ * sin crear objetos String. Solo se crean cadenas para los campos de texto que
+ * se necesitan conservar (nombres de productos y vendedores). Los precios se
+ * convierten directamente a centavos (ver {@link FormatoMoneda}).
+ *
+ * Conserva el comportamiento del código anterior:
+ * - Las líneas terminan en \n, \r o \r\n (igual que readLine)
+ * - Líneas y campos se recortan como con String.trim()
+ * - Los campos vacíos al final de la línea no se cuentan (igual que split)
+ * - Los números inválidos lanzan NumberFormatException
+ *
+ * Opcionalmente calcula una huella CRC32C del contenido completo del archivo
+ * mientras lo lee, para detectar cambios sin una segunda lectura.
+ *
+ * Los archivos terminados en .gz se descomprimen a medida que se leen, sin
+ * pasar por un archivo temporal; las líneas, los bytes leídos y la huella
+ * corresponden al contenido descomprimido.
+ *
+ * También puede leer un rango de bytes ya proyectado en memoria (ver
+ * {@link #abrir(ByteBuffer)}), por ejemplo un bloque de un archivo grande que
+ * varios hilos leen por partes.
+ *
+ * Una instancia puede reutilizarse para leer varios archivos, uno a la vez,
+ * pero no debe compartirse entre hilos.
+ */
+public class LectorBytes implements Closeable {
+
+    /** Extensión de los archivos comprimidos con gzip */
+    public static final String EXTENSION_GZIP = ".gz";
+
+    /** Tamaño inicial del buffer de lectura */
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    /** Tamaño del buffer de bytes comprimidos al leer un archivo .gz */
+    private static final int TAMANO_BUFFER_GZIP = 256 * 1024;
+
+    /** Separador de campos */
+    private static final byte SEPARADOR = ';';
+
+    /** Bytes leídos del archivo */
+    private byte[] datos;
+
+    /** Vista de los bytes usada para leer desde el canal */
+    private ByteBuffer buffer;
+
+    /** Canal del archivo abierto actualmente (null si está comprimido) */
+    private FileChannel canal;
+
+    /** Contenido descomprimido del archivo .gz abierto actualmente */
+    private InputStream descomprimido;
+
+    /** Región en memoria abierta actualmente (null si se lee de un archivo) */
+    private ByteBuffer region;
+
+    /** Cantidad de bytes válidos en el buffer */
+    private int limite;
+
+    /** Posición donde empieza la siguiente línea */
+    private int posicion;
+
+    /** Posición desde donde continuar buscando el fin de línea */
+    private int busqueda;
+
+    /** Indica si ya se leyó todo el archivo */
+    private boolean finArchivo;
+
+    /** Indica si la línea anterior terminó en \r y debe saltarse un \n */
+    private boolean saltarSaltoLinea;
+
+    /** Inicio de la línea actual (ya recortada) */
+    private int inicioLinea;
+
+    /** Fin (exclusivo) de la línea actual (ya recortada) */
+    private int finLinea;
+
+    /** Inicio de cada campo de la línea actual */
+    private int[] iniciosCampo;
+
+    /** Fin (exclusivo) de cada campo de la línea actual */
+    private int[] finesCampo;
+
+    /** Huella del contenido leído del archivo actual */
+    private CRC32C huella;
+
+    /** Indica si se debe calcular la huella del archivo actual */
+    private boolean calcularHuella;
+
+    /** Nanosegundos bloqueados abriendo y leyendo el archivo actual */
+    private long nanosLectura;
+
+    /** Bytes leídos del archivo actual */
+    private long bytesLeidos;
+
+    /** Líneas entregadas del archivo actual */
+    private int lineasLeidas;
+
+    /**
+     * Constructor que reserva los buffers reutilizables.
+     */
+    public LectorBytes() {
+        this.datos = new byte[TAMANO_BUFFER];
+        this.buffer = ByteBuffer.wrap(datos);
+        this.iniciosCampo = new int[8];
+        this.finesCampo = new int[8];
+        this.huella = new CRC32C();
+    }
+
+    /**
+     * Abre un archivo para leerlo línea por línea.
+     *
+     * @param nombreArchivo Nombre del archivo a leer
+     * @return Este mismo lector, para usarlo en un try-with-resources
+     * @throws IOException Si el archivo no existe o no puede abrirse
+     */
+    public LectorBytes abrir(String nombreArchivo) throws IOException {
+        return abrir(nombreArchivo, false);
+    }
+
+    /**
+     * Abre un archivo para leerlo línea por línea, calculando opcionalmente la
+     * huella de su contenido.
+     *
+     * @param nombreArchivo  Nombre del archivo a leer
+     * @param calcularHuella true para calcular la huella CRC32C del archivo
+     * @return Este mismo lector, para usarlo en un try-with-resources
+     * @throws IOException Si el archivo no existe o no puede abrirse
+     */
+    public LectorBytes abrir(String nombreArchivo, boolean calcularHuella) throws IOException {
+        close();
+        this.calcularHuella = calcularHuella;
+        this.huella.reset();
+        this.bytesLeidos = 0;
+        this.lineasLeidas = 0;
+        long inicio = System.nanoTime();
+        try {
+            // FileInputStream produce los mismos mensajes de error que FileReader
+            FileInputStream entrada = new FileInputStream(nombreArchivo);
+            if (esComprimido(nombreArchivo)) {
+                try {
+                    this.descomprimido = new GZIPInputStream(entrada, TAMANO_BUFFER_GZIP);
+                } catch (IOException e) {
+                    // Encabezado gzip inválido
+                    entrada.close();
+                    throw e;
+                }
+            } else {
+                this.canal = entrada.getChannel();
+            }
+        } finally {
+            this.nanosLectura = System.nanoTime() - inicio;
+        }
+        this.limite = 0;
+        this.posicion = 0;
+        this.busqueda = 0;
+        this.finArchivo = false;
+        this.saltarSaltoLinea = false;
+        return this;
+    }
+
+    /**
+     * Abre un rango de bytes en memoria (por ejemplo una región proyectada con
+     * FileChannel.map) para leerlo línea por línea, sin calcular huella. Las
+     * líneas se copian por tramos al buffer reutilizable, así que se aplican
+     * las mismas reglas de recorte y conversión que al leer un archivo.
+     *
+     * @param region Bytes a leer, desde su posición hasta su límite
+     * @return Este mismo lector, para usarlo en un try-with-resources
+     * @throws IOException Si no puede cerrarse el archivo abierto antes
+     */
+    public LectorBytes abrir(ByteBuffer region) throws IOException {
+        close();
+        this.calcularHuella = false;
+        this.huella.reset();
+        this.bytesLeidos = 0;
+        this.lineasLeidas = 0;
+        this.nanosLectura = 0;
+        this.region = region;
+        this.limite = 0;
+        this.posicion = 0;
+        this.busqueda = 0;
+        this.finArchivo = false;
+        this.saltarSaltoLinea = false;
+        return this;
+    }
+
+    /**
+     * Avanza a la siguiente línea del archivo.
+     *
+     * @return true si hay una línea disponible, false al llegar al final
+     * @throws IOException Si ocurre un error al leer el archivo
+     */
+    public boolean siguienteLinea() throws IOException {
+        if (saltarSaltoLinea) {
+            if (posicion == limite && !finArchivo) {
+                leerMas();
+            }
+            if (posicion < limite && datos[posicion] == '\n') {
+                posicion++;
+                busqueda = posicion;
+            }
+            saltarSaltoLinea = false;
+        }
+
+        while (true) {
+            for (int i = busqueda; i < limite; i++) {
+                byte b = datos[i];
+                if (b == '\n' || b == '\r') {
+                    marcarLinea(posicion, i);
+                    posicion = i + 1;
+                    busqueda = posicion;
+                    saltarSaltoLinea = b == '\r';
+                    return true;
+                }
+            }
+            busqueda = limite;
+
+            if (finArchivo) {
+                if (posicion < limite) {
+                    marcarLinea(posicion, limite);
+                    posicion = limite;
+                    return true;
+                }
+                return false;
+            }
+
+            leerMas();
+        }
+    }
+
+    /**
+     * Indica si la línea actual está vacía después de recortarla.
+     *
+     * @return true si la línea no tiene contenido
+     */
+    public boolean lineaVacia() {
+        return inicioLinea == finLinea;
+    }
+
+    /**
+     * Obtiene el texto de la línea actual, recortado (solo para casos
+     * excepcionales, como guardar una línea rechazada).
+     *
+     * @return Texto de la línea decodificado como UTF-8
+     */
+    public String lineaTexto() {
+        return textoCrudo(inicioLinea, finLinea);
+    }
+
+    /**
+     * Divide la línea actual en campos separados por ";".
+     * Igual que String.split, los campos vacíos al final no se cuentan.
+     *
+     * @return Número de campos de la línea
+     */
+    public int dividirCampos() {
+        int total = 0;
+        int efectivos = 0;
+        int inicio = inicioLinea;
+
+        for (int i = inicioLinea; i <= finLinea; i++) {
+            if (i == finLinea || datos[i] == SEPARADOR) {
+                if (total == iniciosCampo.length) {
+                    iniciosCampo = Arrays.copyOf(iniciosCampo, total * 2);
+                    finesCampo = Arrays.copyOf(finesCampo, total * 2);
+                }
+                iniciosCampo[total] = inicio;
+                finesCampo[total] = i;
+                total++;
+                if (i > inicio) {
+                    efectivos = total;
+                }
+                inicio = i + 1;
+            }
+        }
+
+        return efectivos;
+    }
+
+    /**
+     * Obtiene un campo de texto recortado de la línea actual.
+     *
+     * @param indice Índice del campo (según {@link #dividirCampos()})
+     * @return Texto del campo decodificado como UTF-8
+     */
+    public String campoTexto(int indice) {
+        int inicio = inicioRecortado(indice);
+        int fin = finRecortado(indice, inicio);
+        return new String(datos, inicio, fin - inicio, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Convierte un campo de la línea actual a int, como Integer.parseInt.
+     *
+     * @param indice Índice del campo
+     * @return Valor numérico del campo
+     * @throws NumberFormatException Si el campo no es un entero válido
+     */
+    public int campoInt(int indice) {
+        long valor = campoLong(indice);
+        if (valor < Integer.MIN_VALUE || valor > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Valor fuera del rango de int");
+        }
+        return (int) valor;
+    }
+
+    /**
+     * Convierte un campo de la línea actual a long, como Long.parseLong.
+     *
+     * @param indice Índice del campo
+     * @return Valor numérico del campo
+     * @throws NumberFormatException Si el campo no es un entero válido
+     */
+    public long campoLong(int indice) {
+        int inicio = inicioRecortado(indice);
+        int fin = finRecortado(indice, inicio);
+        int i = inicio;
+
+        boolean negativo = false;
+        if (i < fin && (datos[i] == '-' || datos[i] == '+')) {
+            negativo = datos[i] == '-';
+            i++;
+        }
+        if (i == fin) {
+            throw new NumberFormatException("Campo numérico vacío");
+        }
+
+        // Se acumula en negativo para poder representar Long.MIN_VALUE
+        long valor = 0;
+        for (; i < fin; i++) {
+            int digito = datos[i] - '0';
+            if (digito < 0 || digito > 9) {
+                return conversionLenta(inicio, fin);
+            }
+            if (valor < (Long.MIN_VALUE + digito) / 10) {
+                throw new NumberFormatException("Valor fuera del rango de long");
+            }
+            valor = valor * 10 - digito;
+        }
+
+        if (!negativo) {
+            if (valor == Long.MIN_VALUE) {
+                throw new NumberFormatException("Valor fuera del rango de long");
+            }
+            return -valor;
+        }
+        return valor;
+    }
+
+    /**
+     * Convierte un campo decimal de la línea actual a centavos (por ejemplo
+     * "1234.5" se convierte en 123450). Los valores con hasta dos decimales se
+     * convierten directamente sobre los bytes; otras notaciones (más decimales,
+     * exponente, sufijo d o f, hexadecimal) se aceptan igual que con
+     * Double.parseDouble y se redondean al centavo más cercano.
+     *
+     * @param indice Índice del campo
+     * @return Valor del campo en centavos
+     * @throws NumberFormatException Si el campo no es un número válido
+     */
+    public long campoCentavos(int indice) {
+        int inicio = inicioRecortado(indice);
+        int fin = finRecortado(indice, inicio);
+        int i = inicio;
+
+        boolean negativo = false;
+        if (i < fin && (datos[i] == '-' || datos[i] == '+')) {
+            negativo = datos[i] == '-';
+            i++;
+        }
+
+        long entero = 0;
+        int digitosEnteros = 0;
+        long fraccion = 0;
+        int decimales = -1;
+        for (; i < fin; i++) {
+            byte b = datos[i];
+            if (b >= '0' && b <= '9') {
+                if (decimales < 0) {
+                    if (++digitosEnteros > 16) {
+                        return centavosLento(inicio, fin);
+                    }
+                    entero = entero * 10 + (b - '0');
+                } else {
+                    if (++decimales > 2) {
+                        return centavosLento(inicio, fin);
+                    }
+                    fraccion = fraccion * 10 + (b - '0');
+                }
+            } else if (b == '.' && decimales < 0) {
+                decimales = 0;
+            } else {
+                return centavosLento(inicio, fin);
+            }
+        }
+
+        if (digitosEnteros == 0 && decimales <= 0) {
+            return centavosLento(inicio, fin);
+        }
+        if (decimales == 1) {
+            fraccion *= 10;
+        }
+
+        long valor = entero * 100 + fraccion;
+        return negativo ? -valor : valor;
+    }
+
+    /**
+     * Lee lo que falte del archivo actual y devuelve la huella CRC32C de todo
+     * su contenido. Después de llamarlo ya no quedan líneas por leer.
+     *
+     * @return Huella del contenido del archivo
+     * @throws IOException Si ocurre un error al leer el archivo
+     */
+    public long completarHuella() throws IOException {
+        if (!calcularHuella) {
+            throw new IllegalStateException("El archivo se abrió sin cálculo de huella");
+        }
+        while (!finArchivo) {
+            posicion = limite;
+            busqueda = limite;
+            leerMas();
+        }
+        return huella.getValue();
+    }
+
+    /**
+     * Obtiene el tiempo bloqueado en el sistema de archivos (apertura y
+     * lecturas) desde que se abrió el archivo actual.
+     *
+     * @return Tiempo de E/S, en nanosegundos
+     */
+    public long getNanosLectura() {
+        return nanosLectura;
+    }
+
+    /**
+     * Obtiene los bytes leídos del archivo actual hasta el momento.
+     *
+     * @return Bytes leídos
+     */
+    public long getBytesLeidos() {
+        return bytesLeidos;
+    }
+
+    /**
+     * Obtiene las líneas del archivo actual entregadas hasta el momento,
+     * incluidas las vacías.
+     *
+     * @return Líneas leídas
+     */
+    public int getLineasLeidas() {
+        return lineasLeidas;
+    }
+
+    /**
+     * Cierra el archivo actual. El lector puede volver a usarse con
+     * {@link #abrir(String)}.
+     *
+     * @throws IOException Si ocurre un error al cerrar el archivo
+     */
+    @Override
+    public void close() throws IOException {
+        if (canal != null) {
+            FileChannel anterior = canal;
+            canal = null;
+            anterior.close();
+        }
+        if (descomprimido != null) {
+            InputStream anterior = descomprimido;
+            descomprimido = null;
+            anterior.close();
+        }
+        region = null;
+    }
+
+    /**
+     * Indica si un archivo está comprimido con gzip y se descomprime al leerlo.
+     *
+     * @param nombreArchivo Nombre del archivo
+     * @return true si el nombre termina en .gz
+     */
+    public static boolean esComprimido(String nombreArchivo) {
+        return nombreArchivo.endsWith(EXTENSION_GZIP);
+    }
+
+    /**
+     * Guarda los límites de la línea actual recortando los espacios.
+     *
+     * @param inicio Inicio de la línea
+     * @param fin    Fin (exclusivo) de la línea
+     */
+    private void marcarLinea(int inicio, int fin) {
+        lineasLeidas++;
+        while (inicio < fin && (datos[inicio] & 0xFF) <= ' ') {
+            inicio++;
+        }
+        while (fin > inicio && (datos[fin - 1] & 0xFF) <= ' ') {
+            fin--;
+        }
+        inicioLinea = inicio;
+        finLinea = fin;
+    }
+
+    /**
+     * Obtiene el inicio de un campo sin espacios iniciales.
+     *
+     * @param indice Índice del campo
+     * @return Posición del primer byte del campo recortado
+     */
+    private int inicioRecortado(int indice) {
+        int inicio = iniciosCampo[indice];
+        int fin = finesCampo[indice];
+        while (inicio < fin && (datos[inicio] & 0xFF) <= ' ') {
+            inicio++;
+        }
+        return inicio;
+    }
+
+    /**
+     * Obtiene el fin de un campo sin espacios finales.
+     *
+     * @param indice Índice del campo
+     * @param inicio Inicio ya recortado del campo
+     * @return Posición (exclusiva) del último byte del campo recortado
+     */
+    private int finRecortado(int indice, int inicio) {
+        int fin = finesCampo[indice];
+        while (fin > inicio && (datos[fin - 1] & 0xFF) <= ' ') {
+            fin--;
+        }
+        return fin;
+    }
+
+    /**
+     * Convierte un entero que contiene bytes no ASCII usando Long.parseLong,
+     * que también acepta dígitos Unicode. Solo se usa en casos excepcionales.
+     *
+     * @param inicio Inicio del campo
+     * @param fin    Fin (exclusivo) del campo
+     * @return Valor numérico del campo
+     */
+    private long conversionLenta(int inicio, int fin) {
+        return Long.parseLong(textoCrudo(inicio, fin));
+    }
+
+    /**
+     * Convierte a centavos un decimal con notación poco común. Se aceptan los
+     * mismos textos que con Double.parseDouble (por ejemplo "1500.0d",
+     * "1500f" o "0x1.8p1"), pero el redondeo al centavo se hace con BigDecimal
+     * sobre el texto decimal (mitades al par), sin pasar por el double. Solo
+     * se usa en casos excepcionales.
+     *
+     * @param inicio Inicio del campo
+     * @param fin    Fin (exclusivo) del campo
+     * @return Valor del campo en centavos
+     * @throws NumberFormatException Si el campo no es un número válido o no
+     *                               cabe en un long
+     */
+    private long centavosLento(int inicio, int fin) {
+        String texto = textoCrudo(inicio, fin);
+        double aproximado = Double.parseDouble(texto);
+        if (!Double.isFinite(aproximado)) {
+            throw new NumberFormatException("Valor fuera de rango");
+        }
+
+        // BigDecimal no acepta el sufijo de tipo que sí acepta Double.parseDouble
+        char ultimo = texto.charAt(texto.length() - 1);
+        if (ultimo == 'd' || ultimo == 'D' || ultimo == 'f' || ultimo == 'F') {
+            texto = texto.substring(0, texto.length() - 1);
+        }
+        BigDecimal valor;
+        try {
+            valor = new BigDecimal(texto);
+        } catch (NumberFormatException e) {
+            // Notación hexadecimal: su valor es exactamente el double
+            valor = new BigDecimal(aproximado);
+        }
+        try {
+            return valor.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Valor fuera de rango");
+        }
+    }
+
+    /**
+     * Crea el texto de un rango de bytes (solo para casos excepcionales).
+     *
+     * @param inicio Inicio del rango
+     * @param fin    Fin (exclusivo) del rango
+     * @return Texto decodificado como UTF-8
+     */
+    private String textoCrudo(int inicio, int fin) {
+        return new String(datos, inicio, fin - inicio, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lee más bytes del archivo, moviendo la línea incompleta al inicio del
+     * buffer y duplicándolo si una línea no cabe.
+     *
+     * @throws IOException Si ocurre un error al leer el archivo
+     */
+    private void leerMas() throws IOException {
+        if (posicion > 0) {
+            System.arraycopy(datos, posicion, datos, 0, limite - posicion);
+            limite -= posicion;
+            busqueda -= posicion;
+            posicion = 0;
+        }
+
+        if (limite == datos.length) {
+            datos = Arrays.copyOf(datos, datos.length * 2);
+            buffer = ByteBuffer.wrap(datos);
+        }
+
+        long inicio = System.nanoTime();
+        int leidos;
+        if (region != null) {
+            // Las páginas de la región se cargan aquí, al copiarlas
+            leidos = region.hasRemaining() ? Math.min(region.remaining(), datos.length - limite) : -1;
+            if (leidos > 0) {
+                region.get(datos, limite, leidos);
+            }
+        } else if (descomprimido != null) {
+            // Se descomprime directamente en el buffer de líneas, sin copias intermedias
+            leidos = descomprimido.read(datos, limite, datos.length - limite);
+        } else {
+            buffer.limit(datos.length);
+            buffer.position(limite);
+            leidos = canal.read(buffer);
+        }
+        nanosLectura += System.nanoTime() - inicio;
+        if (leidos < 0) {
+            finArchivo = true;
+        } else {
+            if (calcularHuella) {
+                huella.update(datos, limite, leidos);
+            }
+            limite += leidos;
+            bytesLeidos += leidos;
+        }
+    }
+}
@@ -0,0 +1,405 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Clase que lee un archivo de ventas consolidado, con las ventas de todos los
+ * vendedores en un solo archivo (--log-consolidado=ARCHIVO), repartido en
+ * bloques que se leen en paralelo.
+ *
+ * Formato de cada línea: TipoDocumento;NúmeroDocumento;IDProducto;Cantidad
+ *
+ * El archivo se divide en rangos de bytes que empiezan justo después de un
+ * salto de línea (ver {@link #dividir(int)}), de modo que ninguna línea queda
+ * partida entre dos bloques. Cada bloque se proyecta en memoria con
+ * FileChannel.map y se lee con {@link LectorBytes}, sumando las ventas en
+ * arreglos densos por slot de producto y de vendedor (ver {@link Bloque}).
+ * Los totales de los bloques se suman después a {@link CatalogoProductos} y
+ * {@link IndiceVendedores} desde un solo hilo; como la suma es exacta, el
+ * resultado no depende del número de bloques. Con --distribucion, cada
+ * bloque registra además sus líneas en su propia {@link DistribucionVentas},
+ * que se combina de la misma forma.
+ *
+ * Los rechazos de cada bloque se reportan como si el bloque fuera un archivo
+ * llamado ARCHIVO@INICIO (INICIO es el byte donde empieza el bloque) y las
+ * líneas se cuentan desde el inicio del bloque, para no tener que leer los
+ * bloques anteriores.
+ *
+ * Solo se dividen archivos sin comprimir: un .gz no puede proyectarse en
+ * memoria ni leerse desde la mitad.
+ */
+public class LogVentasConsolidado implements Closeable {
+
+    /** Tamaño máximo de un bloque (una proyección no puede pasar de 2 GB) */
+    static final long TAMANO_MAXIMO_BLOQUE = 256L * 1024 * 1024;
+
+    /** Bytes que se leen a la vez al buscar el salto de línea de un límite */
+    private static final int TAMANO_BUSQUEDA = 4096;
+
+    /** Nombre del archivo consolidado */
+    private final String nombreArchivo;
+
+    /** Canal del archivo, compartido por todos los bloques */
+    private final FileChannel canal;
+
+    /** Tamaño del archivo al abrirlo */
+    private final long tamano;
+
+    /** Catálogo de productos (solo se consulta) */
+    private final CatalogoProductos catalogo;
+
+    /** Índice de vendedores (solo se consulta) */
+    private final AlmacenVendedores vendedores;
+
+    /**
+     * Abre el archivo consolidado para leerlo por bloques.
+     *
+     * @param nombreArchivo Nombre del archivo consolidado
+     * @param catalogo      Catálogo de productos ya cargado
+     * @param vendedores    Índice de vendedores ya cargado
+     * @throws IOException Si el archivo no existe, no puede abrirse o está
+     *                     comprimido
+     */
+    public LogVentasConsolidado(String nombreArchivo, CatalogoProductos catalogo, AlmacenVendedores vendedores)
+            throws IOException {
+        if (LectorBytes.esComprimido(nombreArchivo)) {
+            throw new IOException("El archivo consolidado " + nombreArchivo
+                    + " no puede dividirse en bloques comprimido; descomprímalo primero");
+        }
+        this.nombreArchivo = nombreArchivo;
+        this.canal = FileChannel.open(Paths.get(nombreArchivo), StandardOpenOption.READ);
+        this.tamano = canal.size();
+        this.catalogo = catalogo;
+        this.vendedores = vendedores;
+    }
+
+    /**
+     * Obtiene el tamaño del archivo consolidado.
+     *
+     * @return Tamaño en bytes
+     */
+    public long getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Divide el archivo en bloques de tamaño parecido. Cada límite se mueve
+     * hacia adelante hasta el byte siguiente a un '\n', así que todos los
+     * bloques empiezan al inicio de una línea. Los bloques que quedan vacíos
+     * (por ejemplo, una línea más larga que un bloque) se descartan.
+     *
+     * @param bloquesDeseados Número de bloques buscado (se usan más si alguno
+     *                        pasaría de {@link #TAMANO_MAXIMO_BLOQUE})
+     * @return Límites de los bloques: el bloque i va de limites[i] a
+     *         limites[i + 1] (exclusivo)
+     * @throws IOException Si ocurre un error al leer el archivo
+     */
+    public long[] dividir(int bloquesDeseados) throws IOException {
+        long minimoBloques = (tamano + TAMANO_MAXIMO_BLOQUE - 1) / TAMANO_MAXIMO_BLOQUE;
+        int bloques = (int) Math.max(1, Math.max(bloquesDeseados, minimoBloques));
+
+        long[] limites = new long[bloques + 1];
+        int total = 1;
+        ByteBuffer busqueda = ByteBuffer.allocate(TAMANO_BUSQUEDA);
+        for (int i = 1; i < bloques; i++) {
+            long limite = inicioLinea(tamano / bloques * i + Math.min(i, tamano % bloques), busqueda);
+            // Una línea larga puede alcanzar el límite siguiente
+            if (limite > limites[total - 1] && limite < tamano) {
+                limites[total++] = limite;
+            }
+        }
+        if (tamano > 0) {
+            limites[total++] = tamano;
+        }
+
+        long[] resultado = new long[total];
+        System.arraycopy(limites, 0, resultado, 0, total);
+        return resultado;
+    }
+
+    /**
+     * Lee las ventas de un bloque sin modificar los totales. Solo consulta el
+     * catálogo y el índice, por lo que varios hilos pueden leer bloques a la
+     * vez, cada uno con su propio lector.
+     *
+     * @param inicio        Primer byte del bloque
+     * @param fin           Byte siguiente al último del bloque
+     * @param lector        Lector reutilizable que no use otro hilo
+     * @param guardarLineas true para guardar el contenido de las líneas
+     *                      rechazadas (--rechazos)
+     * @param distribucion  true para registrar también cada línea en la
+     *                      distribución del bloque (--distribucion)
+     * @return Totales y rechazos del bloque
+     */
+    public Bloque leerBloque(long inicio, long fin, LectorBytes lector, boolean guardarLineas,
+            boolean distribucion) {
+        long inicioNanos = System.nanoTime();
+        long asignadosInicio = MetricasEjecucion.bytesAsignadosHilo();
+        Bloque bloque = new Bloque(nombreArchivo + "@" + inicio, catalogo.getTotal(), vendedores.getTotal(),
+                distribucion);
+        ResultadoArchivoVenta resultado = bloque.resultado;
+
+        try {
+            MappedByteBuffer region = canal.map(FileChannel.MapMode.READ_ONLY, inicio, fin - inicio);
+            try (LectorBytes abierto = lector.abrir(region)) {
+                leerLineas(abierto, bloque, guardarLineas);
+            }
+        } catch (IOException e) {
+            resultado.setError(e.getMessage());
+        } catch (ArithmeticException e) {
+            bloque.descartar("Desbordamiento al sumar las ventas de " + resultado.getNombreArchivo());
+        }
+
+        resultado.setMedicion(lector.getBytesLeidos(), lector.getLineasLeidas(),
+                System.nanoTime() - inicioNanos, MetricasEjecucion.asignadosDesde(asignadosInicio));
+        return bloque;
+    }
+
+    /**
+     * Cierra el archivo. Las regiones ya proyectadas siguen siendo válidas.
+     *
+     * @throws IOException Si ocurre un error al cerrar el archivo
+     */
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    /**
+     * Suma las líneas de un bloque ya abierto a sus totales.
+     *
+     * @param lector        Lector posicionado al inicio del bloque
+     * @param bloque        Bloque donde se suman ventas y rechazos
+     * @param guardarLineas true para guardar el contenido de las líneas
+     *                      rechazadas
+     * @throws IOException         Si ocurre un error al leer el bloque
+     * @throws ArithmeticException Si el monto de una línea o la recaudación
+     *                             de un vendedor en el bloque no caben en un
+     *                             long
+     */
+    private void leerLineas(LectorBytes lector, Bloque bloque, boolean guardarLineas) throws IOException {
+        ResultadoArchivoVenta resultado = bloque.resultado;
+        DistribucionVentas distribucion = bloque.distribucion;
+        // Las ventas de un mismo vendedor suelen venir seguidas
+        long ultimoDocumento = 0;
+        int ultimoSlot = IndiceVendedores.NO_ENCONTRADO;
+        int lineaNumero = 0;
+
+        while (lector.siguienteLinea()) {
+            lineaNumero++;
+
+            if (lector.lineaVacia()) {
+                continue;
+            }
+
+            try {
+                if (lector.dividirCampos() < 4) {
+                    resultado.agregarRechazo(DiagnosticoVentas.LINEA_INCOMPLETA, lineaNumero, 0,
+                            guardarLineas ? lector.lineaTexto() : null);
+                    continue;
+                }
+                long numeroDocumento = lector.campoLong(1);
+                int idProducto = lector.campoInt(2);
+                int cantidad = lector.campoInt(3);
+
+                int slotVendedor = ultimoSlot;
+                if (slotVendedor == IndiceVendedores.NO_ENCONTRADO || numeroDocumento != ultimoDocumento) {
+                    slotVendedor = vendedores.buscar(numeroDocumento);
+                    if (slotVendedor == IndiceVendedores.NO_ENCONTRADO) {
+                        resultado.agregarRechazo(DiagnosticoVentas.VENDEDOR_DESCONOCIDO, lineaNumero,
+                                numeroDocumento, guardarLineas ? lector.lineaTexto() : null);
+                        continue;
+                    }
+                    ultimoDocumento = numeroDocumento;
+                    ultimoSlot = slotVendedor;
+                }
+
+                int slotProducto = catalogo.buscar(idProducto);
+                if (slotProducto == CatalogoProductos.NO_ENCONTRADO) {
+                    resultado.agregarRechazo(DiagnosticoVentas.PRODUCTO_DESCONOCIDO, lineaNumero, idProducto,
+                            guardarLineas ? lector.lineaTexto() : null);
+                    continue;
+                }
+
+                long monto = Math.multiplyExact(catalogo.getPrecioCentavos(slotProducto), cantidad);
+                bloque.cantidades[slotProducto] += cantidad;
+                bloque.centavos[slotVendedor] = Math.addExact(bloque.centavos[slotVendedor], monto);
+                bloque.ventas++;
+                if (distribucion != null) {
+                    distribucion.registrar(slotVendedor, slotProducto, cantidad, monto);
+                }
+            } catch (NumberFormatException e) {
+                resultado.agregarRechazo(DiagnosticoVentas.LINEA_INVALIDA, lineaNumero, 0,
+                        guardarLineas ? lector.lineaTexto() : null);
+            }
+        }
+    }
+
+    /**
+     * Busca el inicio de la primera línea que empieza en una posición o
+     * después de ella.
+     *
+     * @param posicion  Posición tentativa del límite
+     * @param busqueda  Buffer reutilizable para leer el archivo
+     * @return Posición siguiente a un '\n', o el tamaño del archivo si no hay
+     *         más saltos de línea
+     * @throws IOException Si ocurre un error al leer el archivo
+     */
+    private long inicioLinea(long posicion, ByteBuffer busqueda) throws IOException {
+        if (posicion == 0) {
+            return 0;
+        }
+        // Si el byte anterior ya es un salto de línea, el límite no se mueve
+        long actual = posicion - 1;
+        while (actual < tamano) {
+            busqueda.clear();
+            int leidos = canal.read(busqueda, actual);
+            if (leidos <= 0) {
+                break;
+            }
+            for (int i = 0; i < leidos; i++) {
+                if (busqueda.get(i) == '\n') {
+                    return actual + i + 1;
+                }
+            }
+            actual += leidos;
+        }
+        return tamano;
+    }
+
+    /**
+     * Totales de un bloque del archivo consolidado: unidades por slot de
+     * producto y centavos por slot de vendedor, más los rechazos y la medición
+     * en un {@link ResultadoArchivoVenta} sin ventas individuales.
+     */
+    public static class Bloque {
+
+        /** Rechazos y medición del bloque, como si fuera un archivo */
+        final ResultadoArchivoVenta resultado;
+
+        /** Unidades vendidas de cada slot de producto */
+        final long[] cantidades;
+
+        /** Dinero recaudado por cada slot de vendedor, en centavos */
+        final long[] centavos;
+
+        /** Ventas válidas del bloque */
+        long ventas;
+
+        /** Distribución de las líneas del bloque (null si no se pidió) */
+        DistribucionVentas distribucion;
+
+        /**
+         * Constructor para crear un bloque sin ventas.
+         *
+         * @param nombre       Nombre con que se reportan los rechazos del bloque
+         * @param productos    Productos del catálogo
+         * @param vendedores   Vendedores del índice
+         * @param distribucion true para registrar la distribución de las líneas
+         */
+        Bloque(String nombre, int productos, int vendedores, boolean distribucion) {
+            this.resultado = new ResultadoArchivoVenta(nombre);
+            this.cantidades = new long[productos];
+            this.centavos = new long[vendedores];
+            this.distribucion = distribucion ? new DistribucionVentas(vendedores, productos) : null;
+        }
+
+        /**
+         * Obtiene los rechazos y la medición del bloque.
+         *
+         * @return Resultado del bloque (sin ventas individuales)
+         */
+        public ResultadoArchivoVenta getResultado() {
+            return resultado;
+        }
+
+        /**
+         * Obtiene el número de ventas válidas del bloque.
+         *
+         * @return Ventas válidas
+         */
+        public long getVentas() {
+            return ventas;
+        }
+
+        /**
+         * Obtiene la distribución de las líneas del bloque, para sumarla a la
+         * del resto del archivo.
+         *
+         * @return Distribución del bloque, o null si no se pidió
+         */
+        public DistribucionVentas getDistribucion() {
+            return distribucion;
+        }
+
+        /**
+         * Suma los totales del bloque al catálogo y al índice. Debe llamarse
+         * desde un solo hilo.
+         *
+         * Antes de modificar nada se verifican la nueva cantidad de cada
+         * producto y la nueva recaudación de cada vendedor, como al aplicar un
+         * archivo de ventas: si alguna se desborda se lanza una excepción y
+         * los totales quedan como estaban.
+         *
+         * @param catalogo   Catálogo de productos a actualizar
+         * @param vendedores Índice de vendedores a actualizar
+         * @throws ArithmeticException Si la cantidad de un producto no cabe en
+         *                             un int o la recaudación de un vendedor
+         *                             no cabe en un long; no se aplica nada
+         */
+        public void aplicar(CatalogoProductos catalogo, AlmacenVendedores vendedores) {
+            try {
+                for (int slot = 0; slot < cantidades.length; slot++) {
+                    if (cantidades[slot] != 0) {
+                        Math.toIntExact(Math.addExact(catalogo.getCantidadVendida(slot), cantidades[slot]));
+                    }
+                }
+                for (int slot = 0; slot < centavos.length; slot++) {
+                    if (centavos[slot] != 0) {
+                        Math.addExact(vendedores.getDineroRecaudadoCentavos(slot), centavos[slot]);
+                    }
+                }
+            } catch (ArithmeticException e) {
+                ArithmeticException desbordamiento = new ArithmeticException(
+                        "Desbordamiento al sumar las ventas de " + resultado.getNombreArchivo());
+                desbordamiento.initCause(e);
+                throw desbordamiento;
+            }
+
+            for (int slot = 0; slot < cantidades.length; slot++) {
+                if (cantidades[slot] != 0) {
+                    catalogo.setCantidadVendida(slot, (int) (catalogo.getCantidadVendida(slot) + cantidades[slot]));
+                }
+            }
+            for (int slot = 0; slot < centavos.length; slot++) {
+                if (centavos[slot] != 0) {
+                    vendedores.setDineroRecaudadoCentavos(slot,
+                            vendedores.getDineroRecaudadoCentavos(slot) + centavos[slot]);
+                }
+            }
+        }
+
+        /**
+         * Descarta las ventas del bloque porque sumarlas desbordaría un total.
+         * El bloque se reporta como fallido (ver
+         * {@link ResultadoArchivoVenta#descartarPorDesbordamiento}) y no
+         * aporta ventas ni líneas a la distribución.
+         *
+         * @param mensaje Descripción del desbordamiento
+         */
+        public void descartar(String mensaje) {
+            resultado.descartarPorDesbordamiento(mensaje);
+            Arrays.fill(cantidades, 0);
+            Arrays.fill(centavos, 0);
+            ventas = 0;
+            if (distribucion != null) {
+                distribucion = new DistribucionVentas(centavos.length, cantidades.length);
+            }
+        }
+    }
+}
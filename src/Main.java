@@ -1,11 +1,25 @@
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Clase principal que procesa los archivos generados y crea los reportes
@@ -15,63 +29,356 @@ import java.util.Map;
  * - Lectura de archivos de productos, vendedores y ventas
  * - Procesamiento y cálculo de totales
  * - Generación de reportes CSV ordenados
+ * - Procesamiento opcional de archivos de ventas en paralelo (--hilos=N)
+ * - Procesamiento incremental de archivos nuevos o modificados
+ * (--incremental=ARCHIVO)
+ * - Modo continuo que vigila el directorio y actualiza los reportes
+ * (--continuo=true)
+ * - Reportes limitados a los mejores vendedores y productos
+ * (--top-vendedores=N, --top-productos=N)
+ * - Archivos de ventas en texto (ventas_*.txt) o en formato binario
+ * (ventas_*.bin, ver {@link ArchivoVentasBinario} y {@link ConvertidorVentas})
+ * - Archivos de texto comprimidos con gzip (ventas_*.txt.gz, productos.txt.gz,
+ * vendedores.txt.gz), descomprimidos mientras se leen
+ * - Lectura con un hilo virtual por archivo y un máximo de archivos abiertos
+ * (--hilos-virtuales=true, --archivos-abiertos=N)
+ * - Métricas de etapas y archivos exportadas en JSON y en formato Prometheus
+ * (--metricas=BASE, ver {@link MetricasEjecucion})
+ * - Resumen de advertencias por categoría y archivo, con un archivo opcional
+ * de rechazos (--muestras=N, --rechazos=ARCHIVO, ver {@link DiagnosticoVentas})
+ * - Procesamiento repartido entre varios procesos o máquinas: cada uno lee una
+ * partición y escribe sus totales parciales (--modo=mapa, --particion=I/N) y
+ * otro los suma y genera los reportes (--modo=reduccion, ver
+ * {@link AgregadoParcial})
+ * - Ventas de cada vendedor por producto en memoria para consultas
+ * (--matriz=true, ver {@link MatrizVentas})
+ * - Rankings y estadísticas por HTTP desde una instantánea que se reemplaza
+ * después de cada ingesta (--servidor=PUERTO, ver {@link ServidorVentas})
+ * - Un solo archivo de ventas consolidado leído por bloques en paralelo
+ * (--log-consolidado=ARCHIVO, ver {@link LogVentasConsolidado})
+ * - Modo de memoria limitada: vendedores fuera del heap y reporte de
+ * vendedores ordenado por mezcla externa (--memoria-maxima=MB, ver
+ * {@link IndiceVendedoresEnDisco} y {@link ReporteVendedoresExterno})
+ * - Rankings mantenidos en orden mientras se suman las ventas, sin ordenar al
+ * generar los reportes (--ranking-incremental=true, ver {@link IndiceRanking})
+ * - Búsqueda de archivos de ventas en varias carpetas y sus subcarpetas, en
+ * paralelo y a medida que se leen (--entradas=DIR,DIR, ver
+ * {@link ExploradorVentas})
+ * - Reportes en CSV, JSON Lines y binario escritos a la vez desde el mismo
+ * ranking (--formatos=csv,jsonl,bin, ver {@link DestinoReporte})
+ * - Percentiles del monto y la cantidad de las líneas de venta, en total, por
+ * vendedor y por producto (--distribucion=true, ver {@link DistribucionVentas})
  */
 public class Main {
 
-    /** Mapa para almacenar productos indexados por ID para búsqueda rápida */
-    private static Map<Integer, Producto> productosMap;
+    /** Catálogo de productos indexado por ID para búsqueda rápida */
+    private static CatalogoProductos catalogoProductos;
 
-    /** Mapa para almacenar vendedores indexados por número de documento */
-    private static Map<Long, Vendedor> vendedoresMap;
+    /** Índice de vendedores por número de documento */
+    private static AlmacenVendedores indiceVendedores;
+
+    /** Lector de bytes reutilizable por cada hilo que procesa archivos */
+    private static final ThreadLocal<LectorBytes> lectores = ThreadLocal.withInitial(LectorBytes::new);
+
+    /** Lector de archivos de ventas binarios reutilizable por cada hilo */
+    private static final ThreadLocal<ArchivoVentasBinario> lectoresBinarios = ThreadLocal
+            .withInitial(ArchivoVentasBinario::new);
+
+    /** Opciones de ejecución recibidas por línea de comandos */
+    private static Configuracion configuracion;
+
+    /** Mediciones de las etapas y de los archivos de ventas de la ejecución */
+    private static MetricasEjecucion metricas;
+
+    /** Advertencias de los archivos de ventas, resumidas al final de la lectura */
+    private static DiagnosticoVentas diagnostico;
+
+    /** true para guardar el contenido de las líneas rechazadas (--rechazos) */
+    private static boolean guardarLineasRechazadas;
+
+    /** Ventas por vendedor y producto (null si no se pidió --matriz=true) */
+    private static MatrizVentas matrizVentas;
+
+    /** Distribución de las líneas de venta (null si no se pidió --distribucion=true) */
+    private static DistribucionVentas distribucionVentas;
+
+    /** Servidor HTTP de rankings (null si no se pidió --servidor) */
+    private static ServidorVentas servidor;
+
+    /** Formatos en que se escriben los reportes (--formatos) */
+    private static List<DestinoReporte> destinosReporte;
+
+    /** Hilos que arman los rankings y escriben los reportes */
+    private static ExecutorService ejecutorReportes;
+
+    /** Número de la última instantánea publicada en el servidor */
+    private static long generacionInstantanea;
+
+    /** Carpeta temporal del modo de memoria limitada (null si no está activo) */
+    private static Path directorioTemporal;
 
     /**
      * Método principal que ejecuta todo el procesamiento de datos y generación de
      * reportes.
      * 
-     * @param args Argumentos de línea de comandos (no utilizados)
+     * @param args Argumentos de línea de comandos (ver {@link Configuracion})
      */
     public static void main(String[] args) {
         try {
+            configuracion = Configuracion.desdeArgumentos(args);
+            metricas = new MetricasEjecucion();
+            diagnostico = new DiagnosticoVentas(configuracion.getMuestras(), configuracion.getArchivoRechazos());
+            guardarLineasRechazadas = diagnostico.isGuardarLineas();
+            destinosReporte = new ArrayList<>();
+            for (String formato : configuracion.getFormatos()) {
+                destinosReporte.add(DestinoReporte.crear(formato));
+            }
+            // Un hilo por archivo de reporte, sin pasar de los núcleos disponibles
+            ejecutorReportes = Executors.newFixedThreadPool(Math.max(2,
+                    Math.min(Runtime.getRuntime().availableProcessors(), destinosReporte.size() * 2)));
+            if (configuracion.getPuertoServidor() > 0) {
+                // Hasta la primera instantánea el servidor responde 503
+                servidor = new ServidorVentas(configuracion.getPuertoServidor(),
+                        Math.min(8, Runtime.getRuntime().availableProcessors()));
+                servidor.iniciar();
+            }
+
             System.out.println("=== SISTEMA DE PROCESAMIENTO DE VENTAS ===");
             System.out.println("Iniciando procesamiento de archivos...\n");
 
             // Inicializar estructuras de datos
-            productosMap = new HashMap<>();
-            vendedoresMap = new HashMap<>();
+            catalogoProductos = new CatalogoProductos();
+            if (configuracion.getMemoriaMaximaMb() > 0) {
+                directorioTemporal = crearDirectorioTemporal();
+                indiceVendedores = new IndiceVendedoresEnDisco(directorioTemporal);
+                System.out.println("Modo de memoria limitada: vendedores en " + directorioTemporal + ", "
+                        + configuracion.getMemoriaMaximaMb() + " MB para ordenar el reporte\n");
+            } else {
+                indiceVendedores = new IndiceVendedores();
+            }
+
+            // Pasos 1 y 2: con una copia binaria vigente no se leen los archivos de texto
+            String archivoProductos = ubicarArchivoTexto("productos.txt");
+            String archivoVendedores = ubicarArchivoTexto("vendedores.txt");
+            String archivoCatalogo = configuracion.getArchivoCatalogoBinario();
+            CatalogoBinario catalogoBinario = archivoCatalogo != null
+                    ? new CatalogoBinario(archivoProductos, archivoVendedores)
+                    : null;
+            boolean catalogoDesdeCopia = false;
+            if (catalogoBinario != null) {
+                metricas.iniciarEtapa("carga_catalogo_binario");
+                catalogoDesdeCopia = catalogoBinario.cargar(archivoCatalogo);
+                metricas.terminarEtapa();
+            }
+
+            long huellaProductos;
+            long huellaVendedores;
+            if (catalogoDesdeCopia) {
+                catalogoProductos = catalogoBinario.getCatalogo();
+                indiceVendedores = catalogoBinario.getVendedores();
+                huellaProductos = catalogoBinario.getHuellaProductos();
+                huellaVendedores = catalogoBinario.getHuellaVendedores();
+                System.out.println("1-2. Catálogo cargado desde " + archivoCatalogo);
+                System.out.println("✓ Productos cargados: " + catalogoProductos.getTotal());
+                System.out.println("✓ Vendedores cargados: " + indiceVendedores.getTotal());
+            } else {
+                // Paso 1: Cargar información de productos
+                System.out.println("1. Cargando información de productos...");
+                metricas.iniciarEtapa("carga_productos");
+                huellaProductos = cargarProductos(archivoProductos);
+                metricas.terminarEtapa();
+                System.out.println("✓ Productos cargados: " + catalogoProductos.getTotal());
 
-            // Paso 1: Cargar información de productos
-            System.out.println("1. Cargando información de productos...");
-            cargarProductos("productos.txt");
-            System.out.println("✓ Productos cargados: " + productosMap.size());
+                // Paso 2: Cargar información de vendedores
+                System.out.println("\n2. Cargando información de vendedores...");
+                metricas.iniciarEtapa("carga_vendedores");
+                huellaVendedores = cargarVendedores(archivoVendedores);
+                metricas.terminarEtapa();
+                System.out.println("✓ Vendedores cargados: " + indiceVendedores.getTotal());
 
-            // Paso 2: Cargar información de vendedores
-            System.out.println("\n2. Cargando información de vendedores...");
-            cargarVendedores("vendedores.txt");
-            System.out.println("✓ Vendedores cargados: " + vendedoresMap.size());
+                if (catalogoBinario != null) {
+                    guardarCatalogoBinario(catalogoBinario, archivoCatalogo, huellaProductos, huellaVendedores);
+                }
+            }
+            if (configuracion.isMatriz()) {
+                matrizVentas = new MatrizVentas(indiceVendedores.getTotal(), catalogoProductos.getTotal());
+            }
+            if (configuracion.isDistribucion()) {
+                distribucionVentas = new DistribucionVentas(indiceVendedores.getTotal(),
+                        catalogoProductos.getTotal());
+            }
+            if (configuracion.isRankingIncremental()) {
+                // Desde aquí cada venta sumada reubica a su vendedor y producto en el ranking
+                // (Configuracion no lo admite con --memoria-maxima: el índice está en memoria)
+                if (indiceVendedores instanceof IndiceVendedores) {
+                    ((IndiceVendedores) indiceVendedores).activarRanking();
+                }
+                catalogoProductos.activarRanking();
+            }
 
             // Paso 3: Procesar archivos de ventas
-            System.out.println("\n3. Procesando archivos de ventas...");
-            procesarArchivosVentas();
-            System.out.println("✓ Archivos de ventas procesados exitosamente");
+            int modo = configuracion.getModo();
+            EstadoIncremental estado = null;
+            int archivosVentasProcesados = 0;
+            if (modo == Configuracion.MODO_REDUCCION) {
+                System.out.println("\n3. Combinando totales parciales...");
+                metricas.iniciarEtapa("combinar_parciales");
+                combinarParciales(huellaProductos, huellaVendedores);
+                metricas.terminarEtapa();
+                System.out.println("✓ Totales parciales combinados exitosamente");
+            } else {
+                System.out.println("\n3. Procesando archivos de ventas...");
+                metricas.iniciarEtapa("ingesta_ventas");
+                if (configuracion.getArchivoEstado() != null || configuracion.isContinuo()) {
+                    estado = cargarEstado(huellaProductos, huellaVendedores);
+                    procesarIncremental(estado);
+                } else if (configuracion.getArchivoLogConsolidado() != null) {
+                    procesarLogConsolidado();
+                } else {
+                    archivosVentasProcesados = procesarArchivosVentas();
+                }
+                metricas.terminarEtapa();
+                diagnostico.mostrarResumen();
+                System.out.println("✓ Archivos de ventas procesados exitosamente");
+            }
+
+            if (modo == Configuracion.MODO_MAPA) {
+                escribirParcial(huellaProductos, huellaVendedores, archivosVentasProcesados);
+                return;
+            }
 
             // Paso 4: Generar reportes
             System.out.println("\n4. Generando reportes...");
-            generarReportes();
+            metricas.iniciarEtapa("reportes");
+            RankingVentas ranking = generarReportes();
+            publicarInstantanea(ranking);
+            metricas.terminarEtapa();
             System.out.println("✓ Reportes generados exitosamente");
+            metricas.escribir(configuracion.getArchivoMetricas());
 
             // Mostrar estadísticas
-            ReportGenerator.mostrarEstadisticas(
-                    new ArrayList<>(vendedoresMap.values()),
-                    new ArrayList<>(productosMap.values()));
+            ReportGenerator.mostrarEstadisticas(ranking);
+            if (matrizVentas != null) {
+                mostrarMatriz(ranking);
+            }
+            if (distribucionVentas != null) {
+                mostrarDistribucion(ranking);
+            }
 
             System.out.println("\n=== PROCESAMIENTO COMPLETADO EXITOSAMENTE ===");
             System.out.println("Archivos generados:");
-            System.out.println("- reporte_vendedores.csv (vendedores ordenados por recaudación)");
-            System.out.println("- reporte_productos.csv (productos ordenados por cantidad vendida)");
+            for (DestinoReporte destino : destinosReporte) {
+                System.out.println("- " + ReportGenerator.REPORTE_VENDEDORES + destino.getExtension()
+                        + " (vendedores ordenados por recaudación)");
+                System.out.println("- " + ReportGenerator.REPORTE_PRODUCTOS + destino.getExtension()
+                        + " (productos ordenados por cantidad vendida)");
+            }
+            System.out.println("- " + configuracion.getArchivoMetricas() + ".json y "
+                    + configuracion.getArchivoMetricas() + ".prom (métricas de la ejecución)");
+
+            if (servidor != null) {
+                System.out.println("- http://localhost:" + servidor.getPuerto()
+                        + "/{vendedores,productos,estadisticas} (servidor HTTP, Ctrl+C para terminar)");
+            }
+
+            if (configuracion.isContinuo()) {
+                ejecutarModoContinuo(estado);
+            }
 
         } catch (Exception e) {
             System.err.println("Error durante el procesamiento: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            if (ejecutorReportes != null) {
+                ejecutorReportes.shutdown();
+            }
+            cerrarDiagnostico();
+            borrarTemporales();
+        }
+    }
+
+    /**
+     * Crea la carpeta de los archivos temporales del modo de memoria limitada,
+     * dentro de --temporales o de la carpeta temporal del sistema.
+     *
+     * @return Carpeta creada
+     * @throws IOException Si la carpeta no puede crearse
+     */
+    private static Path crearDirectorioTemporal() throws IOException {
+        String base = configuracion.getDirectorioTemporal();
+        if (base == null) {
+            return Files.createTempDirectory("vendedores");
+        }
+        return Files.createTempDirectory(Files.createDirectories(Paths.get(base)), "vendedores");
+    }
+
+    /**
+     * Borra los segmentos de los vendedores y la carpeta temporal del modo de
+     * memoria limitada, si se creó.
+     */
+    private static void borrarTemporales() {
+        if (directorioTemporal == null) {
+            return;
+        }
+        if (indiceVendedores instanceof IndiceVendedoresEnDisco) {
+            ((IndiceVendedoresEnDisco) indiceVendedores).close();
+        }
+        try {
+            Files.deleteIfExists(directorioTemporal);
+        } catch (IOException e) {
+            System.out.println("Advertencia: No se pudo borrar la carpeta temporal " + directorioTemporal);
+        }
+    }
+
+    /**
+     * Termina de escribir el archivo de rechazos, si se pidió uno.
+     */
+    private static void cerrarDiagnostico() {
+        if (diagnostico == null) {
+            return;
+        }
+        try {
+            diagnostico.cerrar();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Elige entre un archivo de texto y su versión comprimida: si el archivo
+     * no existe pero sí el mismo nombre terminado en .gz, se usa este.
+     * 
+     * @param nombreArchivo Nombre del archivo sin comprimir
+     * @return Nombre del archivo a leer
+     */
+    private static String ubicarArchivoTexto(String nombreArchivo) {
+        String comprimido = nombreArchivo + LectorBytes.EXTENSION_GZIP;
+        if (!new File(nombreArchivo).exists() && new File(comprimido).isFile()) {
+            return comprimido;
+        }
+        return nombreArchivo;
+    }
+
+    /**
+     * Escribe la copia binaria del catálogo recién leído de los archivos de
+     * texto. Si no puede escribirse, la ejecución sigue sin ella.
+     *
+     * @param copia            Copia creada antes de leer los archivos de texto
+     * @param nombreArchivo    Archivo de la copia binaria
+     * @param huellaProductos  Huella del archivo de productos cargado
+     * @param huellaVendedores Huella del archivo de vendedores cargado
+     */
+    private static void guardarCatalogoBinario(CatalogoBinario copia, String nombreArchivo, long huellaProductos,
+            long huellaVendedores) {
+        metricas.iniciarEtapa("escritura_catalogo_binario");
+        try {
+            copia.escribir(nombreArchivo, catalogoProductos, indiceVendedores, huellaProductos, huellaVendedores);
+            System.out.println("✓ Catálogo guardado en " + nombreArchivo + " para las próximas ejecuciones");
+        } catch (IOException e) {
+            System.out.println("Advertencia: No se pudo guardar el catálogo binario " + nombreArchivo + ": "
+                    + e.getMessage());
+        } finally {
+            metricas.terminarEtapa();
         }
     }
 
@@ -80,30 +387,27 @@ public class Main {
      * Formato: IDProducto;NombreProducto;PrecioPorUnidad
      * 
      * @param nombreArchivo Nombre del archivo de productos
+     * @return Huella CRC32C del contenido del archivo
      * @throws IOException Si ocurre un error al leer el archivo
      */
-    private static void cargarProductos(String nombreArchivo) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(nombreArchivo))) {
-            String linea;
+    private static long cargarProductos(String nombreArchivo) throws IOException {
+        try (LectorBytes lector = lectores.get().abrir(nombreArchivo, true)) {
             int lineaNumero = 0;
 
-            while ((linea = reader.readLine()) != null) {
+            while (lector.siguienteLinea()) {
                 lineaNumero++;
-                linea = linea.trim();
 
-                if (linea.isEmpty()) {
+                if (lector.lineaVacia()) {
                     continue; // Saltar líneas vacías
                 }
 
                 try {
-                    String[] datos = linea.split(";");
-                    if (datos.length >= 3) {
-                        int id = Integer.parseInt(datos[0].trim());
-                        String nombre = datos[1].trim();
-                        double precio = Double.parseDouble(datos[2].trim());
-
-                        Producto producto = new Producto(id, nombre, precio);
-                        productosMap.put(id, producto);
+                    if (lector.dividirCampos() >= 3) {
+                        int id = lector.campoInt(0);
+                        String nombre = lector.campoTexto(1);
+                        long precioCentavos = lector.campoCentavos(2);
+
+                        catalogoProductos.agregar(id, nombre, precioCentavos);
                     } else {
                         System.out.println("Advertencia: Línea " + lineaNumero + " en " + nombreArchivo
                                 + " tiene formato incorrecto");
@@ -113,6 +417,8 @@ public class Main {
                             "Advertencia: Error de formato numérico en línea " + lineaNumero + " de " + nombreArchivo);
                 }
             }
+
+            return lector.completarHuella();
         }
     }
 
@@ -121,31 +427,28 @@ public class Main {
      * Formato: TipoDocumento;NúmeroDocumento;Nombres;Apellidos
      * 
      * @param nombreArchivo Nombre del archivo de vendedores
+     * @return Huella CRC32C del contenido del archivo
      * @throws IOException Si ocurre un error al leer el archivo
      */
-    private static void cargarVendedores(String nombreArchivo) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(nombreArchivo))) {
-            String linea;
+    private static long cargarVendedores(String nombreArchivo) throws IOException {
+        try (LectorBytes lector = lectores.get().abrir(nombreArchivo, true)) {
             int lineaNumero = 0;
 
-            while ((linea = reader.readLine()) != null) {
+            while (lector.siguienteLinea()) {
                 lineaNumero++;
-                linea = linea.trim();
 
-                if (linea.isEmpty()) {
+                if (lector.lineaVacia()) {
                     continue; // Saltar líneas vacías
                 }
 
                 try {
-                    String[] datos = linea.split(";");
-                    if (datos.length >= 4) {
-                        String tipoDocumento = datos[0].trim();
-                        long numeroDocumento = Long.parseLong(datos[1].trim());
-                        String nombres = datos[2].trim();
-                        String apellidos = datos[3].trim();
-
-                        Vendedor vendedor = new Vendedor(tipoDocumento, numeroDocumento, nombres, apellidos);
-                        vendedoresMap.put(numeroDocumento, vendedor);
+                    if (lector.dividirCampos() >= 4) {
+                        long numeroDocumento = lector.campoLong(1);
+                        String tipoDocumento = lector.campoTexto(0);
+                        String nombres = lector.campoTexto(2);
+                        String apellidos = lector.campoTexto(3);
+
+                        indiceVendedores.agregar(tipoDocumento, numeroDocumento, nombres, apellidos);
                     } else {
                         System.out.println("Advertencia: Línea " + lineaNumero + " en " + nombreArchivo
                                 + " tiene formato incorrecto");
@@ -155,126 +458,1045 @@ public class Main {
                             "Advertencia: Error de formato numérico en línea " + lineaNumero + " de " + nombreArchivo);
                 }
             }
+
+            return lector.completarHuella();
         }
     }
 
     /**
-     * Procesa todos los archivos de ventas en el directorio actual.
-     * Busca archivos que comiencen con "ventas_" y tengan extensión .txt
+     * Procesa todos los archivos de ventas de las carpetas de entrada, o solo
+     * los de la partición configurada en modo mapa.
+     * Busca archivos que comiencen con "ventas_" y tengan extensión .txt o .bin
+     * (o que cumplan --patron-ventas). Fuera del modo mapa, cada archivo se
+     * empieza a leer apenas se encuentra, mientras sigue la búsqueda.
+     * 
+     * @return Número de archivos leídos sin errores
+     * @throws InterruptedException Si el hilo principal es interrumpido mientras
+     *                              espera a los hilos de procesamiento
      */
-    private static void procesarArchivosVentas() {
-        File directorio = new File(".");
-        File[] archivos = directorio.listFiles();
+    private static int procesarArchivosVentas() throws InterruptedException {
+        int archivosVentasProcesados;
+        if (configuracion.getModo() == Configuracion.MODO_MAPA) {
+            // El reparto necesita la lista completa para informar cuántos archivos tocan
+            archivosVentasProcesados = procesarArchivos(filtrarParticion(listarArchivosVentas()).iterator(),
+                    false, Main::aplicarResultado);
+        } else {
+            try (ExploradorVentas explorador = abrirExplorador()) {
+                archivosVentasProcesados = procesarArchivos(explorador, false, Main::aplicarResultado);
+                mostrarExploracion(explorador);
+            }
+        }
+        System.out.println("Archivos de ventas procesados: " + archivosVentasProcesados);
+        return archivosVentasProcesados;
+    }
+
+    /**
+     * Lee el archivo de ventas consolidado (--log-consolidado) dividido en
+     * bloques que empiezan al inicio de una línea. Con --hilos=N se leen N
+     * bloques a la vez, cuatro por hilo para repartir la carga si unos tardan
+     * más que otros. Los totales de cada bloque se suman desde el hilo
+     * principal en el orden del archivo, a medida que terminan, así que solo
+     * unos pocos bloques están en memoria a la vez.
+     * 
+     * @return Número de bloques leídos sin errores
+     * @throws IOException          Si el archivo no puede abrirse o dividirse
+     * @throws InterruptedException Si el hilo principal es interrumpido
+     *                              mientras espera a los hilos de lectura
+     */
+    private static int procesarLogConsolidado() throws IOException, InterruptedException {
+        String nombreArchivo = configuracion.getArchivoLogConsolidado();
+        int hilos = configuracion.getHilos();
+        Consumer<ResultadoArchivoVenta> medir = ((Consumer<ResultadoArchivoVenta>) metricas::registrarArchivo)
+                .andThen(diagnostico::registrar);
+
+        try (LogVentasConsolidado log = new LogVentasConsolidado(nombreArchivo, catalogoProductos,
+                indiceVendedores)) {
+            long[] limites = log.dividir(hilos > 1 ? hilos * 4 : 1);
+            int bloques = limites.length - 1;
+            System.out.println("Archivo consolidado " + nombreArchivo + ": " + log.getTamano() + " bytes en "
+                    + bloques + " bloques");
+
+            ExecutorService executor = Executors.newFixedThreadPool(hilos);
+            Deque<Future<LogVentasConsolidado.Bloque>> pendientes = new ArrayDeque<>();
+            int siguiente = 0;
+            int bloquesLeidos = 0;
+            long ventas = 0;
+            try {
+                while (siguiente < bloques || !pendientes.isEmpty()) {
+                    // Mantener los hilos ocupados con una ventana limitada de bloques
+                    while (siguiente < bloques && pendientes.size() < hilos * 2) {
+                        long inicio = limites[siguiente];
+                        long fin = limites[++siguiente];
+                        pendientes.add(executor.submit(
+                                () -> log.leerBloque(inicio, fin, lectores.get(), guardarLineasRechazadas,
+                                        distribucionVentas != null)));
+                    }
 
+                    LogVentasConsolidado.Bloque bloque = pendientes.poll().get();
+                    try {
+                        bloque.aplicar(catalogoProductos, indiceVendedores);
+                    } catch (ArithmeticException e) {
+                        // Como con un archivo de ventas: el bloque se reporta y se sigue con los demás
+                        bloque.descartar(e.getMessage());
+                    }
+                    if (distribucionVentas != null) {
+                        distribucionVentas.sumar(bloque.getDistribucion());
+                    }
+                    medir.accept(bloque.getResultado());
+                    if (bloque.getResultado().isLeido()) {
+                        bloquesLeidos++;
+                    }
+                    ventas += bloque.getVentas();
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error inesperado procesando ventas", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+
+            System.out.println("Bloques leídos: " + bloquesLeidos + " de " + bloques + " (" + ventas
+                    + " ventas registradas)");
+            return bloquesLeidos;
+        }
+    }
+
+    /**
+     * Selecciona los archivos de ventas de la partición configurada
+     * (--particion=I/N), según el hash de su nombre o del documento de su
+     * vendedor. Cada archivo queda en una sola partición, así que las N
+     * ejecuciones juntas leen cada archivo exactamente una vez.
+     *
+     * Se usa solo el nombre del archivo, sin sus carpetas: cada máquina puede
+     * llegar a la carpeta compartida por otra ruta (relativa, absoluta u otro
+     * punto de montaje) y el archivo debe caer igual en la misma partición.
+     * 
+     * @param archivosVentas Nombres de todos los archivos de ventas
+     * @return Nombres de los archivos de esta partición
+     */
+    private static List<String> filtrarParticion(List<String> archivosVentas) {
+        int particion = configuracion.getParticion();
+        int totalParticiones = configuracion.getTotalParticiones();
+        boolean porVendedor = configuracion.getCriterioParticion() == AgregadoParcial.POR_VENDEDOR;
+
+        List<String> seleccionados = new ArrayList<>();
+        for (String nombreArchivo : archivosVentas) {
+            long clave = Paths.get(nombreArchivo).getFileName().toString().hashCode();
+            if (porVendedor) {
+                // Un archivo sin documento legible se reparte por su nombre;
+                // la partición que lo recibe lo lee y reporta el problema
+                Long documento = leerDocumentoVendedor(nombreArchivo);
+                if (documento != null) {
+                    clave = documento;
+                }
+            }
+            if (AgregadoParcial.particionDe(clave, totalParticiones) == particion) {
+                seleccionados.add(nombreArchivo);
+            }
+        }
+
+        System.out.println("Partición " + particion + " de " + totalParticiones + ": " + seleccionados.size()
+                + " de " + archivosVentas.size() + " archivos de ventas");
+        return seleccionados;
+    }
+
+    /**
+     * Lee solo el documento del vendedor de un archivo de ventas (primera línea
+     * del texto o encabezado del binario).
+     * 
+     * @param nombreArchivo Nombre del archivo de ventas
+     * @return Documento del vendedor, o null si no puede leerse
+     */
+    private static Long leerDocumentoVendedor(String nombreArchivo) {
+        try {
+            if (ArchivoVentasBinario.esBinario(nombreArchivo)) {
+                ArchivoVentasBinario binario = lectoresBinarios.get();
+                binario.leer(nombreArchivo);
+                return binario.getNumeroDocumento();
+            }
+            try (LectorBytes lector = lectores.get().abrir(nombreArchivo)) {
+                if (lector.siguienteLinea() && lector.dividirCampos() >= 2) {
+                    return lector.campoLong(1);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // El archivo se reparte por su nombre
+        }
+        return null;
+    }
+
+    /**
+     * Escribe los totales de la partición procesada en modo mapa en la carpeta
+     * de parciales, en lugar de generar los reportes.
+     * 
+     * @param huellaProductos  Huella del archivo de productos cargado
+     * @param huellaVendedores Huella del archivo de vendedores cargado
+     * @param archivosLeidos   Archivos de ventas leídos sin errores
+     * @throws IOException Si ocurre un error al escribir el parcial o las
+     *                     métricas
+     */
+    private static void escribirParcial(long huellaProductos, long huellaVendedores, int archivosLeidos)
+            throws IOException {
+        int particion = configuracion.getParticion();
+        int totalParticiones = configuracion.getTotalParticiones();
+        Path directorio = Files.createDirectories(Paths.get(configuracion.getDirectorioParciales()));
+        String archivoParcial = directorio
+                .resolve(AgregadoParcial.nombreArchivo(particion, totalParticiones)).toString();
+
+        System.out.println("\n4. Escribiendo totales parciales...");
+        metricas.iniciarEtapa("escritura_parcial");
+        AgregadoParcial.escribir(archivoParcial, huellaProductos, huellaVendedores, particion, totalParticiones,
+                configuracion.getCriterioParticion(), archivosLeidos, catalogoProductos, indiceVendedores);
+        metricas.terminarEtapa();
+        System.out.println("✓ Totales parciales escritos exitosamente");
+        metricas.escribir(configuracion.getArchivoMetricas());
+
+        System.out.println("\n=== PARTICIÓN " + particion + " DE " + totalParticiones + " COMPLETADA ===");
+        System.out.println("Archivos generados:");
+        System.out.println("- " + archivoParcial + " (totales de la partición, combinar con --modo=reduccion)");
+        System.out.println("- " + configuracion.getArchivoMetricas() + ".json y "
+                + configuracion.getArchivoMetricas() + ".prom (métricas de la ejecución)");
+    }
+
+    /**
+     * Suma a los totales todos los archivos parciales de la carpeta de
+     * parciales (modo reducción). Verifica que todos se hayan calculado con los
+     * mismos catálogos y el mismo reparto, y que ninguna partición esté
+     * repetida; si falta alguna se advierte, porque los reportes quedan
+     * incompletos.
+     * 
+     * @param huellaProductos  Huella del archivo de productos cargado
+     * @param huellaVendedores Huella del archivo de vendedores cargado
+     * @throws IOException Si un parcial no puede leerse, no corresponde a los
+     *                     catálogos cargados o está repetido
+     */
+    private static void combinarParciales(long huellaProductos, long huellaVendedores) throws IOException {
+        File directorio = new File(configuracion.getDirectorioParciales());
+        File[] archivos = directorio.listFiles();
         if (archivos == null) {
-            System.out.println("No se pudo acceder al directorio actual");
+            throw new IOException("No se pudo acceder a la carpeta de parciales " + directorio);
+        }
+
+        boolean[] recibidas = null;
+        int totalParticiones = 0;
+        int criterio = 0;
+        int parciales = 0;
+        int archivosLeidos = 0;
+
+        for (File archivo : archivos) {
+            if (!archivo.getName().endsWith(AgregadoParcial.EXTENSION) || !archivo.isFile()) {
+                continue;
+            }
+            AgregadoParcial parcial = AgregadoParcial.leer(archivo.getPath());
+            if (!parcial.coincideCatalogo(huellaProductos, huellaVendedores)) {
+                throw new IOException("El parcial " + archivo.getName()
+                        + " se calculó con otro productos.txt o vendedores.txt");
+            }
+            if (recibidas == null) {
+                totalParticiones = parcial.getTotalParticiones();
+                criterio = parcial.getCriterio();
+                recibidas = new boolean[totalParticiones + 1];
+            } else if (parcial.getTotalParticiones() != totalParticiones || parcial.getCriterio() != criterio) {
+                throw new IOException("El parcial " + archivo.getName() + " usa otro reparto que los demás");
+            }
+            if (recibidas[parcial.getParticion()]) {
+                throw new IOException("La partición " + parcial.getParticion() + " está repetida ("
+                        + archivo.getName() + ")");
+            }
+            recibidas[parcial.getParticion()] = true;
+
+            parcial.sumarA(catalogoProductos, indiceVendedores);
+            parciales++;
+            archivosLeidos += parcial.getArchivosLeidos();
+        }
+
+        if (recibidas == null) {
+            throw new IOException("No hay archivos parciales (*" + AgregadoParcial.EXTENSION + ") en " + directorio);
+        }
+        StringBuilder faltantes = new StringBuilder();
+        for (int i = 1; i <= totalParticiones; i++) {
+            if (!recibidas[i]) {
+                faltantes.append(faltantes.length() == 0 ? "" : ", ").append(i);
+            }
+        }
+        if (faltantes.length() > 0) {
+            System.out.println("Advertencia: Faltan las particiones " + faltantes + " de " + totalParticiones
+                    + "; los reportes quedan incompletos");
+        }
+
+        System.out.println("Parciales combinados: " + parciales + " de " + totalParticiones);
+        System.out.println("Archivos de ventas procesados: " + archivosLeidos);
+    }
+
+    /**
+     * Carga el estado incremental guardado (si se configuró un archivo de
+     * estado) y restaura los totales de productos y vendedores.
+     * 
+     * @param huellaProductos  Huella del archivo de productos cargado
+     * @param huellaVendedores Huella del archivo de vendedores cargado
+     * @return Estado cargado, o un estado vacío si no hay estado previo
+     */
+    private static EstadoIncremental cargarEstado(long huellaProductos, long huellaVendedores) {
+        String archivoEstado = configuracion.getArchivoEstado();
+        EstadoIncremental estado = archivoEstado != null
+                ? EstadoIncremental.cargar(archivoEstado, huellaProductos, huellaVendedores)
+                : new EstadoIncremental(huellaProductos, huellaVendedores);
+        estado.restaurarTotales(catalogoProductos, indiceVendedores);
+        if (matrizVentas != null) {
+            for (String nombreArchivo : estado.getArchivosRegistrados()) {
+                matrizVentas.sumarRegistro(estado.buscar(nombreArchivo), 1, catalogoProductos, indiceVendedores);
+            }
+        }
+        return estado;
+    }
+
+    /**
+     * Guarda el estado incremental si se configuró un archivo de estado.
+     * 
+     * @param estado Estado a guardar
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    private static void guardarEstado(EstadoIncremental estado) throws IOException {
+        if (configuracion.getArchivoEstado() != null) {
+            estado.guardar(configuracion.getArchivoEstado(), catalogoProductos, indiceVendedores);
+        }
+    }
+
+    /**
+     * Procesa solo los archivos de ventas nuevos o modificados desde la
+     * ejecución anterior, partiendo de los totales restaurados del estado. El
+     * aporte de los archivos modificados o eliminados se retira de los totales
+     * antes de aplicar los cambios.
+     * 
+     * @param estado Estado incremental con los archivos ya procesados
+     * @throws IOException          Si ocurre un error al guardar el estado
+     * @throws InterruptedException Si el hilo principal es interrumpido
+     */
+    private static void procesarIncremental(EstadoIncremental estado) throws IOException, InterruptedException {
+        List<String> archivosVentas = listarArchivosVentas();
+
+        // Retirar el aporte de los archivos que ya no existen
+        Set<String> existentes = new HashSet<>(archivosVentas);
+        int archivosEliminados = 0;
+        for (String nombreArchivo : estado.getArchivosRegistrados()) {
+            if (!existentes.contains(nombreArchivo)) {
+                retirarArchivo(estado, nombreArchivo);
+                archivosEliminados++;
+            }
+        }
+
+        int[] contadores = aplicarCambios(estado, archivosVentas);
+        guardarEstado(estado);
+
+        System.out.println("Archivos de ventas nuevos o modificados: " + contadores[0]);
+        System.out.println("Archivos de ventas eliminados: " + archivosEliminados);
+        System.out.println("Archivos de ventas sin cambios: " + contadores[1]);
+    }
+
+    /**
+     * Lee los archivos de ventas que no coinciden con su registro en el estado
+     * y reemplaza su aporte anterior por el nuevo.
+     * 
+     * @param estado         Estado incremental con los archivos ya procesados
+     * @param archivosVentas Archivos de ventas candidatos
+     * @return Contadores de archivos modificados [0] y sin cambios [1]
+     * @throws InterruptedException Si el hilo principal es interrumpido
+     */
+    private static int[] aplicarCambios(EstadoIncremental estado, List<String> archivosVentas)
+            throws InterruptedException {
+        // Seleccionar los archivos nuevos o con tamaño/fecha distintos
+        List<String> pendientes = new ArrayList<>();
+        for (String nombreArchivo : archivosVentas) {
+            EstadoIncremental.Entrada registro = estado.buscar(nombreArchivo);
+            File archivo = new File(nombreArchivo);
+            if (registro == null || !registro.coincide(archivo.length(), archivo.lastModified())) {
+                pendientes.add(nombreArchivo);
+            }
+        }
+
+        int[] contadores = { 0, archivosVentas.size() - pendientes.size() };
+        procesarArchivos(pendientes.iterator(), true, resultado -> {
+            String nombreArchivo = resultado.getNombreArchivo();
+            EstadoIncremental.Entrada anterior = estado.buscar(nombreArchivo);
+
+            if (anterior != null && anterior.isCompleto() && resultado.isLeido()
+                    && anterior.huella == resultado.getHuella()) {
+                // Solo cambió la fecha: el aporte registrado sigue siendo válido
+                estado.actualizarFecha(nombreArchivo, resultado.getFechaModificacion());
+                contadores[1]++;
+                return;
+            }
+
+            retirarArchivo(estado, nombreArchivo);
+            aplicarResultado(resultado);
+            // Un archivo leído a medias también se registra: su aporte parcial ya está en los totales
+            estado.registrar(nombreArchivo, resultado, catalogoProductos, indiceVendedores);
+            if (resultado.isLeido()) {
+                contadores[0]++;
+            }
+        });
+
+        return contadores;
+    }
+
+    /**
+     * Suma un resultado a los totales y, si se pidieron, a la matriz de
+     * ventas y a la distribución de las líneas. Si sus ventas desbordarían un
+     * total, el archivo se descarta sin sumar nada y el desbordamiento se
+     * reporta como el error de ese archivo; los demás se siguen procesando.
+     * 
+     * @param resultado Resultado de la lectura de un archivo de ventas
+     */
+    private static void aplicarResultado(ResultadoArchivoVenta resultado) {
+        try {
+            resultado.aplicar(catalogoProductos, indiceVendedores);
+        } catch (ArithmeticException e) {
+            resultado.descartarPorDesbordamiento(e.getMessage());
             return;
         }
+        if (matrizVentas != null) {
+            matrizVentas.registrar(resultado);
+        }
+        if (distribucionVentas != null) {
+            distribucionVentas.registrar(resultado, catalogoProductos);
+        }
+    }
+
+    /**
+     * Retira de los totales (y de la matriz de ventas) el aporte registrado de
+     * un archivo en el estado incremental.
+     * 
+     * @param estado        Estado incremental
+     * @param nombreArchivo Nombre del archivo a retirar
+     */
+    private static void retirarArchivo(EstadoIncremental estado, String nombreArchivo) {
+        EstadoIncremental.Entrada registro = estado.buscar(nombreArchivo);
+        if (registro != null && matrizVentas != null) {
+            matrizVentas.sumarRegistro(registro, -1, catalogoProductos, indiceVendedores);
+        }
+        estado.retirar(nombreArchivo, catalogoProductos, indiceVendedores);
+    }
+
+    /**
+     * Vigila el directorio actual y aplica los archivos de ventas a medida que
+     * llegan, reescribiendo los reportes por lotes. No termina hasta que el
+     * proceso sea detenido.
+     * 
+     * @param estado Estado incremental con los archivos ya procesados
+     * @throws IOException          Si el directorio no puede vigilarse o falla la
+     *                              escritura de reportes
+     * @throws InterruptedException Si el hilo principal es interrumpido
+     */
+    private static void ejecutarModoContinuo(EstadoIncremental estado) throws IOException, InterruptedException {
+        System.out.println("\n=== MODO CONTINUO: vigilando archivos de ventas (Ctrl+C para terminar) ===");
+
+        MonitorVentas monitor = new MonitorVentas(Paths.get("."), new MonitorVentas.Acciones() {
+            @Override
+            public void procesar(List<String> archivos) throws InterruptedException {
+                metricas.iniciarEtapa("ingesta_ventas");
+                int[] contadores = aplicarCambios(estado, archivos);
+                metricas.terminarEtapa();
+                System.out.println("Archivos de ventas nuevos o modificados: " + contadores[0]);
+                diagnostico.mostrarResumen();
+            }
+
+            @Override
+            public void retirar(String archivo) {
+                retirarArchivo(estado, archivo);
+                System.out.println("Archivo de ventas eliminado: " + archivo);
+            }
+
+            @Override
+            public void publicar() throws IOException {
+                metricas.iniciarEtapa("reportes");
+                publicarInstantanea(generarReportes());
+                metricas.terminarEtapa();
+                guardarEstado(estado);
+                metricas.escribir(configuracion.getArchivoMetricas());
+                System.out.println("✓ Reportes actualizados");
+            }
+        }, configuracion.getLote(), configuracion.getEsperaMs());
+
+        monitor.ejecutar();
+    }
+
+    /**
+     * Busca todos los archivos de ventas de las carpetas de entrada, para los
+     * modos que necesitan la lista completa antes de leer (incremental y
+     * mapa).
+     * 
+     * @return Nombres de los archivos "ventas_*.txt" y "ventas_*.bin" (o que
+     *         cumplen --patron-ventas)
+     */
+    private static List<String> listarArchivosVentas() {
+        List<String> archivosVentas = new ArrayList<>();
+        try (ExploradorVentas explorador = abrirExplorador()) {
+            explorador.forEachRemaining(archivosVentas::add);
+            mostrarExploracion(explorador);
+        }
+        return archivosVentas;
+    }
+
+    /**
+     * Inicia la búsqueda de archivos de ventas: en las carpetas de --entradas
+     * con sus subcarpetas, o solo en el directorio actual si no se indicaron.
+     * 
+     * @return Explorador que entrega los archivos a medida que los encuentra
+     */
+    private static ExploradorVentas abrirExplorador() {
+        List<String> entradas = configuracion.getEntradas();
+        if (entradas == null) {
+            return new ExploradorVentas(List.of("."), configuracion.getPatronVentas(), false, 1);
+        }
+        // Leer una carpeta es sobre todo esperar al disco: más hilos que núcleos ayudan
+        int hilos = Math.max(4, Math.min(16, Runtime.getRuntime().availableProcessors() * 2));
+        return new ExploradorVentas(entradas, configuracion.getPatronVentas(), true, hilos);
+    }
+
+    /**
+     * Muestra cuántas carpetas se recorrieron si se indicaron carpetas de
+     * entrada.
+     * 
+     * @param explorador Explorador ya terminado
+     */
+    private static void mostrarExploracion(ExploradorVentas explorador) {
+        if (configuracion.getEntradas() != null) {
+            System.out.println("Carpetas recorridas: " + explorador.getCarpetasLeidas() + " ("
+                    + explorador.getArchivosEncontrados() + " archivos de ventas encontrados"
+                    + (explorador.getCarpetasConError() > 0
+                            ? ", " + explorador.getCarpetasConError() + " carpetas con error"
+                            : "")
+                    + ")");
+        }
+    }
+
+    /**
+     * Lee una lista de archivos de ventas (en paralelo si así se configuró) y
+     * entrega cada resultado al aplicador, en el orden de la lista y desde el
+     * hilo principal.
+     * 
+     * @param archivosVentas Nombres de los archivos de ventas a procesar, que
+     *                       pueden seguir llegando mientras se leen
+     * @param calcularHuella true para registrar tamaño, fecha y huella de cada
+     *                       archivo
+     * @param aplicador      Acción que aplica cada resultado a los totales
+     * @return Número de archivos leídos sin errores
+     * @throws InterruptedException Si el hilo principal es interrumpido
+     */
+    private static int procesarArchivos(Iterator<String> archivosVentas, boolean calcularHuella,
+            Consumer<ResultadoArchivoVenta> aplicador) throws InterruptedException {
+        // Cada resultado se mide y se diagnostica en el mismo hilo que lo aplica
+        Consumer<ResultadoArchivoVenta> aplicarYMedir = aplicador.andThen(metricas::registrarArchivo)
+                .andThen(diagnostico::registrar);
+        if (configuracion.isHilosVirtuales()) {
+            return procesarConHilosVirtuales(archivosVentas, calcularHuella, aplicarYMedir);
+        }
+        if (configuracion.getHilos() > 1) {
+            return procesarEnParalelo(archivosVentas, calcularHuella, aplicarYMedir, configuracion.getHilos());
+        }
 
         int archivosVentasProcesados = 0;
+        while (archivosVentas.hasNext()) {
+            ResultadoArchivoVenta resultado = leerArchivoVenta(archivosVentas.next(), calcularHuella);
+            aplicarYMedir.accept(resultado);
+            if (resultado.isLeido()) {
+                archivosVentasProcesados++;
+            }
+        }
+        return archivosVentasProcesados;
+    }
 
-        for (File archivo : archivos) {
-            if (archivo.getName().startsWith("ventas_") && archivo.getName().endsWith(".txt")) {
+    /**
+     * Lee los archivos de ventas con un número fijo de hilos y aplica los
+     * resultados en el orden original de los archivos.
+     * 
+     * @param archivosVentas Nombres de los archivos de ventas a procesar
+     * @param calcularHuella true para registrar tamaño, fecha y huella de cada
+     *                       archivo
+     * @param aplicador      Acción que aplica cada resultado a los totales
+     * @param hilos          Número de hilos de lectura
+     * @return Número de archivos leídos sin errores
+     * @throws InterruptedException Si el hilo principal es interrumpido
+     */
+    private static int procesarEnParalelo(Iterator<String> archivosVentas, boolean calcularHuella,
+            Consumer<ResultadoArchivoVenta> aplicador, int hilos) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            return aplicarEnOrden(archivosVentas,
+                    nombreArchivo -> () -> leerArchivoVenta(nombreArchivo, calcularHuella), aplicador, executor,
+                    hilos * 4);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Lee los archivos de ventas con un hilo virtual por archivo y aplica los
+     * resultados en el orden original de los archivos. Un semáforo limita los
+     * archivos abiertos a la vez (y con ello los lectores en memoria, que se
+     * reutilizan entre archivos), y al terminar se muestra cuánto tiempo se
+     * fue en esperar, leer e interpretar los archivos.
+     * 
+     * En una JVM sin hilos virtuales (anterior a Java 21) se usan hilos de
+     * plataforma creados bajo demanda, con el mismo límite de archivos.
+     * 
+     * @param archivosVentas Nombres de los archivos de ventas a procesar
+     * @param calcularHuella true para registrar tamaño, fecha y huella de cada
+     *                       archivo
+     * @param aplicador      Acción que aplica cada resultado a los totales
+     * @return Número de archivos leídos sin errores
+     * @throws InterruptedException Si el hilo principal es interrumpido
+     */
+    private static int procesarConHilosVirtuales(Iterator<String> archivosVentas, boolean calcularHuella,
+            Consumer<ResultadoArchivoVenta> aplicador) throws InterruptedException {
+        int archivosAbiertos = configuracion.getArchivosAbiertos();
+        Semaphore permisos = new Semaphore(archivosAbiertos);
+        Queue<LectorBytes> lectoresLibres = new ConcurrentLinkedQueue<>();
+        Queue<ArchivoVentasBinario> binariosLibres = new ConcurrentLinkedQueue<>();
+        TiemposIngesta tiempos = new TiemposIngesta();
+
+        ExecutorService executor = crearEjecutorVirtual();
+        int archivosVentasProcesados;
+        try {
+            // La ventana deja archivos esperando permiso para que ninguno quede libre
+            archivosVentasProcesados = aplicarEnOrden(archivosVentas, nombreArchivo -> () -> {
+                long inicio = System.nanoTime();
+                permisos.acquire();
                 try {
-                    procesarArchivoVenta(archivo.getName());
+                    long inicioLectura = System.nanoTime();
+                    long nanosLectura;
+                    ResultadoArchivoVenta resultado;
+
+                    if (ArchivoVentasBinario.esBinario(nombreArchivo)) {
+                        ArchivoVentasBinario binario = binariosLibres.poll();
+                        if (binario == null) {
+                            binario = new ArchivoVentasBinario();
+                        }
+                        resultado = leerArchivoBinario(nombreArchivo, calcularHuella, binario);
+                        nanosLectura = binario.getNanosLectura();
+                        binariosLibres.add(binario);
+                    } else {
+                        LectorBytes lector = lectoresLibres.poll();
+                        if (lector == null) {
+                            lector = new LectorBytes();
+                        }
+                        resultado = leerArchivoTexto(nombreArchivo, calcularHuella, lector);
+                        nanosLectura = lector.getNanosLectura();
+                        lectoresLibres.add(lector);
+                    }
+
+                    long nanosTotal = System.nanoTime() - inicioLectura;
+                    tiempos.registrar(inicioLectura - inicio, nanosLectura, nanosTotal - nanosLectura);
+                    return resultado;
+                } finally {
+                    permisos.release();
+                }
+            }, aplicador, executor, archivosAbiertos * 2);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        tiempos.mostrar(archivosAbiertos);
+        return archivosVentasProcesados;
+    }
+
+    /**
+     * Crea un ejecutor que inicia un hilo virtual por tarea. El proyecto compila
+     * con Java 17, así que el método se busca por reflexión; si la JVM no lo
+     * tiene se usan hilos de plataforma creados bajo demanda.
+     * 
+     * @return Ejecutor de tareas
+     */
+    private static ExecutorService crearEjecutorVirtual() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.out.println("Advertencia: Esta JVM no tiene hilos virtuales (requiere Java 21);"
+                    + " se usan hilos de plataforma");
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Ejecuta la lectura de cada archivo en un ejecutor y aplica los resultados
+     * en el orden original de los archivos. Se mantiene una ventana limitada de
+     * archivos en curso para no acumular en memoria todos los resultados.
+     * 
+     * @param archivosVentas Nombres de los archivos de ventas a procesar
+     * @param tarea          Crea la tarea que lee un archivo
+     * @param aplicador      Acción que aplica cada resultado a los totales
+     * @param executor       Ejecutor de las tareas de lectura
+     * @param ventana        Máximo de archivos en curso
+     * @return Número de archivos leídos sin errores
+     * @throws InterruptedException Si el hilo principal es interrumpido
+     */
+    private static int aplicarEnOrden(Iterator<String> archivosVentas,
+            Function<String, Callable<ResultadoArchivoVenta>> tarea, Consumer<ResultadoArchivoVenta> aplicador,
+            ExecutorService executor, int ventana) throws InterruptedException {
+        Deque<Future<ResultadoArchivoVenta>> pendientes = new ArrayDeque<>();
+        int archivosVentasProcesados = 0;
+
+        try {
+            while (!pendientes.isEmpty() || archivosVentas.hasNext()) {
+                // Mantener la ventana de archivos en curso llena
+                while (pendientes.size() < ventana && archivosVentas.hasNext()) {
+                    pendientes.add(executor.submit(tarea.apply(archivosVentas.next())));
+                }
+
+                // Aplicar el resultado más antiguo para conservar el orden secuencial
+                ResultadoArchivoVenta resultado = pendientes.poll().get();
+                aplicador.accept(resultado);
+                if (resultado.isLeido()) {
                     archivosVentasProcesados++;
-                } catch (IOException e) {
-                    System.out.println("Error procesando " + archivo.getName() + ": " + e.getMessage());
                 }
             }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error inesperado procesando ventas", e.getCause());
         }
 
-        System.out.println("Archivos de ventas procesados: " + archivosVentasProcesados);
+        return archivosVentasProcesados;
     }
 
     /**
-     * Procesa un archivo individual de ventas.
+     * Lee un archivo individual de ventas sin modificar los totales.
      * Formato:
      * - Primera línea: TipoDocumento;NúmeroDocumento
      * - Líneas siguientes: IDProducto;CantidadVendida;
      * 
-     * @param nombreArchivo Nombre del archivo de ventas a procesar
-     * @throws IOException Si ocurre un error al leer el archivo
+     * Solo consulta los mapas de productos y vendedores, por lo que puede
+     * ejecutarse desde varios hilos a la vez.
+     * 
+     * @param nombreArchivo  Nombre del archivo de ventas a procesar
+     * @param calcularHuella true para registrar tamaño, fecha y huella del
+     *                       archivo en el resultado
+     * @return Resultado parcial con las ventas y advertencias del archivo
      */
-    private static void procesarArchivoVenta(String nombreArchivo) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(nombreArchivo))) {
-            String linea = reader.readLine();
+    private static ResultadoArchivoVenta leerArchivoVenta(String nombreArchivo, boolean calcularHuella) {
+        if (ArchivoVentasBinario.esBinario(nombreArchivo)) {
+            return leerArchivoBinario(nombreArchivo, calcularHuella, lectoresBinarios.get());
+        }
+        return leerArchivoTexto(nombreArchivo, calcularHuella, lectores.get());
+    }
 
-            if (linea == null) {
-                System.out.println("Advertencia: Archivo " + nombreArchivo + " está vacío");
-                return;
+    /**
+     * Lee un archivo de ventas de texto con el lector indicado.
+     * 
+     * @param nombreArchivo  Nombre del archivo de ventas a procesar
+     * @param calcularHuella true para registrar tamaño, fecha y huella del
+     *                       archivo en el resultado
+     * @param lector         Lector reutilizable que no use otro hilo
+     * @return Resultado parcial con las ventas y advertencias del archivo
+     */
+    private static ResultadoArchivoVenta leerArchivoTexto(String nombreArchivo, boolean calcularHuella,
+            LectorBytes lector) {
+        long inicio = System.nanoTime();
+        long asignadosInicio = MetricasEjecucion.bytesAsignadosHilo();
+        ResultadoArchivoVenta resultado = new ResultadoArchivoVenta(nombreArchivo);
+        // Tamaño y fecha solo hacen falta para el estado incremental
+        File archivo = new File(nombreArchivo);
+        long tamano = calcularHuella ? archivo.length() : 0;
+        long fechaModificacion = calcularHuella ? archivo.lastModified() : 0;
+
+        try (LectorBytes abierto = lector.abrir(nombreArchivo, calcularHuella)) {
+            leerVentas(abierto, resultado);
+            if (calcularHuella) {
+                resultado.setMetadatos(tamano, fechaModificacion, abierto.completarHuella());
             }
+        } catch (IOException e) {
+            resultado.setError(e.getMessage());
+        }
 
-            // Procesar primera línea (información del vendedor)
-            String[] infoVendedor = linea.trim().split(";");
-            if (infoVendedor.length < 2) {
-                System.out.println("Advertencia: Formato incorrecto en primera línea de " + nombreArchivo);
-                return;
+        resultado.setMedicion(lector.getBytesLeidos(), lector.getLineasLeidas(), System.nanoTime() - inicio,
+                MetricasEjecucion.asignadosDesde(asignadosInicio));
+        return resultado;
+    }
+
+    /**
+     * Lee un archivo de ventas binario con el lector indicado.
+     * 
+     * @param nombreArchivo  Nombre del archivo de ventas a procesar
+     * @param calcularHuella true para registrar tamaño, fecha y huella del
+     *                       archivo en el resultado
+     * @param binario        Lector binario reutilizable que no use otro hilo
+     * @return Resultado parcial con las ventas y advertencias del archivo
+     */
+    private static ResultadoArchivoVenta leerArchivoBinario(String nombreArchivo, boolean calcularHuella,
+            ArchivoVentasBinario binario) {
+        long inicio = System.nanoTime();
+        long asignadosInicio = MetricasEjecucion.bytesAsignadosHilo();
+        ResultadoArchivoVenta resultado = new ResultadoArchivoVenta(nombreArchivo);
+        File archivo = new File(nombreArchivo);
+        long tamano = calcularHuella ? archivo.length() : 0;
+        long fechaModificacion = calcularHuella ? archivo.lastModified() : 0;
+        int registros = 0;
+
+        try {
+            binario.leer(nombreArchivo);
+            // Cada venta equivale a una línea del archivo de texto, más la del vendedor
+            registros = binario.getTotalVentas() + 1;
+            leerVentasBinarias(binario, resultado);
+            if (calcularHuella) {
+                resultado.setMetadatos(tamano, fechaModificacion, binario.getHuella());
+            }
+        } catch (IOException e) {
+            resultado.setError(e.getMessage());
+        }
+
+        resultado.setMedicion(binario.getBytesLeidos(), registros, System.nanoTime() - inicio,
+                MetricasEjecucion.asignadosDesde(asignadosInicio));
+        return resultado;
+    }
+
+    /**
+     * Lee las líneas de un archivo de ventas ya abierto y las registra en el
+     * resultado.
+     * 
+     * @param lector    Lector posicionado al inicio del archivo
+     * @param resultado Resultado donde se guardan ventas y advertencias
+     * @throws IOException Si ocurre un error al leer el archivo
+     */
+    private static void leerVentas(LectorBytes lector, ResultadoArchivoVenta resultado) throws IOException {
+        if (!lector.siguienteLinea()) {
+            resultado.agregarRechazo(DiagnosticoVentas.ARCHIVO_VACIO, 0, 0, null);
+            return;
+        }
+
+        // Procesar primera línea (información del vendedor)
+        if (lector.dividirCampos() < 2) {
+            resultado.agregarRechazo(DiagnosticoVentas.PRIMERA_LINEA_INVALIDA, 1, 0, textoRechazo(lector));
+            return;
+        }
+
+        long numeroDocumento;
+        try {
+            numeroDocumento = lector.campoLong(1);
+        } catch (NumberFormatException e) {
+            resultado.agregarRechazo(DiagnosticoVentas.DOCUMENTO_INVALIDO, 1, 0, textoRechazo(lector));
+            return;
+        }
+
+        int slotVendedor = indiceVendedores.buscar(numeroDocumento);
+        if (slotVendedor == IndiceVendedores.NO_ENCONTRADO) {
+            resultado.agregarRechazo(DiagnosticoVentas.VENDEDOR_DESCONOCIDO, 1, numeroDocumento,
+                    textoRechazo(lector));
+            return;
+        }
+        resultado.setSlotVendedor(slotVendedor);
+
+        // Procesar líneas de ventas
+        int lineaNumero = 1;
+        while (lector.siguienteLinea()) {
+            lineaNumero++;
+
+            if (lector.lineaVacia()) {
+                continue;
             }
 
-            long numeroDocumento;
             try {
-                numeroDocumento = Long.parseLong(infoVendedor[1].trim());
+                if (lector.dividirCampos() >= 2) {
+                    int idProducto = lector.campoInt(0);
+                    int cantidad = lector.campoInt(1);
+
+                    // Buscar producto y registrar la venta
+                    int slotProducto = catalogoProductos.buscar(idProducto);
+                    if (slotProducto != CatalogoProductos.NO_ENCONTRADO) {
+                        resultado.agregarVenta(slotProducto, cantidad);
+                    } else {
+                        resultado.agregarRechazo(DiagnosticoVentas.PRODUCTO_DESCONOCIDO, lineaNumero, idProducto,
+                                textoRechazo(lector));
+                    }
+                } else {
+                    resultado.agregarRechazo(DiagnosticoVentas.LINEA_INCOMPLETA, lineaNumero, 0,
+                            textoRechazo(lector));
+                }
             } catch (NumberFormatException e) {
-                System.out.println("Advertencia: Número de documento inválido en " + nombreArchivo);
-                return;
+                resultado.agregarRechazo(DiagnosticoVentas.LINEA_INVALIDA, lineaNumero, 0, textoRechazo(lector));
             }
+        }
+    }
 
-            Vendedor vendedor = vendedoresMap.get(numeroDocumento);
-            if (vendedor == null) {
-                System.out.println("Advertencia: Vendedor con documento " + numeroDocumento + " no encontrado");
-                return;
+    /**
+     * Obtiene el contenido de la línea actual para guardarlo con un rechazo,
+     * solo si se pidió un archivo de rechazos (--rechazos).
+     *
+     * @param lector Lector posicionado en la línea rechazada
+     * @return Texto de la línea, o null si no se guardan las líneas
+     */
+    private static String textoRechazo(LectorBytes lector) {
+        return guardarLineasRechazadas ? lector.lineaTexto() : null;
+    }
+
+    /**
+     * Registra en el resultado las ventas de un archivo binario ya leído, con
+     * las mismas validaciones y advertencias que {@link #leerVentas}.
+     * 
+     * @param binario   Archivo binario leído
+     * @param resultado Resultado donde se guardan ventas y advertencias
+     */
+    private static void leerVentasBinarias(ArchivoVentasBinario binario, ResultadoArchivoVenta resultado) {
+        long numeroDocumento = binario.getNumeroDocumento();
+        int slotVendedor = indiceVendedores.buscar(numeroDocumento);
+        if (slotVendedor == IndiceVendedores.NO_ENCONTRADO) {
+            resultado.agregarRechazo(DiagnosticoVentas.VENDEDOR_DESCONOCIDO, 1, numeroDocumento, null);
+            return;
+        }
+        resultado.setSlotVendedor(slotVendedor);
+
+        for (int i = 0; i < binario.getTotalVentas(); i++) {
+            int idProducto = binario.getIdProducto(i);
+            int slotProducto = catalogoProductos.buscar(idProducto);
+            if (slotProducto != CatalogoProductos.NO_ENCONTRADO) {
+                resultado.agregarVenta(slotProducto, binario.getCantidad(i));
+            } else {
+                // El binario no conserva los números de línea del texto original
+                resultado.agregarRechazo(DiagnosticoVentas.PRODUCTO_DESCONOCIDO, 0, idProducto, null);
             }
+        }
+    }
 
-            // Procesar líneas de ventas
-            int lineaNumero = 1;
-            while ((linea = reader.readLine()) != null) {
-                lineaNumero++;
-                linea = linea.trim();
+    /**
+     * Publica en el servidor HTTP (si está activo) una instantánea con los
+     * totales actuales. Las peticiones en curso terminan con la anterior. Si
+     * los reportes se escribieron completos, se reutiliza su ranking en lugar
+     * de volver a ordenar.
+     * 
+     * @param ranking Ranking con que se escribieron los reportes
+     * @throws IOException Si no puede codificarse la instantánea
+     */
+    private static void publicarInstantanea(RankingVentas ranking) throws IOException {
+        if (servidor != null) {
+            long generacion = ++generacionInstantanea;
+            servidor.publicar(ranking.isCompleto()
+                    ? InstantaneaVentas.crear(generacion, ranking)
+                    : InstantaneaVentas.crear(generacion, indiceVendedores, catalogoProductos));
+        }
+    }
 
-                if (linea.isEmpty()) {
-                    continue;
-                }
+    /**
+     * Muestra el tamaño de la matriz de ventas y, como ejemplo de consulta,
+     * los vendedores que más unidades vendieron del producto más vendido y la
+     * mezcla de productos del mejor vendedor.
+     * 
+     * @param ranking Ranking con el mejor vendedor y el producto más vendido
+     */
+    private static void mostrarMatriz(RankingVentas ranking) {
+        System.out.println("\n=== VENTAS POR VENDEDOR Y PRODUCTO ===");
+        System.out.println("Celdas con ventas: " + matrizVentas.getCeldasOcupadas() + " ("
+                + matrizVentas.getFilasDensas() + " vendedores en filas densas, "
+                + matrizVentas.getBytesAproximados() / 1024 + " KB)");
 
-                try {
-                    String[] datosVenta = linea.split(";");
-                    if (datosVenta.length >= 2) {
-                        int idProducto = Integer.parseInt(datosVenta[0].trim());
-                        int cantidad = Integer.parseInt(datosVenta[1].trim());
-
-                        // Buscar producto y actualizar estadísticas
-                        Producto producto = productosMap.get(idProducto);
-                        if (producto != null) {
-                            producto.sumarVenta(cantidad);
-                            double montoVenta = producto.getPrecio() * cantidad;
-                            vendedor.sumarRecaudacion(montoVenta);
-                        } else {
-                            System.out.println(
-                                    "Advertencia: Producto ID " + idProducto + " no encontrado en " + nombreArchivo);
-                        }
-                    }
-                } catch (NumberFormatException e) {
-                    System.out
-                            .println("Advertencia: Error de formato en línea " + lineaNumero + " de " + nombreArchivo);
-                }
+        Producto producto = ranking.getProductoMasVendido();
+        if (producto != null) {
+            int slotProducto = catalogoProductos.buscar(producto.getId());
+            StringBuilder linea = new StringBuilder("Mejores vendedores de " + producto.getNombre() + ":");
+            for (int slotVendedor : matrizVentas.mejoresVendedores(slotProducto, 3)) {
+                linea.append(' ').append(indiceVendedores.aVendedor(slotVendedor).getNombreCompleto())
+                        .append(" (").append(matrizVentas.getCantidad(slotVendedor, slotProducto)).append(')');
+            }
+            System.out.println(linea);
+        }
+
+        Vendedor vendedor = ranking.getMejorVendedor();
+        if (vendedor != null) {
+            int slotVendedor = indiceVendedores.buscar(vendedor.getNumeroDocumento());
+            StringBuilder linea = new StringBuilder("Productos más vendidos por " + vendedor.getNombreCompleto() + ":");
+            for (int slotProducto : matrizVentas.mezclaProductos(slotVendedor, 3)) {
+                linea.append(' ').append(catalogoProductos.aProducto(slotProducto).getNombre())
+                        .append(" (").append(matrizVentas.getCantidad(slotVendedor, slotProducto)).append(')');
             }
+            System.out.println(linea);
         }
     }
 
     /**
-     * Genera los reportes CSV requeridos por el proyecto.
+     * Muestra los percentiles p50, p95 y p99 del monto y la cantidad de las
+     * líneas de venta: de todas, del mejor vendedor y del producto más
+     * vendido.
      * 
+     * @param ranking Ranking con el mejor vendedor y el producto más vendido
+     */
+    private static void mostrarDistribucion(RankingVentas ranking) {
+        System.out.println("\n=== DISTRIBUCIÓN DE LAS LÍNEAS DE VENTA (p50 / p95 / p99) ===");
+        mostrarPercentiles("Todas las líneas", distribucionVentas.getMontos(), distribucionVentas.getCantidades());
+
+        Vendedor vendedor = ranking.getMejorVendedor();
+        if (vendedor != null) {
+            int slotVendedor = indiceVendedores.buscar(vendedor.getNumeroDocumento());
+            mostrarPercentiles(vendedor.getNombreCompleto(), distribucionVentas.getMontosVendedor(slotVendedor),
+                    distribucionVentas.getCantidadesVendedor(slotVendedor));
+        }
+
+        Producto producto = ranking.getProductoMasVendido();
+        if (producto != null) {
+            int slotProducto = catalogoProductos.buscar(producto.getId());
+            mostrarPercentiles(producto.getNombre(), distribucionVentas.getMontosProducto(slotProducto),
+                    distribucionVentas.getCantidadesProducto(slotProducto));
+        }
+    }
+
+    /**
+     * Muestra una línea con los percentiles de un grupo de líneas de venta.
+     * 
+     * @param titulo     Nombre del grupo
+     * @param montos     Montos de las líneas, en centavos
+     * @param cantidades Cantidades de las líneas
+     */
+    private static void mostrarPercentiles(String titulo, HistogramaLogaritmico montos,
+            HistogramaLogaritmico cantidades) {
+        System.out.println(titulo + " (" + montos.getTotal() + " líneas): monto $"
+                + FormatoMoneda.formatear(montos.percentil(50)) + " / $"
+                + FormatoMoneda.formatear(montos.percentil(95)) + " / $"
+                + FormatoMoneda.formatear(montos.percentil(99)) + ", cantidad "
+                + cantidades.percentil(50) + " / " + cantidades.percentil(95) + " / "
+                + cantidades.percentil(99));
+    }
+
+    /**
+     * Genera los reportes requeridos por el proyecto en todos los formatos de
+     * --formatos. Los vendedores y los productos se ordenan una sola vez, a la
+     * vez en dos hilos, y cada archivo de reporte se escribe en su propio hilo
+     * desde esas listas (ver {@link ReportGenerator#escribirReportes}). Si se
+     * pidió un top K (--top-vendedores, --top-productos) solo se conservan los
+     * mejores, sin ordenar las listas completas; con --ranking-incremental las
+     * listas se leen ya ordenadas del índice.
+     * 
+     * @return Ranking con los totales y los mejores para las estadísticas
      * @throws IOException Si ocurre un error al escribir los archivos
      */
-    private static void generarReportes() throws IOException {
-        // Convertir mapas a listas para los reportes
-        List<Vendedor> vendedores = new ArrayList<>(vendedoresMap.values());
-        List<Producto> productos = new ArrayList<>(productosMap.values());
+    private static RankingVentas generarReportes() throws IOException {
+        if (configuracion.getMemoriaMaximaMb() > 0) {
+            return generarReportesMemoriaLimitada();
+        }
+
+        RankingVentas ranking = RankingVentas.calcular(indiceVendedores, catalogoProductos,
+                configuracion.getTopVendedores(), configuracion.getTopProductos(), ejecutorReportes);
+        ReportGenerator.escribirReportes(ranking, destinosReporte, ejecutorReportes);
+        return ranking;
+    }
+
+    /**
+     * Genera los reportes CSV en modo de memoria limitada: los vendedores no
+     * caben en una lista, así que su reporte se ordena por tramos en disco.
+     * 
+     * @return Ranking con los totales y el mejor de cada lista
+     * @throws IOException Si ocurre un error al escribir los archivos
+     */
+    private static RankingVentas generarReportesMemoriaLimitada() throws IOException {
+        int topVendedores = configuracion.getTopVendedores();
+        int topProductos = configuracion.getTopProductos();
+        if (topVendedores > 0 || topProductos > 0) {
+            RankingVentas ranking = RankingVentas.calcular(
+                    indiceVendedores, catalogoProductos, topVendedores, topProductos);
+            ReportGenerator.escribirReporteVendedores(ranking.getMejoresVendedores(), "reporte_vendedores.csv");
+            ReportGenerator.escribirReporteProductos(ranking.getProductosMasVendidos(), "reporte_productos.csv");
+            return ranking;
+        }
 
-        // Generar reporte de vendedores
-        ReportGenerator.generarReporteVendedores(vendedores, "reporte_vendedores.csv");
+        int tramos = ReporteVendedoresExterno.escribir(indiceVendedores, "reporte_vendedores.csv",
+                (long) configuracion.getMemoriaMaximaMb() << 20, directorioTemporal);
+        System.out.println("Reporte de vendedores ordenado con " + tramos + " tramos en disco");
+        ReportGenerator.generarReporteProductos(catalogoProductos.aProductos(), "reporte_productos.csv");
 
-        // Generar reporte de productos
-        ReportGenerator.generarReporteProductos(productos, "reporte_productos.csv");
+        // Solo se necesitan los totales y el mejor de cada lista
+        return RankingVentas.calcular(indiceVendedores, catalogoProductos, 1, 1);
     }
 }
\ No newline at end of file
@@ -0,0 +1,381 @@
+/**
+ * Clase que guarda las unidades vendidas de cada producto por cada vendedor
+ * (tabla cruzada vendedor × producto) para responder consultas desde memoria
+ * sin volver a leer los archivos de ventas.
+ *
+ * Cada vendedor tiene una fila, que empieza dispersa: una tabla hash de
+ * direccionamiento abierto (sondeo lineal) de slot de producto a cantidad, en
+ * arreglos primitivos. Cuando la tabla ocuparía tanta memoria como un arreglo
+ * con una posición por producto, la fila pasa a ser densa. Así un vendedor que
+ * vende pocos productos ocupa poco, y uno que vende casi todo el catálogo se
+ * consulta con un acceso directo.
+ *
+ * Los vendedores y productos se identifican por su slot en
+ * {@link IndiceVendedores} y {@link CatalogoProductos}; las cantidades pueden
+ * restarse (archivos modificados o eliminados en el modo incremental). Las
+ * consultas devuelven slots, y en caso de empate gana el slot menor, igual
+ * que en los reportes. La matriz solo debe modificarse desde un hilo.
+ */
+public class MatrizVentas {
+
+    /** Capacidad inicial de la tabla hash de una fila dispersa */
+    private static final int CAPACIDAD_INICIAL = 8;
+
+    /** Multiplicador para dispersar los slots en la tabla (razón áurea) */
+    private static final int DISPERSION = 0x9E3779B9;
+
+    /** Número de productos del catálogo (columnas) */
+    private final int totalProductos;
+
+    /**
+     * Slot de producto + 1 de cada posición de la tabla de cada fila dispersa
+     * (0 = posición vacía), o null si la fila es densa o está vacía
+     */
+    private final int[][] clavesFila;
+
+    /**
+     * Cantidades de cada fila: por posición de la tabla si es dispersa, o por
+     * slot de producto si es densa (null si la fila está vacía)
+     */
+    private final long[][] cantidadesFila;
+
+    /** Posiciones ocupadas de la tabla de cada fila dispersa */
+    private final int[] ocupadasFila;
+
+    /** Número de filas densas */
+    private int filasDensas;
+
+    /**
+     * Constructor que crea una matriz vacía.
+     *
+     * @param totalVendedores Número de vendedores (filas)
+     * @param totalProductos  Número de productos (columnas)
+     */
+    public MatrizVentas(int totalVendedores, int totalProductos) {
+        this.totalProductos = totalProductos;
+        this.clavesFila = new int[totalVendedores][];
+        this.cantidadesFila = new long[totalVendedores][];
+        this.ocupadasFila = new int[totalVendedores];
+        this.filasDensas = 0;
+    }
+
+    /**
+     * Suma las ventas de un archivo a la matriz (llamar junto con
+     * {@link ResultadoArchivoVenta#aplicar}).
+     *
+     * @param resultado Resultado de la lectura del archivo
+     */
+    public void registrar(ResultadoArchivoVenta resultado) {
+        int slotVendedor = resultado.getSlotVendedor();
+        if (slotVendedor == IndiceVendedores.NO_ENCONTRADO) {
+            return;
+        }
+        for (int i = 0; i < resultado.getTotalVentas(); i++) {
+            sumar(slotVendedor, resultado.getSlotProducto(i), resultado.getCantidad(i));
+        }
+    }
+
+    /**
+     * Resta de la matriz el aporte registrado de un archivo del modo
+     * incremental, o lo vuelve a sumar al restaurar un estado guardado.
+     *
+     * @param registro   Registro del archivo en el estado incremental
+     * @param signo      1 para sumar el aporte, -1 para restarlo
+     * @param catalogo   Catálogo de productos
+     * @param vendedores Índice de vendedores
+     */
+    public void sumarRegistro(EstadoIncremental.Entrada registro, int signo, CatalogoProductos catalogo,
+            AlmacenVendedores vendedores) {
+        int slotVendedor = vendedores.buscar(registro.documento);
+        if (slotVendedor == IndiceVendedores.NO_ENCONTRADO) {
+            return;
+        }
+        for (int i = 0; i < registro.idsProducto.length; i++) {
+            int slotProducto = catalogo.buscar(registro.idsProducto[i]);
+            if (slotProducto != CatalogoProductos.NO_ENCONTRADO) {
+                sumar(slotVendedor, slotProducto, (long) signo * registro.cantidades[i]);
+            }
+        }
+    }
+
+    /**
+     * Suma una cantidad a una celda de la matriz.
+     *
+     * @param slotVendedor Slot del vendedor
+     * @param slotProducto Slot del producto
+     * @param cantidad     Unidades a sumar (negativo para restar)
+     */
+    public void sumar(int slotVendedor, int slotProducto, long cantidad) {
+        long[] cantidades = cantidadesFila[slotVendedor];
+        if (cantidades == null) {
+            if (ocupariaMasQueDensa(CAPACIDAD_INICIAL)) {
+                // Catálogo pequeño: la fila es densa desde el principio
+                cantidades = new long[totalProductos];
+                cantidadesFila[slotVendedor] = cantidades;
+                filasDensas++;
+            } else {
+                clavesFila[slotVendedor] = new int[CAPACIDAD_INICIAL];
+                cantidadesFila[slotVendedor] = new long[CAPACIDAD_INICIAL];
+            }
+        }
+        if (clavesFila[slotVendedor] == null) {
+            cantidades[slotProducto] += cantidad;
+            return;
+        }
+
+        int[] claves = clavesFila[slotVendedor];
+        int posicion = buscarPosicion(claves, slotProducto);
+        if (claves[posicion] == 0) {
+            // Carga máxima de 3/4 antes de crecer
+            if ((ocupadasFila[slotVendedor] + 1) * 4 > claves.length * 3) {
+                crecer(slotVendedor);
+                sumar(slotVendedor, slotProducto, cantidad);
+                return;
+            }
+            claves[posicion] = slotProducto + 1;
+            ocupadasFila[slotVendedor]++;
+        }
+        cantidadesFila[slotVendedor][posicion] += cantidad;
+    }
+
+    /**
+     * Obtiene las unidades de un producto vendidas por un vendedor.
+     *
+     * @param slotVendedor Slot del vendedor
+     * @param slotProducto Slot del producto
+     * @return Unidades vendidas (0 si no hay ventas)
+     */
+    public long getCantidad(int slotVendedor, int slotProducto) {
+        long[] cantidades = cantidadesFila[slotVendedor];
+        if (cantidades == null) {
+            return 0;
+        }
+        int[] claves = clavesFila[slotVendedor];
+        if (claves == null) {
+            return cantidades[slotProducto];
+        }
+        int posicion = buscarPosicion(claves, slotProducto);
+        return claves[posicion] != 0 ? cantidades[posicion] : 0;
+    }
+
+    /**
+     * Obtiene los vendedores que más unidades vendieron de un producto.
+     *
+     * @param slotProducto Slot del producto
+     * @param k            Número de vendedores a devolver (0 = todos)
+     * @return Slots de los vendedores con ventas del producto, de mayor a
+     *         menor cantidad
+     */
+    public int[] mejoresVendedores(int slotProducto, int k) {
+        int totalVendedores = cantidadesFila.length;
+        SeleccionTopK seleccion = new SeleccionTopK(k <= 0 ? totalVendedores : Math.min(k, totalVendedores));
+        for (int slotVendedor = 0; slotVendedor < totalVendedores; slotVendedor++) {
+            long cantidad = getCantidad(slotVendedor, slotProducto);
+            if (cantidad != 0) {
+                seleccion.ofrecer(cantidad, slotVendedor, slotVendedor);
+            }
+        }
+        return seleccion.extraerOrdenados();
+    }
+
+    /**
+     * Obtiene la mezcla de productos de un vendedor: los productos que vendió,
+     * de mayor a menor cantidad.
+     *
+     * @param slotVendedor Slot del vendedor
+     * @param k            Número de productos a devolver (0 = todos)
+     * @return Slots de los productos con ventas del vendedor
+     */
+    public int[] mezclaProductos(int slotVendedor, int k) {
+        long[] cantidades = cantidadesFila[slotVendedor];
+        if (cantidades == null) {
+            return new int[0];
+        }
+        int[] claves = clavesFila[slotVendedor];
+        int celdas = claves == null ? totalProductos : ocupadasFila[slotVendedor];
+        SeleccionTopK seleccion = new SeleccionTopK(k <= 0 ? celdas : Math.min(k, celdas));
+        for (int i = 0; i < cantidades.length; i++) {
+            if (cantidades[i] != 0) {
+                int slotProducto = claves == null ? i : claves[i] - 1;
+                seleccion.ofrecer(cantidades[i], slotProducto, slotProducto);
+            }
+        }
+        return seleccion.extraerOrdenados();
+    }
+
+    /**
+     * Suma las unidades vendidas en un corte de la matriz.
+     *
+     * @param slotsVendedores Slots de los vendedores del corte (null = todos)
+     * @param slotsProductos  Slots de los productos del corte (null = todos)
+     * @return Unidades vendidas en el corte
+     */
+    public long sumarCorte(int[] slotsVendedores, int[] slotsProductos) {
+        return sumarCorte(slotsVendedores, slotsProductos, null);
+    }
+
+    /**
+     * Calcula el dinero recaudado en un corte de la matriz.
+     *
+     * @param slotsVendedores Slots de los vendedores del corte (null = todos)
+     * @param slotsProductos  Slots de los productos del corte (null = todos)
+     * @param catalogo        Catálogo con el precio de cada producto
+     * @return Dinero recaudado en el corte, en centavos
+     */
+    public long recaudarCorte(int[] slotsVendedores, int[] slotsProductos, CatalogoProductos catalogo) {
+        long[] precios = new long[totalProductos];
+        for (int slot = 0; slot < totalProductos; slot++) {
+            precios[slot] = catalogo.getPrecioCentavos(slot);
+        }
+        return sumarCorte(slotsVendedores, slotsProductos, precios);
+    }
+
+    /**
+     * Obtiene el número de celdas con ventas (incluye las que quedaron en 0
+     * después de restar).
+     *
+     * @return Celdas ocupadas de las filas dispersas más las celdas de las
+     *         filas densas
+     */
+    public long getCeldasOcupadas() {
+        long celdas = 0;
+        for (int slot = 0; slot < cantidadesFila.length; slot++) {
+            if (cantidadesFila[slot] != null) {
+                celdas += clavesFila[slot] == null ? totalProductos : ocupadasFila[slot];
+            }
+        }
+        return celdas;
+    }
+
+    /**
+     * Obtiene el número de filas densas.
+     *
+     * @return Vendedores guardados con una posición por producto
+     */
+    public int getFilasDensas() {
+        return filasDensas;
+    }
+
+    /**
+     * Calcula los bytes ocupados por los arreglos de las filas (sin contar los
+     * encabezados de los objetos).
+     *
+     * @return Bytes aproximados de la matriz
+     */
+    public long getBytesAproximados() {
+        long bytes = 0;
+        for (int slot = 0; slot < cantidadesFila.length; slot++) {
+            if (cantidadesFila[slot] != null) {
+                bytes += 8L * cantidadesFila[slot].length;
+            }
+            if (clavesFila[slot] != null) {
+                bytes += 4L * clavesFila[slot].length;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Suma un corte de la matriz, opcionalmente ponderado por producto.
+     *
+     * @param slotsVendedores Slots de los vendedores del corte (null = todos)
+     * @param slotsProductos  Slots de los productos del corte (null = todos)
+     * @param pesos           Peso de cada slot de producto (null = 1)
+     * @return Suma de cantidad × peso en el corte
+     */
+    private long sumarCorte(int[] slotsVendedores, int[] slotsProductos, long[] pesos) {
+        int vendedores = slotsVendedores == null ? cantidadesFila.length : slotsVendedores.length;
+        long total = 0;
+        for (int v = 0; v < vendedores; v++) {
+            int slotVendedor = slotsVendedores == null ? v : slotsVendedores[v];
+            long[] cantidades = cantidadesFila[slotVendedor];
+            if (cantidades == null) {
+                continue;
+            }
+
+            if (slotsProductos != null) {
+                for (int slotProducto : slotsProductos) {
+                    long cantidad = getCantidad(slotVendedor, slotProducto);
+                    total += pesos == null ? cantidad : cantidad * pesos[slotProducto];
+                }
+                continue;
+            }
+
+            // Todos los productos: se recorre la fila sin buscar cada celda
+            int[] claves = clavesFila[slotVendedor];
+            for (int i = 0; i < cantidades.length; i++) {
+                if (claves != null && claves[i] == 0) {
+                    continue;
+                }
+                int slotProducto = claves == null ? i : claves[i] - 1;
+                total += pesos == null ? cantidades[i] : cantidades[i] * pesos[slotProducto];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Busca la posición de un producto en la tabla de una fila dispersa.
+     *
+     * @param claves       Tabla de la fila
+     * @param slotProducto Slot del producto
+     * @return Posición del producto, o la posición vacía donde iría
+     */
+    private static int buscarPosicion(int[] claves, int slotProducto) {
+        int mascara = claves.length - 1;
+        int posicion = (slotProducto * DISPERSION) & mascara;
+        while (claves[posicion] != 0 && claves[posicion] != slotProducto + 1) {
+            posicion = (posicion + 1) & mascara;
+        }
+        return posicion;
+    }
+
+    /**
+     * Indica si una tabla dispersa de una capacidad ocuparía al menos lo mismo
+     * que una fila densa. Cada posición de la tabla usa 12 bytes (clave y
+     * cantidad); una fila densa, 8 por producto.
+     *
+     * @param capacidad Posiciones de la tabla
+     * @return true si conviene una fila densa
+     */
+    private boolean ocupariaMasQueDensa(int capacidad) {
+        return 12L * capacidad >= 8L * totalProductos;
+    }
+
+    /**
+     * Duplica la tabla de una fila dispersa, o la convierte en densa si la
+     * tabla nueva ocuparía al menos lo mismo que una posición por producto.
+     *
+     * @param slotVendedor Slot del vendedor
+     */
+    private void crecer(int slotVendedor) {
+        int[] claves = clavesFila[slotVendedor];
+        long[] cantidades = cantidadesFila[slotVendedor];
+        int capacidad = claves.length * 2;
+
+        if (ocupariaMasQueDensa(capacidad)) {
+            long[] densa = new long[totalProductos];
+            for (int i = 0; i < claves.length; i++) {
+                if (claves[i] != 0) {
+                    densa[claves[i] - 1] = cantidades[i];
+                }
+            }
+            clavesFila[slotVendedor] = null;
+            cantidadesFila[slotVendedor] = densa;
+            filasDensas++;
+            return;
+        }
+
+        int[] nuevasClaves = new int[capacidad];
+        long[] nuevasCantidades = new long[capacidad];
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != 0) {
+                int posicion = buscarPosicion(nuevasClaves, claves[i] - 1);
+                nuevasClaves[posicion] = claves[i];
+                nuevasCantidades[posicion] = cantidades[i];
+            }
+        }
+        clavesFila[slotVendedor] = nuevasClaves;
+        cantidadesFila[slotVendedor] = nuevasCantidades;
+    }
+}
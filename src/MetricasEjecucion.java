@@ -0,0 +1,530 @@
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase que mide las etapas del procesamiento y los archivos de ventas leídos,
+ * y exporta las mediciones al final de cada ejecución en dos archivos:
+ * - BASE.json : etapas, totales y el detalle de cada archivo de ventas
+ * - BASE.prom : etapas y totales en el formato de texto de Prometheus (por
+ * ejemplo para el "textfile collector" de node_exporter). El detalle por
+ * archivo no se exporta aquí porque una etiqueta por archivo crearía una
+ * serie por archivo; en su lugar se exportan cuantiles del tiempo de lectura.
+ *
+ * Por cada etapa se mide el tiempo de pared, el tiempo de CPU de todo el
+ * proceso (incluye los hilos que leen ventas), los bytes reservados en
+ * memoria y las recolecciones de basura. Por cada archivo se registran bytes,
+ * líneas, tiempo de lectura, líneas inválidas y productos desconocidos (ver
+ * {@link ResultadoArchivoVenta#setMedicion}).
+ *
+ * Las etapas se inician y terminan desde un solo hilo. Los archivos se
+ * registran desde ese mismo hilo al aplicar cada resultado; la memoria que
+ * reservaron otros hilos al leerlos se suma a la etapa en curso.
+ *
+ * Los archivos se escriben con un nombre temporal y se renombran al final,
+ * para que ningún lector vea un archivo a medio escribir.
+ */
+public class MetricasEjecucion {
+
+    /** Medición acumulada de una etapa (se acumula si se repite, como en modo continuo) */
+    static class Etapa {
+
+        /** Veces que se ejecutó la etapa */
+        int ejecuciones;
+
+        /** Tiempo de pared, en nanosegundos */
+        long nanosPared;
+
+        /** Tiempo de CPU del proceso, en nanosegundos (-1 si no se pudo medir) */
+        long nanosCpu;
+
+        /** Bytes reservados en memoria (-1 si no se pudo medir) */
+        long bytesAsignados;
+
+        /** Recolecciones de basura */
+        long recolecciones;
+
+        /** Tiempo en recolección de basura, en milisegundos */
+        long milisGc;
+    }
+
+    /** Medición de un archivo de ventas leído */
+    static class Archivo {
+
+        /** Nombre del archivo */
+        String nombre;
+
+        /** Indica si el archivo se leyó sin errores */
+        boolean leido;
+
+        /** Bytes leídos */
+        long bytes;
+
+        /** Líneas leídas */
+        int lineas;
+
+        /** Tiempo de lectura, en nanosegundos */
+        long nanos;
+
+        /** Líneas con formato inválido */
+        int lineasInvalidas;
+
+        /** Ventas con producto desconocido */
+        int productosDesconocidos;
+
+        /** Bytes reservados en memoria al leerlo (-1 si no se midió) */
+        long bytesAsignados;
+    }
+
+    /** Medidor de hilos con soporte de memoria reservada por hilo (null si no existe) */
+    private static final com.sun.management.ThreadMXBean HILOS = medidorHilos();
+
+    /** Etapas medidas, en el orden de su primera ejecución */
+    private final Map<String, Etapa> etapas;
+
+    /** Archivos de ventas leídos, en el orden en que se aplicaron */
+    private final List<Archivo> archivos;
+
+    /** Fecha de inicio de la ejecución */
+    private final Instant inicioEjecucion;
+
+    /** Instante de inicio de la ejecución, para la duración total */
+    private final long inicioNanos;
+
+    /** Nombre de la etapa en curso (null si no hay ninguna) */
+    private String etapaActual;
+
+    /** Instante de inicio de la etapa en curso */
+    private long inicioPared;
+
+    /** Tiempo de CPU del proceso al iniciar la etapa en curso */
+    private long inicioCpu;
+
+    /** Memoria reservada por el hilo de la etapa al iniciarla */
+    private long inicioAsignados;
+
+    /** Recolecciones de basura al iniciar la etapa en curso */
+    private long inicioRecolecciones;
+
+    /** Milisegundos de recolección de basura al iniciar la etapa en curso */
+    private long inicioMilisGc;
+
+    /** Memoria reservada por otros hilos durante la etapa en curso */
+    private long asignadosOtrosHilos;
+
+    /**
+     * Constructor que inicia la medición de la ejecución.
+     */
+    public MetricasEjecucion() {
+        this.etapas = new LinkedHashMap<>();
+        this.archivos = new ArrayList<>();
+        this.inicioEjecucion = Instant.now();
+        this.inicioNanos = System.nanoTime();
+    }
+
+    /**
+     * Obtiene la memoria reservada hasta el momento por el hilo actual.
+     *
+     * @return Bytes reservados, o -1 si la JVM no lo permite medir (por
+     *         ejemplo en un hilo virtual)
+     */
+    public static long bytesAsignadosHilo() {
+        return HILOS != null ? HILOS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Calcula la memoria reservada por el hilo actual desde una medición anterior.
+     *
+     * @param inicio Resultado anterior de {@link #bytesAsignadosHilo()}
+     * @return Bytes reservados desde entonces, o -1 si no se pudo medir
+     */
+    public static long asignadosDesde(long inicio) {
+        long actual = bytesAsignadosHilo();
+        return inicio < 0 || actual < 0 ? -1 : actual - inicio;
+    }
+
+    /**
+     * Inicia la medición de una etapa. Si había otra en curso, la termina.
+     *
+     * @param nombre Nombre de la etapa (por ejemplo ingesta_ventas)
+     */
+    public void iniciarEtapa(String nombre) {
+        if (etapaActual != null) {
+            terminarEtapa();
+        }
+        etapaActual = nombre;
+        asignadosOtrosHilos = 0;
+        inicioRecolecciones = 0;
+        inicioMilisGc = 0;
+        for (GarbageCollectorMXBean recolector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            inicioRecolecciones += Math.max(0, recolector.getCollectionCount());
+            inicioMilisGc += Math.max(0, recolector.getCollectionTime());
+        }
+        inicioAsignados = bytesAsignadosHilo();
+        inicioCpu = tiempoCpu();
+        inicioPared = System.nanoTime();
+    }
+
+    /**
+     * Termina la etapa en curso y acumula su medición.
+     */
+    public void terminarEtapa() {
+        long pared = System.nanoTime() - inicioPared;
+        long cpu = tiempoCpu();
+        long asignados = asignadosDesde(inicioAsignados);
+        long recolecciones = -inicioRecolecciones;
+        long milisGc = -inicioMilisGc;
+        for (GarbageCollectorMXBean recolector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            recolecciones += Math.max(0, recolector.getCollectionCount());
+            milisGc += Math.max(0, recolector.getCollectionTime());
+        }
+
+        Etapa etapa = etapas.computeIfAbsent(etapaActual, nombre -> new Etapa());
+        etapa.ejecuciones++;
+        etapa.nanosPared += pared;
+        etapa.nanosCpu = cpu < 0 || inicioCpu < 0 || etapa.nanosCpu < 0 ? -1 : etapa.nanosCpu + cpu - inicioCpu;
+        etapa.bytesAsignados = asignados < 0 || asignadosOtrosHilos < 0 || etapa.bytesAsignados < 0 ? -1
+                : etapa.bytesAsignados + asignados + asignadosOtrosHilos;
+        etapa.recolecciones += recolecciones;
+        etapa.milisGc += milisGc;
+        etapaActual = null;
+    }
+
+    /**
+     * Registra la medición de un archivo de ventas leído. Debe llamarse desde
+     * el hilo que inició la etapa.
+     *
+     * @param resultado Resultado del archivo, con su medición
+     */
+    public void registrarArchivo(ResultadoArchivoVenta resultado) {
+        Archivo archivo = new Archivo();
+        archivo.nombre = resultado.getNombreArchivo();
+        archivo.leido = resultado.isLeido();
+        archivo.bytes = resultado.getBytesLeidos();
+        archivo.lineas = resultado.getLineasLeidas();
+        archivo.nanos = resultado.getNanosLectura();
+        archivo.lineasInvalidas = resultado.getLineasInvalidas();
+        archivo.productosDesconocidos = resultado.getProductosDesconocidos();
+        archivo.bytesAsignados = resultado.getBytesAsignados();
+        archivos.add(archivo);
+
+        // La memoria reservada en este mismo hilo ya la mide la etapa
+        if (resultado.getIdHiloLector() != Thread.currentThread().getId() && asignadosOtrosHilos >= 0) {
+            asignadosOtrosHilos = archivo.bytesAsignados < 0 ? -1 : asignadosOtrosHilos + archivo.bytesAsignados;
+        }
+    }
+
+    /**
+     * Escribe las mediciones en BASE.json y BASE.prom.
+     *
+     * @param base Ruta de los archivos sin extensión
+     * @throws IOException Si ocurre un error al escribir los archivos
+     */
+    public void escribir(String base) throws IOException {
+        long duracion = System.nanoTime() - inicioNanos;
+        EscritorBytes escritor = new EscritorBytes();
+
+        try (EscritorBytes json = escritor.abrir(base + ".json.tmp")) {
+            escribirJson(json, duracion);
+        }
+        Files.move(Paths.get(base + ".json.tmp"), Paths.get(base + ".json"),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        try (EscritorBytes prometheus = escritor.abrir(base + ".prom.tmp")) {
+            escribirPrometheus(prometheus, duracion);
+        }
+        Files.move(Paths.get(base + ".prom.tmp"), Paths.get(base + ".prom"),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Escribe las mediciones en formato JSON.
+     *
+     * @param escritor Escritor con el archivo abierto
+     * @param duracion Duración de la ejecución hasta el momento, en nanosegundos
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    private void escribirJson(EscritorBytes escritor, long duracion) throws IOException {
+        Archivo total = sumarArchivos();
+
+        escritor.escribirTexto("{\n  \"inicio\": \"" + inicioEjecucion + "\",\n  \"duracionSegundos\": "
+                + segundos(duracion) + ",\n  \"etapas\": [");
+        boolean primero = true;
+        for (Map.Entry<String, Etapa> entrada : etapas.entrySet()) {
+            Etapa etapa = entrada.getValue();
+            escritor.escribirTexto(primero ? "\n" : ",\n");
+            escritor.escribirTexto("    {\"nombre\": ");
+            escribirCadenaJson(escritor, entrada.getKey());
+            escritor.escribirTexto(", \"ejecuciones\": " + etapa.ejecuciones
+                    + ", \"paredSegundos\": " + segundos(etapa.nanosPared)
+                    + ", \"cpuSegundos\": " + (etapa.nanosCpu < 0 ? "null" : segundos(etapa.nanosCpu))
+                    + ", \"bytesAsignados\": " + (etapa.bytesAsignados < 0 ? "null" : etapa.bytesAsignados)
+                    + ", \"recoleccionesGc\": " + etapa.recolecciones
+                    + ", \"gcSegundos\": " + etapa.milisGc / 1000.0 + "}");
+            primero = false;
+        }
+
+        escritor.escribirTexto("\n  ],\n  \"archivos\": {\n    \"total\": " + archivos.size()
+                + ",\n    \"conError\": " + contarErrores()
+                + ",\n    \"bytes\": " + total.bytes
+                + ",\n    \"lineas\": " + total.lineas
+                + ",\n    \"lineasInvalidas\": " + total.lineasInvalidas
+                + ",\n    \"productosDesconocidos\": " + total.productosDesconocidos
+                + ",\n    \"bytesAsignados\": " + (total.bytesAsignados < 0 ? "null" : total.bytesAsignados)
+                + ",\n    \"detalle\": [");
+        for (int i = 0; i < archivos.size(); i++) {
+            Archivo archivo = archivos.get(i);
+            escritor.escribirTexto(i == 0 ? "\n      {\"nombre\": " : ",\n      {\"nombre\": ");
+            escribirCadenaJson(escritor, archivo.nombre);
+            escritor.escribirTexto(", \"leido\": " + archivo.leido + ", \"bytes\": ");
+            escritor.escribirEntero(archivo.bytes);
+            escritor.escribirTexto(", \"lineas\": ");
+            escritor.escribirEntero(archivo.lineas);
+            escritor.escribirTexto(", \"segundos\": " + segundos(archivo.nanos) + ", \"bytesPorSegundo\": ");
+            escritor.escribirEntero(archivo.nanos > 0 ? (long) (archivo.bytes * 1e9 / archivo.nanos) : 0);
+            escritor.escribirTexto(", \"lineasInvalidas\": ");
+            escritor.escribirEntero(archivo.lineasInvalidas);
+            escritor.escribirTexto(", \"productosDesconocidos\": ");
+            escritor.escribirEntero(archivo.productosDesconocidos);
+            escritor.escribirTexto(", \"bytesAsignados\": ");
+            if (archivo.bytesAsignados < 0) {
+                escritor.escribirTexto("null");
+            } else {
+                escritor.escribirEntero(archivo.bytesAsignados);
+            }
+            escritor.escribirByte('}');
+        }
+        escritor.escribirTexto(archivos.isEmpty() ? "]\n  }\n}\n" : "\n    ]\n  }\n}\n");
+    }
+
+    /**
+     * Escribe las mediciones en el formato de texto de Prometheus. Todas las
+     * métricas son gauges porque describen una sola ejecución.
+     *
+     * @param escritor Escritor con el archivo abierto
+     * @param duracion Duración de la ejecución hasta el momento, en nanosegundos
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    private void escribirPrometheus(EscritorBytes escritor, long duracion) throws IOException {
+        StringBuilder texto = new StringBuilder();
+
+        metrica(texto, "ventas_ejecucion_inicio_segundos", "Inicio de la ejecución (segundos desde la época)");
+        texto.append("ventas_ejecucion_inicio_segundos ").append(inicioEjecucion.getEpochSecond()).append('\n');
+        metrica(texto, "ventas_ejecucion_duracion_segundos", "Duración de la ejecución");
+        texto.append("ventas_ejecucion_duracion_segundos ").append(segundos(duracion)).append('\n');
+
+        metrica(texto, "ventas_etapa_ejecuciones", "Veces que se ejecutó cada etapa");
+        for (Map.Entry<String, Etapa> entrada : etapas.entrySet()) {
+            serieEtapa(texto, "ventas_etapa_ejecuciones", entrada.getKey(), entrada.getValue().ejecuciones);
+        }
+        metrica(texto, "ventas_etapa_duracion_segundos", "Tiempo de pared de cada etapa");
+        for (Map.Entry<String, Etapa> entrada : etapas.entrySet()) {
+            serieEtapa(texto, "ventas_etapa_duracion_segundos", entrada.getKey(),
+                    segundos(entrada.getValue().nanosPared));
+        }
+        metrica(texto, "ventas_etapa_cpu_segundos", "Tiempo de CPU del proceso durante cada etapa");
+        for (Map.Entry<String, Etapa> entrada : etapas.entrySet()) {
+            if (entrada.getValue().nanosCpu >= 0) {
+                serieEtapa(texto, "ventas_etapa_cpu_segundos", entrada.getKey(),
+                        segundos(entrada.getValue().nanosCpu));
+            }
+        }
+        metrica(texto, "ventas_etapa_bytes_asignados", "Memoria reservada durante cada etapa");
+        for (Map.Entry<String, Etapa> entrada : etapas.entrySet()) {
+            if (entrada.getValue().bytesAsignados >= 0) {
+                serieEtapa(texto, "ventas_etapa_bytes_asignados", entrada.getKey(),
+                        entrada.getValue().bytesAsignados);
+            }
+        }
+        metrica(texto, "ventas_etapa_gc_recolecciones", "Recolecciones de basura durante cada etapa");
+        for (Map.Entry<String, Etapa> entrada : etapas.entrySet()) {
+            serieEtapa(texto, "ventas_etapa_gc_recolecciones", entrada.getKey(), entrada.getValue().recolecciones);
+        }
+        metrica(texto, "ventas_etapa_gc_segundos", "Tiempo en recolección de basura durante cada etapa");
+        for (Map.Entry<String, Etapa> entrada : etapas.entrySet()) {
+            serieEtapa(texto, "ventas_etapa_gc_segundos", entrada.getKey(), entrada.getValue().milisGc / 1000.0);
+        }
+
+        Archivo total = sumarArchivos();
+        int errores = contarErrores();
+        metrica(texto, "ventas_archivos", "Archivos de ventas leídos");
+        texto.append("ventas_archivos{estado=\"leido\"} ").append(archivos.size() - errores).append('\n');
+        texto.append("ventas_archivos{estado=\"error\"} ").append(errores).append('\n');
+        metrica(texto, "ventas_archivos_bytes", "Bytes leídos de los archivos de ventas");
+        texto.append("ventas_archivos_bytes ").append(total.bytes).append('\n');
+        metrica(texto, "ventas_archivos_lineas", "Líneas leídas de los archivos de ventas");
+        texto.append("ventas_archivos_lineas ").append(total.lineas).append('\n');
+        metrica(texto, "ventas_lineas_invalidas", "Líneas de venta con formato inválido");
+        texto.append("ventas_lineas_invalidas ").append(total.lineasInvalidas).append('\n');
+        metrica(texto, "ventas_productos_desconocidos", "Ventas descartadas por un producto desconocido");
+        texto.append("ventas_productos_desconocidos ").append(total.productosDesconocidos).append('\n');
+        if (total.bytesAsignados >= 0) {
+            metrica(texto, "ventas_archivos_bytes_asignados", "Memoria reservada al leer los archivos de ventas");
+            texto.append("ventas_archivos_bytes_asignados ").append(total.bytesAsignados).append('\n');
+        }
+
+        Etapa ingesta = etapas.get("ingesta_ventas");
+        if (ingesta != null && ingesta.nanosPared > 0) {
+            metrica(texto, "ventas_ingesta_bytes_por_segundo", "Bytes de ventas leídos por segundo de ingesta");
+            texto.append("ventas_ingesta_bytes_por_segundo ")
+                    .append((long) (total.bytes * 1e9 / ingesta.nanosPared)).append('\n');
+        }
+
+        if (!archivos.isEmpty()) {
+            long[] nanos = new long[archivos.size()];
+            long suma = 0;
+            for (int i = 0; i < nanos.length; i++) {
+                nanos[i] = archivos.get(i).nanos;
+                suma += nanos[i];
+            }
+            Arrays.sort(nanos);
+            texto.append("# HELP ventas_archivo_lectura_segundos Tiempo de lectura de cada archivo de ventas\n");
+            texto.append("# TYPE ventas_archivo_lectura_segundos summary\n");
+            for (double cuantil : new double[] { 0.5, 0.9, 0.99, 1 }) {
+                int indice = (int) Math.ceil(cuantil * nanos.length) - 1;
+                texto.append("ventas_archivo_lectura_segundos{quantile=\"").append(cuantil).append("\"} ")
+                        .append(segundos(nanos[Math.max(0, indice)])).append('\n');
+            }
+            texto.append("ventas_archivo_lectura_segundos_sum ").append(segundos(suma)).append('\n');
+            texto.append("ventas_archivo_lectura_segundos_count ").append(nanos.length).append('\n');
+        }
+
+        escritor.escribirTexto(texto.toString());
+    }
+
+    /**
+     * Agrega la ayuda y el tipo (gauge) de una métrica de Prometheus.
+     *
+     * @param texto       Texto del archivo
+     * @param nombre      Nombre de la métrica
+     * @param descripcion Descripción de la métrica
+     */
+    private static void metrica(StringBuilder texto, String nombre, String descripcion) {
+        texto.append("# HELP ").append(nombre).append(' ').append(descripcion).append('\n');
+        texto.append("# TYPE ").append(nombre).append(" gauge\n");
+    }
+
+    /**
+     * Agrega la serie de una etapa a una métrica de Prometheus.
+     *
+     * @param texto  Texto del archivo
+     * @param nombre Nombre de la métrica
+     * @param etapa  Nombre de la etapa (etiqueta)
+     * @param valor  Valor de la serie
+     */
+    private static void serieEtapa(StringBuilder texto, String nombre, String etapa, Object valor) {
+        texto.append(nombre).append("{etapa=\"").append(etapa).append("\"} ").append(valor).append('\n');
+    }
+
+    /**
+     * Suma las mediciones de todos los archivos.
+     *
+     * @return Totales (bytesAsignados es -1 si algún archivo no se midió)
+     */
+    private Archivo sumarArchivos() {
+        Archivo total = new Archivo();
+        for (Archivo archivo : archivos) {
+            total.bytes += archivo.bytes;
+            total.lineas += archivo.lineas;
+            total.lineasInvalidas += archivo.lineasInvalidas;
+            total.productosDesconocidos += archivo.productosDesconocidos;
+            total.bytesAsignados = archivo.bytesAsignados < 0 || total.bytesAsignados < 0 ? -1
+                    : total.bytesAsignados + archivo.bytesAsignados;
+        }
+        return total;
+    }
+
+    /**
+     * Cuenta los archivos que no pudieron leerse.
+     *
+     * @return Archivos con error
+     */
+    private int contarErrores() {
+        int errores = 0;
+        for (Archivo archivo : archivos) {
+            if (!archivo.leido) {
+                errores++;
+            }
+        }
+        return errores;
+    }
+
+    /**
+     * Escribe un texto como cadena JSON, escapando los caracteres necesarios.
+     * También lo usa {@link InstantaneaVentas}.
+     *
+     * @param escritor Escritor con el archivo abierto
+     * @param texto    Texto a escribir
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    static void escribirCadenaJson(EscritorBytes escritor, String texto) throws IOException {
+        escritor.escribirByte('"');
+        int inicio = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char caracter = texto.charAt(i);
+            if (caracter == '"' || caracter == '\\' || caracter < 0x20) {
+                escritor.escribirTexto(texto.substring(inicio, i));
+                escritor.escribirTexto(caracter == '"' ? "\\\"" : caracter == '\\' ? "\\\\"
+                        : String.format("\\u%04x", (int) caracter));
+                inicio = i + 1;
+            }
+        }
+        escritor.escribirTexto(inicio == 0 ? texto : texto.substring(inicio));
+        escritor.escribirByte('"');
+    }
+
+    /**
+     * Convierte nanosegundos a segundos.
+     *
+     * @param nanos Tiempo en nanosegundos
+     * @return Tiempo en segundos
+     */
+    private static double segundos(long nanos) {
+        return nanos / 1e9;
+    }
+
+    /**
+     * Obtiene el tiempo de CPU consumido por el proceso. Si la JVM no lo
+     * ofrece, se usa el del hilo actual.
+     *
+     * @return Tiempo de CPU en nanosegundos, o -1 si no puede medirse
+     */
+    private static long tiempoCpu() {
+        OperatingSystemMXBean sistema = ManagementFactory.getOperatingSystemMXBean();
+        if (sistema instanceof com.sun.management.OperatingSystemMXBean) {
+            long cpu = ((com.sun.management.OperatingSystemMXBean) sistema).getProcessCpuTime();
+            if (cpu >= 0) {
+                return cpu;
+            }
+        }
+        ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+        return hilos.isCurrentThreadCpuTimeSupported() ? hilos.getCurrentThreadCpuTime() : -1;
+    }
+
+    /**
+     * Obtiene el medidor de memoria reservada por hilo, si la JVM lo ofrece.
+     *
+     * @return Medidor, o null si no está disponible
+     */
+    private static com.sun.management.ThreadMXBean medidorHilos() {
+        ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+        if (hilos instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean medidor = (com.sun.management.ThreadMXBean) hilos;
+            if (medidor.isThreadAllocatedMemorySupported() && medidor.isThreadAllocatedMemoryEnabled()) {
+                return medidor;
+            }
+        }
+        return null;
+    }
+}
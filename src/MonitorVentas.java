@@ -0,0 +1,251 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clase que vigila el directorio de ventas y procesa los archivos a medida que
+ * llegan, sin reiniciar el programa.
+ *
+ * Un archivo se considera completo cuando su tamaño y fecha de modificación no
+ * cambian durante el tiempo de espera configurado. Los reportes se reescriben
+ * cuando se acumula un lote de archivos aplicados o cuando pasa el tiempo de
+ * espera sin nuevos cambios.
+ *
+ * Los cambios en productos.txt o vendedores.txt no se detectan; para
+ * aplicarlos hay que reiniciar el programa.
+ */
+public class MonitorVentas {
+
+    /** Intervalo máximo entre revisiones de los archivos pendientes */
+    private static final long INTERVALO_REVISION_MS = 200;
+
+    /**
+     * Acciones que el monitor delega al programa principal.
+     */
+    public interface Acciones {
+
+        /**
+         * Procesa archivos de ventas nuevos o modificados.
+         *
+         * @param archivos Nombres de los archivos listos para leer
+         * @throws InterruptedException Si el hilo es interrumpido
+         */
+        void procesar(List<String> archivos) throws InterruptedException;
+
+        /**
+         * Retira de los totales el aporte de un archivo eliminado.
+         *
+         * @param archivo Nombre del archivo eliminado
+         */
+        void retirar(String archivo);
+
+        /**
+         * Reescribe los reportes con los totales actuales.
+         *
+         * @throws IOException Si ocurre un error al escribir los reportes
+         */
+        void publicar() throws IOException;
+    }
+
+    /** Directorio vigilado */
+    private Path directorio;
+
+    /** Acciones de procesamiento y publicación */
+    private Acciones acciones;
+
+    /** Archivos aplicados tras los cuales se publican los reportes */
+    private int lote;
+
+    /** Tiempo sin cambios para considerar estable un archivo o un lote */
+    private long esperaMs;
+
+    /** Archivos con cambios pendientes: {tamaño, fecha, instante del cambio} */
+    private Map<String, long[]> pendientes;
+
+    /** Archivos aplicados o retirados desde la última publicación */
+    private int cambiosSinPublicar;
+
+    /** Instante del último cambio aplicado a los totales */
+    private long ultimoCambio;
+
+    /**
+     * Constructor para crear un monitor sobre un directorio.
+     *
+     * @param directorio Directorio donde llegan los archivos de ventas
+     * @param acciones   Acciones de procesamiento y publicación
+     * @param lote       Archivos aplicados tras los cuales se publican reportes
+     * @param esperaMs   Milisegundos sin cambios para considerar estable un
+     *                   archivo o un lote
+     */
+    public MonitorVentas(Path directorio, Acciones acciones, int lote, long esperaMs) {
+        this.directorio = directorio;
+        this.acciones = acciones;
+        this.lote = lote;
+        this.esperaMs = esperaMs;
+        this.pendientes = new LinkedHashMap<>();
+    }
+
+    /**
+     * Indica si un nombre de archivo corresponde a un archivo de ventas.
+     *
+     * @param nombreArchivo Nombre del archivo
+     * @return true si el nombre tiene la forma ventas_*.txt, ventas_*.txt.gz o
+     *         ventas_*.bin
+     */
+    public static boolean esArchivoVentas(String nombreArchivo) {
+        return nombreArchivo.startsWith("ventas_") && (nombreArchivo.endsWith(".txt")
+                || nombreArchivo.endsWith(".txt" + LectorBytes.EXTENSION_GZIP)
+                || ArchivoVentasBinario.esBinario(nombreArchivo));
+    }
+
+    /**
+     * Vigila el directorio hasta que el hilo sea interrumpido.
+     *
+     * @throws IOException          Si el directorio no puede vigilarse o falla la
+     *                              publicación de reportes
+     * @throws InterruptedException Si el hilo es interrumpido durante el
+     *                              procesamiento
+     */
+    public void ejecutar() throws IOException, InterruptedException {
+        try (WatchService servicio = FileSystems.getDefault().newWatchService()) {
+            directorio.register(servicio, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey clave = servicio.poll(INTERVALO_REVISION_MS, TimeUnit.MILLISECONDS);
+                if (clave != null) {
+                    registrarEventos(clave);
+                    if (!clave.reset()) {
+                        throw new IOException("El directorio " + directorio + " ya no puede vigilarse");
+                    }
+                }
+
+                procesarArchivosListos();
+                publicarSiCorresponde();
+            }
+        }
+    }
+
+    /**
+     * Registra los eventos recibidos del directorio.
+     *
+     * @param clave Clave con los eventos pendientes
+     */
+    private void registrarEventos(WatchKey clave) {
+        long ahora = System.currentTimeMillis();
+
+        for (WatchEvent<?> evento : clave.pollEvents()) {
+            if (evento.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Se perdieron eventos: revisar de nuevo todos los archivos
+                String[] nombres = directorio.toFile().list();
+                if (nombres != null) {
+                    for (String nombre : nombres) {
+                        if (esArchivoVentas(nombre)) {
+                            marcarPendiente(nombre, ahora);
+                        }
+                    }
+                }
+                continue;
+            }
+
+            String nombre = ((Path) evento.context()).getFileName().toString();
+            if (!esArchivoVentas(nombre)) {
+                continue;
+            }
+
+            if (evento.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                pendientes.remove(nombre);
+                acciones.retirar(nombre);
+                registrarCambios(1, ahora);
+            } else {
+                marcarPendiente(nombre, ahora);
+            }
+        }
+    }
+
+    /**
+     * Marca un archivo como pendiente, guardando su tamaño y fecha actuales.
+     *
+     * @param nombre Nombre del archivo
+     * @param ahora  Instante actual en milisegundos
+     */
+    private void marcarPendiente(String nombre, long ahora) {
+        File archivo = directorio.resolve(nombre).toFile();
+        pendientes.put(nombre, new long[] { archivo.length(), archivo.lastModified(), ahora });
+    }
+
+    /**
+     * Procesa los archivos pendientes cuyo tamaño y fecha no cambiaron durante
+     * el tiempo de espera.
+     *
+     * @throws InterruptedException Si el hilo es interrumpido
+     */
+    private void procesarArchivosListos() throws InterruptedException {
+        long ahora = System.currentTimeMillis();
+        List<String> listos = new ArrayList<>();
+
+        Iterator<Map.Entry<String, long[]>> iterador = pendientes.entrySet().iterator();
+        while (iterador.hasNext()) {
+            Map.Entry<String, long[]> pendiente = iterador.next();
+            File archivo = directorio.resolve(pendiente.getKey()).toFile();
+            long[] datos = pendiente.getValue();
+
+            if (!archivo.isFile()) {
+                iterador.remove();
+            } else if (archivo.length() != datos[0] || archivo.lastModified() != datos[1]) {
+                // El archivo se sigue escribiendo
+                datos[0] = archivo.length();
+                datos[1] = archivo.lastModified();
+                datos[2] = ahora;
+            } else if (ahora - datos[2] >= esperaMs) {
+                listos.add(pendiente.getKey());
+                iterador.remove();
+            }
+        }
+
+        if (!listos.isEmpty()) {
+            acciones.procesar(listos);
+            registrarCambios(listos.size(), ahora);
+        }
+    }
+
+    /**
+     * Registra archivos aplicados o retirados de los totales.
+     *
+     * @param cantidad Número de archivos que cambiaron los totales
+     * @param ahora    Instante del cambio en milisegundos
+     */
+    private void registrarCambios(int cantidad, long ahora) {
+        cambiosSinPublicar += cantidad;
+        ultimoCambio = ahora;
+    }
+
+    /**
+     * Reescribe los reportes si se completó un lote o si pasó el tiempo de
+     * espera desde el último cambio aplicado.
+     *
+     * @throws IOException Si ocurre un error al escribir los reportes
+     */
+    private void publicarSiCorresponde() throws IOException {
+        if (cambiosSinPublicar == 0) {
+            return;
+        }
+
+        long ahora = System.currentTimeMillis();
+        if (cambiosSinPublicar >= lote || ahora - ultimoCambio >= esperaMs) {
+            acciones.publicar();
+            cambiosSinPublicar = 0;
+        }
+    }
+}
@@ -1,3 +1,5 @@
+import java.nio.charset.StandardCharsets;
+
 /**
  * Clase que representa un producto con su información básica y estadísticas de
  * ventas.
@@ -12,23 +14,26 @@ public class Producto {
     /** Nombre descriptivo del producto */
     private String nombre;
 
-    /** Precio por unidad del producto */
-    private double precio;
+    /** Precio por unidad del producto, en centavos */
+    private long precioCentavos;
 
     /** Cantidad total vendida del producto */
     private int cantidadVendida;
 
+    /** Nombre codificado en UTF-8 (se calcula al primer uso) */
+    private byte[] nombreUtf8;
+
     /**
      * Constructor para crear un producto con información básica.
      * 
-     * @param id     Identificador único del producto
-     * @param nombre Nombre del producto
-     * @param precio Precio por unidad
+     * @param id             Identificador único del producto
+     * @param nombre         Nombre del producto
+     * @param precioCentavos Precio por unidad, en centavos
      */
-    public Producto(int id, String nombre, double precio) {
+    public Producto(int id, String nombre, long precioCentavos) {
         this.id = id;
         this.nombre = nombre;
-        this.precio = precio;
+        this.precioCentavos = precioCentavos;
         this.cantidadVendida = 0;
     }
 
@@ -50,13 +55,36 @@ public class Producto {
         return nombre;
     }
 
+    /**
+     * Obtiene el nombre del producto codificado en UTF-8, tal como se escribe
+     * en los reportes.
+     * 
+     * @return Bytes del nombre (no deben modificarse)
+     */
+    public byte[] getNombreUtf8() {
+        if (nombreUtf8 == null) {
+            nombreUtf8 = nombre.getBytes(StandardCharsets.UTF_8);
+        }
+        return nombreUtf8;
+    }
+
+    /**
+     * Establece el nombre ya codificado en UTF-8, para no volver a
+     * codificarlo en cada reporte.
+     * 
+     * @param nombreUtf8 Bytes del nombre
+     */
+    public void setNombreUtf8(byte[] nombreUtf8) {
+        this.nombreUtf8 = nombreUtf8;
+    }
+
     /**
      * Obtiene el precio unitario del producto.
      * 
-     * @return Precio por unidad
+     * @return Precio por unidad, en centavos
      */
-    public double getPrecio() {
-        return precio;
+    public long getPrecioCentavos() {
+        return precioCentavos;
     }
 
     /**
@@ -89,10 +117,10 @@ public class Producto {
     /**
      * Calcula el total de dinero generado por este producto.
      * 
-     * @return Total de ventas (precio * cantidad vendida)
+     * @return Total de ventas en centavos (precio * cantidad vendida)
      */
-    public double calcularTotalVentas() {
-        return precio * cantidadVendida;
+    public long calcularTotalVentasCentavos() {
+        return precioCentavos * cantidadVendida;
     }
 
     /**
@@ -105,7 +133,7 @@ public class Producto {
         return "Producto{" +
                 "id=" + id +
                 ", nombre='" + nombre + '\'' +
-                ", precio=" + precio +
+                ", precio=" + FormatoMoneda.formatear(precioCentavos) +
                 ", cantidadVendida=" + cantidadVendida +
                 '}';
     }
@@ -0,0 +1,294 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Clase que calcula, en una sola pasada por el índice de vendedores y otra por
+ * el catálogo de productos, los totales generales y los mejores vendedores y
+ * productos.
+ *
+ * Los mejores se eligen con {@link SeleccionTopK}, sin crear objetos para el
+ * resto ni ordenar las listas completas. Los empates se resuelven igual que en
+ * los reportes completos: vendedores en el orden de vendedores.txt y productos
+ * por ID, de modo que el top K coincide con las primeras K líneas del reporte
+ * completo. El primero de cada lista es el mejor vendedor y el producto más
+ * vendido que se muestran en las estadísticas.
+ *
+ * Si el índice o el catálogo mantienen un {@link IndiceRanking}, los totales
+ * y los mejores se toman de él en O(log n + K), sin recorrer todos los slots.
+ */
+public class RankingVentas {
+
+    /** Número total de vendedores */
+    private final int totalVendedores;
+
+    /** Número total de productos */
+    private final int totalProductos;
+
+    /** Dinero recaudado por todos los vendedores, en centavos */
+    private final long totalRecaudadoCentavos;
+
+    /** Unidades vendidas de todos los productos */
+    private final long totalProductosVendidos;
+
+    /** Mejores vendedores, de mayor a menor recaudación */
+    private final List<Vendedor> mejoresVendedores;
+
+    /** Productos más vendidos, de mayor a menor cantidad vendida */
+    private final List<Producto> productosMasVendidos;
+
+    /**
+     * Constructor privado: las instancias se crean con {@link #calcular}.
+     *
+     * @param totalVendedores        Número total de vendedores
+     * @param totalProductos         Número total de productos
+     * @param totalRecaudadoCentavos Dinero recaudado por todos, en centavos
+     * @param totalProductosVendidos Unidades vendidas de todos los productos
+     * @param mejoresVendedores      Mejores vendedores ordenados
+     * @param productosMasVendidos   Productos más vendidos ordenados
+     */
+    private RankingVentas(int totalVendedores, int totalProductos, long totalRecaudadoCentavos,
+            long totalProductosVendidos, List<Vendedor> mejoresVendedores, List<Producto> productosMasVendidos) {
+        this.totalVendedores = totalVendedores;
+        this.totalProductos = totalProductos;
+        this.totalRecaudadoCentavos = totalRecaudadoCentavos;
+        this.totalProductosVendidos = totalProductosVendidos;
+        this.mejoresVendedores = mejoresVendedores;
+        this.productosMasVendidos = productosMasVendidos;
+    }
+
+    /**
+     * Calcula los totales y los mejores vendedores y productos.
+     *
+     * @param vendedores    Índice de vendedores con su dinero recaudado
+     * @param catalogo      Catálogo de productos con sus cantidades vendidas
+     * @param topVendedores Número de vendedores a conservar (0 = todos)
+     * @param topProductos  Número de productos a conservar (0 = todos)
+     * @return Ranking con los totales y las listas ordenadas
+     */
+    public static RankingVentas calcular(AlmacenVendedores vendedores, CatalogoProductos catalogo,
+            int topVendedores, int topProductos) {
+        Parte<Vendedor> mejoresVendedores = seleccionarVendedores(vendedores, topVendedores);
+        Parte<Producto> productosMasVendidos = seleccionarProductos(catalogo, topProductos);
+        return new RankingVentas(vendedores.getTotal(), catalogo.getTotal(), mejoresVendedores.total,
+                productosMasVendidos.total, mejoresVendedores.lista, productosMasVendidos.lista);
+    }
+
+    /**
+     * Calcula los totales y los mejores vendedores y productos, armando la
+     * lista de productos en el ejecutor mientras el hilo actual arma la de
+     * vendedores. Las dos partes solo leen el índice y el catálogo.
+     *
+     * @param vendedores    Índice de vendedores con su dinero recaudado
+     * @param catalogo      Catálogo de productos con sus cantidades vendidas
+     * @param topVendedores Número de vendedores a conservar (0 = todos)
+     * @param topProductos  Número de productos a conservar (0 = todos)
+     * @param ejecutor      Ejecutor donde se arma la lista de productos
+     * @return Ranking con los totales y las listas ordenadas
+     */
+    public static RankingVentas calcular(AlmacenVendedores vendedores, CatalogoProductos catalogo,
+            int topVendedores, int topProductos, ExecutorService ejecutor) {
+        Future<Parte<Producto>> productos = ejecutor.submit(() -> seleccionarProductos(catalogo, topProductos));
+        Parte<Vendedor> mejoresVendedores = seleccionarVendedores(vendedores, topVendedores);
+        Parte<Producto> productosMasVendidos;
+        try {
+            productosMasVendidos = productos.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error inesperado ordenando productos", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ranking de productos interrumpido", e);
+        }
+        return new RankingVentas(vendedores.getTotal(), catalogo.getTotal(), mejoresVendedores.total,
+                productosMasVendidos.total, mejoresVendedores.lista, productosMasVendidos.lista);
+    }
+
+    /**
+     * Calcula el dinero recaudado por todos y los mejores vendedores.
+     *
+     * @param vendedores    Índice de vendedores con su dinero recaudado
+     * @param topVendedores Número de vendedores a conservar (0 = todos)
+     * @return Total recaudado en centavos y vendedores ordenados
+     */
+    private static Parte<Vendedor> seleccionarVendedores(AlmacenVendedores vendedores, int topVendedores) {
+        int totalVendedores = vendedores.getTotal();
+        IndiceRanking rankingVendedores = vendedores.getRanking();
+        long totalRecaudadoCentavos;
+        int[] slotsVendedores;
+        if (rankingVendedores != null) {
+            // El índice ya está ordenado: solo se recorren los primeros
+            totalRecaudadoCentavos = rankingVendedores.getSuma();
+            slotsVendedores = rankingVendedores.pagina(0, limitar(topVendedores, totalVendedores));
+        } else {
+            SeleccionTopK seleccionVendedores = new SeleccionTopK(limitar(topVendedores, totalVendedores));
+            totalRecaudadoCentavos = 0;
+            for (int slot = 0; slot < totalVendedores; slot++) {
+                long recaudado = vendedores.getDineroRecaudadoCentavos(slot);
+                totalRecaudadoCentavos += recaudado;
+                // Empates: primero el que aparece antes en vendedores.txt
+                seleccionVendedores.ofrecer(recaudado, slot, slot);
+            }
+            slotsVendedores = seleccionVendedores.extraerOrdenados();
+        }
+
+        List<Vendedor> mejoresVendedores = new ArrayList<>(slotsVendedores.length);
+        for (int slot : slotsVendedores) {
+            mejoresVendedores.add(vendedores.aVendedor(slot));
+        }
+        return new Parte<>(totalRecaudadoCentavos, mejoresVendedores);
+    }
+
+    /**
+     * Calcula las unidades vendidas de todos y los productos más vendidos.
+     *
+     * @param catalogo     Catálogo de productos con sus cantidades vendidas
+     * @param topProductos Número de productos a conservar (0 = todos)
+     * @return Total de unidades vendidas y productos ordenados
+     */
+    private static Parte<Producto> seleccionarProductos(CatalogoProductos catalogo, int topProductos) {
+        int totalProductos = catalogo.getTotal();
+        IndiceRanking rankingProductos = catalogo.getRanking();
+        long totalProductosVendidos;
+        int[] slotsProductos;
+        if (rankingProductos != null) {
+            totalProductosVendidos = rankingProductos.getSuma();
+            slotsProductos = rankingProductos.pagina(0, limitar(topProductos, totalProductos));
+        } else {
+            SeleccionTopK seleccionProductos = new SeleccionTopK(limitar(topProductos, totalProductos));
+            totalProductosVendidos = 0;
+            for (int slot = 0; slot < totalProductos; slot++) {
+                int cantidad = catalogo.getCantidadVendida(slot);
+                totalProductosVendidos += cantidad;
+                // Empates: primero el de menor ID
+                seleccionProductos.ofrecer(cantidad, catalogo.getId(slot), slot);
+            }
+            slotsProductos = seleccionProductos.extraerOrdenados();
+        }
+
+        List<Producto> productosMasVendidos = new ArrayList<>(slotsProductos.length);
+        for (int slot : slotsProductos) {
+            productosMasVendidos.add(catalogo.aProducto(slot));
+        }
+        return new Parte<>(totalProductosVendidos, productosMasVendidos);
+    }
+
+    /**
+     * Calcula el tamaño de una selección.
+     *
+     * @param top   Número de elementos pedido (0 = todos)
+     * @param total Número de elementos disponibles
+     * @return Número de elementos a conservar
+     */
+    private static int limitar(int top, int total) {
+        return top <= 0 ? total : Math.min(top, total);
+    }
+
+    /**
+     * Obtiene el número total de vendedores.
+     *
+     * @return Total de vendedores
+     */
+    public int getTotalVendedores() {
+        return totalVendedores;
+    }
+
+    /**
+     * Obtiene el número total de productos.
+     *
+     * @return Total de productos
+     */
+    public int getTotalProductos() {
+        return totalProductos;
+    }
+
+    /**
+     * Obtiene el dinero recaudado por todos los vendedores.
+     *
+     * @return Dinero recaudado, en centavos
+     */
+    public long getTotalRecaudadoCentavos() {
+        return totalRecaudadoCentavos;
+    }
+
+    /**
+     * Obtiene las unidades vendidas de todos los productos.
+     *
+     * @return Unidades vendidas
+     */
+    public long getTotalProductosVendidos() {
+        return totalProductosVendidos;
+    }
+
+    /**
+     * Obtiene los mejores vendedores, de mayor a menor recaudación.
+     *
+     * @return Lista de vendedores
+     */
+    public List<Vendedor> getMejoresVendedores() {
+        return mejoresVendedores;
+    }
+
+    /**
+     * Obtiene los productos más vendidos, de mayor a menor cantidad vendida.
+     *
+     * @return Lista de productos
+     */
+    public List<Producto> getProductosMasVendidos() {
+        return productosMasVendidos;
+    }
+
+    /**
+     * Indica si el ranking incluye a todos los vendedores y productos (sin
+     * top K), como el que necesita una instantánea.
+     *
+     * @return true si las listas están completas
+     */
+    public boolean isCompleto() {
+        return mejoresVendedores.size() == totalVendedores && productosMasVendidos.size() == totalProductos;
+    }
+
+    /**
+     * Obtiene el vendedor con mayor recaudación.
+     *
+     * @return Mejor vendedor, o null si no hay vendedores
+     */
+    public Vendedor getMejorVendedor() {
+        return mejoresVendedores.isEmpty() ? null : mejoresVendedores.get(0);
+    }
+
+    /**
+     * Obtiene el producto con mayor cantidad vendida.
+     *
+     * @return Producto más vendido, o null si no hay productos
+     */
+    public Producto getProductoMasVendido() {
+        return productosMasVendidos.isEmpty() ? null : productosMasVendidos.get(0);
+    }
+
+    /**
+     * Total y lista ordenada de una de las dos mitades del ranking.
+     *
+     * @param <T> Vendedor o Producto
+     */
+    private static class Parte<T> {
+
+        /** Suma de los totales de todos los elementos */
+        final long total;
+
+        /** Mejores elementos, en orden */
+        final List<T> lista;
+
+        /**
+         * Constructor de una parte ya calculada.
+         *
+         * @param total Suma de los totales
+         * @param lista Mejores elementos ordenados
+         */
+        Parte(long total, List<T> lista) {
+            this.total = total;
+            this.lista = lista;
+        }
+    }
+}
@@ -1,33 +1,107 @@
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Clase encargada de generar los reportes CSV requeridos por el proyecto.
  * Crea archivos de reporte para vendedores y productos con el formato
  * especificado.
+ *
+ * Los montos se reciben en centavos y se escriben con {@link FormatoMoneda},
+ * que no comparte estado entre llamadas, por lo que los reportes pueden
+ * generarse desde varios hilos a la vez.
+ *
+ * Los archivos se escriben siempre en UTF-8 con {@link EscritorBytes}: los
+ * nombres llegan ya codificados desde el índice y el catálogo, los números se
+ * convierten a dígitos directamente en el buffer, y el buffer (uno por hilo,
+ * reutilizado entre reportes) se vacía al archivo en bloques grandes.
+ *
+ * Además del CSV, los mismos rankings pueden escribirse en otros formatos
+ * ({@link DestinoReporte}); con {@link #escribirReportes} cada reporte de cada
+ * formato se escribe en su propio hilo a partir de las mismas listas.
  */
 public class ReportGenerator {
 
-    // Formateador para usar punto como separador decimal
-    private static final DecimalFormat decimalFormat;
+    /** Tamaño del bloque con que se escriben los reportes */
+    private static final int TAMANO_BLOQUE = 1024 * 1024;
 
-    static {
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols();
-        symbols.setDecimalSeparator('.');
-        decimalFormat = new DecimalFormat("#0.00", symbols);
+    /** Escritor reutilizable de cada hilo (su buffer directo es costoso de reservar) */
+    private static final ThreadLocal<EscritorBytes> escritores = ThreadLocal
+            .withInitial(() -> new EscritorBytes(TAMANO_BLOQUE));
+
+    /** Nombre sin extensión del reporte de vendedores */
+    public static final String REPORTE_VENDEDORES = "reporte_vendedores";
+
+    /** Nombre sin extensión del reporte de productos */
+    public static final String REPORTE_PRODUCTOS = "reporte_productos";
+
+    /**
+     * Obtiene el escritor reutilizable del hilo actual, para los destinos que
+     * escriben texto.
+     *
+     * @return Escritor del hilo (no debe estar abierto en otro reporte)
+     */
+    static EscritorBytes escritorDelHilo() {
+        return escritores.get();
+    }
+
+    /**
+     * Escribe los reportes de vendedores y productos de un ranking en todos
+     * los formatos pedidos. Las listas se ordenaron una sola vez al calcular
+     * el ranking; cada combinación de reporte y formato es una tarea del
+     * ejecutor, así que todos los archivos se escriben a la vez.
+     *
+     * @param ranking  Ranking con los vendedores y productos ya ordenados
+     * @param destinos Formatos a escribir
+     * @param ejecutor Ejecutor de las tareas de escritura
+     * @throws IOException Si ocurre un error al escribir algún archivo (se
+     *                     esperan las demás tareas antes de informarlo)
+     */
+    public static void escribirReportes(RankingVentas ranking, List<DestinoReporte> destinos,
+            ExecutorService ejecutor) throws IOException {
+        List<Future<Void>> tareas = new ArrayList<>(destinos.size() * 2);
+        for (DestinoReporte destino : destinos) {
+            tareas.add(ejecutor.submit(() -> {
+                destino.escribirVendedores(ranking.getMejoresVendedores(),
+                        REPORTE_VENDEDORES + destino.getExtension());
+                return null;
+            }));
+            tareas.add(ejecutor.submit(() -> {
+                destino.escribirProductos(ranking.getProductosMasVendidos(),
+                        REPORTE_PRODUCTOS + destino.getExtension());
+                return null;
+            }));
+        }
+
+        IOException error = null;
+        for (Future<Void> tarea : tareas) {
+            try {
+                tarea.get();
+            } catch (ExecutionException e) {
+                if (error == null) {
+                    error = e.getCause() instanceof IOException ? (IOException) e.getCause()
+                            : new IOException("Error al escribir un reporte", e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Escritura de reportes interrumpida", e);
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
     }
 
     /**
      * Genera un reporte de vendedores ordenado por dinero recaudado (mayor a
      * menor).
      * El archivo contiene: NombreCompletoVendedor;DineroRecaudado
-     * 
+     *
      * @param vendedores    Lista de vendedores a incluir en el reporte
      * @param nombreArchivo Nombre del archivo a generar
      * @throws IOException Si ocurre un error al escribir el archivo
@@ -37,15 +111,30 @@ public class ReportGenerator {
         Collections.sort(vendedores, new Comparator<Vendedor>() {
             @Override
             public int compare(Vendedor v1, Vendedor v2) {
-                return Double.compare(v2.getDineroRecaudado(), v1.getDineroRecaudado());
+                return Long.compare(v2.getDineroRecaudadoCentavos(), v1.getDineroRecaudadoCentavos());
             }
         });
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(nombreArchivo))) {
+        escribirReporteVendedores(vendedores, nombreArchivo);
+    }
+
+    /**
+     * Escribe un reporte de vendedores en el orden en que vienen en la lista,
+     * por ejemplo el top K ya ordenado de {@link RankingVentas}.
+     * El archivo contiene: NombreCompletoVendedor;DineroRecaudado
+     *
+     * @param vendedores    Lista de vendedores ya ordenada
+     * @param nombreArchivo Nombre del archivo a generar
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public static void escribirReporteVendedores(List<Vendedor> vendedores, String nombreArchivo)
+            throws IOException {
+        try (EscritorBytes escritor = escritores.get().abrir(nombreArchivo)) {
             for (Vendedor vendedor : vendedores) {
-                writer.write(vendedor.getNombreCompleto() + ";" +
-                        decimalFormat.format(vendedor.getDineroRecaudado()));
-                writer.newLine();
+                escritor.escribirBytes(vendedor.getNombreCompletoUtf8());
+                escritor.escribirByte(';');
+                escritor.escribirCentavos(vendedor.getDineroRecaudadoCentavos());
+                escritor.nuevaLinea();
             }
         }
     }
@@ -53,7 +142,7 @@ public class ReportGenerator {
     /**
      * Genera un reporte de productos ordenado por cantidad vendida (mayor a menor).
      * El archivo contiene: NombreProducto;PrecioUnitario;CantidadVendida
-     * 
+     *
      * @param productos     Lista de productos a incluir en el reporte
      * @param nombreArchivo Nombre del archivo a generar
      * @throws IOException Si ocurre un error al escribir el archivo
@@ -67,55 +156,59 @@ public class ReportGenerator {
             }
         });
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(nombreArchivo))) {
+        escribirReporteProductos(productos, nombreArchivo);
+    }
+
+    /**
+     * Escribe un reporte de productos en el orden en que vienen en la lista,
+     * por ejemplo el top K ya ordenado de {@link RankingVentas}.
+     * El archivo contiene: NombreProducto;PrecioUnitario;CantidadVendida
+     *
+     * @param productos     Lista de productos ya ordenada
+     * @param nombreArchivo Nombre del archivo a generar
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public static void escribirReporteProductos(List<Producto> productos, String nombreArchivo)
+            throws IOException {
+        try (EscritorBytes escritor = escritores.get().abrir(nombreArchivo)) {
             for (Producto producto : productos) {
-                writer.write(producto.getNombre() + ";" +
-                        decimalFormat.format(producto.getPrecio()) + ";" +
-                        producto.getCantidadVendida());
-                writer.newLine();
+                escritor.escribirBytes(producto.getNombreUtf8());
+                escritor.escribirByte(';');
+                escritor.escribirCentavos(producto.getPrecioCentavos());
+                escritor.escribirByte(';');
+                escritor.escribirEntero(producto.getCantidadVendida());
+                escritor.nuevaLinea();
             }
         }
     }
 
     /**
-     * Muestra estadísticas básicas en consola para verificación.
-     * 
-     * @param vendedores Lista de vendedores
-     * @param productos  Lista de productos
+     * Muestra estadísticas básicas en consola para verificación. Los totales y
+     * los mejores ya vienen calculados en una sola pasada por el ranking.
+     *
+     * @param ranking Ranking con los totales y los mejores vendedores y productos
      */
-    public static void mostrarEstadisticas(List<Vendedor> vendedores, List<Producto> productos) {
+    public static void mostrarEstadisticas(RankingVentas ranking) {
         System.out.println("\n=== ESTADÍSTICAS GENERALES ===");
-        System.out.println("Total de vendedores procesados: " + vendedores.size());
-        System.out.println("Total de productos disponibles: " + productos.size());
-
-        // Calcular totales
-        double totalRecaudado = 0;
-        int totalProductosVendidos = 0;
-
-        for (Vendedor v : vendedores) {
-            totalRecaudado += v.getDineroRecaudado();
-        }
-
-        for (Producto p : productos) {
-            totalProductosVendidos += p.getCantidadVendida();
-        }
+        System.out.println("Total de vendedores procesados: " + ranking.getTotalVendedores());
+        System.out.println("Total de productos disponibles: " + ranking.getTotalProductos());
 
-        System.out.println("Total recaudado por todos los vendedores: $" + decimalFormat.format(totalRecaudado));
-        System.out.println("Total de productos vendidos: " + totalProductosVendidos);
+        System.out.println("Total recaudado por todos los vendedores: $"
+                + FormatoMoneda.formatear(ranking.getTotalRecaudadoCentavos()));
+        System.out.println("Total de productos vendidos: " + ranking.getTotalProductosVendidos());
 
         // Mostrar mejor vendedor
-        if (!vendedores.isEmpty()) {
-            Vendedor mejorVendedor = Collections.max(vendedores, Comparator.comparing(Vendedor::getDineroRecaudado));
+        Vendedor mejorVendedor = ranking.getMejorVendedor();
+        if (mejorVendedor != null) {
             System.out.println("Mejor vendedor: " + mejorVendedor.getNombreCompleto() +
-                    " ($" + decimalFormat.format(mejorVendedor.getDineroRecaudado()) + ")");
+                    " ($" + FormatoMoneda.formatear(mejorVendedor.getDineroRecaudadoCentavos()) + ")");
         }
 
         // Mostrar producto más vendido
-        if (!productos.isEmpty()) {
-            Producto productoMasVendido = Collections.max(productos,
-                    Comparator.comparing(Producto::getCantidadVendida));
+        Producto productoMasVendido = ranking.getProductoMasVendido();
+        if (productoMasVendido != null) {
             System.out.println("Producto más vendido: " + productoMasVendido.getNombre() +
                     " (" + productoMasVendido.getCantidadVendida() + " unidades)");
         }
     }
-}
\ No newline at end of file
+}
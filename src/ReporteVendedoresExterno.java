@@ -0,0 +1,289 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Clase que escribe el reporte completo de vendedores ordenado por dinero
+ * recaudado con un ordenamiento externo, usando como máximo un presupuesto de
+ * memoria del heap fijo, sin importar cuántos vendedores haya.
+ *
+ * El ordenamiento se hace en dos fases:
+ * - Tramos: los slots se recorren en grupos que caben en el presupuesto; cada
+ * grupo se ordena en memoria con {@link SeleccionTopK} (centavos de mayor a
+ * menor, y en empates el slot menor, igual que el reporte en memoria) y se
+ * escribe en un archivo temporal como pares centavos (long) y slot (int).
+ * - Mezcla: los tramos se mezclan leyendo la cabeza de cada uno con un
+ * montículo. Si hay más tramos que buffers de lectura caben en el
+ * presupuesto, se mezclan por grupos en tramos más largos hasta que queden
+ * pocos.
+ *
+ * Solo se leen los nombres (desde el índice) al escribir cada línea del
+ * reporte, así que el resultado es idéntico al de
+ * {@link ReportGenerator#generarReporteVendedores}. Si todos los slots caben
+ * en un solo tramo, el reporte se escribe sin archivos temporales.
+ */
+public class ReporteVendedoresExterno {
+
+    /** Bytes del heap por vendedor al ordenar un tramo (montículo y resultado) */
+    private static final int BYTES_POR_VENDEDOR = 8 + 8 + 4 + 4;
+
+    /** Buffer mínimo de lectura o escritura de un tramo */
+    private static final int BUFFER_MINIMO = 8 * 1024;
+
+    /** Buffer máximo de lectura o escritura de un tramo */
+    private static final int BUFFER_MAXIMO = 1024 * 1024;
+
+    /**
+     * Constructor privado: la clase solo tiene métodos estáticos.
+     */
+    private ReporteVendedoresExterno() {
+    }
+
+    /**
+     * Escribe el reporte de vendedores ordenado por dinero recaudado (mayor a
+     * menor).
+     * El archivo contiene: NombreCompletoVendedor;DineroRecaudado
+     *
+     * @param vendedores        Índice de vendedores (en memoria o en disco)
+     * @param nombreArchivo     Nombre del archivo a generar
+     * @param presupuestoBytes  Memoria del heap que puede usar el ordenamiento
+     * @param directorioTramos  Carpeta donde se escriben los tramos temporales
+     * @return Número de tramos que se escribieron en disco (0 si cupo todo)
+     * @throws IOException Si ocurre un error al escribir el reporte o los tramos
+     */
+    public static int escribir(AlmacenVendedores vendedores, String nombreArchivo, long presupuestoBytes,
+            Path directorioTramos) throws IOException {
+        int total = vendedores.getTotal();
+        int porTramo = (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, presupuestoBytes / BYTES_POR_VENDEDOR));
+
+        if (total <= porTramo) {
+            int[] orden = ordenarTramo(vendedores, 0, total);
+            try (EscritorBytes escritor = new EscritorBytes().abrir(nombreArchivo)) {
+                for (int slot : orden) {
+                    escribirLinea(escritor, vendedores, slot);
+                }
+            }
+            return 0;
+        }
+
+        int bufferEscritura = limitarBuffer(presupuestoBytes / 4);
+        List<Path> tramos = new ArrayList<>();
+        // Todos los temporales creados, para borrarlos aunque la mezcla falle
+        List<Path> temporales = new ArrayList<>();
+        try {
+            for (int inicio = 0; inicio < total; inicio += porTramo) {
+                int[] orden = ordenarTramo(vendedores, inicio, Math.min(total, inicio + porTramo));
+                Path tramo = Files.createTempFile(directorioTramos, "tramo", ".tmp");
+                tramos.add(tramo);
+                temporales.add(tramo);
+                try (DataOutputStream salida = new DataOutputStream(
+                        new BufferedOutputStream(new FileOutputStream(tramo.toFile()), bufferEscritura))) {
+                    for (int slot : orden) {
+                        salida.writeLong(vendedores.getDineroRecaudadoCentavos(slot));
+                        salida.writeInt(slot);
+                    }
+                }
+            }
+            int tramosEscritos = tramos.size();
+
+            // Cada tramo abierto usa un buffer de lectura; la salida, otro
+            int maximoAbiertos = (int) Math.max(2, presupuestoBytes / BUFFER_MINIMO - 1);
+            while (tramos.size() > maximoAbiertos) {
+                List<Path> siguientes = new ArrayList<>();
+                for (int i = 0; i < tramos.size(); i += maximoAbiertos) {
+                    List<Path> grupo = tramos.subList(i, Math.min(tramos.size(), i + maximoAbiertos));
+                    Path mezclado = Files.createTempFile(directorioTramos, "tramo", ".tmp");
+                    siguientes.add(mezclado);
+                    temporales.add(mezclado);
+                    try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(
+                            new FileOutputStream(mezclado.toFile()), BUFFER_MINIMO))) {
+                        mezclar(grupo, presupuestoBytes, (centavos, slot) -> {
+                            salida.writeLong(centavos);
+                            salida.writeInt(slot);
+                        });
+                    }
+                    borrar(grupo);
+                    tramosEscritos++;
+                }
+                tramos = siguientes;
+            }
+
+            try (EscritorBytes escritor = new EscritorBytes(bufferEscritura).abrir(nombreArchivo)) {
+                mezclar(tramos, presupuestoBytes, (centavos, slot) -> escribirLinea(escritor, vendedores, slot));
+            }
+            return tramosEscritos;
+        } finally {
+            borrar(temporales);
+        }
+    }
+
+    /**
+     * Ordena un rango de slots por dinero recaudado, de mayor a menor.
+     *
+     * @param vendedores Índice de vendedores
+     * @param inicio     Primer slot del rango
+     * @param fin        Slot siguiente al último del rango
+     * @return Slots del rango ordenados
+     */
+    private static int[] ordenarTramo(AlmacenVendedores vendedores, int inicio, int fin) {
+        SeleccionTopK seleccion = new SeleccionTopK(fin - inicio);
+        for (int slot = inicio; slot < fin; slot++) {
+            // Empates: primero el que aparece antes en vendedores.txt
+            seleccion.ofrecer(vendedores.getDineroRecaudadoCentavos(slot), slot, slot);
+        }
+        return seleccion.extraerOrdenados();
+    }
+
+    /**
+     * Mezcla tramos ya ordenados y entrega sus registros en orden global.
+     *
+     * @param tramos           Archivos de los tramos
+     * @param presupuestoBytes Memoria que pueden usar los buffers de lectura
+     * @param destino          Acción que recibe cada registro
+     * @throws IOException Si ocurre un error al leer un tramo o en el destino
+     */
+    private static void mezclar(List<Path> tramos, long presupuestoBytes, Destino destino) throws IOException {
+        int bufferLectura = limitarBuffer(presupuestoBytes / (tramos.size() + 1));
+        PriorityQueue<Cabeza> cabezas = new PriorityQueue<>(tramos.size());
+        try {
+            for (Path tramo : tramos) {
+                Cabeza cabeza = new Cabeza(new DataInputStream(
+                        new BufferedInputStream(new FileInputStream(tramo.toFile()), bufferLectura)));
+                if (cabeza.avanzar()) {
+                    cabezas.add(cabeza);
+                } else {
+                    cabeza.entrada.close();
+                }
+            }
+
+            while (!cabezas.isEmpty()) {
+                Cabeza mejor = cabezas.poll();
+                destino.recibir(mejor.centavos, mejor.slot);
+                if (mejor.avanzar()) {
+                    cabezas.add(mejor);
+                } else {
+                    mejor.entrada.close();
+                }
+            }
+        } finally {
+            for (Cabeza cabeza : cabezas) {
+                cabeza.entrada.close();
+            }
+        }
+    }
+
+    /**
+     * Escribe una línea del reporte con el nombre y la recaudación de un slot.
+     *
+     * @param escritor   Escritor del reporte
+     * @param vendedores Índice de vendedores
+     * @param slot       Slot del vendedor
+     * @throws IOException Si ocurre un error al escribir
+     */
+    private static void escribirLinea(EscritorBytes escritor, AlmacenVendedores vendedores, int slot)
+            throws IOException {
+        escritor.escribirTexto(vendedores.getNombres(slot));
+        escritor.escribirByte(' ');
+        escritor.escribirTexto(vendedores.getApellidos(slot));
+        escritor.escribirByte(';');
+        escritor.escribirCentavos(vendedores.getDineroRecaudadoCentavos(slot));
+        escritor.nuevaLinea();
+    }
+
+    /**
+     * Ajusta el tamaño de un buffer a los límites permitidos.
+     *
+     * @param bytes Tamaño deseado
+     * @return Tamaño entre BUFFER_MINIMO y BUFFER_MAXIMO
+     */
+    private static int limitarBuffer(long bytes) {
+        return (int) Math.max(BUFFER_MINIMO, Math.min(BUFFER_MAXIMO, bytes));
+    }
+
+    /**
+     * Borra archivos de tramos que ya no se necesitan.
+     *
+     * @param tramos Archivos a borrar
+     * @throws IOException Si un archivo no puede borrarse
+     */
+    private static void borrar(List<Path> tramos) throws IOException {
+        for (Path tramo : tramos) {
+            Files.deleteIfExists(tramo);
+        }
+    }
+
+    /**
+     * Acción que recibe los registros mezclados en orden.
+     */
+    private interface Destino {
+
+        /**
+         * Recibe el siguiente registro.
+         *
+         * @param centavos Dinero recaudado del vendedor
+         * @param slot     Slot del vendedor
+         * @throws IOException Si ocurre un error al escribirlo
+         */
+        void recibir(long centavos, int slot) throws IOException;
+    }
+
+    /**
+     * Registro actual de un tramo abierto durante la mezcla. El montículo
+     * saca primero la mayor recaudación y, en empates, el slot menor.
+     */
+    private static class Cabeza implements Comparable<Cabeza> {
+
+        /** Lectura del tramo */
+        final DataInputStream entrada;
+
+        /** Dinero recaudado del registro actual */
+        long centavos;
+
+        /** Slot del registro actual */
+        int slot;
+
+        /**
+         * Constructor para un tramo todavía sin leer.
+         *
+         * @param entrada Lectura del tramo
+         */
+        Cabeza(DataInputStream entrada) {
+            this.entrada = entrada;
+        }
+
+        /**
+         * Lee el siguiente registro del tramo.
+         *
+         * @return true si había un registro, false al final del tramo
+         * @throws IOException Si ocurre un error al leer o el tramo está
+         *                     truncado
+         */
+        boolean avanzar() throws IOException {
+            try {
+                centavos = entrada.readLong();
+            } catch (EOFException e) {
+                return false;
+            }
+            slot = entrada.readInt();
+            return true;
+        }
+
+        @Override
+        public int compareTo(Cabeza otra) {
+            if (centavos != otra.centavos) {
+                return Long.compare(otra.centavos, centavos);
+            }
+            return Integer.compare(slot, otra.slot);
+        }
+    }
+}
@@ -0,0 +1,496 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Clase que representa el resultado parcial de leer un archivo de ventas.
+ * Guarda las ventas válidas del archivo y las líneas rechazadas sin
+ * modificar los totales de productos y vendedores, de modo que varios hilos
+ * puedan leer archivos al mismo tiempo.
+ *
+ * Los totales se actualizan después con {@link #aplicar} desde un único hilo y
+ * en el orden original de los archivos. Los rechazos se guardan como
+ * categoría, línea y valor en arreglos primitivos, sin construir textos, y los
+ * reporta {@link DiagnosticoVentas}.
+ */
+public class ResultadoArchivoVenta {
+
+    /** Nombre del archivo de ventas procesado */
+    private String nombreArchivo;
+
+    /** Slot del vendedor dueño del archivo (NO_ENCONTRADO si no es válido) */
+    private int slotVendedor;
+
+    /** Slots de los productos vendidos, en el orden del archivo */
+    private int[] slotsProducto;
+
+    /** Cantidades vendidas, en paralelo con el arreglo de productos */
+    private int[] cantidades;
+
+    /** Número de ventas válidas almacenadas */
+    private int totalVentas;
+
+    /** Categoría de cada rechazo (ver DiagnosticoVentas), en orden de aparición */
+    private byte[] categoriasRechazo;
+
+    /** Línea de cada rechazo (0 si no corresponde a una línea) */
+    private int[] lineasRechazo;
+
+    /** Valor de cada rechazo (ID de producto o documento, según la categoría) */
+    private long[] valoresRechazo;
+
+    /** Contenido de cada línea rechazada (null si no se guardó) */
+    private String[] textosRechazo;
+
+    /** Número de rechazos */
+    private int totalRechazos;
+
+    /** Error de lectura o desbordamiento que impidió procesar el archivo (null si no hubo) */
+    private String error;
+
+    /** Tamaño del archivo en bytes al momento de leerlo */
+    private long tamano;
+
+    /** Fecha de modificación del archivo al momento de leerlo */
+    private long fechaModificacion;
+
+    /** Huella CRC32C del contenido (solo si se solicitó al leer) */
+    private long huella;
+
+    /** Líneas con formato inválido (incluida una primera línea inválida) */
+    private int lineasInvalidas;
+
+    /** Ventas descartadas por un ID de producto desconocido */
+    private int productosDesconocidos;
+
+    /** Bytes leídos del archivo */
+    private long bytesLeidos;
+
+    /** Líneas leídas del archivo (en un binario, el vendedor más las ventas) */
+    private int lineasLeidas;
+
+    /** Nanosegundos que tomó leer el archivo */
+    private long nanosLectura;
+
+    /** Bytes reservados en memoria al leer el archivo (-1 si no se midió) */
+    private long bytesAsignados;
+
+    /** Identificador del hilo que leyó el archivo */
+    private long idHiloLector;
+
+    /**
+     * Constructor para crear un resultado vacío asociado a un archivo.
+     *
+     * @param nombreArchivo Nombre del archivo de ventas
+     */
+    public ResultadoArchivoVenta(String nombreArchivo) {
+        this.nombreArchivo = nombreArchivo;
+        this.slotVendedor = IndiceVendedores.NO_ENCONTRADO;
+        this.slotsProducto = new int[16];
+        this.cantidades = new int[16];
+        this.totalVentas = 0;
+    }
+
+    /**
+     * Obtiene el nombre del archivo de ventas.
+     *
+     * @return Nombre del archivo
+     */
+    public String getNombreArchivo() {
+        return nombreArchivo;
+    }
+
+    /**
+     * Obtiene el slot del vendedor dueño del archivo.
+     * 
+     * @return Slot del vendedor, o NO_ENCONTRADO si el archivo no tiene un
+     *         vendedor válido
+     */
+    public int getSlotVendedor() {
+        return slotVendedor;
+    }
+
+    /**
+     * Establece el vendedor dueño del archivo.
+     *
+     * @param slotVendedor Slot del vendedor identificado en la primera línea
+     */
+    public void setSlotVendedor(int slotVendedor) {
+        this.slotVendedor = slotVendedor;
+    }
+
+    /**
+     * Registra un error de lectura del archivo.
+     *
+     * @param error Mensaje del error
+     */
+    public void setError(String error) {
+        this.error = error;
+        agregarRechazo(DiagnosticoVentas.ERROR_LECTURA, 0, 0, null);
+    }
+
+    /**
+     * Obtiene el error de lectura del archivo.
+     *
+     * @return Mensaje del error, o null si el archivo se leyó completo
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Registra los metadatos del archivo leído.
+     *
+     * @param tamano            Tamaño del archivo en bytes
+     * @param fechaModificacion Fecha de modificación en milisegundos
+     * @param huella            Huella CRC32C del contenido
+     */
+    public void setMetadatos(long tamano, long fechaModificacion, long huella) {
+        this.tamano = tamano;
+        this.fechaModificacion = fechaModificacion;
+        this.huella = huella;
+    }
+
+    /**
+     * Obtiene el tamaño del archivo al momento de leerlo.
+     *
+     * @return Tamaño en bytes
+     */
+    public long getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Obtiene la fecha de modificación del archivo al momento de leerlo.
+     *
+     * @return Fecha en milisegundos desde la época
+     */
+    public long getFechaModificacion() {
+        return fechaModificacion;
+    }
+
+    /**
+     * Obtiene la huella CRC32C del contenido del archivo.
+     *
+     * @return Huella del contenido
+     */
+    public long getHuella() {
+        return huella;
+    }
+
+    /**
+     * Registra la medición de la lectura del archivo (ver
+     * {@link MetricasEjecucion}).
+     *
+     * @param bytesLeidos    Bytes leídos del archivo
+     * @param lineasLeidas   Líneas leídas del archivo
+     * @param nanosLectura   Nanosegundos que tomó leerlo
+     * @param bytesAsignados Bytes reservados en memoria al leerlo (-1 si no se
+     *                       midió)
+     */
+    public void setMedicion(long bytesLeidos, int lineasLeidas, long nanosLectura, long bytesAsignados) {
+        this.bytesLeidos = bytesLeidos;
+        this.lineasLeidas = lineasLeidas;
+        this.nanosLectura = nanosLectura;
+        this.bytesAsignados = bytesAsignados;
+        this.idHiloLector = Thread.currentThread().getId();
+    }
+
+    /**
+     * Obtiene los bytes leídos del archivo.
+     *
+     * @return Bytes leídos
+     */
+    public long getBytesLeidos() {
+        return bytesLeidos;
+    }
+
+    /**
+     * Obtiene las líneas leídas del archivo.
+     *
+     * @return Líneas leídas
+     */
+    public int getLineasLeidas() {
+        return lineasLeidas;
+    }
+
+    /**
+     * Obtiene el tiempo que tomó leer el archivo.
+     *
+     * @return Tiempo de lectura, en nanosegundos
+     */
+    public long getNanosLectura() {
+        return nanosLectura;
+    }
+
+    /**
+     * Obtiene los bytes reservados en memoria por el hilo que leyó el archivo.
+     *
+     * @return Bytes reservados, o -1 si no se midieron
+     */
+    public long getBytesAsignados() {
+        return bytesAsignados;
+    }
+
+    /**
+     * Obtiene el identificador del hilo que leyó el archivo.
+     *
+     * @return Identificador del hilo
+     */
+    public long getIdHiloLector() {
+        return idHiloLector;
+    }
+
+    /**
+     * Obtiene el número de líneas con formato inválido.
+     *
+     * @return Líneas inválidas
+     */
+    public int getLineasInvalidas() {
+        return lineasInvalidas;
+    }
+
+    /**
+     * Obtiene el número de ventas descartadas por un producto desconocido.
+     *
+     * @return Ventas con producto desconocido
+     */
+    public int getProductosDesconocidos() {
+        return productosDesconocidos;
+    }
+
+    /**
+     * Obtiene el número de ventas válidas del archivo.
+     *
+     * @return Número de ventas
+     */
+    public int getTotalVentas() {
+        return totalVentas;
+    }
+
+    /**
+     * Obtiene el slot del producto de una venta.
+     *
+     * @param indice Índice de la venta (0 a getTotalVentas() - 1)
+     * @return Slot del producto vendido
+     */
+    public int getSlotProducto(int indice) {
+        return slotsProducto[indice];
+    }
+
+    /**
+     * Obtiene la cantidad de una venta.
+     *
+     * @param indice Índice de la venta (0 a getTotalVentas() - 1)
+     * @return Cantidad vendida
+     */
+    public int getCantidad(int indice) {
+        return cantidades[indice];
+    }
+
+    /**
+     * Indica si el archivo se leyó sin errores de entrada/salida y sus ventas
+     * pudieron sumarse sin desbordamiento.
+     *
+     * @return true si el archivo pudo leerse
+     */
+    public boolean isLeido() {
+        return error == null;
+    }
+
+    /**
+     * Agrega una venta válida al resultado.
+     *
+     * @param slotProducto Slot del producto vendido
+     * @param cantidad     Cantidad vendida
+     */
+    public void agregarVenta(int slotProducto, int cantidad) {
+        if (totalVentas == slotsProducto.length) {
+            slotsProducto = Arrays.copyOf(slotsProducto, totalVentas * 2);
+            cantidades = Arrays.copyOf(cantidades, totalVentas * 2);
+        }
+        slotsProducto[totalVentas] = slotProducto;
+        cantidades[totalVentas] = cantidad;
+        totalVentas++;
+    }
+
+    /**
+     * Agrega un rechazo (una línea descartada o un problema del archivo).
+     *
+     * @param categoria Categoría del rechazo (constantes de DiagnosticoVentas)
+     * @param linea     Número de línea (0 si no corresponde a una línea)
+     * @param valor     ID de producto o documento del vendedor, según la
+     *                  categoría (0 si no aplica)
+     * @param texto     Contenido de la línea, o null si no se guarda
+     */
+    public void agregarRechazo(int categoria, int linea, long valor, String texto) {
+        if (categoriasRechazo == null) {
+            // La mayoría de los archivos no tiene rechazos: los arreglos se crean al primero
+            categoriasRechazo = new byte[4];
+            lineasRechazo = new int[4];
+            valoresRechazo = new long[4];
+        } else if (totalRechazos == categoriasRechazo.length) {
+            categoriasRechazo = Arrays.copyOf(categoriasRechazo, totalRechazos * 2);
+            lineasRechazo = Arrays.copyOf(lineasRechazo, totalRechazos * 2);
+            valoresRechazo = Arrays.copyOf(valoresRechazo, totalRechazos * 2);
+        }
+        if (texto != null) {
+            if (textosRechazo == null) {
+                textosRechazo = new String[categoriasRechazo.length];
+            } else if (textosRechazo.length < categoriasRechazo.length) {
+                textosRechazo = Arrays.copyOf(textosRechazo, categoriasRechazo.length);
+            }
+            textosRechazo[totalRechazos] = texto;
+        }
+        categoriasRechazo[totalRechazos] = (byte) categoria;
+        lineasRechazo[totalRechazos] = linea;
+        valoresRechazo[totalRechazos] = valor;
+        totalRechazos++;
+
+        if (categoria == DiagnosticoVentas.PRODUCTO_DESCONOCIDO) {
+            productosDesconocidos++;
+        } else if (categoria != DiagnosticoVentas.ARCHIVO_VACIO && categoria != DiagnosticoVentas.VENDEDOR_DESCONOCIDO
+                && categoria != DiagnosticoVentas.ERROR_LECTURA && categoria != DiagnosticoVentas.DESBORDAMIENTO) {
+            lineasInvalidas++;
+        }
+    }
+
+    /**
+     * Obtiene el número de rechazos.
+     *
+     * @return Número de rechazos
+     */
+    public int getTotalRechazos() {
+        return totalRechazos;
+    }
+
+    /**
+     * Obtiene la categoría de un rechazo.
+     *
+     * @param indice Índice del rechazo (0 a getTotalRechazos() - 1)
+     * @return Categoría (constantes de DiagnosticoVentas)
+     */
+    public int getCategoriaRechazo(int indice) {
+        return categoriasRechazo[indice];
+    }
+
+    /**
+     * Obtiene la línea de un rechazo.
+     *
+     * @param indice Índice del rechazo (0 a getTotalRechazos() - 1)
+     * @return Número de línea (0 si no corresponde a una línea)
+     */
+    public int getLineaRechazo(int indice) {
+        return lineasRechazo[indice];
+    }
+
+    /**
+     * Obtiene el valor de un rechazo.
+     *
+     * @param indice Índice del rechazo (0 a getTotalRechazos() - 1)
+     * @return ID de producto o documento del vendedor, según la categoría
+     */
+    public long getValorRechazo(int indice) {
+        return valoresRechazo[indice];
+    }
+
+    /**
+     * Obtiene el contenido de la línea de un rechazo.
+     *
+     * @param indice Índice del rechazo (0 a getTotalRechazos() - 1)
+     * @return Contenido de la línea, o null si no se guardó
+     */
+    public String getTextoRechazo(int indice) {
+        return textosRechazo != null && indice < textosRechazo.length ? textosRechazo[indice] : null;
+    }
+
+    /**
+     * Suma las ventas del archivo a los totales de productos y vendedor. Si
+     * hubo un error de lectura, se aplican las ventas leídas antes del error,
+     * igual que en el procesamiento secuencial. La recaudación del vendedor se
+     * suma una sola vez por archivo, así que su ranking (si está activado) se
+     * actualiza una vez y no por cada venta. Debe llamarse desde un solo hilo.
+     *
+     * Antes de modificar nada se verifican el monto de cada venta, la nueva
+     * recaudación del vendedor y la nueva cantidad de cada producto: si alguno
+     * se desborda se lanza una excepción y los totales quedan como estaban.
+     *
+     * @param catalogo   Catálogo de productos a actualizar
+     * @param vendedores Índice de vendedores a actualizar
+     * @throws ArithmeticException Si el monto de una venta, la recaudación del
+     *                             vendedor o la cantidad de un producto no
+     *                             caben en su tipo; no se aplica ninguna venta
+     */
+    public void aplicar(CatalogoProductos catalogo, AlmacenVendedores vendedores) {
+        if (totalVentas == 0) {
+            return;
+        }
+        long recaudacionVendedor;
+        try {
+            long recaudacion = 0;
+            for (int i = 0; i < totalVentas; i++) {
+                recaudacion = Math.addExact(recaudacion,
+                        Math.multiplyExact(catalogo.getPrecioCentavos(slotsProducto[i]), cantidades[i]));
+            }
+            recaudacionVendedor = Math.addExact(vendedores.getDineroRecaudadoCentavos(slotVendedor), recaudacion);
+            verificarCantidades(catalogo);
+        } catch (ArithmeticException e) {
+            ArithmeticException desbordamiento = new ArithmeticException(
+                    "Desbordamiento al sumar las ventas de " + nombreArchivo);
+            desbordamiento.initCause(e);
+            throw desbordamiento;
+        }
+
+        for (int i = 0; i < totalVentas; i++) {
+            catalogo.sumarVenta(slotsProducto[i], cantidades[i]);
+        }
+        vendedores.setDineroRecaudadoCentavos(slotVendedor, recaudacionVendedor);
+    }
+
+    /**
+     * Verifica que la cantidad vendida de cada producto siga cabiendo en un
+     * int después de sumar las ventas del archivo, sin modificar el catálogo.
+     *
+     * @param catalogo Catálogo de productos
+     * @throws ArithmeticException Si la cantidad de un producto se desborda
+     */
+    private void verificarCantidades(CatalogoProductos catalogo) {
+        // Caso común: ni sumando todas las cantidades del archivo a un mismo
+        // producto se sale del rango, así que no hace falta agruparlas
+        long maximo = 0;
+        for (int i = 0; i < totalVentas; i++) {
+            maximo += Math.abs((long) cantidades[i]);
+        }
+        boolean holgado = true;
+        for (int i = 0; i < totalVentas && holgado; i++) {
+            long actual = catalogo.getCantidadVendida(slotsProducto[i]);
+            holgado = actual + maximo <= Integer.MAX_VALUE && actual - maximo >= Integer.MIN_VALUE;
+        }
+        if (holgado) {
+            return;
+        }
+
+        Map<Integer, Long> nuevas = new HashMap<>();
+        for (int i = 0; i < totalVentas; i++) {
+            int slotProducto = slotsProducto[i];
+            long anterior = nuevas.getOrDefault(slotProducto, (long) catalogo.getCantidadVendida(slotProducto));
+            nuevas.put(slotProducto, anterior + cantidades[i]);
+        }
+        for (long nueva : nuevas.values()) {
+            Math.toIntExact(nueva);
+        }
+    }
+
+    /**
+     * Descarta las ventas del archivo porque sumarlas desbordaría un total
+     * (ver {@link #aplicar}). El archivo queda como no leído, con el
+     * desbordamiento como rechazo, y no aporta nada a los totales.
+     *
+     * @param mensaje Descripción del desbordamiento
+     */
+    public void descartarPorDesbordamiento(String mensaje) {
+        this.error = mensaje;
+        this.totalVentas = 0;
+        agregarRechazo(DiagnosticoVentas.DESBORDAMIENTO, 0, 0, null);
+    }
+}
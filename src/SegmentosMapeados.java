@@ -0,0 +1,200 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase que guarda un arreglo de bytes creciente fuera del heap, repartido en
+ * archivos de segmento proyectados en memoria (PREFIJO_N.seg).
+ *
+ * Cada segmento es un archivo de tamaño fijo (potencia de dos) proyectado con
+ * FileChannel.map en modo lectura y escritura. Las páginas las administra el
+ * sistema operativo: se cargan al usarse y se escriben al disco cuando hace
+ * falta memoria, así que el contenido puede ser mucho mayor que el heap y
+ * que la memoria física. En el heap solo queda la lista de segmentos.
+ *
+ * Los long y los int se leen y escriben en posiciones alineadas a su tamaño,
+ * por lo que nunca quedan partidos entre dos segmentos; los arreglos de bytes
+ * sí pueden cruzar de un segmento al siguiente.
+ *
+ * Las lecturas pueden hacerse desde varios hilos a la vez (solo usan
+ * posiciones absolutas); las escrituras y el crecimiento, desde un solo hilo.
+ * Los archivos se borran al cerrar.
+ */
+public class SegmentosMapeados implements Closeable {
+
+    /** Bits del tamaño de cada segmento por defecto (64 MB) */
+    static final int BITS_SEGMENTO = 26;
+
+    /** Carpeta de los archivos de segmento */
+    private final Path directorio;
+
+    /** Prefijo del nombre de los archivos de segmento */
+    private final String prefijo;
+
+    /** Bits del tamaño de cada segmento */
+    private final int bitsSegmento;
+
+    /** Máscara de la posición dentro de un segmento */
+    private final long mascara;
+
+    /** Segmentos proyectados, en orden */
+    private final List<MappedByteBuffer> segmentos;
+
+    /** Archivos de los segmentos, para borrarlos al cerrar */
+    private final List<Path> archivos;
+
+    /**
+     * Constructor para crear un arreglo vacío con segmentos de 64 MB.
+     *
+     * @param directorio Carpeta donde se crean los archivos de segmento
+     * @param prefijo    Prefijo del nombre de los archivos
+     */
+    public SegmentosMapeados(Path directorio, String prefijo) {
+        this(directorio, prefijo, BITS_SEGMENTO);
+    }
+
+    /**
+     * Constructor para crear un arreglo vacío.
+     *
+     * @param directorio   Carpeta donde se crean los archivos de segmento
+     * @param prefijo      Prefijo del nombre de los archivos
+     * @param bitsSegmento Bits del tamaño de cada segmento (de 12 a 30)
+     */
+    public SegmentosMapeados(Path directorio, String prefijo, int bitsSegmento) {
+        this.directorio = directorio;
+        this.prefijo = prefijo;
+        this.bitsSegmento = bitsSegmento;
+        this.mascara = (1L << bitsSegmento) - 1;
+        this.segmentos = new ArrayList<>();
+        this.archivos = new ArrayList<>();
+    }
+
+    /**
+     * Asegura que existan los segmentos hasta una posición, creando y
+     * proyectando los que falten. Los bytes nuevos valen cero.
+     *
+     * @param capacidad Bytes que deben poder usarse desde la posición 0
+     * @throws IOException Si no puede crearse o proyectarse un segmento
+     */
+    public void asegurar(long capacidad) throws IOException {
+        while ((long) segmentos.size() << bitsSegmento < capacidad) {
+            Path archivo = directorio.resolve(prefijo + "_" + segmentos.size() + ".seg");
+            try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                archivos.add(archivo);
+                // Proyectar más allá del final agranda el archivo (con ceros, sin escribirlos)
+                segmentos.add(canal.map(FileChannel.MapMode.READ_WRITE, 0, 1L << bitsSegmento));
+            }
+        }
+    }
+
+    /**
+     * Obtiene los bytes disponibles sin crear segmentos nuevos.
+     *
+     * @return Capacidad en bytes
+     */
+    public long getCapacidad() {
+        return (long) segmentos.size() << bitsSegmento;
+    }
+
+    /**
+     * Lee un long.
+     *
+     * @param posicion Posición, múltiplo de 8
+     * @return Valor guardado
+     */
+    public long getLong(long posicion) {
+        return segmentos.get((int) (posicion >>> bitsSegmento)).getLong((int) (posicion & mascara));
+    }
+
+    /**
+     * Escribe un long.
+     *
+     * @param posicion Posición, múltiplo de 8
+     * @param valor    Valor a guardar
+     */
+    public void putLong(long posicion, long valor) {
+        segmentos.get((int) (posicion >>> bitsSegmento)).putLong((int) (posicion & mascara), valor);
+    }
+
+    /**
+     * Lee un int.
+     *
+     * @param posicion Posición, múltiplo de 4
+     * @return Valor guardado
+     */
+    public int getInt(long posicion) {
+        return segmentos.get((int) (posicion >>> bitsSegmento)).getInt((int) (posicion & mascara));
+    }
+
+    /**
+     * Escribe un int.
+     *
+     * @param posicion Posición, múltiplo de 4
+     * @param valor    Valor a guardar
+     */
+    public void putInt(long posicion, int valor) {
+        segmentos.get((int) (posicion >>> bitsSegmento)).putInt((int) (posicion & mascara), valor);
+    }
+
+    /**
+     * Copia bytes desde el arreglo, pasando al segmento siguiente si hace
+     * falta.
+     *
+     * @param posicion Posición del primer byte
+     * @param origen   Bytes a copiar
+     */
+    public void putBytes(long posicion, byte[] origen) {
+        int copiados = 0;
+        while (copiados < origen.length) {
+            MappedByteBuffer segmento = segmentos.get((int) (posicion >>> bitsSegmento));
+            int inicio = (int) (posicion & mascara);
+            int tramo = Math.min(origen.length - copiados, segmento.capacity() - inicio);
+            segmento.put(inicio, origen, copiados, tramo);
+            copiados += tramo;
+            posicion += tramo;
+        }
+    }
+
+    /**
+     * Copia bytes hacia un arreglo, pasando al segmento siguiente si hace
+     * falta.
+     *
+     * @param posicion Posición del primer byte
+     * @param destino  Arreglo que se llena por completo
+     */
+    public void getBytes(long posicion, byte[] destino) {
+        int copiados = 0;
+        while (copiados < destino.length) {
+            MappedByteBuffer segmento = segmentos.get((int) (posicion >>> bitsSegmento));
+            int inicio = (int) (posicion & mascara);
+            int tramo = Math.min(destino.length - copiados, segmento.capacity() - inicio);
+            segmento.get(inicio, destino, copiados, tramo);
+            copiados += tramo;
+            posicion += tramo;
+        }
+    }
+
+    /**
+     * Descarta los segmentos y borra sus archivos. En sistemas que no permiten
+     * borrar un archivo proyectado, se borra al terminar el programa.
+     */
+    @Override
+    public void close() {
+        segmentos.clear();
+        for (Path archivo : archivos) {
+            try {
+                Files.deleteIfExists(archivo);
+            } catch (IOException e) {
+                archivo.toFile().deleteOnExit();
+            }
+        }
+        archivos.clear();
+    }
+}
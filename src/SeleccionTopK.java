@@ -0,0 +1,180 @@
+/**
+ * Clase que selecciona los K mejores elementos de una secuencia sin ordenarla
+ * completa, usando un montículo mínimo de tamaño acotado.
+ *
+ * Cada elemento se identifica por su slot y se compara por una clave (mayor es
+ * mejor) y, en caso de empate, por un valor de desempate (menor es mejor). El
+ * montículo conserva en la raíz el peor de los K elegidos, de modo que cada
+ * elemento nuevo se compara con él y solo entra si lo supera: O(n log k) en
+ * tiempo y O(k) en memoria. Los datos se guardan en arreglos primitivos.
+ *
+ * Con el desempate adecuado el resultado coincide con las primeras K
+ * posiciones de un ordenamiento estable completo.
+ */
+public class SeleccionTopK {
+
+    /** Clave de cada posición del montículo (mayor es mejor) */
+    private final long[] claves;
+
+    /** Desempate de cada posición del montículo (menor es mejor) */
+    private final long[] desempates;
+
+    /** Slot del elemento de cada posición del montículo */
+    private final int[] slots;
+
+    /** Número de elementos en el montículo */
+    private int tamano;
+
+    /**
+     * Constructor para crear una selección vacía.
+     *
+     * @param capacidad Número máximo de elementos a conservar (K)
+     */
+    public SeleccionTopK(int capacidad) {
+        this.claves = new long[capacidad];
+        this.desempates = new long[capacidad];
+        this.slots = new int[capacidad];
+        this.tamano = 0;
+    }
+
+    /**
+     * Ofrece un elemento a la selección. Se conserva si todavía hay espacio o
+     * si es mejor que el peor de los elegidos.
+     *
+     * @param clave     Clave del elemento (mayor es mejor)
+     * @param desempate Valor para ordenar empates (menor es mejor)
+     * @param slot      Slot del elemento
+     */
+    public void ofrecer(long clave, long desempate, int slot) {
+        if (tamano < slots.length) {
+            claves[tamano] = clave;
+            desempates[tamano] = desempate;
+            slots[tamano] = slot;
+            subir(tamano++);
+        } else if (tamano > 0 && esMejor(clave, desempate, claves[0], desempates[0])) {
+            claves[0] = clave;
+            desempates[0] = desempate;
+            slots[0] = slot;
+            bajar(0);
+        }
+    }
+
+    /**
+     * Obtiene el número de elementos seleccionados.
+     *
+     * @return Elementos en la selección (como máximo K)
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Extrae los slots seleccionados ordenados del mejor al peor. La selección
+     * queda vacía después de llamar a este método.
+     *
+     * @return Slots ordenados del mejor al peor
+     */
+    public int[] extraerOrdenados() {
+        int[] resultado = new int[tamano];
+        // La raíz siempre es el peor: se llena el resultado desde el final
+        for (int i = tamano - 1; i >= 0; i--) {
+            resultado[i] = slots[0];
+            tamano--;
+            if (tamano > 0) {
+                mover(tamano, 0);
+                bajar(0);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Indica si un elemento ocupa una posición mejor que otro en el ranking.
+     *
+     * @param clave         Clave del primer elemento
+     * @param desempate     Desempate del primer elemento
+     * @param claveOtro     Clave del segundo elemento
+     * @param desempateOtro Desempate del segundo elemento
+     * @return true si el primer elemento es mejor
+     */
+    private static boolean esMejor(long clave, long desempate, long claveOtro, long desempateOtro) {
+        return clave > claveOtro || (clave == claveOtro && desempate < desempateOtro);
+    }
+
+    /**
+     * Indica si el elemento de una posición del montículo es peor que otro.
+     *
+     * @param a Posición del primer elemento
+     * @param b Posición del segundo elemento
+     * @return true si el elemento de a es peor que el de b
+     */
+    private boolean esPeor(int a, int b) {
+        return esMejor(claves[b], desempates[b], claves[a], desempates[a]);
+    }
+
+    /**
+     * Sube un elemento hacia la raíz mientras sea peor que su padre.
+     *
+     * @param posicion Posición del elemento
+     */
+    private void subir(int posicion) {
+        while (posicion > 0) {
+            int padre = (posicion - 1) >>> 1;
+            if (!esPeor(posicion, padre)) {
+                return;
+            }
+            intercambiar(posicion, padre);
+            posicion = padre;
+        }
+    }
+
+    /**
+     * Baja un elemento hacia las hojas mientras alguno de sus hijos sea peor.
+     *
+     * @param posicion Posición del elemento
+     */
+    private void bajar(int posicion) {
+        while (true) {
+            int hijo = 2 * posicion + 1;
+            if (hijo >= tamano) {
+                return;
+            }
+            if (hijo + 1 < tamano && esPeor(hijo + 1, hijo)) {
+                hijo++;
+            }
+            if (!esPeor(hijo, posicion)) {
+                return;
+            }
+            intercambiar(posicion, hijo);
+            posicion = hijo;
+        }
+    }
+
+    /**
+     * Intercambia dos posiciones del montículo.
+     *
+     * @param a Primera posición
+     * @param b Segunda posición
+     */
+    private void intercambiar(int a, int b) {
+        long clave = claves[a];
+        long desempate = desempates[a];
+        int slot = slots[a];
+        mover(b, a);
+        claves[b] = clave;
+        desempates[b] = desempate;
+        slots[b] = slot;
+    }
+
+    /**
+     * Copia el elemento de una posición del montículo a otra.
+     *
+     * @param origen  Posición de la que se copia
+     * @param destino Posición en la que se escribe
+     */
+    private void mover(int origen, int destino) {
+        claves[destino] = claves[origen];
+        desempates[destino] = desempates[origen];
+        slots[destino] = slots[origen];
+    }
+}
@@ -0,0 +1,326 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP embebido (com.sun.net.httpserver del JDK) que entrega los
+ * rankings y las estadísticas de la última {@link InstantaneaVentas}
+ * publicada, para que otros sistemas no tengan que leer los reportes CSV
+ * mientras se reescriben.
+ *
+ * Rutas (GET o HEAD):
+ * - /vendedores : ranking de vendedores
+ * - /productos : ranking de productos
+ * - /estadisticas : totales y mejores, como en la consola
+ *
+ * Parámetros de los rankings:
+ * - formato=json|csv : por defecto json; el CSV es igual al reporte
+ * - top=N : considera solo las N primeras posiciones (0 = todas)
+ * - pagina=P y tamano=T : entrega la página P (desde 1) de T filas (por
+ * defecto 100, máximo 10000); sin ellos se entrega todo el ranking
+ *
+ * El JSON de un ranking es un objeto con generacion, total, pagina, tamano y
+ * elementos; el CSV informa el total en el encabezado X-Total. Cada respuesta
+ * lleva el número de instantánea como ETag, así que un cliente que consulta
+ * seguido recibe 304 sin cuerpo mientras no haya datos nuevos.
+ *
+ * Cada publicación reemplaza la instantánea con una sola escritura de un campo
+ * volatile: una petición usa la instantánea que leyó al empezar, completa y
+ * consistente, aunque se publique otra mientras responde.
+ */
+public class ServidorVentas {
+
+    /** Filas por página cuando solo se indica la página */
+    private static final int TAMANO_PAGINA = 100;
+
+    /** Máximo de filas por página */
+    private static final int TAMANO_MAXIMO = 10000;
+
+    /** Tipo de contenido de las respuestas JSON */
+    private static final String TIPO_JSON = "application/json; charset=utf-8";
+
+    /** Tipo de contenido de las respuestas CSV */
+    private static final String TIPO_CSV = "text/csv; charset=utf-8";
+
+    /** Servidor HTTP del JDK */
+    private final HttpServer servidor;
+
+    /** Hilos que atienden las peticiones */
+    private final ExecutorService hilos;
+
+    /** Última instantánea publicada (null hasta la primera publicación) */
+    private volatile InstantaneaVentas instantanea;
+
+    /**
+     * Constructor que reserva el puerto. El servidor no atiende peticiones
+     * hasta llamar a {@link #iniciar()}.
+     *
+     * @param puerto Puerto TCP donde escuchar (0 = uno libre)
+     * @param hilos  Número de hilos que atienden peticiones
+     * @throws IOException Si el puerto no puede reservarse
+     */
+    public ServidorVentas(int puerto, int hilos) throws IOException {
+        this.servidor = HttpServer.create(new InetSocketAddress(puerto), 0);
+        this.hilos = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "servidor-ventas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.servidor.setExecutor(this.hilos);
+        this.servidor.createContext("/", this::atender);
+    }
+
+    /**
+     * Empieza a atender peticiones.
+     */
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Deja de atender peticiones y libera el puerto.
+     */
+    public void detener() {
+        servidor.stop(0);
+        hilos.shutdownNow();
+    }
+
+    /**
+     * Obtiene el puerto donde escucha el servidor.
+     *
+     * @return Puerto TCP
+     */
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Reemplaza la instantánea que se entrega. Las peticiones en curso
+     * terminan con la anterior.
+     *
+     * @param nueva Instantánea a publicar
+     */
+    public void publicar(InstantaneaVentas nueva) {
+        this.instantanea = nueva;
+    }
+
+    /**
+     * Atiende una petición HTTP.
+     *
+     * @param intercambio Petición y respuesta
+     * @throws IOException Si ocurre un error al responder
+     */
+    private void atender(HttpExchange intercambio) throws IOException {
+        try {
+            if (!"GET".equals(intercambio.getRequestMethod()) && !"HEAD".equals(intercambio.getRequestMethod())) {
+                intercambio.getResponseHeaders().set("Allow", "GET, HEAD");
+                responderTexto(intercambio, 405, "Método no permitido");
+                return;
+            }
+
+            InstantaneaVentas actual = instantanea;
+            if (actual == null) {
+                intercambio.getResponseHeaders().set("Retry-After", "5");
+                responderTexto(intercambio, 503, "Todavía no hay datos publicados");
+                return;
+            }
+
+            String etiqueta = "\"" + actual.getGeneracion() + "\"";
+            intercambio.getResponseHeaders().set("ETag", etiqueta);
+            intercambio.getResponseHeaders().set("Cache-Control", "no-cache");
+
+            String ruta = intercambio.getRequestURI().getPath();
+            int ranking;
+            switch (ruta) {
+                case "/vendedores":
+                    ranking = InstantaneaVentas.VENDEDORES;
+                    break;
+                case "/productos":
+                    ranking = InstantaneaVentas.PRODUCTOS;
+                    break;
+                case "/estadisticas":
+                    ranking = -1;
+                    break;
+                default:
+                    responderTexto(intercambio, 404, "Rutas disponibles: /vendedores, /productos, /estadisticas");
+                    return;
+            }
+
+            Map<String, String> parametros = leerParametros(intercambio.getRequestURI().getRawQuery());
+            boolean csv = "csv".equals(parametros.getOrDefault("formato", "json"));
+            if (!csv && !"json".equals(parametros.getOrDefault("formato", "json"))) {
+                responderTexto(intercambio, 400, "formato solo admite json o csv");
+                return;
+            }
+            if (etiqueta.equals(intercambio.getRequestHeaders().getFirst("If-None-Match"))) {
+                intercambio.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            if (ranking < 0) {
+                responder(intercambio, csv ? TIPO_CSV : TIPO_JSON,
+                        csv ? actual.getEstadisticasCsv() : actual.getEstadisticasJson());
+            } else {
+                responderRanking(intercambio, actual, ranking, parametros, csv);
+            }
+        } catch (IllegalArgumentException e) {
+            responderTexto(intercambio, 400, e.getMessage());
+        } finally {
+            intercambio.close();
+        }
+    }
+
+    /**
+     * Responde una página de un ranking.
+     *
+     * @param intercambio Petición y respuesta
+     * @param actual      Instantánea a entregar
+     * @param ranking     InstantaneaVentas.VENDEDORES o PRODUCTOS
+     * @param parametros  Parámetros de la petición
+     * @param csv         true para responder en CSV
+     * @throws IOException Si ocurre un error al responder
+     */
+    private static void responderRanking(HttpExchange intercambio, InstantaneaVentas actual, int ranking,
+            Map<String, String> parametros, boolean csv) throws IOException {
+        int filas = actual.getFilas(ranking);
+        int top = leerEntero(parametros, "top", 0);
+        int total = top > 0 ? Math.min(top, filas) : filas;
+
+        boolean paginado = parametros.containsKey("pagina") || parametros.containsKey("tamano");
+        int pagina = Math.max(1, leerEntero(parametros, "pagina", 1));
+        int tamano = paginado
+                ? Math.max(1, Math.min(TAMANO_MAXIMO, leerEntero(parametros, "tamano", TAMANO_PAGINA)))
+                : total;
+        int desde = (int) Math.min(total, (long) (pagina - 1) * tamano);
+        int hasta = (int) Math.min(total, (long) desde + tamano);
+
+        intercambio.getResponseHeaders().set("X-Total", Integer.toString(total));
+        if (csv) {
+            intercambio.getResponseHeaders().set("Content-Type", TIPO_CSV);
+            enviarEncabezados(intercambio, actual.longitudCsv(ranking, desde, hasta));
+            if (!"HEAD".equals(intercambio.getRequestMethod())) {
+                actual.escribirCsv(ranking, desde, hasta, intercambio.getResponseBody());
+            }
+            return;
+        }
+
+        byte[] inicio = ("{\"generacion\":" + actual.getGeneracion() + ",\"total\":" + total + ",\"pagina\":"
+                + pagina + ",\"tamano\":" + tamano + ",\"elementos\":").getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", TIPO_JSON);
+        enviarEncabezados(intercambio, inicio.length + actual.longitudJson(ranking, desde, hasta) + 1);
+        if (!"HEAD".equals(intercambio.getRequestMethod())) {
+            OutputStream cuerpo = intercambio.getResponseBody();
+            cuerpo.write(inicio);
+            actual.escribirJson(ranking, desde, hasta, cuerpo);
+            cuerpo.write('}');
+        }
+    }
+
+    /**
+     * Responde con un cuerpo ya codificado.
+     *
+     * @param intercambio Petición y respuesta
+     * @param tipo        Tipo de contenido
+     * @param cuerpo      Bytes del cuerpo
+     * @throws IOException Si ocurre un error al responder
+     */
+    private static void responder(HttpExchange intercambio, String tipo, byte[] cuerpo) throws IOException {
+        intercambio.getResponseHeaders().set("Content-Type", tipo);
+        enviarEncabezados(intercambio, cuerpo.length);
+        if (!"HEAD".equals(intercambio.getRequestMethod())) {
+            intercambio.getResponseBody().write(cuerpo);
+        }
+    }
+
+    /**
+     * Responde con un mensaje de texto y un código de estado.
+     *
+     * @param intercambio Petición y respuesta
+     * @param estado      Código de estado HTTP
+     * @param mensaje     Mensaje para el cliente
+     * @throws IOException Si ocurre un error al responder
+     */
+    private static void responderTexto(HttpExchange intercambio, int estado, String mensaje) throws IOException {
+        byte[] cuerpo = (mensaje + "\n").getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        if ("HEAD".equals(intercambio.getRequestMethod())) {
+            intercambio.sendResponseHeaders(estado, -1);
+            return;
+        }
+        intercambio.sendResponseHeaders(estado, cuerpo.length);
+        intercambio.getResponseBody().write(cuerpo);
+    }
+
+    /**
+     * Envía el estado 200 y la longitud del cuerpo. En una petición HEAD no se
+     * envía cuerpo.
+     *
+     * @param intercambio Petición y respuesta
+     * @param longitud    Bytes del cuerpo
+     * @throws IOException Si ocurre un error al responder
+     */
+    private static void enviarEncabezados(HttpExchange intercambio, long longitud) throws IOException {
+        if ("HEAD".equals(intercambio.getRequestMethod())) {
+            intercambio.getResponseHeaders().set("Content-Length", Long.toString(longitud));
+            intercambio.sendResponseHeaders(200, -1);
+        } else {
+            // Con 0 la respuesta iría por partes; un cuerpo vacío se indica con -1
+            intercambio.sendResponseHeaders(200, longitud == 0 ? -1 : longitud);
+        }
+    }
+
+    /**
+     * Separa los parámetros de la consulta de una URL.
+     *
+     * @param consulta Parte de la URL después de '?', sin decodificar (puede
+     *                 ser null)
+     * @return Parámetros por nombre
+     */
+    private static Map<String, String> leerParametros(String consulta) {
+        Map<String, String> parametros = new HashMap<>();
+        if (consulta == null || consulta.isEmpty()) {
+            return parametros;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            String clave = igual < 0 ? par : par.substring(0, igual);
+            String valor = igual < 0 ? "" : par.substring(igual + 1);
+            parametros.put(URLDecoder.decode(clave, StandardCharsets.UTF_8),
+                    URLDecoder.decode(valor, StandardCharsets.UTF_8));
+        }
+        return parametros;
+    }
+
+    /**
+     * Lee un parámetro entero no negativo.
+     *
+     * @param parametros Parámetros de la petición
+     * @param clave      Nombre del parámetro
+     * @param porDefecto Valor si el parámetro no está
+     * @return Valor del parámetro
+     * @throws IllegalArgumentException Si el valor no es un entero no negativo
+     */
+    private static int leerEntero(Map<String, String> parametros, String clave, int porDefecto) {
+        String valor = parametros.get(clave);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            int numero = Integer.parseInt(valor.trim());
+            if (numero < 0) {
+                throw new IllegalArgumentException(clave + " no admite valores negativos");
+            }
+            return numero;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor numérico inválido para " + clave + ": " + valor);
+        }
+    }
+}
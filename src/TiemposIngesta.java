@@ -0,0 +1,79 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase que acumula en qué se fue el tiempo de lectura de los archivos de
+ * ventas cuando se procesan con hilos virtuales, para ajustar el máximo de
+ * archivos abiertos (--archivos-abiertos).
+ *
+ * Cada archivo aporta tres tiempos:
+ * - espera: tiempo esperando un permiso para abrir el archivo
+ * - lectura: tiempo bloqueado en el sistema de archivos (apertura y lecturas)
+ * - análisis: resto del tiempo con el archivo abierto (interpretar las líneas)
+ *
+ * Si la espera domina, el límite de archivos abiertos es el cuello de botella
+ * y puede subirse; si la lectura por archivo crece al subir el límite, el
+ * almacenamiento ya está saturado. Los acumuladores admiten registros desde
+ * muchos hilos a la vez sin contención.
+ */
+public class TiemposIngesta {
+
+    /** Archivos registrados */
+    private final LongAdder archivos;
+
+    /** Nanosegundos esperando un permiso para abrir un archivo */
+    private final LongAdder nanosEspera;
+
+    /** Nanosegundos bloqueados en el sistema de archivos */
+    private final LongAdder nanosLectura;
+
+    /** Nanosegundos interpretando el contenido de los archivos */
+    private final LongAdder nanosAnalisis;
+
+    /** Instante de inicio de la medición */
+    private final long inicio;
+
+    /**
+     * Constructor que inicia la medición.
+     */
+    public TiemposIngesta() {
+        this.archivos = new LongAdder();
+        this.nanosEspera = new LongAdder();
+        this.nanosLectura = new LongAdder();
+        this.nanosAnalisis = new LongAdder();
+        this.inicio = System.nanoTime();
+    }
+
+    /**
+     * Registra los tiempos de un archivo leído.
+     *
+     * @param espera   Nanosegundos esperando el permiso para abrirlo
+     * @param lectura  Nanosegundos bloqueados en el sistema de archivos
+     * @param analisis Nanosegundos interpretando su contenido
+     */
+    public void registrar(long espera, long lectura, long analisis) {
+        archivos.increment();
+        nanosEspera.add(espera);
+        nanosLectura.add(lectura);
+        nanosAnalisis.add(analisis);
+    }
+
+    /**
+     * Muestra en consola los tiempos acumulados.
+     *
+     * @param archivosAbiertos Máximo de archivos abiertos a la vez que se usó
+     */
+    public void mostrar(int archivosAbiertos) {
+        long pared = Math.max(1, System.nanoTime() - inicio);
+        long lectura = nanosLectura.sum();
+        // Promedio de archivos en E/S a la vez, con un decimal
+        long simultaneas = lectura * 10 / pared;
+
+        System.out.println("Tiempos de lectura (suma de " + archivos.sum() + " archivos, "
+                + pared / 1_000_000 + " ms en total):");
+        System.out.println("- Espera por un archivo abierto (máximo " + archivosAbiertos + "): "
+                + nanosEspera.sum() / 1_000_000 + " ms");
+        System.out.println("- Lectura (E/S): " + lectura / 1_000_000 + " ms");
+        System.out.println("- Análisis: " + nanosAnalisis.sum() / 1_000_000 + " ms");
+        System.out.println("- Lecturas simultáneas en promedio: " + simultaneas / 10 + "." + simultaneas % 10);
+    }
+}
@@ -1,3 +1,5 @@
+import java.nio.charset.StandardCharsets;
+
 /**
  * Clase que representa un vendedor con su información personal y ventas.
  * Almacena los datos básicos del vendedor y permite calcular sus ventas
@@ -17,8 +19,11 @@ public class Vendedor {
     /** Apellidos del vendedor */
     private String apellidos;
 
-    /** Total de dinero recaudado por el vendedor */
-    private double dineroRecaudado;
+    /** Total de dinero recaudado por el vendedor, en centavos */
+    private long dineroRecaudadoCentavos;
+
+    /** Nombre completo codificado en UTF-8 (se calcula al primer uso) */
+    private byte[] nombreCompletoUtf8;
 
     /**
      * Constructor para crear un vendedor con información básica.
@@ -33,7 +38,7 @@ public class Vendedor {
         this.numeroDocumento = numeroDocumento;
         this.nombres = nombres;
         this.apellidos = apellidos;
-        this.dineroRecaudado = 0.0;
+        this.dineroRecaudadoCentavos = 0;
     }
 
     /**
@@ -81,31 +86,54 @@ public class Vendedor {
         return nombres + " " + apellidos;
     }
 
+    /**
+     * Obtiene el nombre completo codificado en UTF-8, tal como se escribe en
+     * los reportes.
+     * 
+     * @return Bytes del nombre completo (no deben modificarse)
+     */
+    public byte[] getNombreCompletoUtf8() {
+        if (nombreCompletoUtf8 == null) {
+            nombreCompletoUtf8 = getNombreCompleto().getBytes(StandardCharsets.UTF_8);
+        }
+        return nombreCompletoUtf8;
+    }
+
+    /**
+     * Establece el nombre completo ya codificado en UTF-8, para no volver a
+     * codificarlo en cada reporte.
+     * 
+     * @param nombreCompletoUtf8 Bytes del nombre completo
+     */
+    public void setNombreCompletoUtf8(byte[] nombreCompletoUtf8) {
+        this.nombreCompletoUtf8 = nombreCompletoUtf8;
+    }
+
     /**
      * Obtiene el total de dinero recaudado por el vendedor.
      * 
-     * @return Dinero recaudado
+     * @return Dinero recaudado, en centavos
      */
-    public double getDineroRecaudado() {
-        return dineroRecaudado;
+    public long getDineroRecaudadoCentavos() {
+        return dineroRecaudadoCentavos;
     }
 
     /**
      * Establece el total de dinero recaudado por el vendedor.
      * 
-     * @param dineroRecaudado Cantidad de dinero recaudado
+     * @param dineroRecaudadoCentavos Dinero recaudado, en centavos
      */
-    public void setDineroRecaudado(double dineroRecaudado) {
-        this.dineroRecaudado = dineroRecaudado;
+    public void setDineroRecaudadoCentavos(long dineroRecaudadoCentavos) {
+        this.dineroRecaudadoCentavos = dineroRecaudadoCentavos;
     }
 
     /**
      * Suma una cantidad al dinero recaudado por el vendedor.
      * 
-     * @param cantidad Cantidad a sumar
+     * @param centavos Cantidad a sumar, en centavos
      */
-    public void sumarRecaudacion(double cantidad) {
-        this.dineroRecaudado += cantidad;
+    public void sumarRecaudacion(long centavos) {
+        this.dineroRecaudadoCentavos += centavos;
     }
 
     /**
@@ -120,7 +148,7 @@ public class Vendedor {
                 ", numeroDocumento=" + numeroDocumento +
                 ", nombres='" + nombres + '\'' +
                 ", apellidos='" + apellidos + '\'' +
-                ", dineroRecaudado=" + dineroRecaudado +
+                ", dineroRecaudado=" + FormatoMoneda.formatear(dineroRecaudadoCentavos) +
                 '}';
     }
 }
\ No newline at end of file
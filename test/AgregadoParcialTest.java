@@ -0,0 +1,136 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas del procesamiento repartido (--modo=mapa y --modo=reduccion, ver
+ * {@link AgregadoParcial}) con el programa completo: N ejecuciones en modo
+ * mapa seguidas de una en modo reducción deben dar los mismos reportes que
+ * una sola ejecución normal. Cada ejecución es un proceso aparte (ver
+ * {@link ProcesoPrograma}).
+ */
+class AgregadoParcialTest {
+
+    /** Particiones en que se reparten los archivos */
+    private static final int PARTICIONES = 3;
+
+    /** Carpeta de trabajo de la prueba */
+    @TempDir
+    Path carpeta;
+
+    /**
+     * Repartiendo por nombre de archivo, los reportes coinciden con los de
+     * una sola ejecución aunque cada partición llegue a la carpeta por otra
+     * ruta (--entradas relativa, absoluta o sin --entradas).
+     */
+    @Test
+    void reparticionPorArchivoDaLosMismosReportes() throws Exception {
+        verificarReparticion("archivo");
+    }
+
+    /**
+     * Repartiendo por vendedor, los reportes coinciden con los de una sola
+     * ejecución.
+     */
+    @Test
+    void reparticionPorVendedorDaLosMismosReportes() throws Exception {
+        verificarReparticion("vendedor");
+    }
+
+    /**
+     * Ejecuta el programa completo una vez y luego repartido en particiones,
+     * y compara los reportes.
+     *
+     * @param criterio Valor de --particionar-por
+     * @throws Exception Si una ejecución falla
+     */
+    private void verificarReparticion(String criterio) throws Exception {
+        escribirDatos();
+        ProcesoPrograma.ejecutar(carpeta, "Main");
+        byte[] vendedores = leer("reporte_vendedores.csv");
+        byte[] productos = leer("reporte_productos.csv");
+        Files.delete(carpeta.resolve("reporte_vendedores.csv"));
+        Files.delete(carpeta.resolve("reporte_productos.csv"));
+
+        String[] entradas = { null, "--entradas=.", "--entradas=" + carpeta.toAbsolutePath() };
+        for (int particion = 1; particion <= PARTICIONES; particion++) {
+            String opciones = "--modo=mapa --particion=" + particion + "/" + PARTICIONES
+                    + " --particionar-por=" + criterio + " --parciales=parciales";
+            String entrada = entradas[particion - 1];
+            ProcesoPrograma.ejecutar(carpeta, "Main",
+                    (entrada != null ? opciones + " " + entrada : opciones).split(" "));
+        }
+        String salida = ProcesoPrograma.ejecutar(carpeta, "Main", "--modo=reduccion", "--parciales=parciales");
+
+        assertTrue(Files.exists(carpeta.resolve("reporte_vendedores.csv")),
+                () -> "No se generaron los reportes:\n" + salida);
+        assertArrayEquals(vendedores, leer("reporte_vendedores.csv"), "Recaudación distinta con " + criterio);
+        assertArrayEquals(productos, leer("reporte_productos.csv"), "Cantidades distintas con " + criterio);
+    }
+
+    /**
+     * Escribe productos, vendedores y archivos de ventas al azar (con
+     * semilla fija). Hay vendedores con varios archivos, líneas inválidas,
+     * productos y vendedores desconocidos y un archivo comprimido.
+     *
+     * @throws IOException Si ocurre un error al escribir los archivos
+     */
+    private void escribirDatos() throws IOException {
+        Random azar = new Random(15L);
+        StringBuilder productos = new StringBuilder();
+        for (int id = 1; id <= 25; id++) {
+            productos.append(id).append(";Producto ").append(id).append(';')
+                    .append(azar.nextInt(5000)).append('.').append(azar.nextInt(10)).append("5\n");
+        }
+        Files.writeString(carpeta.resolve("productos.txt"), productos);
+
+        StringBuilder vendedores = new StringBuilder();
+        for (int documento = 1001; documento <= 1040; documento++) {
+            vendedores.append("CC;").append(documento).append(";Nombre").append(documento)
+                    .append(";Apellido").append(documento).append('\n');
+        }
+        Files.writeString(carpeta.resolve("vendedores.txt"), vendedores);
+
+        for (int archivo = 0; archivo < 90; archivo++) {
+            // 1041 no está en vendedores.txt
+            int documento = 1001 + azar.nextInt(41);
+            StringBuilder ventas = new StringBuilder("CC;").append(documento).append('\n');
+            int lineas = 1 + azar.nextInt(30);
+            for (int i = 0; i < lineas; i++) {
+                // El producto 26 no está en productos.txt
+                ventas.append(1 + azar.nextInt(26)).append(';').append(1 + azar.nextInt(9)).append(";\n");
+                if (azar.nextInt(20) == 0) {
+                    ventas.append("x;1;\n");
+                }
+            }
+            String nombre = "ventas_v" + archivo + "_" + documento + ".txt";
+            Files.writeString(carpeta.resolve(nombre), ventas);
+        }
+
+        try (OutputStream salida = new GZIPOutputStream(Files.newOutputStream(
+                carpeta.resolve("ventas_comprimido_1001.txt.gz")))) {
+            salida.write("CC;1001\n3;7;\n4;2;\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Lee un archivo de la carpeta de la prueba.
+     *
+     * @param nombre Nombre del archivo
+     * @return Contenido del archivo
+     * @throws IOException Si el archivo no puede leerse
+     */
+    private byte[] leer(String nombre) throws IOException {
+        return Files.readAllBytes(carpeta.resolve(nombre));
+    }
+}
@@ -0,0 +1,191 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas del formato binario de ventas ({@link ArchivoVentasBinario}): lo
+ * que se escribe se lee igual, los archivos convertidos con
+ * {@link ConvertidorVentas} dan los mismos reportes que los de texto, y un
+ * archivo dañado se rechaza completo.
+ */
+class ArchivoVentasBinarioTest {
+
+    /** Posición del número de ventas en los archivos de {@link #escribirEjemplo} */
+    private static final int POSICION_NUMERO_VENTAS = 9;
+
+    /** Carpeta de trabajo de la prueba */
+    @TempDir
+    Path carpeta;
+
+    /**
+     * El vendedor y las ventas escritos se leen con los mismos valores,
+     * incluidos los negativos y los que ocupan varios bytes.
+     */
+    @Test
+    void lecturaDevuelveLoEscrito() throws IOException {
+        String nombre = carpeta.resolve("ventas_prueba.bin").toString();
+        int[] ids = { 1, 300, Integer.MAX_VALUE, -5, 0 };
+        int[] cantidades = { 3, -2, 1, Integer.MIN_VALUE, 70000 };
+        ArchivoVentasBinario binario = new ArchivoVentasBinario();
+        binario.iniciar("CÉDULA", 1234567890123L);
+        for (int i = 0; i < ids.length; i++) {
+            binario.agregarVenta(ids[i], cantidades[i]);
+        }
+        binario.escribir(nombre);
+
+        ArchivoVentasBinario lector = new ArchivoVentasBinario();
+        lector.leer(nombre);
+        assertEquals("CÉDULA", lector.getTipoDocumento());
+        assertEquals(1234567890123L, lector.getNumeroDocumento());
+        assertEquals(ids.length, lector.getTotalVentas());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], lector.getIdProducto(i));
+            assertEquals(cantidades[i], lector.getCantidad(i));
+        }
+
+        // Un archivo sin ventas también es válido
+        binario.iniciar("CC", 7);
+        binario.escribir(nombre);
+        lector.leer(nombre);
+        assertEquals(7, lector.getNumeroDocumento());
+        assertEquals(0, lector.getTotalVentas());
+    }
+
+    /**
+     * Main da los mismos reportes con los archivos de texto que con sus
+     * binarios convertidos, aunque junto a ellos haya un binario truncado.
+     */
+    @Test
+    void convertidosDanLosMismosTotales() throws Exception {
+        Path texto = Files.createDirectory(carpeta.resolve("texto"));
+        Path binarios = carpeta.resolve("binarios");
+        String productos = "1;Lapiz;1.50\n2;Libro;20.00\n3;Borrador;0.75\n";
+        String vendedores = "CC;100;Ana;Paz\nCC;200;Luis;Sol\nCC;300;Eva;Mar\n";
+        Files.writeString(texto.resolve("productos.txt"), productos);
+        Files.writeString(texto.resolve("vendedores.txt"), vendedores);
+        // Incluye líneas que se descartan, un producto desconocido y una devolución
+        Files.writeString(texto.resolve("ventas_ana_100.txt"), "CC;100\n1;3;\n2;1;\n\nx;2;\n9;4;\n3;-1;\n");
+        Files.writeString(texto.resolve("ventas_luis_200.txt"), "CC;200\n2;5;\n3;12;\n1\n");
+        StringBuilder muchas = new StringBuilder("CC;300\n");
+        for (int i = 0; i < 5000; i++) {
+            muchas.append(i % 3 + 1).append(';').append(i % 11 + 1).append(";\n");
+        }
+        Files.writeString(texto.resolve("ventas_eva_300.txt"), muchas);
+
+        ProcesoPrograma.ejecutar(texto, "Main");
+        byte[] vendedoresTexto = Files.readAllBytes(texto.resolve("reporte_vendedores.csv"));
+        byte[] productosTexto = Files.readAllBytes(texto.resolve("reporte_productos.csv"));
+
+        String salida = ProcesoPrograma.ejecutar(carpeta, "ConvertidorVentas", "--origen=texto",
+                "--destino=binarios");
+        assertTrue(salida.contains("Archivos convertidos: 3"), salida);
+        Files.writeString(binarios.resolve("productos.txt"), productos);
+        Files.writeString(binarios.resolve("vendedores.txt"), vendedores);
+        byte[] completo = Files.readAllBytes(binarios.resolve("ventas_eva_300.bin"));
+        Files.write(binarios.resolve("ventas_eva_2_300.bin"), Arrays.copyOf(completo, completo.length - 10));
+
+        salida = ProcesoPrograma.ejecutar(binarios, "Main");
+        assertTrue(salida.contains("ventas_eva_2_300.bin"), "No se reportó el binario truncado:\n" + salida);
+        assertArrayEquals(vendedoresTexto, Files.readAllBytes(binarios.resolve("reporte_vendedores.csv")));
+        assertArrayEquals(productosTexto, Files.readAllBytes(binarios.resolve("reporte_productos.csv")));
+    }
+
+    /**
+     * Un archivo truncado, con un byte cambiado, con bytes de más o con un
+     * número de ventas que no corresponde se rechaza sin entregar ventas.
+     */
+    @Test
+    void archivosDanadosSeRechazan() throws IOException {
+        byte[] valido = escribirEjemplo();
+        ArchivoVentasBinario lector = new ArchivoVentasBinario();
+
+        assertRechazado(lector, Arrays.copyOf(valido, valido.length - 1), "CRC inválido");
+        assertRechazado(lector, Arrays.copyOf(valido, 6), "incompleto");
+
+        byte[] cambiado = valido.clone();
+        cambiado[valido.length / 2] ^= 0x01;
+        assertRechazado(lector, cambiado, "CRC inválido");
+
+        // Con el CRC recalculado, solo la estructura delata el daño
+        byte[] datos = Arrays.copyOf(valido, valido.length - 4);
+        byte[] sobrantes = Arrays.copyOf(datos, datos.length + 1);
+        sobrantes[datos.length] = 0x02;
+        assertRechazado(lector, conCrc(sobrantes), "bytes sobrantes");
+
+        byte[] demasiadas = datos.clone();
+        demasiadas[POSICION_NUMERO_VENTAS] = 100;
+        assertRechazado(lector, conCrc(demasiadas), "número de ventas");
+
+        byte[] pocas = datos.clone();
+        pocas[POSICION_NUMERO_VENTAS] = 2;
+        assertRechazado(lector, conCrc(pocas), "bytes sobrantes");
+
+        byte[] version = datos.clone();
+        version[4] = 99;
+        assertRechazado(lector, conCrc(version), "no reconocido");
+    }
+
+    /**
+     * Escribe un archivo con tres ventas y devuelve sus bytes. El tipo de
+     * documento ocupa 2 bytes y el documento 1, así que el número de ventas
+     * queda en {@link #POSICION_NUMERO_VENTAS}.
+     *
+     * @return Contenido del archivo
+     * @throws IOException Si el archivo no puede escribirse
+     */
+    private byte[] escribirEjemplo() throws IOException {
+        Path archivo = carpeta.resolve("ventas_ejemplo.bin");
+        ArchivoVentasBinario binario = new ArchivoVentasBinario();
+        binario.iniciar("CC", 10);
+        binario.agregarVenta(1, 3);
+        binario.agregarVenta(2, 1);
+        binario.agregarVenta(3, 7);
+        binario.escribir(archivo.toString());
+        byte[] bytes = Files.readAllBytes(archivo);
+        assertEquals(3, bytes[POSICION_NUMERO_VENTAS]);
+        return bytes;
+    }
+
+    /**
+     * Agrega a unos datos su CRC32C, como al escribir un archivo.
+     *
+     * @param datos Contenido sin CRC
+     * @return Contenido con el CRC al final (big-endian)
+     */
+    private static byte[] conCrc(byte[] datos) {
+        CRC32C crc = new CRC32C();
+        crc.update(datos);
+        int valor = (int) crc.getValue();
+        byte[] completo = Arrays.copyOf(datos, datos.length + 4);
+        completo[datos.length] = (byte) (valor >>> 24);
+        completo[datos.length + 1] = (byte) (valor >>> 16);
+        completo[datos.length + 2] = (byte) (valor >>> 8);
+        completo[datos.length + 3] = (byte) valor;
+        return completo;
+    }
+
+    /**
+     * Verifica que un contenido se rechace al leerlo como archivo binario.
+     *
+     * @param lector    Lector reutilizado entre casos
+     * @param contenido Bytes del archivo
+     * @param motivo    Texto que debe aparecer en el mensaje de error
+     * @throws IOException Si el archivo no puede escribirse
+     */
+    private void assertRechazado(ArchivoVentasBinario lector, byte[] contenido, String motivo) throws IOException {
+        Path archivo = carpeta.resolve("ventas_danado.bin");
+        Files.write(archivo, contenido);
+        IOException error = assertThrows(IOException.class, () -> lector.leer(archivo.toString()));
+        assertTrue(error.getMessage().contains(motivo), error.getMessage());
+    }
+}
@@ -0,0 +1,102 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas del modo incremental (--incremental=ARCHIVO) con el programa
+ * completo. Main lee y escribe en el directorio actual, así que cada
+ * ejecución es un proceso aparte con una carpeta temporal como directorio de
+ * trabajo (ver {@link ProcesoPrograma}).
+ */
+class EstadoIncrementalTest {
+
+    /** Carpeta de trabajo de la prueba */
+    @TempDir
+    Path carpeta;
+
+    /**
+     * Un archivo que falla a la mitad (gzip truncado) aporta las ventas leídas
+     * antes del error, igual que sin --incremental, y las siguientes
+     * ejecuciones no las vuelven a sumar.
+     */
+    @Test
+    void archivoTruncadoNoSeSumaDosVeces() throws Exception {
+        Files.writeString(carpeta.resolve("productos.txt"), "1;Lapiz;1.50\n2;Libro;20.00\n");
+        Files.writeString(carpeta.resolve("vendedores.txt"), "CC;100;Ana;Paz\nCC;200;Luis;Sol\n");
+        Files.writeString(carpeta.resolve("ventas_luis_200.txt"), "CC;200\n1;3;\n2;1;\n");
+        escribirGzipTruncado(carpeta.resolve("ventas_ana_100.txt.gz"));
+
+        ejecutar("--incremental=estado.bin");
+        byte[] vendedoresPrimera = leer("reporte_vendedores.csv");
+        byte[] productosPrimera = leer("reporte_productos.csv");
+
+        for (int ejecucion = 2; ejecucion <= 3; ejecucion++) {
+            ejecutar("--incremental=estado.bin");
+            assertArrayEquals(vendedoresPrimera, leer("reporte_vendedores.csv"),
+                    "Recaudación distinta en la ejecución " + ejecucion);
+            assertArrayEquals(productosPrimera, leer("reporte_productos.csv"),
+                    "Cantidades distintas en la ejecución " + ejecucion);
+        }
+
+        Files.delete(carpeta.resolve("estado.bin"));
+        ejecutar();
+        assertArrayEquals(vendedoresPrimera, leer("reporte_vendedores.csv"));
+        assertArrayEquals(productosPrimera, leer("reporte_productos.csv"));
+    }
+
+    /**
+     * Escribe un archivo de ventas comprimido y lo corta a la mitad, de modo
+     * que la lectura falla después de algunas ventas.
+     *
+     * @param destino Archivo a escribir
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    private static void escribirGzipTruncado(Path destino) throws IOException {
+        ByteArrayOutputStream comprimido = new ByteArrayOutputStream();
+        try (OutputStream salida = new GZIPOutputStream(comprimido)) {
+            StringBuilder contenido = new StringBuilder("CC;100\n");
+            for (int i = 1; i <= 200000; i++) {
+                contenido.append(i % 2 + 1).append(';').append(i % 7 + 1).append(";\n");
+            }
+            salida.write(contenido.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] bytes = comprimido.toByteArray();
+        Files.write(destino, Arrays.copyOf(bytes, bytes.length / 2));
+    }
+
+    /**
+     * Ejecuta el programa en la carpeta de la prueba y espera a que termine.
+     *
+     * @param opciones Opciones de línea de comandos
+     * @throws Exception Si el programa no termina a tiempo o no genera los
+     *                   reportes
+     */
+    private void ejecutar(String... opciones) throws Exception {
+        Files.deleteIfExists(carpeta.resolve("reporte_vendedores.csv"));
+        String salida = ProcesoPrograma.ejecutar(carpeta, "Main", opciones);
+        assertTrue(Files.exists(carpeta.resolve("reporte_vendedores.csv")),
+                () -> "No se generaron los reportes:\n" + salida);
+    }
+
+    /**
+     * Lee un archivo de la carpeta de la prueba.
+     *
+     * @param nombre Nombre del archivo
+     * @return Contenido del archivo
+     * @throws IOException Si el archivo no puede leerse
+     */
+    private byte[] leer(String nombre) throws IOException {
+        return Files.readAllBytes(carpeta.resolve(nombre));
+    }
+}
@@ -0,0 +1,149 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de {@link IndiceRanking}: después de cualquier secuencia de
+ * agregados y actualizaciones, sus consultas deben coincidir con ordenar todos
+ * los slots de nuevo, como hace el reporte completo (mayor clave primero y, en
+ * empates, menor desempate primero).
+ */
+class IndiceRankingTest {
+
+    /**
+     * Agregados y actualizaciones al azar, con claves de un rango chico para
+     * que haya muchos empates, comparados con un orden completo después de
+     * cada paso.
+     */
+    @Test
+    void operacionesAleatoriasCoincidenConOrdenCompleto() {
+        Random azar = new Random(20240601L);
+        IndiceRanking ranking = new IndiceRanking(4);
+        List<long[]> modelo = new ArrayList<>();
+
+        for (int paso = 0; paso < 3000; paso++) {
+            int operacion = azar.nextInt(10);
+            if (modelo.isEmpty() || operacion < 2) {
+                // Desempate igual al slot, como en los vendedores
+                int slot = modelo.size();
+                long clave = azar.nextInt(20);
+                ranking.agregar(slot, clave, slot);
+                modelo.add(new long[] { clave, slot });
+            } else if (operacion < 9) {
+                int slot = azar.nextInt(modelo.size());
+                long clave = azar.nextInt(3) == 0 ? modelo.get(slot)[0] + azar.nextInt(5) : azar.nextInt(20);
+                ranking.actualizar(slot, clave);
+                modelo.get(slot)[0] = clave;
+            } else {
+                // Cambio de desempate, como un producto que cambia de ID; se
+                // usan valores que no repite ningún otro slot
+                int slot = azar.nextInt(modelo.size());
+                long clave = azar.nextInt(20);
+                long desempate = 1_000_000L + paso;
+                ranking.actualizar(slot, clave, desempate);
+                modelo.get(slot)[0] = clave;
+                modelo.get(slot)[1] = desempate;
+            }
+            verificar(ranking, modelo, azar);
+        }
+    }
+
+    /**
+     * Con todas las claves iguales el orden lo da solo el desempate.
+     */
+    @Test
+    void empatesSeOrdenanPorDesempate() {
+        IndiceRanking ranking = new IndiceRanking(8);
+        for (int slot = 0; slot < 8; slot++) {
+            // Desempates al revés del slot, como IDs de productos cargados en otro orden
+            ranking.agregar(slot, 500, 100 - slot);
+        }
+        assertArrayEquals(new int[] { 7, 6, 5, 4, 3, 2, 1, 0 }, ranking.pagina(0, 8));
+
+        ranking.actualizar(3, 501);
+        ranking.actualizar(6, 499);
+        assertArrayEquals(new int[] { 3, 7, 5, 4, 2, 1, 0, 6 }, ranking.pagina(0, 8));
+        assertEquals(0, ranking.posicion(3));
+        assertEquals(7, ranking.posicion(6));
+        assertEquals(8 * 500L, ranking.getSuma());
+    }
+
+    /**
+     * Las páginas que salen del ranking se recortan y las posiciones
+     * inválidas se rechazan.
+     */
+    @Test
+    void paginasFueraDelRanking() {
+        IndiceRanking ranking = new IndiceRanking(0);
+        assertEquals(0, ranking.pagina(0, 10).length);
+
+        for (int slot = 0; slot < 5; slot++) {
+            ranking.agregar(slot, slot * 10L, slot);
+        }
+        assertArrayEquals(new int[] { 1, 0 }, ranking.pagina(3, 10));
+        assertEquals(0, ranking.pagina(5, 10).length);
+        assertEquals(0, ranking.pagina(0, 0).length);
+        assertEquals(0, ranking.pagina(2, -1).length);
+        assertArrayEquals(new int[] { 4, 3 }, ranking.pagina(-3, 2));
+        assertArrayEquals(new int[] { 4, 3, 2, 1, 0 }, ranking.pagina(0, Integer.MAX_VALUE));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> ranking.seleccionar(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> ranking.seleccionar(-1));
+        assertThrows(IllegalArgumentException.class, () -> ranking.agregar(7, 0, 7));
+    }
+
+    /**
+     * Compara todas las consultas del ranking con el orden completo del
+     * modelo.
+     *
+     * @param ranking Ranking a verificar
+     * @param modelo  Clave y desempate de cada slot
+     * @param azar    Generador para elegir páginas
+     */
+    private static void verificar(IndiceRanking ranking, List<long[]> modelo, Random azar) {
+        int[] esperado = ordenar(modelo);
+        int total = esperado.length;
+        long suma = 0;
+        for (long[] slot : modelo) {
+            suma += slot[0];
+        }
+
+        assertEquals(total, ranking.getTotal());
+        assertEquals(suma, ranking.getSuma());
+        assertArrayEquals(esperado, ranking.pagina(0, total));
+
+        int desde = azar.nextInt(total + 2);
+        int cantidad = azar.nextInt(12);
+        int fin = Math.min(total, desde + cantidad);
+        int[] pagina = new int[Math.max(0, fin - desde)];
+        System.arraycopy(esperado, Math.min(desde, total), pagina, 0, pagina.length);
+        assertArrayEquals(pagina, ranking.pagina(desde, cantidad), "Página desde " + desde);
+
+        int posicion = azar.nextInt(total);
+        assertEquals(esperado[posicion], ranking.seleccionar(posicion));
+        assertEquals(posicion, ranking.posicion(esperado[posicion]));
+    }
+
+    /**
+     * Ordena los slots del modelo como el reporte completo.
+     *
+     * @param modelo Clave y desempate de cada slot
+     * @return Slots del mejor al peor
+     */
+    private static int[] ordenar(List<long[]> modelo) {
+        List<Integer> slots = new ArrayList<>();
+        for (int slot = 0; slot < modelo.size(); slot++) {
+            slots.add(slot);
+        }
+        slots.sort(Comparator.<Integer>comparingLong(slot -> -modelo.get(slot)[0])
+                .thenComparingLong(slot -> modelo.get(slot)[1]));
+        return slots.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,53 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ejecuta un programa del proyecto (Main, ConvertidorVentas...) como un
+ * proceso aparte, con una carpeta de la prueba como directorio de trabajo:
+ * los programas leen y escriben en el directorio actual.
+ */
+final class ProcesoPrograma {
+
+    /** Segundos que puede tardar una ejecución del programa */
+    private static final int ESPERA_SEGUNDOS = 60;
+
+    /** Archivo de la carpeta donde queda la salida de la última ejecución */
+    static final String SALIDA = "salida.log";
+
+    private ProcesoPrograma() {
+    }
+
+    /**
+     * Ejecuta un programa y espera a que termine sin error.
+     *
+     * @param carpeta  Directorio de trabajo del programa
+     * @param clase    Clase con el método main
+     * @param opciones Opciones de línea de comandos
+     * @return Salida del programa (consola y errores)
+     * @throws Exception Si el programa no termina a tiempo o termina con error
+     */
+    static String ejecutar(Path carpeta, String clase, String... opciones) throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String[] comando = new String[opciones.length + 5];
+        comando[0] = java;
+        comando[1] = "-Dfile.encoding=UTF-8";
+        comando[2] = "-cp";
+        comando[3] = System.getProperty("java.class.path");
+        comando[4] = clase;
+        System.arraycopy(opciones, 0, comando, 5, opciones.length);
+
+        Process proceso = new ProcessBuilder(comando)
+                .directory(carpeta.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(new File(carpeta.toFile(), SALIDA))
+                .start();
+        assertTrue(proceso.waitFor(ESPERA_SEGUNDOS, TimeUnit.SECONDS), "El programa no terminó a tiempo");
+        assertEquals(0, proceso.exitValue());
+        return Files.readString(carpeta.resolve(SALIDA));
+    }
+}